@@ -28,6 +28,10 @@ public class SimpleOutputFileCollection(private val outputFiles: List<OutputFile
     override fun asList(): List<OutputFile> = outputFiles
 }
 
+public trait OutputFileSink {
+    public fun write(file: OutputFile)
+}
+
 public trait OutputFile {
     public val relativePath: String
     public val sourceFiles: List<File>
@@ -344,8 +344,16 @@ public class AsmUtil {
         v.invokespecial("java/lang/StringBuilder", "<init>", "()V");
     }
 
+    public static void genStringBuilderConstructor(InstructionAdapter v, int capacity) {
+        v.visitTypeInsn(NEW, "java/lang/StringBuilder");
+        v.dup();
+        v.iconst(capacity);
+        v.invokespecial("java/lang/StringBuilder", "<init>", "(I)V");
+    }
+
     public static void genInvokeAppendMethod(InstructionAdapter v, Type type) {
-        type = stringValueOfOrStringBuilderAppendType(type);
+        // append(String) doesn't need a virtual toString() call, unlike append(Object)
+        type = type.equals(JAVA_STRING_TYPE) ? type : stringValueOfOrStringBuilderAppendType(type);
         v.invokevirtual("java/lang/StringBuilder", "append", "(" + type.getDescriptor() + ")Ljava/lang/StringBuilder;");
     }
 
@@ -486,6 +494,9 @@ public class AsmUtil {
         // Private method is not accessible from other classes, no assertions needed
         if (getVisibilityAccessFlag(descriptor) == ACC_PRIVATE) return;
 
+        // Members which Java code can't call are only called by Kotlin code, which is already checked by the front-end
+        boolean elide = state.isNotNullParamAssertionsForApiOnly() && !isApiMember(descriptor);
+
         for (ValueParameterDescriptor parameter : descriptor.getValueParameters()) {
             JetType type = parameter.getReturnType();
             if (type == null || isNullableType(type)) continue;
@@ -493,6 +504,10 @@ public class AsmUtil {
             int index = frameMap.getIndex(parameter);
             Type asmType = state.getTypeMapper().mapType(type);
             if (asmType.getSort() == Type.OBJECT || asmType.getSort() == Type.ARRAY) {
+                if (elide) {
+                    state.notNullParamAssertionElided();
+                    continue;
+                }
                 v.load(index, asmType);
                 v.visitLdcInsn(parameter.getName().asString());
                 v.invokestatic("jet/runtime/Intrinsics", "checkParameterIsNotNull", "(Ljava/lang/Object;Ljava/lang/String;)V");
@@ -500,6 +515,37 @@ public class AsmUtil {
         }
     }
 
+    /*
+        Public and protected members of public classes, and members implementing such members of other classes
+        (e.g. an internal class implementing a Java interface), can be called from Java code outside of the module.
+        So can synthesized members of such classes, e.g. copy() of a data class, and local functions and function literals,
+        whose classes implement function interfaces and may be passed to Java code
+     */
+    private static boolean isApiMember(@NotNull CallableMemberDescriptor descriptor) {
+        if (descriptor.getVisibility() == Visibilities.LOCAL) return true;
+
+        if (isAccessibleFromJava(descriptor)) return true;
+
+        for (CallableMemberDescriptor overridden : descriptor.getOverriddenDescriptors()) {
+            if (isApiMember(overridden.getOriginal())) return true;
+        }
+        return false;
+    }
+
+    // Internal declarations are public in the bytecode, so Java code of the same module may call them as well as public ones.
+    // Only members of private nested classes and of local declarations are out of its reach
+    private static boolean isAccessibleFromJava(@NotNull DeclarationDescriptor descriptor) {
+        DeclarationDescriptor current = descriptor;
+        while (current instanceof DeclarationDescriptorWithVisibility) {
+            Visibility visibility = ((DeclarationDescriptorWithVisibility) current).getVisibility().normalize();
+            if (visibility == Visibilities.LOCAL) return false;
+            DeclarationDescriptor container = current.getContainingDeclaration();
+            if (visibility == Visibilities.PRIVATE && !(container instanceof PackageFragmentDescriptor)) return false;
+            current = container;
+        }
+        return true;
+    }
+
     public static void genNotNullAssertionForField(
             @NotNull InstructionAdapter v,
             @NotNull GenerationState state,
@@ -70,6 +70,8 @@ public abstract class ClassBodyCodegen extends MemberCodegen {
 
         generateSyntheticParts();
 
+        PropertyCodegen.generatePropertyMetadataArrayIfNeeded(v, context, state);
+
         generateStaticInitializer();
 
         if (state.getClassBuilderMode() == ClassBuilderMode.FULL && isTopLevelOrInnerClass(descriptor)) {
@@ -34,8 +34,8 @@ public class ClassBuilderFactories {
         }
 
         @Override
-        public ClassBuilder newClassBuilder() {
-            return new TraceBuilder(new BinaryClassWriter());
+        public ClassBuilder newClassBuilder(@NotNull CommonSuperClassResolver superClassResolver) {
+            return new TraceBuilder(new BinaryClassWriter(superClassResolver));
         }
 
         @Override
@@ -62,7 +62,7 @@ public class ClassBuilderFactories {
         }
 
         @Override
-        public ClassBuilder newClassBuilder() {
+        public ClassBuilder newClassBuilder(@NotNull CommonSuperClassResolver superClassResolver) {
             return new ClassBuilder.Concrete(new TraceClassVisitor(new PrintWriter(new StringWriter())));
         }
 
@@ -90,8 +90,8 @@ public class ClassBuilderFactories {
         }
 
         @Override
-        public ClassBuilder newClassBuilder() {
-            return new ClassBuilder.Concrete(new BinaryClassWriter());
+        public ClassBuilder newClassBuilder(@NotNull CommonSuperClassResolver superClassResolver) {
+            return new ClassBuilder.Concrete(new BinaryClassWriter(superClassResolver));
         }
 
         @Override
@@ -110,19 +110,23 @@ public class ClassBuilderFactories {
     }
 
     private static class BinaryClassWriter extends ClassWriter {
-        public BinaryClassWriter() {
+        private final CommonSuperClassResolver superClassResolver;
+
+        public BinaryClassWriter(@NotNull CommonSuperClassResolver superClassResolver) {
             super(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+            this.superClassResolver = superClassResolver;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            superClassResolver.recordClass(name, access, superName);
+            super.visit(version, access, name, signature, superName, interfaces);
         }
 
         @Override
         protected String getCommonSuperClass(String type1, String type2) {
-            try {
-                return super.getCommonSuperClass(type1, type2);
-            }
-            catch (Throwable t) {
-                // @todo we might need at some point do more sophisticated handling
-                return "java/lang/Object";
-            }
+            // The default implementation loads classes, which is slow and doesn't work for classes being compiled
+            return superClassResolver.getCommonSuperClass(type1, type2);
         }
     }
 
@@ -22,7 +22,10 @@ public interface ClassBuilderFactory {
     @NotNull
     ClassBuilderMode getClassBuilderMode();
 
-    ClassBuilder newClassBuilder();
+    /**
+     * @param superClassResolver used to compute stack map frames of the generated class, if they are computed by the builder
+     */
+    ClassBuilder newClassBuilder(@NotNull CommonSuperClassResolver superClassResolver);
 
     String asText(ClassBuilder builder);
 
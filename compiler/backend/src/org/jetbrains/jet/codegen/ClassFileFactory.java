@@ -27,6 +27,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.asm4.Type;
 import org.jetbrains.jet.OutputFile;
 import org.jetbrains.jet.OutputFileCollection;
+import org.jetbrains.jet.OutputFileSink;
 import org.jetbrains.jet.codegen.state.GenerationState;
 import org.jetbrains.jet.codegen.state.GenerationStateAware;
 import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
@@ -45,8 +46,14 @@ public final class ClassFileFactory extends GenerationStateAware implements Outp
     @NotNull private ClassBuilderFactory builderFactory;
 
     private final Map<FqName, NamespaceCodegen> ns2codegen = new HashMap<FqName, NamespaceCodegen>();
-    private final Map<String, ClassBuilderAndSourceFileList> generators = new LinkedHashMap<String, ClassBuilderAndSourceFileList>();
+    private final Map<String, ClassBuilderAndSourceFileList> generators = new HashMap<String, ClassBuilderAndSourceFileList>();
     private boolean isDone = false;
+    @Nullable private OutputFileSink outputSink;
+
+    // Outputs are listed in the order of their units, and in the order of creation inside a unit. Packages may be generated
+    // in parallel (see KotlinCodegenFacade), each in its own unit, so the order of outputs doesn't depend on thread scheduling
+    private int unitCount = 0;
+    private final ThreadLocal<OutputUnit> currentUnit = new ThreadLocal<OutputUnit>();
 
     public ClassFileFactory(@NotNull GenerationState state) {
         super(state);
@@ -57,21 +64,73 @@ public final class ClassFileFactory extends GenerationStateAware implements Outp
         this.builderFactory = builderFactory;
     }
 
+    /**
+     * Makes the factory write every class file to the given sink as soon as the class is done, and drop its class builder afterwards.
+     * Bytes of such class files can't be obtained from the factory later
+     */
+    public synchronized void streamTo(@NotNull OutputFileSink sink) {
+        assert generators.isEmpty() : "Output should be streamed from the start of generation";
+        outputSink = sink;
+    }
+
     @NotNull
     ClassBuilder newVisitor(@NotNull Type asmType, @NotNull PsiFile sourceFile) {
         return newVisitor(asmType, Collections.singletonList(sourceFile));
     }
 
     @NotNull
-    private ClassBuilder newVisitor(@NotNull Type asmType, @NotNull Collection<? extends PsiFile> sourceFiles) {
+    private synchronized ClassBuilder newVisitor(@NotNull Type asmType, @NotNull Collection<? extends PsiFile> sourceFiles) {
         String outputFilePath = asmType.getInternalName() + ".class";
         state.getProgress().reportOutput(toIoFilesIgnoringNonPhysical(sourceFiles), new File(outputFilePath));
-        ClassBuilder answer = builderFactory.newClassBuilder();
-        generators.put(outputFilePath, new ClassBuilderAndSourceFileList(answer, sourceFiles));
-        return answer;
+        ClassBuilder answer = builderFactory.newClassBuilder(state.getCommonSuperClassResolver());
+
+        OutputUnit unit = currentUnit.get();
+        if (unit == null) {
+            unit = newOutputUnit();
+        }
+        generators.put(outputFilePath, new ClassBuilderAndSourceFileList(answer, sourceFiles, unit.index, unit.outputCount++));
+        return outputSink != null ? new StreamingClassBuilder(answer, outputFilePath) : answer;
+    }
+
+    /**
+     * Reserves a place for a group of outputs in the resulting list. Outputs created by {@link #generateInUnit} for this unit are listed
+     * after outputs of all units reserved earlier, and before outputs of all units reserved later
+     */
+    @NotNull
+    public synchronized OutputUnit newOutputUnit() {
+        return new OutputUnit(unitCount++);
+    }
+
+    public void generateInUnit(@NotNull OutputUnit unit, @NotNull Runnable generation) {
+        OutputUnit previous = currentUnit.get();
+        currentUnit.set(unit);
+        try {
+            generation.run();
+        }
+        finally {
+            currentUnit.set(previous);
+        }
+    }
+
+    @Nullable
+    private synchronized ClassBuilderAndSourceFileList getGenerator(@NotNull String relativeClassFilePath) {
+        return generators.get(relativeClassFilePath);
+    }
+
+    private void writeToSink(@NotNull String relativeClassFilePath) {
+        ClassBuilderAndSourceFileList generator = getGenerator(relativeClassFilePath);
+        assert generator != null && outputSink != null : "Class file can't be streamed: " + relativeClassFilePath;
+
+        // Bytes are collected outside of the factory lock, so that other threads may continue generating classes meanwhile
+        byte[] bytes = builderFactory.asBytes(generator.getClassBuilder(relativeClassFilePath));
+        List<File> sourceFiles = toIoFiles(generator.sourceFiles);
+        synchronized (this) {
+            generator.classBuilder = null;
+        }
+        outputSink.write(new WrittenClassFile(relativeClassFilePath, sourceFiles, bytes));
     }
 
-    private void done() {
+    public synchronized void done() {
         if (!isDone) {
             isDone = true;
             for (NamespaceCodegen codegen : ns2codegen.values()) {
@@ -81,19 +140,32 @@ public final class ClassFileFactory extends GenerationStateAware implements Outp
     }
 
     @Override
-    public List<OutputFile> asList() {
+    public synchronized List<OutputFile> asList() {
         done();
-        return ContainerUtil.map(generators.keySet(), new Function<String, OutputFile>() {
+
+        List<Map.Entry<String, ClassBuilderAndSourceFileList>> entries =
+                new ArrayList<Map.Entry<String, ClassBuilderAndSourceFileList>>(generators.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, ClassBuilderAndSourceFileList>>() {
+            @Override
+            public int compare(Map.Entry<String, ClassBuilderAndSourceFileList> e1, Map.Entry<String, ClassBuilderAndSourceFileList> e2) {
+                ClassBuilderAndSourceFileList first = e1.getValue();
+                ClassBuilderAndSourceFileList second = e2.getValue();
+                if (first.unitIndex != second.unitIndex) return first.unitIndex < second.unitIndex ? -1 : 1;
+                return first.indexInUnit < second.indexInUnit ? -1 : first.indexInUnit == second.indexInUnit ? 0 : 1;
+            }
+        });
+
+        return ContainerUtil.map(entries, new Function<Map.Entry<String, ClassBuilderAndSourceFileList>, OutputFile>() {
             @Override
-            public OutputFile fun(String relativeClassFilePath) {
-                return new OutputClassFile(relativeClassFilePath);
+            public OutputFile fun(Map.Entry<String, ClassBuilderAndSourceFileList> entry) {
+                return new OutputClassFile(entry.getKey());
             }
         });
     }
 
     @Override
     @Nullable
-    public OutputFile get(@NotNull String relativePath) {
+    public synchronized OutputFile get(@NotNull String relativePath) {
         if (generators.containsKey(relativePath)) return new OutputClassFile(relativePath);
 
         return null;
@@ -110,7 +182,7 @@ public final class ClassFileFactory extends GenerationStateAware implements Outp
         return answer.toString();
     }
 
-    public NamespaceCodegen forNamespace(final FqName fqName, final Collection<JetFile> files) {
+    public synchronized NamespaceCodegen forNamespace(final FqName fqName, final Collection<JetFile> files) {
         assert !isDone : "Already done!";
         NamespaceCodegen codegen = ns2codegen.get(fqName);
         if (codegen == null) {
@@ -159,6 +231,22 @@ public final class ClassFileFactory extends GenerationStateAware implements Outp
         return result;
     }
 
+    @NotNull
+    private static List<File> toIoFiles(@NotNull Collection<? extends PsiFile> psiFiles) {
+        return ContainerUtil.mapNotNull(
+                psiFiles,
+                new Function<PsiFile, File>() {
+                    @Override
+                    public File fun(PsiFile file) {
+                        VirtualFile virtualFile = file.getVirtualFile();
+                        if (virtualFile == null) return null;
+
+                        return VfsUtilCore.virtualToIoFile(virtualFile);
+                    }
+                }
+        );
+    }
+
     private final class OutputClassFile implements OutputFile {
         final String relativeClassFilePath;
 
@@ -173,45 +261,115 @@ public final class ClassFileFactory extends GenerationStateAware implements Outp
 
         @Override
         public List<File> getSourceFiles() {
-            ClassBuilderAndSourceFileList pair = generators.get(relativeClassFilePath);
+            ClassBuilderAndSourceFileList pair = getGenerator(relativeClassFilePath);
             if (pair == null) {
                 throw new IllegalStateException("No record for binary file " + relativeClassFilePath);
             }
 
-            return ContainerUtil.mapNotNull(
-                    pair.sourceFiles,
-                    new Function<PsiFile, File>() {
-                        @Override
-                        public File fun(PsiFile file) {
-                            VirtualFile virtualFile = file.getVirtualFile();
-                            if (virtualFile == null) return null;
-
-                            return VfsUtilCore.virtualToIoFile(virtualFile);
-                        }
-                    }
-            );
+            return toIoFiles(pair.sourceFiles);
         }
 
         @Override
         public byte[] asByteArray() {
             done();
-            return builderFactory.asBytes(generators.get(relativeClassFilePath).classBuilder);
+            return builderFactory.asBytes(getClassBuilder());
         }
 
         @Override
         public String asText() {
             done();
-            return builderFactory.asText(generators.get(relativeClassFilePath).classBuilder);
+            return builderFactory.asText(getClassBuilder());
+        }
+
+        @NotNull
+        private ClassBuilder getClassBuilder() {
+            synchronized (ClassFileFactory.this) {
+                return getGenerator(relativeClassFilePath).getClassBuilder(relativeClassFilePath);
+            }
+        }
+    }
+
+    private static final class WrittenClassFile implements OutputFile {
+        private final String relativeClassFilePath;
+        private final List<File> sourceFiles;
+        private final byte[] bytes;
+
+        private WrittenClassFile(@NotNull String relativeClassFilePath, @NotNull List<File> sourceFiles, @NotNull byte[] bytes) {
+            this.relativeClassFilePath = relativeClassFilePath;
+            this.sourceFiles = sourceFiles;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String getRelativePath() {
+            return relativeClassFilePath;
+        }
+
+        @Override
+        public List<File> getSourceFiles() {
+            return sourceFiles;
+        }
+
+        @Override
+        public byte[] asByteArray() {
+            return bytes;
+        }
+
+        @Override
+        public String asText() {
+            throw new UnsupportedOperationException("Streamed class file asked for text: " + relativeClassFilePath);
+        }
+    }
+
+    private final class StreamingClassBuilder extends DelegatingClassBuilder {
+        private final String relativeClassFilePath;
+
+        private StreamingClassBuilder(@NotNull ClassBuilder delegate, @NotNull String relativeClassFilePath) {
+            super(delegate);
+            this.relativeClassFilePath = relativeClassFilePath;
+        }
+
+        @Override
+        public void done() {
+            super.done();
+            writeToSink(relativeClassFilePath);
         }
     }
 
     private static final class ClassBuilderAndSourceFileList {
-        private final ClassBuilder classBuilder;
+        // null after the class file is written to the output sink
+        @Nullable private ClassBuilder classBuilder;
         private final Collection<? extends PsiFile> sourceFiles;
-
-        private ClassBuilderAndSourceFileList(ClassBuilder classBuilder, Collection<? extends PsiFile> sourceFiles) {
+        private final int unitIndex;
+        private final int indexInUnit;
+
+        private ClassBuilderAndSourceFileList(
+                ClassBuilder classBuilder,
+                Collection<? extends PsiFile> sourceFiles,
+                int unitIndex,
+                int indexInUnit
+        ) {
             this.classBuilder = classBuilder;
             this.sourceFiles = sourceFiles;
+            this.unitIndex = unitIndex;
+            this.indexInUnit = indexInUnit;
+        }
+
+        @NotNull
+        private ClassBuilder getClassBuilder(@NotNull String relativeClassFilePath) {
+            if (classBuilder == null) {
+                throw new IllegalStateException("Class file has already been written to the output: " + relativeClassFilePath);
+            }
+            return classBuilder;
+        }
+    }
+
+    public static final class OutputUnit {
+        private final int index;
+        private int outputCount = 0;
+
+        private OutputUnit(int index) {
+            this.index = index;
         }
     }
 }
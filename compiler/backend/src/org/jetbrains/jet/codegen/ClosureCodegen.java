@@ -93,10 +93,14 @@ public class ClosureCodegen extends ParentCodegenAwareImpl {
 
         FunctionDescriptor interfaceFunction;
         String[] superInterfaces;
+        Type specializedTrait = null;
 
         if (samInterface == null) {
             interfaceFunction = getInvokeFunction(funDescriptor);
-            superInterfaces = ArrayUtil.EMPTY_STRING_ARRAY;
+            specializedTrait = getSpecializedTrait();
+            superInterfaces = specializedTrait == null
+                              ? ArrayUtil.EMPTY_STRING_ARRAY
+                              : new String[] { specializedTrait.getInternalName() };
         }
         else {
             interfaceFunction = SingleAbstractMethodUtils.getAbstractMethodOfSamInterface(samInterface);
@@ -107,7 +111,7 @@ public class ClosureCodegen extends ParentCodegenAwareImpl {
                        V1_6,
                        ACC_FINAL | ACC_SUPER,
                        asmType.getInternalName(),
-                       getGenericSignature(),
+                       getGenericSignature(specializedTrait),
                        superClass.getInternalName(),
                        superInterfaces
         );
@@ -277,8 +281,20 @@ public class ClosureCodegen extends ParentCodegenAwareImpl {
         return argTypes;
     }
 
+    /**
+     * The generated invoke method takes and returns primitive values as is, so it implements a primitive specialization of
+     * the function trait, if there is one. Callers which know the primitive types use it to avoid boxing
+     */
+    @Nullable
+    private Type getSpecializedTrait() {
+        if (funDescriptor.getReceiverParameter() != null) return null;
+
+        Method invoke = typeMapper.mapSignature(funDescriptor).getAsmMethod();
+        return SpecializedFunctionTraits.getType(invoke.getArgumentTypes(), invoke.getReturnType());
+    }
+
     @NotNull
-    private String getGenericSignature() {
+    private String getGenericSignature(@Nullable Type specializedTrait) {
         ClassDescriptor classDescriptor = anonymousClassForFunction(bindingContext, funDescriptor);
         Collection<JetType> supertypes = classDescriptor.getTypeConstructor().getSupertypes();
         assert supertypes.size() == 1 : "Closure must have exactly one supertype: " + funDescriptor;
@@ -289,6 +305,12 @@ public class ClosureCodegen extends ParentCodegenAwareImpl {
         typeMapper.mapSupertype(supertype, sw);
         sw.writeSuperclassEnd();
 
+        if (specializedTrait != null) {
+            sw.writeInterface();
+            sw.writeAsmType(specializedTrait);
+            sw.writeInterfaceEnd();
+        }
+
         String signature = sw.makeJavaGenericSignature();
         assert signature != null : "Closure superclass must have a generic signature: " + funDescriptor;
         return signature;
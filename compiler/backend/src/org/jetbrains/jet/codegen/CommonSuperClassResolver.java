@@ -0,0 +1,259 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.ClassUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.ClassReader;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.jet.codegen.state.JetTypeMapper;
+import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
+import org.jetbrains.jet.lang.descriptors.ClassKind;
+import org.jetbrains.jet.lang.descriptors.ClassifierDescriptor;
+import org.jetbrains.jet.lang.descriptors.DeclarationDescriptor;
+import org.jetbrains.jet.lang.descriptors.PackageFragmentDescriptor;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryJavaSignatures;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.ClassFileFinder;
+import org.jetbrains.jet.lang.resolve.kotlin.VirtualFileFinder;
+import org.jetbrains.jet.lang.types.JetType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.jetbrains.jet.codegen.CodegenUtil.isInterface;
+
+/**
+ * Computes common super classes of types merged during stack map frame computation (see {@link org.jetbrains.asm4.ClassWriter#getCommonSuperClass}).
+ * Unlike the default ASM implementation, no classes are loaded: classes being compiled are looked up by their descriptors,
+ * and classes from the class path are looked up by the headers of their class files. Classes which have no class files, e.g. in the IDE
+ * or with the JDK excluded from the class path, are looked up through PSI and then among the classes of the JDK running the compiler.
+ * Results are memoized, since the same pairs of types are merged over and over again
+ */
+public class CommonSuperClassResolver {
+    private static final String OBJECT = "java/lang/Object";
+
+    private static final ClassInfo UNKNOWN_CLASS = new ClassInfo(null, false);
+
+    private final Project project;
+    private final BindingContext bindingContext;
+    private final JetTypeMapper typeMapper;
+    @Nullable private final ClassFileFinder classFileFinder;
+
+    private final Map<String, ClassInfo> classInfos = new ConcurrentHashMap<String, ClassInfo>();
+    private final Map<Pair<String, String>, String> commonSuperClasses = new ConcurrentHashMap<Pair<String, String>, String>();
+    private volatile Map<String, ClassDescriptor> compiledClasses;
+
+    public CommonSuperClassResolver(@NotNull Project project, @NotNull BindingContext bindingContext, @NotNull JetTypeMapper typeMapper) {
+        this.project = project;
+        this.bindingContext = bindingContext;
+        this.typeMapper = typeMapper;
+        this.classFileFinder = getClassFileFinder(project);
+    }
+
+    @Nullable
+    static ClassFileFinder getClassFileFinder(@NotNull Project project) {
+        ClassFileFinder classFileFinder = ClassFileFinder.SERVICE.getInstance(project);
+        if (classFileFinder != null) return classFileFinder;
+
+        VirtualFileFinder virtualFileFinder = VirtualFileFinder.SERVICE.getInstance(project);
+        return virtualFileFinder instanceof ClassFileFinder ? (ClassFileFinder) virtualFileFinder : null;
+    }
+
+    /**
+     * Records a class which is being generated, so that local and anonymous classes, which have no names before codegen, are known
+     */
+    public void recordClass(@NotNull String internalName, int access, @Nullable String superName) {
+        classInfos.put(internalName, new ClassInfo(superName, (access & Opcodes.ACC_INTERFACE) != 0));
+    }
+
+    @NotNull
+    public String getCommonSuperClass(@NotNull String type1, @NotNull String type2) {
+        if (type1.equals(type2)) return type1;
+
+        Pair<String, String> key = Pair.create(type1, type2);
+        String result = commonSuperClasses.get(key);
+        if (result == null) {
+            result = computeCommonSuperClass(type1, type2);
+            commonSuperClasses.put(key, result);
+        }
+        return result;
+    }
+
+    @NotNull
+    private String computeCommonSuperClass(@NotNull String type1, @NotNull String type2) {
+        ClassInfo info1 = getClassInfo(type1);
+        ClassInfo info2 = getClassInfo(type2);
+        // The verifier treats interfaces as Object, the same is done by ASM
+        if (info1 == UNKNOWN_CLASS || info2 == UNKNOWN_CLASS || info1.isInterface || info2.isInterface) return OBJECT;
+
+        Set<String> superClasses2 = new HashSet<String>();
+        for (String type = type2; type != null; type = getClassInfo(type).superName) {
+            if (!superClasses2.add(type)) break;
+        }
+
+        Set<String> visited = new HashSet<String>();
+        for (String type = type1; type != null && visited.add(type); type = getClassInfo(type).superName) {
+            if (superClasses2.contains(type)) return type;
+        }
+        return OBJECT;
+    }
+
+    @NotNull
+    private ClassInfo getClassInfo(@NotNull String internalName) {
+        ClassInfo info = classInfos.get(internalName);
+        if (info == null) {
+            info = computeClassInfo(internalName);
+            classInfos.put(internalName, info);
+        }
+        return info;
+    }
+
+    @NotNull
+    private ClassInfo computeClassInfo(@NotNull String internalName) {
+        if (OBJECT.equals(internalName)) return new ClassInfo(null, false);
+
+        ClassDescriptor descriptor = getCompiledClasses().get(internalName);
+        if (descriptor != null) {
+            return new ClassInfo(getSuperClassInternalName(descriptor), isInterface(descriptor));
+        }
+
+        if (classFileFinder != null) {
+            VirtualFile file = classFileFinder.findClassFileByInternalName(internalName);
+            if (file != null) {
+                try {
+                    return readClassInfo(new ClassReader(file.contentsToByteArray()));
+                }
+                catch (IOException e) {
+                    return UNKNOWN_CLASS;
+                }
+            }
+        }
+
+        PsiClass psiClass = findPsiClass(internalName);
+        if (psiClass != null) {
+            PsiClass superClass = psiClass.getSuperClass();
+            return new ClassInfo(superClass != null ? getInternalName(superClass) : OBJECT, psiClass.isInterface());
+        }
+
+        return findPlatformClassInfo(internalName);
+    }
+
+    @Nullable
+    private PsiClass findPsiClass(@NotNull String internalName) {
+        String qualifiedName = BinaryJavaSignatures.internalNameToFqName(internalName).asString();
+        PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(qualifiedName, GlobalSearchScope.allScope(project));
+        // "a.b" may also be found for "a$b"
+        return psiClass != null && internalName.equals(getInternalName(psiClass)) ? psiClass : null;
+    }
+
+    @Nullable
+    private static String getInternalName(@NotNull PsiClass psiClass) {
+        String name = ClassUtil.getJVMClassName(psiClass);
+        return name != null ? name.replace('.', '/') : null;
+    }
+
+    /**
+     * Classes of the JDK are the ones most often merged, e.g. boxed primitives, and the JDK running the compiler is used for them
+     * when the one being compiled against can't be found. Only the platform class loader is queried, since the classes of the compiler
+     * itself are not the ones on the class path
+     */
+    @NotNull
+    private static ClassInfo findPlatformClassInfo(@NotNull String internalName) {
+        ClassLoader platformClassLoader = ClassLoader.getSystemClassLoader().getParent();
+        InputStream stream = platformClassLoader != null ? platformClassLoader.getResourceAsStream(internalName + ".class") : null;
+        if (stream == null) return UNKNOWN_CLASS;
+
+        try {
+            try {
+                return readClassInfo(new ClassReader(stream));
+            }
+            finally {
+                stream.close();
+            }
+        }
+        catch (IOException e) {
+            return UNKNOWN_CLASS;
+        }
+    }
+
+    @NotNull
+    private static ClassInfo readClassInfo(@NotNull ClassReader reader) {
+        return new ClassInfo(reader.getSuperName(), (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0);
+    }
+
+    @NotNull
+    private String getSuperClassInternalName(@NotNull ClassDescriptor descriptor) {
+        if (isInterface(descriptor)) return OBJECT;
+
+        for (JetType supertype : descriptor.getTypeConstructor().getSupertypes()) {
+            ClassifierDescriptor superClassifier = supertype.getConstructor().getDeclarationDescriptor();
+            if (superClassifier instanceof ClassDescriptor && !isInterface(superClassifier)) {
+                return typeMapper.mapType(supertype).getInternalName();
+            }
+        }
+        return descriptor.getKind() == ClassKind.ENUM_CLASS ? "java/lang/Enum" : OBJECT;
+    }
+
+    @NotNull
+    private Map<String, ClassDescriptor> getCompiledClasses() {
+        Map<String, ClassDescriptor> result = compiledClasses;
+        if (result == null) {
+            result = new HashMap<String, ClassDescriptor>();
+            for (PsiElement element : bindingContext.getKeys(BindingContext.CLASS)) {
+                ClassDescriptor descriptor = bindingContext.get(BindingContext.CLASS, element);
+                // Names of local and anonymous classes are assigned during codegen, such classes are recorded when they are generated
+                if (descriptor != null && isNamedClass(descriptor)) {
+                    result.put(typeMapper.mapClass(descriptor).getInternalName(), descriptor);
+                }
+            }
+            compiledClasses = result;
+        }
+        return result;
+    }
+
+    private static boolean isNamedClass(@NotNull ClassDescriptor descriptor) {
+        DeclarationDescriptor container = descriptor.getContainingDeclaration();
+        while (container instanceof ClassDescriptor) {
+            container = container.getContainingDeclaration();
+        }
+        return container instanceof PackageFragmentDescriptor;
+    }
+
+    private static class ClassInfo {
+        @Nullable private final String superName;
+        private final boolean isInterface;
+
+        private ClassInfo(@Nullable String superName, boolean isInterface) {
+            this.superName = superName;
+            this.isInterface = isInterface;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.ClassReader;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.asm4.commons.Method;
+import org.jetbrains.asm4.tree.*;
+import org.jetbrains.asm4.tree.analysis.*;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.ClassFileFinder;
+import org.jetbrains.jet.lang.resolve.kotlin.VirtualFileFinder;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Loads bodies of top-level inline functions from class files on the class path, so that calls of inline functions from libraries
+ * can be generated by copying their bytecode into the call site (see {@link ExpressionCodegen}). A package facade method delegating
+ * to a package part is followed to the part. Bodies are analyzed once and memoized, and bodies which can't be copied to a call site
+ * in another class (because they use private members or classes of their package, or leave values on the stack when returning)
+ * are not returned at all
+ */
+public class CompiledInlineFunctions {
+    private static final Pattern FUNCTION_TRAIT = Pattern.compile("jet/Function\\d+(\\$[A-Z]+)?");
+
+    private final Project project;
+
+    private final Map<String, Body> bodies = new ConcurrentHashMap<String, Body>();
+    private final Set<String> notInlinable = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    public CompiledInlineFunctions(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @Nullable
+    public Body getBody(@NotNull Type owner, @NotNull Method method) {
+        String key = owner.getInternalName() + "." + method.getName() + method.getDescriptor();
+        Body body = bodies.get(key);
+        if (body != null || notInlinable.contains(key)) return body;
+
+        body = loadBody(owner.getInternalName(), method);
+        if (body != null) {
+            bodies.put(key, body);
+        }
+        else {
+            notInlinable.add(key);
+        }
+        return body;
+    }
+
+    @Nullable
+    private Body loadBody(@NotNull String facade, @NotNull Method method) {
+        VirtualFile facadeFile = findClassFile(facade);
+        if (facadeFile == null) return null;
+
+        ClassNode facadeClass = readClass(facadeFile);
+        MethodNode node = facadeClass != null ? findMethod(facadeClass, method) : null;
+        if (node == null) return null;
+
+        String part = getDelegatedPart(facade, node);
+        if (part != null) {
+            VirtualFile directory = facadeFile.getParent();
+            VirtualFile partFile = directory != null ? directory.findChild(part.substring(part.lastIndexOf('/') + 1) + ".class") : null;
+            ClassNode partClass = partFile != null ? readClass(partFile) : null;
+            node = partClass != null ? findMethod(partClass, method) : null;
+            if (node == null) return null;
+        }
+
+        if ((node.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0 || (node.access & Opcodes.ACC_STATIC) == 0) return null;
+        if (!relinkToFacade(facade, facadeClass, node)) return null;
+
+        return analyze(facade, method, node);
+    }
+
+    @Nullable
+    private VirtualFile findClassFile(@NotNull String internalName) {
+        ClassFileFinder classFileFinder = CommonSuperClassResolver.getClassFileFinder(project);
+        if (classFileFinder != null) {
+            return classFileFinder.findClassFileByInternalName(internalName);
+        }
+
+        VirtualFileFinder virtualFileFinder = VirtualFileFinder.SERVICE.getInstance(project);
+        return virtualFileFinder != null ? virtualFileFinder.findVirtualFile(new FqName(internalName.replace('/', '.'))) : null;
+    }
+
+    @Nullable
+    private static ClassNode readClass(@NotNull VirtualFile file) {
+        try {
+            ClassNode classNode = new ClassNode();
+            new ClassReader(file.contentsToByteArray()).accept(classNode, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return classNode;
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static MethodNode findMethod(@NotNull ClassNode classNode, @NotNull Method method) {
+        for (MethodNode node : classNode.methods) {
+            if (node.name.equals(method.getName()) && node.desc.equals(method.getDescriptor())) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the package part which the package facade method delegates to, or null if the method has its own body
+     */
+    @Nullable
+    private static String getDelegatedPart(@NotNull String facade, @NotNull MethodNode node) {
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn.getOpcode() == Opcodes.INVOKESTATIC) {
+                MethodInsnNode call = (MethodInsnNode) insn;
+                if (call.name.equals(node.name) && call.desc.equals(node.desc) && isPackagePart(facade, call.owner)) {
+                    return call.owner;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Package parts and nested classes of the package are not accessible from other packages. Calls of public functions declared
+     * in package parts are redirected to their package facade, anything else makes the body impossible to copy
+     */
+    private static boolean relinkToFacade(@NotNull String facade, @NotNull ClassNode facadeClass, @NotNull MethodNode node) {
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            switch (insn.getType()) {
+                case AbstractInsnNode.METHOD_INSN:
+                    MethodInsnNode call = (MethodInsnNode) insn;
+                    if (call.owner.equals(facade) || isPackagePart(facade, call.owner)) {
+                        MethodNode target = findMethod(facadeClass, new Method(call.name, call.desc));
+                        if (target == null || (target.access & Opcodes.ACC_PUBLIC) == 0) return false;
+                        call.owner = facade;
+                    }
+                    else if (isPackageInternal(facade, call.owner)) return false;
+                    break;
+                case AbstractInsnNode.FIELD_INSN:
+                    String fieldOwner = ((FieldInsnNode) insn).owner;
+                    if (fieldOwner.equals(facade) || isPackageInternal(facade, fieldOwner)) return false;
+                    break;
+                case AbstractInsnNode.TYPE_INSN:
+                    if (isPackageInternal(facade, ((TypeInsnNode) insn).desc)) return false;
+                    break;
+                case AbstractInsnNode.LDC_INSN:
+                    Object constant = ((LdcInsnNode) insn).cst;
+                    if (constant instanceof Type && isPackageInternal(facade, ((Type) constant).getInternalName())) return false;
+                    break;
+                case AbstractInsnNode.INVOKE_DYNAMIC_INSN:
+                    return false;
+                default:
+                    if (insn.getOpcode() == Opcodes.JSR || insn.getOpcode() == Opcodes.RET) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPackagePart(@NotNull String facade, @NotNull String internalName) {
+        return internalName.startsWith(facade + "-") && internalName.indexOf('$') < 0;
+    }
+
+    private static boolean isPackageInternal(@NotNull String facade, @NotNull String internalName) {
+        return internalName.startsWith(facade + "-") || internalName.startsWith(facade + "$");
+    }
+
+    @Nullable
+    private static Body analyze(@NotNull String facade, @NotNull Method method, @NotNull MethodNode node) {
+        ConsumerRecordingInterpreter interpreter = new ConsumerRecordingInterpreter();
+        Frame<SourceValue>[] frames;
+        try {
+            frames = new Analyzer<SourceValue>(interpreter).analyze(facade, node);
+        }
+        catch (AnalyzerException e) {
+            return null;
+        }
+
+        // a return jumps to the end of the inlined body, so the returned value should be the only one on the stack
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            Frame<SourceValue> frame = frames[node.instructions.indexOf(insn)];
+            int opcode = insn.getOpcode();
+            if (frame != null && opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN &&
+                frame.getStackSize() != (opcode == Opcodes.RETURN ? 0 : 1)) {
+                return null;
+            }
+        }
+
+        Map<AbstractInsnNode, Integer> invokedParameters = new HashMap<AbstractInsnNode, Integer>();
+        Set<Integer> onlyInvokedParameters = new HashSet<Integer>();
+        int index = 0;
+        for (Type parameterType : method.getArgumentTypes()) {
+            if (parameterType.getSort() == Type.OBJECT &&
+                isOnlyInvoked(node, frames, interpreter.consumers, index, invokedParameters)) {
+                onlyInvokedParameters.add(index);
+            }
+            index += parameterType.getSize();
+        }
+
+        return new Body(facade, node, onlyInvokedParameters, invokedParameters);
+    }
+
+    /**
+     * @return true if the parameter in the given local variable slot is never stored to and its value is only used as the receiver
+     * of {@code invoke} of a function trait or in a not-null assertion, so that a function literal can be generated in place of
+     * every invocation instead of being passed as an object
+     */
+    private static boolean isOnlyInvoked(
+            @NotNull MethodNode node,
+            @NotNull Frame<SourceValue>[] frames,
+            @NotNull Map<AbstractInsnNode, Set<AbstractInsnNode>> consumers,
+            int slot,
+            @NotNull Map<AbstractInsnNode, Integer> invokedParameters
+    ) {
+        Map<AbstractInsnNode, Integer> invocations = new HashMap<AbstractInsnNode, Integer>();
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            Frame<SourceValue> frame = frames[node.instructions.indexOf(insn)];
+            if (insn instanceof VarInsnNode && ((VarInsnNode) insn).var == slot) {
+                if (insn.getOpcode() != Opcodes.ALOAD) return false;
+                if (frame == null) continue;
+
+                Set<AbstractInsnNode> users = consumers.get(insn);
+                if (users == null) return false;
+                for (AbstractInsnNode user : users) {
+                    if (!isFunctionInvocation(user) && !isParameterAssertion(user)) return false;
+                    if (!isReceiverLoadedFrom(frames[node.instructions.indexOf(user)], (MethodInsnNode) user, slot)) return false;
+                    invocations.put(user, slot);
+                }
+            }
+            else if ((insn.getOpcode() == Opcodes.POP || insn.getOpcode() == Opcodes.POP2) && frame != null) {
+                // values dropped from the stack aren't passed to the interpreter
+                for (int i = Math.max(0, frame.getStackSize() - 2); i < frame.getStackSize(); i++) {
+                    if (isLoadedFrom(frame.getStack(i), slot)) return false;
+                }
+            }
+        }
+
+        invokedParameters.putAll(invocations);
+        return true;
+    }
+
+    private static boolean isFunctionInvocation(@NotNull AbstractInsnNode insn) {
+        if (insn.getOpcode() != Opcodes.INVOKEINTERFACE) return false;
+        MethodInsnNode call = (MethodInsnNode) insn;
+        return call.name.equals("invoke") && FUNCTION_TRAIT.matcher(call.owner).matches();
+    }
+
+    private static boolean isParameterAssertion(@NotNull AbstractInsnNode insn) {
+        if (insn.getOpcode() != Opcodes.INVOKESTATIC) return false;
+        MethodInsnNode call = (MethodInsnNode) insn;
+        return call.owner.equals("jet/runtime/Intrinsics") && call.name.equals("checkParameterIsNotNull");
+    }
+
+    private static boolean isReceiverLoadedFrom(@Nullable Frame<SourceValue> frame, @NotNull MethodInsnNode call, int slot) {
+        if (frame == null) return false;
+        int argumentCount = Type.getArgumentTypes(call.desc).length;
+        int receiverIndex = frame.getStackSize() - argumentCount - (call.getOpcode() == Opcodes.INVOKESTATIC ? 0 : 1);
+        for (int i = receiverIndex + 1; i < frame.getStackSize(); i++) {
+            if (isLoadedFrom(frame.getStack(i), slot)) return false;
+        }
+
+        SourceValue receiver = frame.getStack(receiverIndex);
+        for (AbstractInsnNode source : receiver.insns) {
+            if (!(source instanceof VarInsnNode) || source.getOpcode() != Opcodes.ALOAD || ((VarInsnNode) source).var != slot) {
+                return false;
+            }
+        }
+        return !receiver.insns.isEmpty();
+    }
+
+    private static boolean isLoadedFrom(@NotNull SourceValue value, int slot) {
+        for (AbstractInsnNode source : value.insns) {
+            if (source instanceof VarInsnNode && source.getOpcode() == Opcodes.ALOAD && ((VarInsnNode) source).var == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records instructions which consume values loaded from local variables
+     */
+    private static class ConsumerRecordingInterpreter extends SourceInterpreter {
+        private final Map<AbstractInsnNode, Set<AbstractInsnNode>> consumers = new HashMap<AbstractInsnNode, Set<AbstractInsnNode>>();
+
+        ConsumerRecordingInterpreter() {
+            super(Opcodes.ASM4);
+        }
+
+        private void consume(@NotNull AbstractInsnNode insn, @NotNull SourceValue value) {
+            for (AbstractInsnNode source : value.insns) {
+                if (source.getOpcode() == Opcodes.ALOAD) {
+                    Set<AbstractInsnNode> users = consumers.get(source);
+                    if (users == null) {
+                        users = new HashSet<AbstractInsnNode>();
+                        consumers.put(source, users);
+                    }
+                    users.add(insn);
+                }
+            }
+        }
+
+        @Override
+        public SourceValue copyOperation(AbstractInsnNode insn, SourceValue value) {
+            consume(insn, value);
+            return super.copyOperation(insn, value);
+        }
+
+        @Override
+        public SourceValue unaryOperation(AbstractInsnNode insn, SourceValue value) {
+            consume(insn, value);
+            return super.unaryOperation(insn, value);
+        }
+
+        @Override
+        public SourceValue binaryOperation(AbstractInsnNode insn, SourceValue value1, SourceValue value2) {
+            consume(insn, value1);
+            consume(insn, value2);
+            return super.binaryOperation(insn, value1, value2);
+        }
+
+        @Override
+        public SourceValue ternaryOperation(AbstractInsnNode insn, SourceValue value1, SourceValue value2, SourceValue value3) {
+            consume(insn, value1);
+            consume(insn, value2);
+            consume(insn, value3);
+            return super.ternaryOperation(insn, value1, value2, value3);
+        }
+
+        @Override
+        public SourceValue naryOperation(AbstractInsnNode insn, List<? extends SourceValue> values) {
+            for (SourceValue value : values) {
+                consume(insn, value);
+            }
+            return super.naryOperation(insn, values);
+        }
+
+        @Override
+        public void returnOperation(AbstractInsnNode insn, SourceValue value, SourceValue expected) {
+            consume(insn, value);
+            super.returnOperation(insn, value, expected);
+        }
+    }
+
+    public static class Body {
+        private final String owner;
+        private final MethodNode node;
+        private final Set<Integer> onlyInvokedParameters;
+        private final Map<AbstractInsnNode, Integer> invokedParameters;
+
+        private Body(
+                @NotNull String owner,
+                @NotNull MethodNode node,
+                @NotNull Set<Integer> onlyInvokedParameters,
+                @NotNull Map<AbstractInsnNode, Integer> invokedParameters
+        ) {
+            this.owner = owner;
+            this.node = node;
+            this.onlyInvokedParameters = onlyInvokedParameters;
+            this.invokedParameters = invokedParameters;
+        }
+
+        /**
+         * @return the package facade class, which all calls of functions of the same package are redirected to
+         */
+        @NotNull
+        public String getOwner() {
+            return owner;
+        }
+
+        /**
+         * The method node is shared between call sites and threads, and should not be modified: instructions are copied with
+         * {@link AbstractInsnNode#clone}
+         */
+        @NotNull
+        public MethodNode getNode() {
+            return node;
+        }
+
+        public boolean hasTryCatchBlocks() {
+            return !node.tryCatchBlocks.isEmpty();
+        }
+
+        /**
+         * @return true if the function parameter in the given local variable slot is only invoked, see {@link #getInvokedParameter}
+         */
+        public boolean isOnlyInvoked(int slot) {
+            return onlyInvokedParameters.contains(slot);
+        }
+
+        /**
+         * @return the local variable slot of the function parameter which is the receiver of the given {@code invoke} call,
+         * or the argument of the given not-null assertion, or null for other instructions
+         */
+        @Nullable
+        public Integer getInvokedParameter(@NotNull AbstractInsnNode insn) {
+            return invokedParameters.get(insn);
+        }
+    }
+}
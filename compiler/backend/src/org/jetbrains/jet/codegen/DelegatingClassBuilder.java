@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen;
+
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.AnnotationVisitor;
+import org.jetbrains.asm4.ClassVisitor;
+import org.jetbrains.asm4.FieldVisitor;
+import org.jetbrains.asm4.MethodVisitor;
+
+public abstract class DelegatingClassBuilder extends ClassBuilder {
+    private final ClassBuilder delegate;
+
+    protected DelegatingClassBuilder(@NotNull ClassBuilder delegate) {
+        this.delegate = delegate;
+    }
+
+    @NotNull
+    public ClassBuilder getDelegate() {
+        return delegate;
+    }
+
+    @NotNull
+    @Override
+    public ClassVisitor getVisitor() {
+        return delegate.getVisitor();
+    }
+
+    @NotNull
+    @Override
+    public MethodVisitor newMethod(
+            @Nullable PsiElement origin,
+            int access,
+            @NotNull String name,
+            @NotNull String desc,
+            @Nullable String signature,
+            @Nullable String[] exceptions
+    ) {
+        return delegate.newMethod(origin, access, name, desc, signature, exceptions);
+    }
+
+    @NotNull
+    @Override
+    public FieldVisitor newField(
+            @Nullable PsiElement origin,
+            int access,
+            @NotNull String name,
+            @NotNull String desc,
+            @Nullable String signature,
+            @Nullable Object value
+    ) {
+        return delegate.newField(origin, access, name, desc, signature, value);
+    }
+
+    @NotNull
+    @Override
+    public JvmSerializationBindings getSerializationBindings() {
+        return delegate.getSerializationBindings();
+    }
+
+    @NotNull
+    @Override
+    public AnnotationVisitor newAnnotation(@NotNull String desc, boolean visible) {
+        return delegate.newAnnotation(desc, visible);
+    }
+
+    @Override
+    public void done() {
+        delegate.done();
+    }
+
+    @Override
+    public void defineClass(
+            @Nullable PsiElement origin,
+            int version,
+            int access,
+            @NotNull String name,
+            @Nullable String signature,
+            @NotNull String superName,
+            @NotNull String[] interfaces
+    ) {
+        delegate.defineClass(origin, version, access, name, signature, superName, interfaces);
+    }
+
+    @Override
+    public void visitSource(@NotNull String name, @Nullable String debug) {
+        delegate.visitSource(name, debug);
+    }
+
+    @Override
+    public void visitOuterClass(@NotNull String owner, @Nullable String name, @Nullable String desc) {
+        delegate.visitOuterClass(owner, name, desc);
+    }
+
+    @Override
+    public void visitInnerClass(@NotNull String name, @Nullable String outerName, @Nullable String innerName, int access) {
+        delegate.visitInnerClass(name, outerName, innerName, access);
+    }
+
+    @NotNull
+    @Override
+    public String getThisName() {
+        return delegate.getThisName();
+    }
+}
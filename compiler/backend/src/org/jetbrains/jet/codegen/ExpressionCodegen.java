@@ -22,6 +22,7 @@ import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ArrayUtil;
 import com.intellij.util.Function;
 import com.intellij.util.containers.Stack;
@@ -32,11 +33,21 @@ import org.jetbrains.asm4.MethodVisitor;
 import org.jetbrains.asm4.Type;
 import org.jetbrains.asm4.commons.InstructionAdapter;
 import org.jetbrains.asm4.commons.Method;
+import org.jetbrains.asm4.tree.AbstractInsnNode;
+import org.jetbrains.asm4.tree.IincInsnNode;
+import org.jetbrains.asm4.tree.LabelNode;
+import org.jetbrains.asm4.tree.MethodInsnNode;
+import org.jetbrains.asm4.tree.MethodNode;
+import org.jetbrains.asm4.tree.TryCatchBlockNode;
+import org.jetbrains.asm4.tree.VarInsnNode;
 import org.jetbrains.jet.codegen.binding.CalculatedClosure;
 import org.jetbrains.jet.codegen.binding.CodegenBinding;
 import org.jetbrains.jet.codegen.binding.MutableClosure;
 import org.jetbrains.jet.codegen.context.*;
+import org.jetbrains.jet.codegen.intrinsics.ArrayIndices;
+import org.jetbrains.jet.codegen.intrinsics.Concat;
 import org.jetbrains.jet.codegen.intrinsics.IntrinsicMethod;
+import org.jetbrains.jet.codegen.intrinsics.StringPlus;
 import org.jetbrains.jet.codegen.signature.JvmMethodSignature;
 import org.jetbrains.jet.codegen.state.GenerationState;
 import org.jetbrains.jet.codegen.state.JetTypeMapper;
@@ -45,6 +56,7 @@ import org.jetbrains.jet.lang.diagnostics.DiagnosticUtils;
 import org.jetbrains.jet.lang.evaluate.EvaluatePackage;
 import org.jetbrains.jet.lang.psi.*;
 import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.BindingContextUtils;
 import org.jetbrains.jet.lang.resolve.DescriptorUtils;
 import org.jetbrains.jet.lang.resolve.calls.autocasts.AutoCastReceiver;
 import org.jetbrains.jet.lang.resolve.calls.model.*;
@@ -53,6 +65,7 @@ import org.jetbrains.jet.lang.resolve.calls.util.ExpressionAsFunctionDescriptor;
 import org.jetbrains.jet.lang.resolve.constants.CompileTimeConstant;
 import org.jetbrains.jet.lang.resolve.constants.IntegerValueTypeConstant;
 import org.jetbrains.jet.lang.resolve.constants.IntegerValueTypeConstructor;
+import org.jetbrains.jet.lang.resolve.constants.NullValue;
 import org.jetbrains.jet.lang.resolve.java.AsmTypeConstants;
 import org.jetbrains.jet.lang.resolve.java.JvmAbi;
 import org.jetbrains.jet.lang.resolve.java.descriptor.JavaClassDescriptor;
@@ -61,7 +74,10 @@ import org.jetbrains.jet.lang.resolve.name.Name;
 import org.jetbrains.jet.lang.resolve.scopes.receivers.*;
 import org.jetbrains.jet.lang.types.JetType;
 import org.jetbrains.jet.lang.types.checker.JetTypeChecker;
+import org.jetbrains.jet.lang.types.expressions.CaptureKind;
+import org.jetbrains.jet.lang.types.lang.InlineUtil;
 import org.jetbrains.jet.lang.types.lang.KotlinBuiltIns;
+import org.jetbrains.jet.lang.types.lang.PrimitiveType;
 import org.jetbrains.jet.lexer.JetTokens;
 import org.jetbrains.jet.renderer.DescriptorRenderer;
 
@@ -82,7 +98,6 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
 
     private static final String CLASS_NO_PATTERN_MATCHED_EXCEPTION = "jet/NoPatternMatchedException";
     private static final String CLASS_TYPE_CAST_EXCEPTION = "jet/TypeCastException";
-    public static final Set<DeclarationDescriptor> INTEGRAL_RANGES = KotlinBuiltIns.getInstance().getIntegralRanges();
 
     private int myLastLineNumber = -1;
 
@@ -107,10 +122,17 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
      * When we create a temporary variable to hold some value not to compute it many times
      * we put it into this map to emit access to that variable instead of evaluating the whole expression
      */
-    private final Map<JetElement, StackValue.Local> tempVariables = Maps.newHashMap();
+    final Map<JetElement, StackValue> tempVariables = Maps.newHashMap();
     @NotNull
     private final TailRecursionCodegen tailRecursionCodegen;
 
+    /*
+     * Bodies of inline functions and function literals which are being generated in place of a call, the innermost one is on top
+     */
+    private final Stack<InlineFrame> inlineFrames = new Stack<InlineFrame>();
+    private final Map<ValueParameterDescriptor, JetFunctionLiteralExpression> inlinedFunctionLiterals = Maps.newHashMap();
+    private final Map<CallableDescriptor, StackValue> inlinedReceivers = Maps.newHashMap();
+
     public CalculatedClosure generateObjectLiteral(GenerationState state, JetObjectLiteralExpression literal) {
         JetObjectDeclaration objectDeclaration = literal.getObjectDeclaration();
 
@@ -161,6 +183,32 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         }
     }
 
+    private static class InlineFrame {
+        final JetDeclarationWithBody declaration;
+        final Type resultType;
+        final int resultIndex;
+        final int blockStackDepth;
+        final boolean entryStackEmpty;
+        final PsiElement callSite;
+        final Label end = new Label();
+
+        InlineFrame(
+                @NotNull JetDeclarationWithBody declaration,
+                @NotNull Type resultType,
+                int resultIndex,
+                int blockStackDepth,
+                boolean entryStackEmpty,
+                @NotNull PsiElement callSite
+        ) {
+            this.declaration = declaration;
+            this.resultType = resultType;
+            this.resultIndex = resultIndex;
+            this.blockStackDepth = blockStackDepth;
+            this.entryStackEmpty = entryStackEmpty;
+            this.callSite = callSite;
+        }
+    }
+
     public ExpressionCodegen(
             @NotNull MethodVisitor v,
             @NotNull FrameMap myMap,
@@ -468,9 +516,23 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
                     generateForLoop(new ForInRangeLiteralLoopGenerator(forExpression, binaryCall));
                     return StackValue.none();
                 }
+
+                // Is it a "10 downTo 1" or "1..10 step 2" or so
+                AbstractForLoopGenerator generator = createProgressionLiteralLoopGenerator(forExpression, binaryCall, resolvedCall);
+                if (generator != null) {
+                    generateForLoop(generator);
+                    return StackValue.none();
+                }
             }
         }
 
+        // Is it an "array.indices" or "list.withIndices()" or so
+        AbstractForLoopGenerator indicesGenerator = createIndicesLoopGenerator(forExpression);
+        if (indicesGenerator != null) {
+            generateForLoop(indicesGenerator);
+            return StackValue.none();
+        }
+
         JetExpression loopRange = forExpression.getLoopRange();
         JetType loopRangeType = bindingContext.get(BindingContext.EXPRESSION_TYPE, loopRange);
         assert loopRangeType != null;
@@ -495,6 +557,84 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         }
     }
 
+    @Nullable
+    private AbstractForLoopGenerator createProgressionLiteralLoopGenerator(
+            @NotNull JetForExpression forExpression,
+            @NotNull RangeCodegenUtil.BinaryCall binaryCall,
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall
+    ) {
+        CallableDescriptor descriptor = resolvedCall.getResultingDescriptor();
+        if (RangeCodegenUtil.isOptimizableDownTo(descriptor)) {
+            return new ForInProgressionLiteralLoopGenerator(forExpression, binaryCall, -1);
+        }
+
+        if (!RangeCodegenUtil.isOptimizableStep(descriptor)) return null;
+
+        // A non-constant or non-positive step is checked by the step() function itself
+        CompileTimeConstant<?> step = getCompileTimeConstant(binaryCall.right, bindingContext);
+        if (step == null || !(step.getValue() instanceof Integer || step.getValue() instanceof Long)) return null;
+        long stepValue = ((Number) step.getValue()).longValue();
+        if (stepValue <= 0) return null;
+
+        RangeCodegenUtil.BinaryCall progressionCall = RangeCodegenUtil.getRangeAsBinaryCall(binaryCall.left);
+        if (progressionCall == null) return null;
+
+        ResolvedCall<? extends CallableDescriptor> progressionResolvedCall = bindingContext.get(RESOLVED_CALL, progressionCall.op);
+        if (progressionResolvedCall == null) return null;
+
+        CallableDescriptor progressionDescriptor = progressionResolvedCall.getResultingDescriptor();
+        if (RangeCodegenUtil.isOptimizableRangeTo(progressionDescriptor)) {
+            return new ForInProgressionLiteralLoopGenerator(forExpression, progressionCall, stepValue);
+        }
+        if (RangeCodegenUtil.isOptimizableDownTo(progressionDescriptor)) {
+            return new ForInProgressionLiteralLoopGenerator(forExpression, progressionCall, -stepValue);
+        }
+        return null;
+    }
+
+    @Nullable
+    private AbstractForLoopGenerator createIndicesLoopGenerator(@NotNull JetForExpression forExpression) {
+        JetExpression loopRange = JetPsiUtil.deparenthesize(forExpression.getLoopRange());
+        if (!(loopRange instanceof JetDotQualifiedExpression)) return null;
+
+        JetDotQualifiedExpression qualifiedExpression = (JetDotQualifiedExpression) loopRange;
+        JetExpression receiverExpression = qualifiedExpression.getReceiverExpression();
+        JetExpression selector = qualifiedExpression.getSelectorExpression();
+        JetExpression callee = selector instanceof JetCallExpression ? ((JetCallExpression) selector).getCalleeExpression() : selector;
+        if (callee == null) return null;
+
+        ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(RESOLVED_CALL, callee);
+        if (resolvedCall == null) return null;
+
+        CallableDescriptor descriptor = resolvedCall.getResultingDescriptor();
+        if (selector instanceof JetSimpleNameExpression) {
+            if (RangeCodegenUtil.isOptimizableIndices(descriptor) || isArrayIndices(descriptor)) {
+                return new ForInIndicesLoopGenerator(forExpression, receiverExpression);
+            }
+        }
+        else if (RangeCodegenUtil.isOptimizableWithIndices(descriptor) && isMultiDeclarationOfPairComponents(forExpression)) {
+            return new ForInWithIndicesLoopGenerator(forExpression, receiverExpression);
+        }
+        return null;
+    }
+
+    private boolean isArrayIndices(@NotNull CallableDescriptor descriptor) {
+        CallableDescriptor original = descriptor.getOriginal();
+        return original instanceof CallableMemberDescriptor &&
+               state.getIntrinsics().getIntrinsic((CallableMemberDescriptor) original) instanceof ArrayIndices;
+    }
+
+    private boolean isMultiDeclarationOfPairComponents(@NotNull JetForExpression forExpression) {
+        JetMultiDeclaration multiParameter = forExpression.getMultiParameter();
+        if (multiParameter == null) return false;
+
+        for (JetMultiDeclarationEntry entry : multiParameter.getEntries()) {
+            ResolvedCall<FunctionDescriptor> componentCall = bindingContext.get(BindingContext.COMPONENT_RESOLVED_CALL, entry);
+            if (componentCall == null || !RangeCodegenUtil.isPairComponent(componentCall.getResultingDescriptor())) return false;
+        }
+        return true;
+    }
+
     private OwnerKind contextKind() {
         return context.getContextKind();
     }
@@ -618,13 +758,18 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
                 ResolvedCall<FunctionDescriptor> resolvedCall =
                         bindingContext.get(BindingContext.COMPONENT_RESOLVED_CALL, variableDeclaration);
                 assert resolvedCall != null : "Resolved call is null for " + variableDeclaration.getText();
-                Call call = makeFakeCall(new TransientReceiver(elementType));
-                invokeFunction(call, StackValue.local(loopParameterVar, asmElementType), resolvedCall);
+                putComponent(resolvedCall, componentAsmType);
 
                 v.store(componentVarIndex, componentAsmType);
             }
         }
 
+        // Puts the value of a component of the loop element on the stack
+        protected void putComponent(@NotNull ResolvedCall<FunctionDescriptor> componentCall, @NotNull Type componentAsmType) {
+            Call call = makeFakeCall(new TransientReceiver(elementType));
+            invokeFunction(call, StackValue.local(loopParameterVar, asmElementType), componentCall);
+        }
+
         protected abstract void assignToLoopParameter();
 
         protected abstract void increment(@NotNull Label loopExit);
@@ -977,13 +1122,13 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         }
     }
 
-    private class ForInProgressionExpressionLoopGenerator extends AbstractForInProgressionOrRangeLoopGenerator {
-        private int incrementVar;
-        private Type incrementType;
+    private abstract class AbstractForInProgressionLoopGenerator extends AbstractForInProgressionOrRangeLoopGenerator {
+        protected int incrementVar;
+        protected Type incrementType;
 
         private int finalVar;
 
-        private ForInProgressionExpressionLoopGenerator(@NotNull JetForExpression forExpression) {
+        private AbstractForInProgressionLoopGenerator(@NotNull JetForExpression forExpression) {
             super(forExpression);
         }
 
@@ -998,25 +1143,14 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
 
             incrementVar = createLoopTempVariable(asmElementType);
 
-            JetType loopRangeType = bindingContext.get(EXPRESSION_TYPE, forExpression.getLoopRange());
-            assert loopRangeType != null;
-            Type asmLoopRangeType = asmType(loopRangeType);
-
-            Collection<VariableDescriptor> incrementProp = loopRangeType.getMemberScope().getProperties(Name.identifier("increment"));
-            assert incrementProp.size() == 1 : loopRangeType + " " + incrementProp.size();
-            incrementType = asmType(incrementProp.iterator().next().getType());
-
-            gen(forExpression.getLoopRange(), asmLoopRangeType);
-            v.dup();
-            v.dup();
-
-            generateRangeOrProgressionProperty(asmLoopRangeType, "getStart", asmElementType, loopParameterVar);
-            generateRangeOrProgressionProperty(asmLoopRangeType, "getEnd", asmElementType, endVar);
-            generateRangeOrProgressionProperty(asmLoopRangeType, "getIncrement", incrementType, incrementVar);
+            storeProgressionStartEndAndIncrement();
 
             storeFinalVar();
         }
 
+        // Stores the first element to loopParameterVar, the end to endVar and the increment of type incrementType to incrementVar
+        protected abstract void storeProgressionStartEndAndIncrement();
+
         private void storeFinalVar() {
             if (!isIntegerProgression) {
                 finalVar = -1;
@@ -1130,6 +1264,189 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         }
     }
 
+    private class ForInProgressionExpressionLoopGenerator extends AbstractForInProgressionLoopGenerator {
+        private ForInProgressionExpressionLoopGenerator(@NotNull JetForExpression forExpression) {
+            super(forExpression);
+        }
+
+        @Override
+        protected void storeProgressionStartEndAndIncrement() {
+            JetType loopRangeType = bindingContext.get(EXPRESSION_TYPE, forExpression.getLoopRange());
+            assert loopRangeType != null;
+            Type asmLoopRangeType = asmType(loopRangeType);
+
+            Collection<VariableDescriptor> incrementProp = loopRangeType.getMemberScope().getProperties(Name.identifier("increment"));
+            assert incrementProp.size() == 1 : loopRangeType + " " + incrementProp.size();
+            incrementType = asmType(incrementProp.iterator().next().getType());
+
+            gen(forExpression.getLoopRange(), asmLoopRangeType);
+            v.dup();
+            v.dup();
+
+            generateRangeOrProgressionProperty(asmLoopRangeType, "getStart", asmElementType, loopParameterVar);
+            generateRangeOrProgressionProperty(asmLoopRangeType, "getEnd", asmElementType, endVar);
+            generateRangeOrProgressionProperty(asmLoopRangeType, "getIncrement", incrementType, incrementVar);
+        }
+    }
+
+    // "a downTo b", "a downTo b step c" and "a..b step c" with a positive constant c, compiled without creating the progression.
+    // Only integer progressions get here, the increment of which is an Int or a Long
+    private class ForInProgressionLiteralLoopGenerator extends AbstractForInProgressionLoopGenerator {
+        private final RangeCodegenUtil.BinaryCall rangeCall;
+        private final long increment;
+
+        private ForInProgressionLiteralLoopGenerator(
+                @NotNull JetForExpression forExpression,
+                @NotNull RangeCodegenUtil.BinaryCall rangeCall,
+                long increment
+        ) {
+            super(forExpression);
+            this.rangeCall = rangeCall;
+            this.increment = increment;
+        }
+
+        @Override
+        protected void storeProgressionStartEndAndIncrement() {
+            gen(rangeCall.left, asmElementType);
+            v.store(loopParameterVar, asmElementType);
+
+            gen(rangeCall.right, asmElementType);
+            v.store(endVar, asmElementType);
+
+            if (asmElementType.getSort() == Type.LONG) {
+                incrementType = Type.LONG_TYPE;
+                v.lconst(increment);
+            }
+            else {
+                incrementType = Type.INT_TYPE;
+                v.iconst((int) increment);
+            }
+            v.store(incrementVar, incrementType);
+        }
+    }
+
+    // "array.indices", "collection.indices" and "n.indices", compiled as a loop from 0 to the size minus one
+    private class ForInIndicesLoopGenerator extends AbstractForInRangeLoopGenerator {
+        private final JetExpression receiver;
+
+        private ForInIndicesLoopGenerator(@NotNull JetForExpression forExpression, @NotNull JetExpression receiver) {
+            super(forExpression);
+            this.receiver = receiver;
+        }
+
+        @Override
+        protected void storeRangeStartAndEnd() {
+            JetType receiverType = bindingContext.get(EXPRESSION_TYPE, receiver);
+            assert receiverType != null;
+            Type asmReceiverType = asmType(receiverType);
+
+            gen(receiver, asmReceiverType);
+            if (asmReceiverType.getSort() == Type.ARRAY) {
+                v.arraylength();
+            }
+            else if (asmReceiverType.getSort() != Type.INT) {
+                v.invokeinterface("java/util/Collection", "size", "()I");
+            }
+            v.iconst(1);
+            v.sub(Type.INT_TYPE);
+            v.store(endVar, asmElementType);
+
+            v.iconst(0);
+            v.store(loopParameterVar, asmElementType);
+        }
+    }
+
+    // "for ((index, element) in c.withIndices())" over an Iterable or an array: neither the iterator of pairs nor the pairs are created,
+    // the components are read directly from the index and the element kept in temporary variables
+    private class ForInWithIndicesLoopGenerator extends AbstractForLoopGenerator {
+        private final JetExpression receiver;
+        private Type asmReceiverType;
+        private Type asmReceiverElementType;
+
+        private int indexVar;
+        private int receiverVar;
+
+        private ForInWithIndicesLoopGenerator(@NotNull JetForExpression forExpression, @NotNull JetExpression receiver) {
+            super(forExpression);
+            this.receiver = receiver;
+        }
+
+        private boolean isArray() {
+            return asmReceiverType.getSort() == Type.ARRAY;
+        }
+
+        @Override
+        public void beforeLoop() {
+            // The loop parameter is always a multi-declaration, the temporary holds the element instead of the Pair
+            JetType receiverType = bindingContext.get(EXPRESSION_TYPE, receiver);
+            assert receiverType != null;
+            asmReceiverType = asmType(receiverType);
+            asmReceiverElementType = isArray() ? correctElementType(asmReceiverType) : OBJECT_TYPE;
+
+            loopParameterVar = createLoopTempVariable(asmReceiverElementType);
+            indexVar = createLoopTempVariable(Type.INT_TYPE);
+
+            // The array itself or its iterator
+            receiverVar = createLoopTempVariable(OBJECT_TYPE);
+
+            gen(receiver, asmReceiverType);
+            if (!isArray()) {
+                v.invokeinterface("java/lang/Iterable", "iterator", "()Ljava/util/Iterator;");
+            }
+            v.store(receiverVar, OBJECT_TYPE);
+
+            v.iconst(0);
+            v.store(indexVar, Type.INT_TYPE);
+        }
+
+        @Override
+        public void checkEmptyLoop(@NotNull Label loopExit) {
+        }
+
+        @Override
+        public void checkPreCondition(@NotNull Label loopExit) {
+            if (isArray()) {
+                v.load(indexVar, Type.INT_TYPE);
+                v.load(receiverVar, OBJECT_TYPE);
+                v.arraylength();
+                v.ificmpge(loopExit);
+            }
+            else {
+                v.load(receiverVar, OBJECT_TYPE);
+                v.invokeinterface("java/util/Iterator", "hasNext", "()Z");
+                v.ifeq(loopExit);
+            }
+        }
+
+        @Override
+        protected void assignToLoopParameter() {
+            v.load(receiverVar, OBJECT_TYPE);
+            if (isArray()) {
+                v.load(indexVar, Type.INT_TYPE);
+                v.aload(asmReceiverElementType);
+            }
+            else {
+                v.invokeinterface("java/util/Iterator", "next", "()Ljava/lang/Object;");
+            }
+            v.store(loopParameterVar, asmReceiverElementType);
+        }
+
+        @Override
+        protected void putComponent(@NotNull ResolvedCall<FunctionDescriptor> componentCall, @NotNull Type componentAsmType) {
+            if ("component1".equals(componentCall.getResultingDescriptor().getName().asString())) {
+                StackValue.local(indexVar, Type.INT_TYPE).put(componentAsmType, v);
+            }
+            else {
+                StackValue.local(loopParameterVar, asmReceiverElementType).put(componentAsmType, v);
+            }
+        }
+
+        @Override
+        protected void increment(@NotNull Label loopExit) {
+            v.iinc(indexVar, 1);
+        }
+    }
+
 
     @Override
     public StackValue visitBreakExpression(@NotNull JetBreakExpression expression, StackValue receiver) {
@@ -1229,47 +1546,125 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
 
     @Override
     public StackValue visitStringTemplateExpression(@NotNull JetStringTemplateExpression expression, StackValue receiver) {
-        StringBuilder constantValue = new StringBuilder("");
-        JetStringTemplateEntry[] entries = expression.getEntries();
+        return generateStringConcatenation(expression);
+    }
 
-        if (entries.length == 1 && entries[0] instanceof JetStringTemplateEntryWithExpression) {
-            JetExpression expr = entries[0].getExpression();
-            return genToString(v, gen(expr), expressionType(expr));
-        }
+    /**
+     * Generates a string template or a chain of string concatenations with a single StringBuilder. Nested templates and
+     * concatenations are flattened into it, compile-time constant parts are folded, and the builder is created with enough capacity
+     * for all the constant parts
+     */
+    @NotNull
+    private StackValue generateStringConcatenation(@NotNull JetExpression expression) {
+        List<Object> parts = new ArrayList<Object>();
+        collectStringConcatenationParts(expression, parts);
 
-        for (JetStringTemplateEntry entry : entries) {
-            if (entry instanceof JetLiteralStringTemplateEntry) {
-                constantValue.append(entry.getText());
-            }
-            else if (entry instanceof JetEscapeStringTemplateEntry) {
-                constantValue.append(((JetEscapeStringTemplateEntry) entry).getUnescapedValue());
-            }
-            else {
-                constantValue = null;
-                break;
+        if (parts.isEmpty()) {
+            return StackValue.constant("", JAVA_STRING_TYPE);
+        }
+        if (parts.size() == 1) {
+            Object part = parts.get(0);
+            if (part instanceof String) {
+                return StackValue.constant(part, JAVA_STRING_TYPE);
             }
+            JetExpression partExpression = (JetExpression) part;
+            return genToString(v, gen(partExpression), expressionType(partExpression));
         }
-        if (constantValue != null) {
-            Type type = expressionType(expression);
-            return StackValue.constant(constantValue.toString(), type);
+
+        int capacity = 0;
+        for (Object part : parts) {
+            // StringBuilder starts with 16 chars, the same is reserved for each non-constant part
+            capacity += part instanceof String ? ((String) part).length() : 16;
         }
-        else {
-            genStringBuilderConstructor(v);
-            for (JetStringTemplateEntry entry : entries) {
+        genStringBuilderConstructor(v, capacity);
+        for (Object part : parts) {
+            appendStringConcatenationPart(part);
+        }
+        v.invokevirtual("java/lang/StringBuilder", "toString", "()Ljava/lang/String;");
+        return StackValue.onStack(JAVA_STRING_TYPE);
+    }
+
+    /**
+     * Splits a string concatenation into parts: constant parts are strings, adjacent ones are joined; other parts are expressions
+     */
+    private void collectStringConcatenationParts(@NotNull JetExpression expression, @NotNull List<Object> parts) {
+        JetExpression deparenthesized = JetPsiUtil.deparenthesize(expression);
+        if (deparenthesized != null) {
+            expression = deparenthesized;
+        }
+
+        String constant = getStringConstant(expression);
+        if (constant != null) {
+            addConstantStringPart(constant, parts);
+        }
+        else if (expression instanceof JetStringTemplateExpression) {
+            for (JetStringTemplateEntry entry : ((JetStringTemplateExpression) expression).getEntries()) {
                 if (entry instanceof JetStringTemplateEntryWithExpression) {
-                    invokeAppend(entry.getExpression());
+                    JetExpression entryExpression = entry.getExpression();
+                    assert entryExpression != null : "No expression in template entry: " + entry.getText();
+                    collectStringConcatenationParts(entryExpression, parts);
+                }
+                else if (entry instanceof JetEscapeStringTemplateEntry) {
+                    addConstantStringPart(((JetEscapeStringTemplateEntry) entry).getUnescapedValue(), parts);
                 }
                 else {
-                    String text = entry instanceof JetEscapeStringTemplateEntry
-                                  ? ((JetEscapeStringTemplateEntry) entry).getUnescapedValue()
-                                  : entry.getText();
-                    v.aconst(text);
-                    genInvokeAppendMethod(v, JAVA_STRING_TYPE);
+                    addConstantStringPart(entry.getText(), parts);
                 }
             }
-            v.invokevirtual("java/lang/StringBuilder", "toString", "()Ljava/lang/String;");
-            return StackValue.onStack(AsmTypeConstants.JAVA_STRING_TYPE);
         }
+        else if (expression instanceof JetBinaryExpression && isStringConcatenation((JetBinaryExpression) expression)) {
+            JetBinaryExpression binaryExpression = (JetBinaryExpression) expression;
+            //noinspection ConstantConditions
+            collectStringConcatenationParts(binaryExpression.getLeft(), parts);
+            //noinspection ConstantConditions
+            collectStringConcatenationParts(binaryExpression.getRight(), parts);
+        }
+        else {
+            parts.add(expression);
+        }
+    }
+
+    private static void addConstantStringPart(@NotNull String constant, @NotNull List<Object> parts) {
+        if (constant.isEmpty()) return;
+
+        int last = parts.size() - 1;
+        if (last >= 0 && parts.get(last) instanceof String) {
+            parts.set(last, parts.get(last) + constant);
+        }
+        else {
+            parts.add(constant);
+        }
+    }
+
+    /**
+     * @return the string representation of a compile-time constant expression, or null if it's not a constant which can be folded
+     */
+    @Nullable
+    private String getStringConstant(@NotNull JetExpression expression) {
+        CompileTimeConstant<?> constant = getCompileTimeConstant(expression, bindingContext);
+        if (constant == null) return null;
+        if (constant instanceof NullValue) return "null";
+
+        Object value = constant.getValue();
+        if (value instanceof String) return (String) value;
+        if (value instanceof Number || value instanceof Character || value instanceof Boolean) {
+            // Only if the value is appended as is: e.g. a Float constant computed for a Double expression would be printed differently
+            Type type = expressionType(expression);
+            if (isPrimitive(type) && boxType(type).getInternalName().equals(Type.getInternalName(value.getClass()))) {
+                return String.valueOf(value);
+            }
+        }
+        return null;
+    }
+
+    private boolean isStringConcatenation(@NotNull JetBinaryExpression expression) {
+        if (expression.getOperationToken() != JetTokens.PLUS) return false;
+
+        DeclarationDescriptor op = bindingContext.get(BindingContext.REFERENCE_TARGET, expression.getOperationReference());
+        if (!(op instanceof FunctionDescriptor)) return false;
+
+        IntrinsicMethod intrinsic = state.getIntrinsics().getIntrinsic((FunctionDescriptor) op);
+        return intrinsic instanceof Concat || intrinsic instanceof StringPlus;
     }
 
     @Override
@@ -1444,6 +1839,10 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         final VariableDescriptor variableDescriptor = bindingContext.get(BindingContext.VARIABLE, variableDeclaration);
         assert variableDescriptor != null;
 
+        if (isCapturedOnlyInInlinedFunctionLiterals(variableDescriptor)) {
+            state.getBindingTrace().record(CAPTURED_ONLY_IN_INLINED_FUNCTION_LITERALS, variableDescriptor);
+        }
+
         final Label scopeStart = new Label();
         v.mark(scopeStart);
 
@@ -1496,6 +1895,11 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
     }
 
     private void markLineNumber(@NotNull JetElement statement) {
+        if (!inlineFrames.isEmpty() && statement.getContainingFile() != inlineFrames.get(0).callSite.getContainingFile()) {
+            // line numbers of a function inlined from another file would point to wrong lines of the current file
+            return;
+        }
+
         Document document = statement.getContainingFile().getViewProvider().getDocument();
         if (document != null) {
             int lineNumber = document.getLineNumber(statement.getTextRange().getStartOffset());  // 0-based
@@ -1511,7 +1915,11 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
     }
 
     private void doFinallyOnReturn() {
-        if(!blockStackElements.isEmpty()) {
+        doFinallyOnReturn(0);
+    }
+
+    private void doFinallyOnReturn(int stackDepth) {
+        if (blockStackElements.size() > stackDepth) {
             BlockStackElement stackElement = blockStackElements.peek();
             if (stackElement instanceof FinallyBlockStackElement) {
                 FinallyBlockStackElement finallyBlockStackElement = (FinallyBlockStackElement) stackElement;
@@ -1524,7 +1932,7 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
             }
 
             blockStackElements.pop();
-            doFinallyOnReturn();
+            doFinallyOnReturn(stackDepth);
             blockStackElements.push(stackElement);
         }
     }
@@ -1565,7 +1973,18 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
     @Override
     public StackValue visitReturnExpression(@NotNull JetReturnExpression expression, StackValue receiver) {
         JetExpression returnedExpression = expression.getReturnedExpression();
-        if (returnedExpression != null) {
+        InlineFrame inlineFrame = inlineFrames.isEmpty() ? null : findInlineFrame(getReturnTarget(expression));
+        if (inlineFrame != null) {
+            if (returnedExpression != null) {
+                gen(returnedExpression, inlineFrame.resultType);
+                if (inlineFrame.resultIndex >= 0) {
+                    v.store(inlineFrame.resultIndex, inlineFrame.resultType);
+                }
+            }
+            doFinallyOnReturn(inlineFrame.blockStackDepth);
+            v.goTo(inlineFrame.end);
+        }
+        else if (returnedExpression != null) {
             gen(returnedExpression, returnType);
             doFinallyOnReturn();
             v.areturn(returnType);
@@ -1600,6 +2019,7 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(BindingContext.RESOLVED_CALL, expression);
 
         DeclarationDescriptor descriptor;
+        boolean receiverOnStack = receiver != StackValue.none();
         if (resolvedCall == null) {
             descriptor = bindingContext.get(BindingContext.REFERENCE_TARGET, expression);
         }
@@ -1640,6 +2060,14 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
 
             boolean directToField =
                     expression.getReferencedNameElementType() == JetTokens.FIELD_IDENTIFIER && contextKind() != OwnerKind.TRAIT_IMPL;
+
+            if (!directToField && !receiverOnStack && resolvedCall != null) {
+                StackValue constant = getInlinedPropertyValue(propertyDescriptor, resolvedCall);
+                if (constant != null) {
+                    return constant;
+                }
+            }
+
             JetExpression r = getReceiverForSelector(expression);
             boolean isSuper = r instanceof JetSuperExpression;
             propertyDescriptor = accessiblePropertyDescriptor(propertyDescriptor);
@@ -1715,6 +2143,39 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         throw new UnsupportedOperationException("don't know how to generate reference " + descriptor);
     }
 
+    // Reads of vals with compile-time constant initializers from this module are replaced with their values, the same way javac
+    // inlines constant fields. The receiver is not generated, so only receivers without side effects are allowed
+    @Nullable
+    private StackValue getInlinedPropertyValue(
+            @NotNull PropertyDescriptor descriptor,
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall
+    ) {
+        CompileTimeConstant<?> initializer = bindingContext.get(COMPILE_TIME_INITIALIZER, descriptor);
+        if (initializer == null) return null;
+
+        PropertyGetterDescriptor getter = descriptor.getGetter();
+        if (getter != null && !getter.isDefault()) return null;
+
+        if (resolvedCall.getReceiverArgument().exists()) return null;
+
+        ReceiverValue thisObject = resolvedCall.getThisObject();
+        if (thisObject instanceof ExpressionReceiver && !isReferenceToClassOrThis(((ExpressionReceiver) thisObject).getExpression())) {
+            return null;
+        }
+
+        return StackValue.constant(initializer.getValue(), typeMapper.mapType(descriptor));
+    }
+
+    private boolean isReferenceToClassOrThis(@NotNull JetExpression expression) {
+        JetExpression deparenthesized = JetPsiUtil.deparenthesize(expression);
+        if (deparenthesized instanceof JetQualifiedExpression) {
+            deparenthesized = ((JetQualifiedExpression) deparenthesized).getSelectorExpression();
+        }
+        if (deparenthesized instanceof JetThisExpression) return true;
+        return deparenthesized instanceof JetSimpleNameExpression &&
+               bindingContext.get(REFERENCE_TARGET, (JetSimpleNameExpression) deparenthesized) instanceof ClassDescriptor;
+    }
+
     private StackValue stackValueForLocal(DeclarationDescriptor descriptor, int index) {
         if (descriptor instanceof VariableDescriptor) {
             Type sharedVarType = typeMapper.getSharedVarType(descriptor);
@@ -1915,8 +2376,14 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
             @NotNull JavaClassDescriptor samInterface,
             @NotNull JetVisitor<StackValue, StackValue> visitor
     ) {
-        if (expression instanceof JetFunctionLiteralExpression) {
-            return genClosure(((JetFunctionLiteralExpression) expression).getFunctionLiteral(), samInterface);
+        // Function literals and callable references are compiled to closure classes implementing the SAM interface directly,
+        // so no wrapper is needed, and closures which capture nothing are reused as singletons
+        JetExpression deparenthesized = JetPsiUtil.deparenthesize(expression);
+        if (deparenthesized instanceof JetFunctionLiteralExpression) {
+            return genClosure(((JetFunctionLiteralExpression) deparenthesized).getFunctionLiteral(), samInterface);
+        }
+        else if (deparenthesized instanceof JetCallableReferenceExpression) {
+            return genCallableReference((JetCallableReferenceExpression) deparenthesized, samInterface);
         }
         else {
             Type asmType = state.getSamWrapperClasses().getSamWrapperClass(samInterface, (JetFile) expression.getContainingFile());
@@ -1964,6 +2431,13 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
             StackValue receiver,
             ResolvedCall<? extends CallableDescriptor> resolvedCall
     ) {
+        if (state.isInlineEnabled()) {
+            StackValue inlined = generateInlinedCall(call, receiver, resolvedCall);
+            if (inlined != null) {
+                return inlined;
+            }
+        }
+
         if (resolvedCall instanceof VariableAsFunctionResolvedCall) {
             return invokeFunction(call, receiver, ((VariableAsFunctionResolvedCall) resolvedCall).getFunctionCall());
         }
@@ -2004,6 +2478,11 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
     ) {
         if (callable instanceof CallableMethod) {
             CallableMethod callableMethod = (CallableMethod) callable;
+            Method specializedInvoke = getSpecializedFunctionInvoke(resolvedCall);
+            if (specializedInvoke != null) {
+                return invokeSpecializedFunction(resolvedCall, receiver, callableMethod, specializedInvoke);
+            }
+
             invokeMethodWithArguments(callableMethod, resolvedCall, receiver);
             Type returnType = typeMapper.mapReturnType(resolvedCall.getResultingDescriptor());
             StackValue.coerce(callableMethod.getReturnType(), returnType, v);
@@ -2024,9 +2503,98 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         }
     }
 
+    /**
+     * @return the primitive signature of invoke for a call of a function object of type such as (Int) -> Int,
+     * if there's a specialized function trait for it (see {@link SpecializedFunctionTraits})
+     */
     @Nullable
-    private static JetSuperExpression getSuperCallExpression(@NotNull Call call) {
-        ReceiverValue explicitReceiver = call.getExplicitReceiver();
+    private Method getSpecializedFunctionInvoke(@NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall) {
+        CallableDescriptor descriptor = resolvedCall.getResultingDescriptor();
+        if (!(descriptor instanceof FunctionDescriptor) || descriptor.getReceiverParameter() != null) return null;
+
+        List<ValueParameterDescriptor> parameters = descriptor.getValueParameters();
+        if (parameters.size() > SpecializedFunctionTraits.MAX_PARAMETER_COUNT) return null;
+        if (!descriptor.getName().asString().equals("invoke") ||
+            descriptor.getContainingDeclaration() != KotlinBuiltIns.getInstance().getFunction(parameters.size())) {
+            return null;
+        }
+
+        Type[] parameterTypes = new Type[parameters.size()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = typeMapper.mapType(parameters.get(i).getType());
+        }
+        Type returnType = typeMapper.mapReturnType(descriptor);
+
+        return SpecializedFunctionTraits.getType(parameterTypes, returnType) != null
+               ? new Method("invoke", returnType, parameterTypes)
+               : null;
+    }
+
+    /**
+     * Closures implement specialized function traits, but other implementations of function traits may not, so the function object
+     * is checked at runtime. The arguments are evaluated once before the check, and boxed only if the generic invoke is called
+     */
+    @NotNull
+    private StackValue invokeSpecializedFunction(
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall,
+            @NotNull StackValue receiver,
+            @NotNull CallableMethod callableMethod,
+            @NotNull Method specializedInvoke
+    ) {
+        Type[] argumentTypes = specializedInvoke.getArgumentTypes();
+        Type returnType = specializedInvoke.getReturnType();
+        Type functionType = callableMethod.getOwner();
+        Type specializedType = SpecializedFunctionTraits.getType(argumentTypes, returnType);
+        assert specializedType != null : "No specialized function trait for " + specializedInvoke;
+
+        StackValue functionObject = StackValue.receiver(resolvedCall, receiver, this, callableMethod);
+        functionObject.put(functionObject.type, v);
+        pushMethodArguments(resolvedCall, Arrays.asList(argumentTypes));
+
+        int[] argumentIndices = new int[argumentTypes.length];
+        for (int i = argumentTypes.length - 1; i >= 0; i--) {
+            argumentIndices[i] = myFrameMap.enterTemp(argumentTypes[i]);
+            v.store(argumentIndices[i], argumentTypes[i]);
+        }
+        int functionIndex = myFrameMap.enterTemp(functionType);
+        v.store(functionIndex, functionType);
+
+        Label generic = new Label();
+        Label end = new Label();
+        v.load(functionIndex, functionType);
+        v.instanceOf(specializedType);
+        v.ifeq(generic);
+
+        v.load(functionIndex, functionType);
+        v.checkcast(specializedType);
+        for (int i = 0; i < argumentTypes.length; i++) {
+            v.load(argumentIndices[i], argumentTypes[i]);
+        }
+        v.invokeinterface(specializedType.getInternalName(), specializedInvoke.getName(), specializedInvoke.getDescriptor());
+        v.goTo(end);
+
+        v.mark(generic);
+        v.load(functionIndex, functionType);
+        for (int i = 0; i < argumentTypes.length; i++) {
+            v.load(argumentIndices[i], argumentTypes[i]);
+            StackValue.coerce(argumentTypes[i], OBJECT_TYPE, v);
+        }
+        callableMethod.invokeWithoutAssertions(v);
+        StackValue.coerce(callableMethod.getReturnType(), returnType, v);
+
+        v.mark(end);
+
+        myFrameMap.leaveTemp(functionType);
+        for (Type argumentType : argumentTypes) {
+            myFrameMap.leaveTemp(argumentType);
+        }
+
+        return StackValue.onStack(returnType);
+    }
+
+    @Nullable
+    private static JetSuperExpression getSuperCallExpression(@NotNull Call call) {
+        ReceiverValue explicitReceiver = call.getExplicitReceiver();
         if (explicitReceiver instanceof ExpressionReceiver) {
             JetExpression receiverExpression = ((ExpressionReceiver) explicitReceiver).getExpression();
             if (receiverExpression instanceof JetSuperExpression) {
@@ -2078,6 +2646,565 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         return false;
     }
 
+    @Nullable
+    private StackValue generateInlinedCall(
+            @NotNull Call call,
+            @NotNull StackValue receiver,
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall
+    ) {
+        if (!inlinedFunctionLiterals.isEmpty()) {
+            ValueParameterDescriptor parameter = InlineCodegenUtil.getInvokedParameter(bindingContext, resolvedCall);
+            JetFunctionLiteralExpression functionLiteral = parameter != null ? inlinedFunctionLiterals.get(parameter) : null;
+            if (functionLiteral != null) {
+                ResolvedCall<? extends CallableDescriptor> invokeCall = resolvedCall instanceof VariableAsFunctionResolvedCall
+                                                                        ? ((VariableAsFunctionResolvedCall) resolvedCall).getFunctionCall()
+                                                                        : resolvedCall;
+                return generateInlinedFunctionLiteral(functionLiteral, call, invokeCall);
+            }
+        }
+
+        if (resolvedCall instanceof VariableAsFunctionResolvedCall) {
+            return null;
+        }
+
+        JetNamedFunction declaration = InlineCodegenUtil.getInlinableDeclaration(bindingContext, resolvedCall.getResultingDescriptor());
+        if (declaration == null) {
+            return InlineCodegenUtil.isCompiledInlineFunction(bindingContext, resolvedCall.getResultingDescriptor())
+                   ? generateCompiledInlineCall(call, receiver, resolvedCall)
+                   : null;
+        }
+        if (!canInline(declaration, call, resolvedCall)) {
+            return null;
+        }
+
+        return generateInlinedFunctionCall(declaration, call, receiver, resolvedCall);
+    }
+
+    private boolean canInline(
+            @NotNull JetNamedFunction declaration,
+            @NotNull Call call,
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall
+    ) {
+        if (findInlineFrame(declaration) != null) {
+            // recursive inline calls are generated as usual
+            return false;
+        }
+
+        for (ResolvedValueArgument argument : resolvedCall.getValueArgumentsByIndex()) {
+            // default values of parameters are not inlined, such calls are generated as usual
+            if (!(argument instanceof ExpressionValueArgument) && !(argument instanceof VarargValueArgument)) {
+                return false;
+            }
+        }
+
+        JetExpression body = declaration.getBodyExpression();
+        assert body != null : "Inlinable function should have a body: " + declaration.getText();
+
+        if (!InlineCodegenUtil.referencesOnlyPublicDeclarations(bindingContext, body)) {
+            PsiElement callSite = getOutermostCallSite(call);
+            if (callSite.getContainingFile() != declaration.getContainingFile() || !InlineCodegenUtil.isInPackagePart(callSite)) {
+                return false;
+            }
+        }
+
+        // exception handlers clear the operand stack, so try expressions can only be inlined when nothing is left on it
+        return !InlineCodegenUtil.containsTryExpressions(body) || isStackEmptyAt(call.getCallElement());
+    }
+
+    @NotNull
+    private StackValue generateInlinedFunctionCall(
+            @NotNull JetNamedFunction declaration,
+            @NotNull Call call,
+            @NotNull StackValue receiver,
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall
+    ) {
+        SimpleFunctionDescriptor function = bindingContext.get(FUNCTION, declaration);
+        assert function != null : "No descriptor for inline function " + declaration.getText();
+
+        JetExpression body = declaration.getBodyExpression();
+        assert body != null : "Inlinable function should have a body: " + declaration.getText();
+
+        List<ResolvedValueArgument> arguments = resolvedCall.getValueArgumentsByIndex();
+        Map<ValueParameterDescriptor, JetFunctionLiteralExpression> functionLiterals = Maps.newHashMap();
+        List<ValueParameterDescriptor> parameters = new ArrayList<ValueParameterDescriptor>();
+        for (ValueParameterDescriptor parameter : function.getValueParameters()) {
+            JetFunctionLiteralExpression functionLiteral = getInlinableFunctionLiteral(parameter, arguments.get(parameter.getIndex()));
+            if (functionLiteral != null && InlineCodegenUtil.isOnlyInvoked(bindingContext, body, parameter)) {
+                functionLiterals.put(parameter, functionLiteral);
+            }
+            else {
+                parameters.add(parameter);
+            }
+        }
+
+        ReceiverParameterDescriptor receiverParameter = function.getReceiverParameter();
+        Type receiverType = receiverParameter != null ? asmType(receiverParameter.getType()) : Type.VOID_TYPE;
+        StackValue.receiver(resolvedCall, receiver, this, null).put(receiverType, v);
+
+        for (ValueParameterDescriptor parameter : parameters) {
+            ResolvedValueArgument argument = arguments.get(parameter.getIndex());
+            if (argument instanceof ExpressionValueArgument) {
+                ValueArgument valueArgument = ((ExpressionValueArgument) argument).getValueArgument();
+                assert valueArgument != null;
+                JetExpression argumentExpression = valueArgument.getArgumentExpression();
+                assert argumentExpression != null : valueArgument.asElement().getText();
+
+                gen(argumentExpression, asmType(parameter.getType()));
+            }
+            else {
+                assert argument instanceof VarargValueArgument : "Argument should be checked in canInline(): " + argument;
+                genVarargs(parameter, (VarargValueArgument) argument);
+            }
+        }
+
+        // all arguments are evaluated before entering the parameters, because they may contain inlined calls of the same function
+        int receiverIndex = receiverParameter != null ? myFrameMap.enterTemp(receiverType) : -1;
+        int[] parameterIndices = new int[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            ValueParameterDescriptor parameter = parameters.get(i);
+            parameterIndices[i] = myFrameMap.enter(parameter, asmType(parameter.getType()));
+        }
+        for (int i = parameters.size() - 1; i >= 0; i--) {
+            v.store(parameterIndices[i], asmType(parameters.get(i).getType()));
+        }
+        if (receiverParameter != null) {
+            v.store(receiverIndex, receiverType);
+            inlinedReceivers.put(function, StackValue.local(receiverIndex, receiverType));
+        }
+        inlinedFunctionLiterals.putAll(functionLiterals);
+
+        Type resultType = typeMapper.mapReturnType(function);
+        int resultIndex = resultType.getSort() != Type.VOID ? myFrameMap.enterTemp(resultType) : -1;
+        InlineFrame frame = new InlineFrame(declaration, resultType, resultIndex, blockStackElements.size(),
+                                            isStackEmptyAt(call.getCallElement()), getOutermostCallSite(call));
+        generateInlinedBody(frame, body);
+
+        if (resultIndex >= 0) {
+            myFrameMap.leaveTemp(resultType);
+        }
+        for (ValueParameterDescriptor parameter : functionLiterals.keySet()) {
+            inlinedFunctionLiterals.remove(parameter);
+        }
+        for (ValueParameterDescriptor parameter : Lists.reverse(parameters)) {
+            myFrameMap.leave(parameter);
+        }
+        if (receiverParameter != null) {
+            inlinedReceivers.remove(function);
+            myFrameMap.leaveTemp(receiverType);
+        }
+
+        Type callReturnType = typeMapper.mapReturnType(resolvedCall.getResultingDescriptor());
+        StackValue.coerce(resultType, callReturnType, v);
+        return StackValue.onStack(callReturnType);
+    }
+
+    /**
+     * @return a function literal passed to an inline function which can be generated in place of every invocation of the parameter
+     * instead of being compiled to a separate class
+     */
+    @Nullable
+    private JetFunctionLiteralExpression getInlinableFunctionLiteral(
+            @NotNull ValueParameterDescriptor parameter,
+            @NotNull ResolvedValueArgument argument
+    ) {
+        if (!(argument instanceof ExpressionValueArgument) || InlineUtil.hasNoinlineAnnotation(parameter)) return null;
+
+        ValueArgument valueArgument = ((ExpressionValueArgument) argument).getValueArgument();
+        JetExpression expression = valueArgument != null ? JetPsiUtil.deparenthesize(valueArgument.getArgumentExpression()) : null;
+        if (!(expression instanceof JetFunctionLiteralExpression)) return null;
+
+        JetFunctionLiteral functionLiteral = ((JetFunctionLiteralExpression) expression).getFunctionLiteral();
+        FunctionDescriptor descriptor = bindingContext.get(FUNCTION, functionLiteral);
+        JetBlockExpression body = functionLiteral.getBodyExpression();
+        if (descriptor == null || descriptor.getReceiverParameter() != null || body == null) return null;
+
+        // closures declared inside would expect an instance of the function literal class as their outer instance
+        if (InlineCodegenUtil.containsClassesOrClosures(body)) return null;
+        if (InlineCodegenUtil.containsTryExpressions(body)) return null;
+
+        for (JetReturnExpression returnExpression : PsiTreeUtil.findChildrenOfType(body, JetReturnExpression.class)) {
+            if (getReturnTarget(returnExpression) == functionLiteral &&
+                !InlineCodegenUtil.isAtEntryStackDepth(bindingContext, returnExpression, functionLiteral)) {
+                return null;
+            }
+        }
+
+        return (JetFunctionLiteralExpression) expression;
+    }
+
+    /**
+     * A var which is only captured by function literals generated in place of their invocations is read and written in the frame of
+     * its function, so it doesn't need a shared reference. This is decided before the var is declared, so only vars of functions
+     * which are never inlined themselves are considered, and every call the literals are passed to should be inlined regardless of
+     * the operand stack and of the inline frames entered at the call site
+     */
+    private boolean isCapturedOnlyInInlinedFunctionLiterals(@NotNull VariableDescriptor variable) {
+        if (!state.isInlineEnabled() || !variable.isVar()) return false;
+        if (bindingContext.get(CAPTURED_IN_CLOSURE, variable) != CaptureKind.INLINE_ONLY) return false;
+
+        DeclarationDescriptor container = variable.getContainingDeclaration();
+        if (!(container instanceof FunctionDescriptor)) return false;
+        if (container instanceof SimpleFunctionDescriptor && ((SimpleFunctionDescriptor) container).isInline()) return false;
+
+        PsiElement declaration = BindingContextUtils.descriptorToDeclaration(bindingContext, container);
+        if (!(declaration instanceof JetDeclarationWithBody) || declaration instanceof JetFunctionLiteral) return false;
+
+        for (JetSimpleNameExpression expression : PsiTreeUtil.findChildrenOfType(declaration, JetSimpleNameExpression.class)) {
+            if (InlineCodegenUtil.getReferencedDescriptor(bindingContext, expression) != variable) continue;
+            if (!isInAlwaysInlinedFunctionLiterals(expression, (JetDeclarationWithBody) declaration)) return false;
+        }
+        return true;
+    }
+
+    private boolean isInAlwaysInlinedFunctionLiterals(@NotNull PsiElement element, @NotNull JetDeclarationWithBody container) {
+        List<JetFunctionLiteral> functionLiterals = new ArrayList<JetFunctionLiteral>();
+        PsiElement declaration = PsiTreeUtil.getParentOfType(element, JetDeclarationWithBody.class, JetClassOrObject.class);
+        while (declaration != container) {
+            if (!(declaration instanceof JetFunctionLiteral)) return false;
+            functionLiterals.add((JetFunctionLiteral) declaration);
+            declaration = PsiTreeUtil.getParentOfType(declaration, JetDeclarationWithBody.class, JetClassOrObject.class);
+        }
+
+        // inline functions are entered from the outermost literal inwards
+        Set<JetNamedFunction> enclosingDeclarations = new HashSet<JetNamedFunction>();
+        for (JetFunctionLiteral functionLiteral : Lists.reverse(functionLiterals)) {
+            if (!isAlwaysInlined((JetFunctionLiteralExpression) functionLiteral.getParent(), enclosingDeclarations)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the call which the function literal is passed to is inlined and the literal is generated in place of its
+     * invocations wherever the call appears, given the inline functions from the sources whose bodies are being generated there
+     */
+    private boolean isAlwaysInlined(
+            @NotNull JetFunctionLiteralExpression expression,
+            @NotNull Set<JetNamedFunction> enclosingDeclarations
+    ) {
+        JetCallExpression callExpression = PsiTreeUtil.getParentOfType(expression, JetCallExpression.class);
+        JetExpression callee = callExpression != null ? callExpression.getCalleeExpression() : null;
+        ResolvedCall<? extends CallableDescriptor> resolvedCall = callee != null ? bindingContext.get(RESOLVED_CALL, callee) : null;
+        if (resolvedCall == null || resolvedCall instanceof VariableAsFunctionResolvedCall) return false;
+
+        ValueParameterDescriptor parameter = null;
+        for (Map.Entry<ValueParameterDescriptor, ResolvedValueArgument> entry : resolvedCall.getValueArguments().entrySet()) {
+            ResolvedValueArgument argument = entry.getValue();
+            if (!(argument instanceof ExpressionValueArgument) && !(argument instanceof VarargValueArgument)) return false;
+            if (getInlinableFunctionLiteral(entry.getKey(), argument) == expression) {
+                parameter = entry.getKey();
+            }
+        }
+        if (parameter == null) return false;
+
+        CallableDescriptor function = resolvedCall.getResultingDescriptor();
+        JetNamedFunction declaration = InlineCodegenUtil.getInlinableDeclaration(bindingContext, function);
+        if (declaration != null) {
+            // recursive inline calls are generated as usual
+            if (!enclosingDeclarations.add(declaration)) return false;
+
+            SimpleFunctionDescriptor original = bindingContext.get(FUNCTION, declaration);
+            JetExpression body = declaration.getBodyExpression();
+            assert original != null && body != null : "Inlinable function should have a body: " + declaration.getText();
+
+            return !InlineCodegenUtil.containsTryExpressions(body) &&
+                   InlineCodegenUtil.referencesOnlyPublicDeclarations(bindingContext, body) &&
+                   InlineCodegenUtil.isOnlyInvoked(bindingContext, body, original.getValueParameters().get(parameter.getIndex()));
+        }
+
+        if (!InlineCodegenUtil.isCompiledInlineFunction(bindingContext, function)) return false;
+
+        CallableMethod callableMethod = typeMapper.mapToCallableMethod((FunctionDescriptor) function, false, context);
+        if (callableMethod.getInvokeOpcode() != INVOKESTATIC) return false;
+
+        Method asmMethod = callableMethod.getAsmMethod();
+        CompiledInlineFunctions.Body body = state.getCompiledInlineFunctions().getBody(callableMethod.getOwner(), asmMethod);
+        if (body == null || body.hasTryCatchBlocks()) return false;
+
+        int firstValueParameter = function.getReceiverParameter() != null ? 1 : 0;
+        int slot = getParameterSlots(asmMethod.getArgumentTypes())[firstValueParameter + parameter.getIndex()];
+        return body.isOnlyInvoked(slot);
+    }
+
+    @NotNull
+    private StackValue generateInlinedFunctionLiteral(
+            @NotNull JetFunctionLiteralExpression expression,
+            @NotNull Call call,
+            @NotNull ResolvedCall<? extends CallableDescriptor> invokeCall
+    ) {
+        FunctionDescriptor function = bindingContext.get(FUNCTION, expression.getFunctionLiteral());
+        assert function != null : "No descriptor for function literal " + expression.getText();
+
+        List<ValueParameterDescriptor> parameters = function.getValueParameters();
+        List<ValueParameterDescriptor> invokeParameters = invokeCall.getResultingDescriptor().getValueParameters();
+        List<ResolvedValueArgument> arguments = invokeCall.getValueArgumentsByIndex();
+        assert parameters.size() == invokeParameters.size() : "Wrong number of arguments for " + expression.getText();
+
+        Type[] parameterTypes = new Type[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            ResolvedValueArgument argument = arguments.get(i);
+            assert argument instanceof ExpressionValueArgument : "Unsupported argument of invoke: " + argument;
+            ValueArgument valueArgument = ((ExpressionValueArgument) argument).getValueArgument();
+            assert valueArgument != null;
+            JetExpression argumentExpression = valueArgument.getArgumentExpression();
+            assert argumentExpression != null : valueArgument.asElement().getText();
+
+            Type argumentType = asmType(invokeParameters.get(i).getType());
+            parameterTypes[i] = asmType(parameters.get(i).getType());
+            gen(argumentExpression, argumentType);
+            StackValue.coerce(argumentType, parameterTypes[i], v);
+        }
+
+        Type invokeReturnType = typeMapper.mapReturnType(invokeCall.getResultingDescriptor());
+        generateInlinedFunctionLiteralBody(expression, call, parameterTypes, invokeReturnType, isStackEmptyAt(call.getCallElement()));
+        return StackValue.onStack(invokeReturnType);
+    }
+
+    /**
+     * Generates the body of a function literal in place of its invocation, with the arguments of the invocation on the stack
+     */
+    private void generateInlinedFunctionLiteralBody(
+            @NotNull JetFunctionLiteralExpression expression,
+            @NotNull Call call,
+            @NotNull Type[] argumentTypes,
+            @NotNull Type invokeReturnType,
+            boolean entryStackEmpty
+    ) {
+        JetFunctionLiteral functionLiteral = expression.getFunctionLiteral();
+        FunctionDescriptor function = bindingContext.get(FUNCTION, functionLiteral);
+        assert function != null : "No descriptor for function literal " + expression.getText();
+
+        JetBlockExpression body = functionLiteral.getBodyExpression();
+        assert body != null : "Function literal should have a body: " + expression.getText();
+
+        List<ValueParameterDescriptor> parameters = function.getValueParameters();
+        assert parameters.size() == argumentTypes.length : "Wrong number of arguments for " + expression.getText();
+
+        int[] parameterIndices = new int[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            ValueParameterDescriptor parameter = parameters.get(i);
+            parameterIndices[i] = myFrameMap.enter(parameter, asmType(parameter.getType()));
+        }
+        for (int i = parameters.size() - 1; i >= 0; i--) {
+            Type parameterType = asmType(parameters.get(i).getType());
+            StackValue.coerce(argumentTypes[i], parameterType, v);
+            v.store(parameterIndices[i], parameterType);
+        }
+
+        Type resultType = typeMapper.mapReturnType(function);
+        int resultIndex = resultType.getSort() != Type.VOID ? myFrameMap.enterTemp(resultType) : -1;
+        InlineFrame frame = new InlineFrame(functionLiteral, resultType, resultIndex, blockStackElements.size(),
+                                            entryStackEmpty, getOutermostCallSite(call));
+        generateInlinedBody(frame, body);
+
+        if (resultIndex >= 0) {
+            myFrameMap.leaveTemp(resultType);
+        }
+        for (ValueParameterDescriptor parameter : Lists.reverse(parameters)) {
+            myFrameMap.leave(parameter);
+        }
+
+        StackValue.coerce(resultType, invokeReturnType, v);
+    }
+
+    /**
+     * Generates a call of an inline function from the class path by copying its bytecode (see {@link CompiledInlineFunctions})
+     * into a block of local variables of the caller. Function literals passed to parameters which are only invoked are not
+     * created: their bodies are generated in place of the invocations
+     */
+    @Nullable
+    private StackValue generateCompiledInlineCall(
+            @NotNull Call call,
+            @NotNull StackValue receiver,
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall
+    ) {
+        List<ResolvedValueArgument> arguments = resolvedCall.getValueArgumentsByIndex();
+        for (ResolvedValueArgument argument : arguments) {
+            // default values of parameters are not inlined, such calls are generated as usual
+            if (!(argument instanceof ExpressionValueArgument) && !(argument instanceof VarargValueArgument)) {
+                return null;
+            }
+        }
+
+        FunctionDescriptor function = (FunctionDescriptor) resolvedCall.getResultingDescriptor();
+        CallableMethod callableMethod = typeMapper.mapToCallableMethod(function, false, context);
+        if (callableMethod.getInvokeOpcode() != INVOKESTATIC) return null;
+
+        Method asmMethod = callableMethod.getAsmMethod();
+        CompiledInlineFunctions.Body body = state.getCompiledInlineFunctions().getBody(callableMethod.getOwner(), asmMethod);
+        // exception handlers clear the operand stack, so bodies with try blocks can only be inlined when nothing is left on it
+        if (body == null || body.hasTryCatchBlocks() && !isStackEmptyAt(call.getCallElement())) {
+            return null;
+        }
+
+        Type[] parameterTypes = asmMethod.getArgumentTypes();
+        int[] parameterSlots = getParameterSlots(parameterTypes);
+
+        ReceiverParameterDescriptor receiverParameter = function.getReceiverParameter();
+        int firstValueParameter = receiverParameter != null ? 1 : 0;
+        Map<Integer, JetFunctionLiteralExpression> functionLiterals = new HashMap<Integer, JetFunctionLiteralExpression>();
+        for (ValueParameterDescriptor parameter : function.getValueParameters()) {
+            int slot = parameterSlots[firstValueParameter + parameter.getIndex()];
+            JetFunctionLiteralExpression functionLiteral = getInlinableFunctionLiteral(parameter, arguments.get(parameter.getIndex()));
+            if (functionLiteral != null && body.isOnlyInvoked(slot)) {
+                functionLiterals.put(slot, functionLiteral);
+            }
+        }
+
+        StackValue.receiver(resolvedCall, receiver, this, null).put(receiverParameter != null ? parameterTypes[0] : Type.VOID_TYPE, v);
+
+        for (ValueParameterDescriptor parameter : function.getValueParameters()) {
+            int index = firstValueParameter + parameter.getIndex();
+            if (functionLiterals.containsKey(parameterSlots[index])) continue;
+
+            ResolvedValueArgument argument = arguments.get(parameter.getIndex());
+            if (argument instanceof ExpressionValueArgument) {
+                ValueArgument valueArgument = ((ExpressionValueArgument) argument).getValueArgument();
+                assert valueArgument != null;
+                JetExpression argumentExpression = valueArgument.getArgumentExpression();
+                assert argumentExpression != null : valueArgument.asElement().getText();
+
+                gen(argumentExpression, parameterTypes[index]);
+            }
+            else {
+                genVarargs(parameter, (VarargValueArgument) argument);
+            }
+        }
+
+        MethodNode node = body.getNode();
+        int firstLocal = myFrameMap.enterTemps(node.maxLocals);
+        for (int i = parameterTypes.length - 1; i >= 0; i--) {
+            if (!functionLiterals.containsKey(parameterSlots[i])) {
+                v.store(firstLocal + parameterSlots[i], parameterTypes[i]);
+            }
+        }
+
+        Map<LabelNode, LabelNode> labels = new HashMap<LabelNode, LabelNode>();
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn instanceof LabelNode) {
+                labels.put((LabelNode) insn, new LabelNode());
+            }
+        }
+
+        Label end = new Label();
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            int opcode = insn.getOpcode();
+            if (insn instanceof VarInsnNode) {
+                int slot = ((VarInsnNode) insn).var;
+                // function literals aren't passed as objects, only their invocations read the parameters
+                if (!functionLiterals.containsKey(slot)) {
+                    v.visitVarInsn(opcode, firstLocal + slot);
+                }
+            }
+            else if (insn instanceof IincInsnNode) {
+                v.iinc(firstLocal + ((IincInsnNode) insn).var, ((IincInsnNode) insn).incr);
+            }
+            else if (opcode >= IRETURN && opcode <= RETURN) {
+                v.goTo(end);
+            }
+            else {
+                Integer slot = body.getInvokedParameter(insn);
+                JetFunctionLiteralExpression functionLiteral = slot != null ? functionLiterals.get(slot) : null;
+                if (functionLiteral == null) {
+                    insn.clone(labels).accept(v);
+                }
+                else if (opcode == INVOKESTATIC) {
+                    // not-null assertion of a function literal, only the name of the parameter is left on the stack
+                    v.pop();
+                }
+                else {
+                    MethodInsnNode invoke = (MethodInsnNode) insn;
+                    generateInlinedFunctionLiteralBody(functionLiteral, call, Type.getArgumentTypes(invoke.desc),
+                                                       Type.getReturnType(invoke.desc), false);
+                }
+            }
+        }
+        v.mark(end);
+
+        // exception table entries of the inlined body should precede ones of enclosing try blocks, which are added later
+        for (TryCatchBlockNode block : node.tryCatchBlocks) {
+            v.visitTryCatchBlock(labels.get(block.start).getLabel(), labels.get(block.end).getLabel(),
+                                 labels.get(block.handler).getLabel(), block.type);
+        }
+
+        myFrameMap.leaveTemps(node.maxLocals);
+
+        Type callReturnType = typeMapper.mapReturnType(resolvedCall.getResultingDescriptor());
+        StackValue.coerce(asmMethod.getReturnType(), callReturnType, v);
+        return StackValue.onStack(callReturnType);
+    }
+
+    @NotNull
+    private static int[] getParameterSlots(@NotNull Type[] parameterTypes) {
+        int[] parameterSlots = new int[parameterTypes.length];
+        for (int i = 1; i < parameterTypes.length; i++) {
+            parameterSlots[i] = parameterSlots[i - 1] + parameterTypes[i - 1].getSize();
+        }
+        return parameterSlots;
+    }
+
+    private void generateInlinedBody(@NotNull InlineFrame frame, @NotNull JetExpression body) {
+        inlineFrames.push(frame);
+
+        StackValue lastValue = gen(body);
+        if (!endsWithReturn(body)) {
+            lastValue.put(frame.resultType, v);
+            if (frame.resultIndex >= 0) {
+                v.store(frame.resultIndex, frame.resultType);
+            }
+        }
+
+        inlineFrames.pop();
+
+        v.mark(frame.end);
+        if (frame.resultIndex >= 0) {
+            v.load(frame.resultIndex, frame.resultType);
+        }
+    }
+
+    @Nullable
+    private InlineFrame findInlineFrame(@Nullable PsiElement declaration) {
+        for (int i = inlineFrames.size() - 1; i >= 0; i--) {
+            InlineFrame frame = inlineFrames.get(i);
+            if (frame.declaration == declaration) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private PsiElement getReturnTarget(@NotNull JetReturnExpression expression) {
+        JetSimpleNameExpression targetLabel = expression.getTargetLabel();
+        PsiElement target = targetLabel != null
+                            ? bindingContext.get(LABEL_TARGET, targetLabel)
+                            : PsiTreeUtil.getParentOfType(expression, JetDeclarationWithBody.class);
+        if (target instanceof JetFunctionLiteralExpression) {
+            return ((JetFunctionLiteralExpression) target).getFunctionLiteral();
+        }
+        return target;
+    }
+
+    @NotNull
+    private PsiElement getOutermostCallSite(@NotNull Call call) {
+        return inlineFrames.isEmpty() ? call.getCallElement() : inlineFrames.get(0).callSite;
+    }
+
+    private boolean isStackEmptyAt(@NotNull PsiElement element) {
+        PsiElement expression = element;
+        if (expression.getParent() instanceof JetDotQualifiedExpression &&
+            ((JetDotQualifiedExpression) expression.getParent()).getSelectorExpression() == expression) {
+            expression = expression.getParent();
+        }
+
+        JetDeclarationWithBody declaration = PsiTreeUtil.getParentOfType(expression, JetDeclarationWithBody.class);
+        if (declaration == null || !InlineCodegenUtil.isAtEntryStackDepth(bindingContext, expression, declaration)) {
+            return false;
+        }
+
+        InlineFrame frame = findInlineFrame(declaration);
+        return frame == null || frame.entryStackEmpty;
+    }
+
 
     public void invokeMethodWithArguments(
             @NotNull CallableMethod callableMethod,
@@ -2174,6 +3301,11 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
     }
 
     private StackValue generateReceiver(DeclarationDescriptor provided) {
+        StackValue inlinedReceiver = inlinedReceivers.get(provided);
+        if (inlinedReceiver != null) {
+            return inlinedReceiver;
+        }
+
         if (context.getCallableDescriptorWithReceiver() == provided) {
             return context.getReceiverExpression(typeMapper);
         }
@@ -2347,28 +3479,7 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
                 gen(arguments.get(0).getArgumentExpression(), type);
             }
             else {
-                String owner = "jet/runtime/Intrinsics$SpreadBuilder";
-                v.anew(Type.getObjectType(owner));
-                v.dup();
-                v.invokespecial(owner, "<init>", "()V");
-                for (int i = 0; i != size; ++i) {
-                    v.dup();
-                    ValueArgument argument = arguments.get(i);
-                    if (argument.getSpreadElement() != null) {
-                        gen(argument.getArgumentExpression(), OBJECT_TYPE);
-                        v.invokevirtual(owner, "addSpread", "(Ljava/lang/Object;)V");
-                    }
-                    else {
-                        gen(argument.getArgumentExpression(), elementType);
-                        v.invokevirtual(owner, "add", "(Ljava/lang/Object;)Z");
-                        v.pop();
-                    }
-                }
-                v.dup();
-                v.invokevirtual(owner, "size", "()I");
-                v.newarray(elementType);
-                v.invokevirtual(owner, "toArray", "([Ljava/lang/Object;)[Ljava/lang/Object;");
-                v.checkcast(type);
+                genVarargsWithSpread(arguments, type, elementType);
             }
         }
         else {
@@ -2383,6 +3494,82 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         }
     }
 
+    /*
+        All arguments are evaluated into temporary variables first, so that the size of the resulting array is known
+        before it is created. Spread arrays are then copied into it with System.arraycopy, which doesn't box elements
+        of primitive arrays
+     */
+    private void genVarargsWithSpread(@NotNull List<ValueArgument> arguments, @NotNull Type arrayType, @NotNull Type elementType) {
+        int size = arguments.size();
+        int[] argumentIndices = new int[size];
+        Type[] argumentTypes = new Type[size];
+        boolean[] isSpread = new boolean[size];
+        int singleElements = 0;
+        for (int i = 0; i != size; ++i) {
+            ValueArgument argument = arguments.get(i);
+            isSpread[i] = argument.getSpreadElement() != null;
+            if (isSpread[i]) {
+                argumentTypes[i] = arrayType;
+            }
+            else {
+                argumentTypes[i] = elementType;
+                singleElements++;
+            }
+            gen(argument.getArgumentExpression(), argumentTypes[i]);
+            argumentIndices[i] = myFrameMap.enterTemp(argumentTypes[i]);
+            v.store(argumentIndices[i], argumentTypes[i]);
+        }
+
+        v.iconst(singleElements);
+        for (int i = 0; i != size; ++i) {
+            if (isSpread[i]) {
+                v.load(argumentIndices[i], arrayType);
+                v.arraylength();
+                v.add(Type.INT_TYPE);
+            }
+        }
+        v.newarray(elementType);
+        int resultIndex = myFrameMap.enterTemp(arrayType);
+        v.store(resultIndex, arrayType);
+
+        int positionIndex = myFrameMap.enterTemp(Type.INT_TYPE);
+        v.iconst(0);
+        v.store(positionIndex, Type.INT_TYPE);
+
+        for (int i = 0; i != size; ++i) {
+            if (isSpread[i]) {
+                v.load(argumentIndices[i], arrayType);
+                v.iconst(0);
+                v.load(resultIndex, arrayType);
+                v.load(positionIndex, Type.INT_TYPE);
+                v.load(argumentIndices[i], arrayType);
+                v.arraylength();
+                v.invokestatic("java/lang/System", "arraycopy", "(Ljava/lang/Object;ILjava/lang/Object;II)V");
+
+                v.load(positionIndex, Type.INT_TYPE);
+                v.load(argumentIndices[i], arrayType);
+                v.arraylength();
+                v.add(Type.INT_TYPE);
+                v.store(positionIndex, Type.INT_TYPE);
+            }
+            else {
+                v.load(resultIndex, arrayType);
+                v.load(positionIndex, Type.INT_TYPE);
+                v.load(argumentIndices[i], elementType);
+                StackValue.arrayElement(elementType, false).store(elementType, v);
+                v.iinc(positionIndex, 1);
+            }
+        }
+
+        v.load(resultIndex, arrayType);
+
+        myFrameMap.leaveTemp(Type.INT_TYPE);
+        myFrameMap.leaveTemp(arrayType);
+        for (Type argumentType : argumentTypes) {
+            myFrameMap.leaveTemp(argumentType);
+        }
+    }
+
     public int pushMethodArguments(JetCallElement expression, List<Type> valueParameterTypes) {
         ResolvedCall<? extends CallableDescriptor> resolvedCall =
                 bindingContext.get(BindingContext.RESOLVED_CALL, expression.getCalleeExpression());
@@ -2414,6 +3601,14 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
 
     @Override
     public StackValue visitCallableReferenceExpression(@NotNull JetCallableReferenceExpression expression, StackValue data) {
+        return genCallableReference(expression, null);
+    }
+
+    @NotNull
+    private StackValue genCallableReference(
+            @NotNull JetCallableReferenceExpression expression,
+            @Nullable ClassDescriptor samInterfaceClass
+    ) {
         // TODO: properties
         FunctionDescriptor functionDescriptor = bindingContext.get(FUNCTION, expression);
         assert functionDescriptor != null : "Callable reference is not resolved to descriptor: " + expression.getText();
@@ -2426,11 +3621,11 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         ClassDescriptor kFunctionImpl = functionTypeToImpl(kFunctionType);
         assert kFunctionImpl != null : "Impl type is not found for the function type: " + kFunctionType;
 
-        Type closureSuperClass = typeMapper.mapType(kFunctionImpl);
+        Type closureSuperClass = samInterfaceClass == null ? typeMapper.mapType(kFunctionImpl) : OBJECT_TYPE;
 
         CallableReferenceGenerationStrategy strategy = new CallableReferenceGenerationStrategy(state, functionDescriptor, resolvedCall);
-        ClosureCodegen closureCodegen = new ClosureCodegen(state, expression, functionDescriptor, null, closureSuperClass, context, this,
-                                                           strategy, getParentCodegen());
+        ClosureCodegen closureCodegen = new ClosureCodegen(state, expression, functionDescriptor, samInterfaceClass, closureSuperClass,
+                                                           context, this, strategy, getParentCodegen());
 
         closureCodegen.gen();
 
@@ -2659,6 +3854,9 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         else if (opToken == JetTokens.IN_KEYWORD || opToken == JetTokens.NOT_IN) {
             return generateIn(expression);
         }
+        else if (isStringConcatenation(expression)) {
+            return generateStringConcatenation(expression);
+        }
         else {
             ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(BindingContext.RESOLVED_CALL, reference);
             Call call = bindingContext.get(BindingContext.CALL, reference);
@@ -2681,12 +3879,9 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
 
     private StackValue generateIn(JetBinaryExpression expression) {
         boolean inverted = expression.getOperationReference().getReferencedNameElementType() == JetTokens.NOT_IN;
-        if (isIntRangeExpr(expression.getRight())) {
-            StackValue leftValue = StackValue.expression(Type.INT_TYPE, expression.getLeft(), this);
-            JetBinaryExpression rangeExpression = (JetBinaryExpression) expression.getRight();
-            getInIntRange(leftValue, rangeExpression, inverted);
-        }
-        else {
+        JetExpression left = expression.getLeft();
+        assert left != null : "No left operand of in: " + expression.getText();
+        if (!generateInPrimitiveRange(StackValue.expression(expressionType(left), left, this), expression.getRight(), inverted)) {
             invokeFunctionByReference(expression.getOperationReference());
             if (inverted) {
                 genInvertBoolean(v);
@@ -2695,43 +3890,133 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
         return StackValue.onStack(Type.BOOLEAN_TYPE);
     }
 
-    private void getInIntRange(StackValue leftValue, JetBinaryExpression rangeExpression, boolean inverted) {
-        v.iconst(1);
-        // 1
-        leftValue.put(Type.INT_TYPE, v);
-        // 1 l
-        v.dup2();
-        // 1 l 1 l
+    /**
+     * Generates "leftValue in low..high" as two comparisons without creating the range, if the range is a literal of a primitive
+     * range type or a local val initialized with such a literal with constant bounds. The range's contains() is equivalent
+     * to these comparisons. All of the operands are evaluated in the same order as before this was done for all primitive ranges:
+     * the left operand first for an integral range literal which isn't parenthesized, which was already generated as comparisons,
+     * and the bounds first otherwise, like they are to call contains()
+     *
+     * @return false if nothing was generated because the range is not of that form
+     */
+    private boolean generateInPrimitiveRange(StackValue leftValue, @Nullable JetExpression rangeExpression, boolean inverted) {
+        JetExpression range = JetPsiUtil.deparenthesize(rangeExpression);
+        if (range == null) return false;
+        boolean parenthesized = range != rangeExpression;
 
-        //noinspection ConstantConditions
-        gen(rangeExpression.getLeft(), Type.INT_TYPE);
-        // 1 l 1 l r
-        Label lok = new Label();
-        v.ificmpge(lok);
-        // 1 l 1
-        v.pop();
-        v.iconst(0);
-        v.mark(lok);
-        // 1 l c
-        v.dupX2();
-        // c 1 l c
-        v.pop();
-        // c 1 l
+        JetType rangeType = bindingContext.get(BindingContext.EXPRESSION_TYPE, range);
+        if (rangeType == null || !RangeCodegenUtil.isRange(rangeType)) return false;
 
-        gen(rangeExpression.getRight(), Type.INT_TYPE);
-        // c 1 l r
-        Label rok = new Label();
-        v.ificmple(rok);
-        // c 1
-        v.pop();
-        v.iconst(0);
-        v.mark(rok);
-        // c c
+        boolean isLocalVal = range instanceof JetSimpleNameExpression;
+        if (isLocalVal) {
+            range = getLocalValInitializer((JetSimpleNameExpression) range);
+            if (range == null) return false;
+        }
+
+        RangeCodegenUtil.BinaryCall binaryCall = RangeCodegenUtil.getRangeAsBinaryCall(range);
+        if (binaryCall == null || binaryCall.left == null || binaryCall.right == null) return false;
+        ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(RESOLVED_CALL, binaryCall.op);
+        if (resolvedCall == null || !RangeCodegenUtil.isOptimizableRangeTo(resolvedCall.getResultingDescriptor())) return false;
+
+        StackValue low;
+        StackValue high;
+        if (isLocalVal) {
+            // the initializer of the val has already been evaluated, only its constant bounds can be reused
+            low = getConstantBound(binaryCall.left);
+            high = getConstantBound(binaryCall.right);
+            if (low == null || high == null) return false;
+        }
+        else {
+            low = StackValue.expression(expressionType(binaryCall.left), binaryCall.left, this);
+            high = StackValue.expression(expressionType(binaryCall.right), binaryCall.right, this);
+        }
+
+        PrimitiveType elementType = RangeCodegenUtil.getPrimitiveRangeElementType(rangeType);
+        assert elementType != null : "Not a primitive range: " + rangeType;
+        Type type = asmType(KotlinBuiltIns.getInstance().getPrimitiveJetType(elementType));
+        if (type.getSort() == Type.CHAR || type.getSort() == Type.SHORT || type.getSort() == Type.BYTE) {
+            type = Type.INT_TYPE;
+        }
+
+        boolean integral = elementType != PrimitiveType.DOUBLE && elementType != PrimitiveType.FLOAT;
+        boolean boundsFirst = !isLocalVal && (!integral || parenthesized);
+        if (boundsFirst) {
+            int lowIndex = myFrameMap.enterTemp(type);
+            low.put(type, v);
+            v.store(lowIndex, type);
+            low = StackValue.local(lowIndex, type);
+
+            int highIndex = myFrameMap.enterTemp(type);
+            high.put(type, v);
+            v.store(highIndex, type);
+            high = StackValue.local(highIndex, type);
+        }
+
+        int item = myFrameMap.enterTemp(type);
+        leftValue.put(type, v);
+        v.store(item, type);
+
+        low.put(type, v);
+        v.load(item, type);
+        genLessOrEqual(type);
+
+        v.load(item, type);
+        high.put(type, v);
+        genLessOrEqual(type);
 
         v.and(Type.INT_TYPE);
         if (inverted) {
             genInvertBoolean(v);
         }
+
+        myFrameMap.leaveTemp(type);
+        if (boundsFirst) {
+            myFrameMap.leaveTemp(type);
+            myFrameMap.leaveTemp(type);
+        }
+        return true;
+    }
+
+    @Nullable
+    private JetExpression getLocalValInitializer(JetSimpleNameExpression reference) {
+        DeclarationDescriptor descriptor = bindingContext.get(REFERENCE_TARGET, reference);
+        if (!(descriptor instanceof LocalVariableDescriptor) || ((LocalVariableDescriptor) descriptor).isVar()) return null;
+
+        PsiElement declaration = BindingContextUtils.descriptorToDeclaration(bindingContext, descriptor);
+        return declaration instanceof JetProperty ? ((JetProperty) declaration).getInitializer() : null;
+    }
+
+    @Nullable
+    private StackValue getConstantBound(JetExpression bound) {
+        CompileTimeConstant<?> constant = getCompileTimeConstant(bound, bindingContext);
+        if (constant == null || constant.getValue() == null) return null;
+        return StackValue.constant(constant.getValue(), expressionType(bound));
+    }
+
+    /**
+     * Replaces two values of the given primitive type on the stack with 1 if the first is less than or equal to the second, 0 otherwise.
+     * Comparisons with NaN give 0, like they do in Java
+     */
+    private void genLessOrEqual(Type type) {
+        Label greater = new Label();
+        if (type == Type.INT_TYPE) {
+            v.ificmpgt(greater);
+        }
+        else {
+            if (type == Type.LONG_TYPE) {
+                v.lcmp();
+            }
+            else {
+                v.cmpg(type);
+            }
+            v.ifgt(greater);
+        }
+        Label end = new Label();
+        v.iconst(1);
+        v.goTo(end);
+        v.mark(greater);
+        v.iconst(0);
+        v.mark(end);
     }
 
     private StackValue generateBooleanAnd(JetBinaryExpression expression) {
@@ -2959,24 +4244,24 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> implem
     }
 
     public void invokeAppend(JetExpression expr) {
-        if (expr instanceof JetBinaryExpression) {
-            JetBinaryExpression binaryExpression = (JetBinaryExpression) expr;
-            if (binaryExpression.getOperationToken() == JetTokens.PLUS) {
-                JetExpression left = binaryExpression.getLeft();
-                JetExpression right = binaryExpression.getRight();
-                Type leftType = expressionType(left);
-                Type rightType = expressionType(right);
-
-                if (leftType.equals(JAVA_STRING_TYPE) && rightType.equals(JAVA_STRING_TYPE)) {
-                    invokeAppend(left);
-                    invokeAppend(right);
-                    return;
-                }
-            }
+        List<Object> parts = new ArrayList<Object>();
+        collectStringConcatenationParts(expr, parts);
+        for (Object part : parts) {
+            appendStringConcatenationPart(part);
+        }
+    }
+
+    private void appendStringConcatenationPart(@NotNull Object part) {
+        if (part instanceof String) {
+            v.aconst(part);
+            genInvokeAppendMethod(v, JAVA_STRING_TYPE);
+        }
+        else {
+            JetExpression expr = (JetExpression) part;
+            Type exprType = expressionType(expr);
+            gen(expr, exprType);
+            genInvokeAppendMethod(v, exprType.getSort() == Type.ARRAY ? OBJECT_TYPE : exprType);
         }
-        Type exprType = expressionType(expr);
-        gen(expr, exprType);
-        genInvokeAppendMethod(v, exprType.getSort() == Type.ARRAY ? OBJECT_TYPE : exprType);
     }
 
     @Nullable
@@ -3693,6 +4978,19 @@ The "returned" value of try expression with no finally is either the last expres
         Label end = new Label();
         boolean hasElse = JetPsiUtil.checkWhenExpressionHasSingleElse(expression);
 
+        SwitchCodegenUtil.WhenSwitch whenSwitch =
+                subjectLocal != -1 ? SwitchCodegenUtil.getWhenSwitch(expression, subjectType, bindingContext) : null;
+        if (whenSwitch != null) {
+            generateWhenSwitch(expression, whenSwitch, subjectType, subjectLocal, resultType, isStatement, end);
+
+            markLineNumber(expression);
+            v.mark(end);
+
+            myFrameMap.leaveTemp(subjectType);
+            tempVariables.remove(expr);
+            return StackValue.onStack(resultType);
+        }
+
         Label nextCondition = null;
         for (JetWhenEntry whenEntry : expression.getEntries()) {
             if (nextCondition != null) {
@@ -3723,17 +5021,7 @@ The "returned" value of try expression with no finally is either the last expres
         }
         if (!hasElse && nextCondition != null) {
             v.mark(nextCondition);
-            if (!isStatement) {
-                // a result is expected
-                if (Boolean.TRUE.equals(bindingContext.get(BindingContext.EXHAUSTIVE_WHEN, expression))) {
-                    // when() is supposed to be exhaustive
-                    throwNewException(CLASS_NO_PATTERN_MATCHED_EXCEPTION);
-                }
-                else {
-                    // non-exhaustive when() with no else -> Unit must be expected
-                    StackValue.putUnitInstance(v);
-                }
-            }
+            generateWhenNoMatch(expression, isStatement);
         }
 
         markLineNumber(expression);
@@ -3744,6 +5032,149 @@ The "returned" value of try expression with no finally is either the last expres
         return StackValue.onStack(resultType);
     }
 
+    private void generateWhenNoMatch(JetWhenExpression expression, boolean isStatement) {
+        if (!isStatement) {
+            // a result is expected
+            if (Boolean.TRUE.equals(bindingContext.get(BindingContext.EXHAUSTIVE_WHEN, expression))) {
+                // when() is supposed to be exhaustive
+                throwNewException(CLASS_NO_PATTERN_MATCHED_EXCEPTION);
+            }
+            else {
+                // non-exhaustive when() with no else -> Unit must be expected
+                StackValue.putUnitInstance(v);
+            }
+        }
+    }
+
+    private void generateWhenSwitch(
+            JetWhenExpression expression,
+            SwitchCodegenUtil.WhenSwitch whenSwitch,
+            Type subjectType,
+            int subjectLocal,
+            Type resultType,
+            boolean isStatement,
+            Label end
+    ) {
+        Map<JetWhenEntry, Label> entryLabels = new LinkedHashMap<JetWhenEntry, Label>();
+        for (JetWhenEntry entry : whenSwitch.cases.values()) {
+            if (!entryLabels.containsKey(entry)) {
+                entryLabels.put(entry, new Label());
+            }
+        }
+        Label defaultLabel = new Label();
+
+        switch (whenSwitch.kind) {
+            case INTEGRAL: {
+                v.load(subjectLocal, subjectType);
+                Map<Integer, Label> labels = new TreeMap<Integer, Label>();
+                for (Map.Entry<Object, JetWhenEntry> switchCase : whenSwitch.cases.entrySet()) {
+                    labels.put((Integer) switchCase.getKey(), entryLabels.get(switchCase.getValue()));
+                }
+                generateSwitchInstruction(labels, defaultLabel);
+                break;
+            }
+            case ENUM_ORDINAL: {
+                v.load(subjectLocal, subjectType);
+                v.ifnull(defaultLabel);
+                v.load(subjectLocal, subjectType);
+                v.invokevirtual(subjectType.getInternalName(), "ordinal", "()I");
+                Map<Integer, Label> labels = new TreeMap<Integer, Label>();
+                for (Map.Entry<Object, JetWhenEntry> switchCase : whenSwitch.cases.entrySet()) {
+                    labels.put((Integer) switchCase.getKey(), entryLabels.get(switchCase.getValue()));
+                }
+                generateSwitchInstruction(labels, defaultLabel);
+                break;
+            }
+            case STRING: {
+                Map<Integer, List<String>> buckets = new TreeMap<Integer, List<String>>();
+                for (Object key : whenSwitch.cases.keySet()) {
+                    String string = (String) key;
+                    List<String> bucket = buckets.get(string.hashCode());
+                    if (bucket == null) {
+                        bucket = new ArrayList<String>(1);
+                        buckets.put(string.hashCode(), bucket);
+                    }
+                    bucket.add(string);
+                }
+
+                v.load(subjectLocal, subjectType);
+                v.ifnull(defaultLabel);
+                v.load(subjectLocal, subjectType);
+                v.invokevirtual("java/lang/String", "hashCode", "()I");
+                Map<Integer, Label> labels = new TreeMap<Integer, Label>();
+                for (Integer hashCode : buckets.keySet()) {
+                    labels.put(hashCode, new Label());
+                }
+                generateSwitchInstruction(labels, defaultLabel);
+
+                // strings with equal hash codes are told apart with equals(), in the order of entries
+                for (Map.Entry<Integer, List<String>> bucket : buckets.entrySet()) {
+                    v.mark(labels.get(bucket.getKey()));
+                    for (String string : bucket.getValue()) {
+                        v.load(subjectLocal, subjectType);
+                        v.aconst(string);
+                        v.invokevirtual("java/lang/String", "equals", "(Ljava/lang/Object;)Z");
+                        v.ifne(entryLabels.get(whenSwitch.cases.get(string)));
+                    }
+                    v.goTo(defaultLabel);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown switch kind: " + whenSwitch.kind);
+        }
+
+        for (JetWhenEntry entry : expression.getEntries()) {
+            Label entryLabel = entryLabels.get(entry);
+            // entries all of whose conditions are matched by previous entries are unreachable
+            if (entryLabel == null) continue;
+
+            v.mark(entryLabel);
+            markLineNumber(entry);
+            FrameMap.Mark mark = myFrameMap.mark();
+            gen(entry.getExpression(), resultType);
+            mark.dropTo();
+            v.goTo(end);
+        }
+
+        v.mark(defaultLabel);
+        JetWhenEntry elseEntry = whenSwitch.elseEntry;
+        if (elseEntry != null) {
+            markLineNumber(elseEntry);
+            FrameMap.Mark mark = myFrameMap.mark();
+            gen(elseEntry.getExpression(), resultType);
+            mark.dropTo();
+        }
+        else {
+            generateWhenNoMatch(expression, isStatement);
+        }
+    }
+
+    private void generateSwitchInstruction(Map<Integer, Label> sortedLabels, Label defaultLabel) {
+        int[] keys = new int[sortedLabels.size()];
+        Label[] labels = new Label[sortedLabels.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Label> entry : sortedLabels.entrySet()) {
+            keys[i] = entry.getKey();
+            labels[i] = entry.getValue();
+            i++;
+        }
+
+        if (SwitchCodegenUtil.preferTableSwitch(keys)) {
+            int min = keys[0];
+            int max = keys[keys.length - 1];
+            Label[] table = new Label[max - min + 1];
+            Arrays.fill(table, defaultLabel);
+            for (int j = 0; j < keys.length; j++) {
+                table[keys[j] - min] = labels[j];
+            }
+            v.tableswitch(min, max, defaultLabel, table);
+        }
+        else {
+            v.lookupswitch(defaultLabel, keys, labels);
+        }
+    }
+
     private StackValue generateWhenCondition(Type subjectType, int subjectLocal, JetWhenCondition condition) {
         if (condition instanceof JetWhenConditionInRange) {
             JetWhenConditionInRange conditionInRange = (JetWhenConditionInRange) condition;
@@ -3753,10 +5184,7 @@ The "returned" value of try expression with no finally is either the last expres
             }
             JetSimpleNameExpression operationReference = conditionInRange.getOperationReference();
             boolean inverted = operationReference.getReferencedNameElementType() == JetTokens.NOT_IN;
-            if (isIntRangeExpr(rangeExpression)) {
-                getInIntRange(new StackValue.Local(subjectLocal, subjectType), (JetBinaryExpression) rangeExpression, inverted);
-            }
-            else {
+            if (!generateInPrimitiveRange(new StackValue.Local(subjectLocal, subjectType), rangeExpression, inverted)) {
                 //FunctionDescriptor op =
                 //        (FunctionDescriptor) bindingContext.get(BindingContext.REFERENCE_TARGET, conditionInRange.getOperationReference());
                 //genToJVMStack(rangeExpression);
@@ -3790,19 +5218,6 @@ The "returned" value of try expression with no finally is either the last expres
         invokeFunction(call, StackValue.none(), resolvedCall);
     }
 
-    private boolean isIntRangeExpr(JetExpression rangeExpression) {
-        if (rangeExpression instanceof JetBinaryExpression) {
-            JetBinaryExpression binaryExpression = (JetBinaryExpression) rangeExpression;
-            if (binaryExpression.getOperationReference().getReferencedNameElementType() == JetTokens.RANGE) {
-                JetType jetType = bindingContext.get(BindingContext.EXPRESSION_TYPE, rangeExpression);
-                assert jetType != null;
-                DeclarationDescriptor descriptor = jetType.getConstructor().getDeclarationDescriptor();
-                return INTEGRAL_RANGES.contains(descriptor);
-            }
-        }
-        return false;
-    }
-
     private void throwNewException(@NotNull String className) {
         throwNewException(className, null);
     }
@@ -62,6 +62,16 @@ public class FrameMap {
         myMaxIndex -= type.getSize();
     }
 
+    public int enterTemps(int size) {
+        int result = myMaxIndex;
+        myMaxIndex += size;
+        return result;
+    }
+
+    public void leaveTemps(int size) {
+        myMaxIndex -= size;
+    }
+
     public int getIndex(DeclarationDescriptor descriptor) {
         return myVarIndex.contains(descriptor) ? myVarIndex.get(descriptor) : -1;
     }
@@ -1663,7 +1663,11 @@ public class ImplementationBodyCodegen extends ClassBodyCodegen {
         PropertyDescriptor propertyDescriptor = (PropertyDescriptor) typeMapper.getBindingContext().get(BindingContext.VARIABLE, property);
         assert propertyDescriptor != null;
 
-        //TODO: OPTIMIZATION: don't initialize static final fields
+        // Static final fields of primitive or String types get their values from the ConstantValue attribute
+        if (property.getDelegateExpression() == null && isStaticField(propertyDescriptor) &&
+            shouldWriteFieldInitializer(propertyDescriptor, typeMapper)) {
+            return false;
+        }
 
         Object value = compileTimeValue.getValue();
         JetType jetType = getPropertyOrDelegateType(typeMapper.getBindingContext(), property, propertyDescriptor);
@@ -1671,6 +1675,11 @@ public class ImplementationBodyCodegen extends ClassBodyCodegen {
         return !skipDefaultValue(propertyDescriptor, value, type);
     }
 
+    private static boolean isStaticField(@NotNull PropertyDescriptor descriptor) {
+        return descriptor.getContainingDeclaration() instanceof PackageFragmentDescriptor ||
+               AsmUtil.isPropertyWithBackingFieldInOuterClass(descriptor);
+    }
+
     @NotNull
     private static JetType getPropertyOrDelegateType(@NotNull BindingContext bindingContext, @NotNull JetProperty property, @NotNull PropertyDescriptor descriptor) {
         JetExpression delegateExpression = property.getDelegateExpression();
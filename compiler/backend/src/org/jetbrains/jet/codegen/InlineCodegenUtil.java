@@ -0,0 +1,269 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.codegen.binding.CodegenBinding;
+import org.jetbrains.jet.lang.descriptors.*;
+import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.BindingContextUtils;
+import org.jetbrains.jet.lang.resolve.DescriptorUtils;
+import org.jetbrains.jet.lang.resolve.calls.model.ResolvedCall;
+import org.jetbrains.jet.lang.resolve.calls.model.VariableAsFunctionResolvedCall;
+import org.jetbrains.jet.lang.resolve.scopes.receivers.ExpressionReceiver;
+import org.jetbrains.jet.lang.resolve.scopes.receivers.ReceiverValue;
+import org.jetbrains.jet.lexer.JetTokens;
+
+/**
+ * PSI checks used by {@link ExpressionCodegen} to decide whether a call to an inline function declared in the sources being compiled
+ * can be generated by copying the function body into the call site. Bodies of inline functions from the class path are checked
+ * by {@link CompiledInlineFunctions}.
+ */
+public class InlineCodegenUtil {
+    private InlineCodegenUtil() {}
+
+    /**
+     * @return the declaration of a top-level inline function whose body can be generated at a call site,
+     * or null if the function should be called as usual
+     */
+    @Nullable
+    public static JetNamedFunction getInlinableDeclaration(@NotNull BindingContext bindingContext, @NotNull CallableDescriptor descriptor) {
+        if (!(descriptor instanceof SimpleFunctionDescriptor) || !((SimpleFunctionDescriptor) descriptor).isInline()) return null;
+        if (!DescriptorUtils.isTopLevelDeclaration(descriptor) || descriptor.getExpectedThisObject() != null) return null;
+
+        PsiElement declaration = BindingContextUtils.descriptorToDeclaration(bindingContext, descriptor.getOriginal());
+        if (!(declaration instanceof JetNamedFunction)) return null;
+
+        JetNamedFunction function = (JetNamedFunction) declaration;
+        JetExpression body = function.getBodyExpression();
+        if (body == null || containsClassesOrClosures(body)) return null;
+
+        for (JetReturnExpression returnExpression : PsiTreeUtil.findChildrenOfType(body, JetReturnExpression.class)) {
+            if (!isAtEntryStackDepth(bindingContext, returnExpression, function)) return null;
+        }
+
+        return function;
+    }
+
+    /**
+     * @return true for a top-level inline function which isn't declared in the sources being compiled, so that its body can only be
+     * copied to a call site from its class file, see {@link CompiledInlineFunctions}
+     */
+    public static boolean isCompiledInlineFunction(@NotNull BindingContext bindingContext, @NotNull CallableDescriptor descriptor) {
+        if (!(descriptor instanceof SimpleFunctionDescriptor) || !((SimpleFunctionDescriptor) descriptor).isInline()) return false;
+        if (!DescriptorUtils.isTopLevelDeclaration(descriptor) || descriptor.getExpectedThisObject() != null) return false;
+
+        return BindingContextUtils.descriptorToDeclaration(bindingContext, descriptor.getOriginal()) == null;
+    }
+
+    /**
+     * Code which is copied to call sites must not declare anything that is compiled to a separate class
+     */
+    public static boolean containsClassesOrClosures(@NotNull JetElement element) {
+        final boolean[] result = new boolean[1];
+        element.accept(new JetTreeVisitorVoid() {
+            @Override
+            public void visitFunctionLiteralExpression(@NotNull JetFunctionLiteralExpression expression) {
+                result[0] = true;
+            }
+
+            @Override
+            public void visitObjectLiteralExpression(@NotNull JetObjectLiteralExpression expression) {
+                result[0] = true;
+            }
+
+            @Override
+            public void visitCallableReferenceExpression(@NotNull JetCallableReferenceExpression expression) {
+                result[0] = true;
+            }
+
+            @Override
+            public void visitClass(@NotNull JetClass klass) {
+                result[0] = true;
+            }
+
+            @Override
+            public void visitObjectDeclaration(@NotNull JetObjectDeclaration declaration) {
+                result[0] = true;
+            }
+
+            @Override
+            public void visitNamedFunction(@NotNull JetNamedFunction function) {
+                result[0] = true;
+            }
+        });
+        return result[0];
+    }
+
+    public static boolean containsTryExpressions(@NotNull JetElement element) {
+        return !PsiTreeUtil.findChildrenOfType(element, JetTryExpression.class).isEmpty() || element instanceof JetTryExpression;
+    }
+
+    /**
+     * Code from other files can only be copied into a call site if it doesn't need access to private declarations
+     */
+    public static boolean referencesOnlyPublicDeclarations(@NotNull BindingContext bindingContext, @NotNull JetElement element) {
+        for (JetSimpleNameExpression expression : PsiTreeUtil.findChildrenOfType(element, JetSimpleNameExpression.class)) {
+            DeclarationDescriptor target = getReferencedDescriptor(bindingContext, expression);
+            if (target instanceof DeclarationDescriptorWithVisibility) {
+                Visibility visibility = ((DeclarationDescriptorWithVisibility) target).getVisibility();
+                if (visibility != Visibilities.PUBLIC && visibility != Visibilities.INTERNAL && visibility != Visibilities.LOCAL) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the parameter is only invoked in the body, either as {@code f(...)} or as {@code f.invoke(...)}
+     */
+    public static boolean isOnlyInvoked(
+            @NotNull BindingContext bindingContext,
+            @NotNull JetElement body,
+            @NotNull ValueParameterDescriptor parameter
+    ) {
+        for (JetSimpleNameExpression expression : PsiTreeUtil.findChildrenOfType(body, JetSimpleNameExpression.class)) {
+            if (getReferencedDescriptor(bindingContext, expression) != parameter) continue;
+
+            PsiElement parent = expression.getParent();
+            if (parent instanceof JetCallExpression && ((JetCallExpression) parent).getCalleeExpression() == expression) {
+                continue;
+            }
+            if (parent instanceof JetDotQualifiedExpression && ((JetDotQualifiedExpression) parent).getReceiverExpression() == expression &&
+                isInvokeCall(bindingContext, ((JetDotQualifiedExpression) parent).getSelectorExpression())) {
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isInvokeCall(@NotNull BindingContext bindingContext, @Nullable JetExpression selector) {
+        if (!(selector instanceof JetCallExpression)) return false;
+        JetExpression callee = ((JetCallExpression) selector).getCalleeExpression();
+        if (callee == null) return false;
+        ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(BindingContext.RESOLVED_CALL, callee);
+        return resolvedCall != null && getInvokedParameter(bindingContext, resolvedCall) != null;
+    }
+
+    /**
+     * @return the value parameter which is invoked by the call, either as {@code f(...)} or as {@code f.invoke(...)}
+     */
+    @Nullable
+    public static ValueParameterDescriptor getInvokedParameter(
+            @NotNull BindingContext bindingContext,
+            @NotNull ResolvedCall<? extends CallableDescriptor> resolvedCall
+    ) {
+        if (resolvedCall instanceof VariableAsFunctionResolvedCall) {
+            VariableDescriptor variable = ((VariableAsFunctionResolvedCall) resolvedCall).getVariableCall().getResultingDescriptor();
+            return variable instanceof ValueParameterDescriptor ? ((ValueParameterDescriptor) variable).getOriginal() : null;
+        }
+
+        if (!resolvedCall.getResultingDescriptor().getName().asString().equals("invoke")) return null;
+
+        ReceiverValue thisObject = resolvedCall.getThisObject();
+        if (!(thisObject instanceof ExpressionReceiver)) return null;
+
+        JetExpression receiver = JetPsiUtil.deparenthesize(((ExpressionReceiver) thisObject).getExpression());
+        if (!(receiver instanceof JetSimpleNameExpression)) return null;
+
+        DeclarationDescriptor target = getReferencedDescriptor(bindingContext, (JetSimpleNameExpression) receiver);
+        return target instanceof ValueParameterDescriptor ? (ValueParameterDescriptor) target : null;
+    }
+
+    @Nullable
+    public static DeclarationDescriptor getReferencedDescriptor(
+            @NotNull BindingContext bindingContext,
+            @NotNull JetSimpleNameExpression expression
+    ) {
+        ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(BindingContext.RESOLVED_CALL, expression);
+        if (resolvedCall instanceof VariableAsFunctionResolvedCall) {
+            return ((VariableAsFunctionResolvedCall) resolvedCall).getVariableCall().getResultingDescriptor().getOriginal();
+        }
+        if (resolvedCall != null) {
+            return resolvedCall.getResultingDescriptor().getOriginal();
+        }
+        return bindingContext.get(BindingContext.REFERENCE_TARGET, expression);
+    }
+
+    /**
+     * @return true if nothing is left on the operand stack by the enclosing expressions of {@code declaration} when
+     * {@code element} is evaluated, i.e. a jump from this point to the end of the inlined declaration keeps the stack consistent
+     */
+    public static boolean isAtEntryStackDepth(
+            @NotNull BindingContext bindingContext,
+            @NotNull PsiElement element,
+            @NotNull JetDeclarationWithBody declaration
+    ) {
+        PsiElement current = element;
+        while (true) {
+            PsiElement parent = current.getParent();
+            if (parent == declaration) {
+                return current == declaration.getBodyExpression();
+            }
+
+            if (parent instanceof JetBlockExpression ||
+                parent instanceof JetParenthesizedExpression ||
+                parent instanceof JetReturnExpression ||
+                parent instanceof JetThrowExpression ||
+                parent instanceof JetWhenExpression) {
+                current = parent;
+            }
+            else if (parent instanceof JetWhenEntry && ((JetWhenEntry) parent).getExpression() == current) {
+                current = parent;
+            }
+            else if (parent instanceof JetContainerNode && parent.getParent() instanceof JetIfExpression) {
+                current = parent.getParent();
+            }
+            else if (parent instanceof JetContainerNode && parent.getParent() instanceof JetLoopExpression &&
+                     ((JetLoopExpression) parent.getParent()).getBody() == current) {
+                current = parent.getParent();
+            }
+            else if (parent instanceof JetBinaryExpression &&
+                     ((JetBinaryExpression) parent).getOperationToken() == JetTokens.ELVIS &&
+                     ((JetBinaryExpression) parent).getRight() == current) {
+                current = parent;
+            }
+            else if (parent instanceof JetProperty && ((JetProperty) parent).isLocal() &&
+                     ((JetProperty) parent).getInitializer() == current && !isSharedVariable(bindingContext, (JetProperty) parent)) {
+                current = parent;
+            }
+            else {
+                return false;
+            }
+        }
+    }
+
+    private static boolean isSharedVariable(@NotNull BindingContext bindingContext, @NotNull JetProperty property) {
+        VariableDescriptor variable = bindingContext.get(BindingContext.VARIABLE, property);
+        return variable == null || CodegenBinding.isVarCapturedInClosure(bindingContext, variable);
+    }
+
+    /**
+     * Outside of a package part class private top-level declarations may require accessors, so code referencing them is only
+     * inlined into functions and property accessors declared at top level in the same file
+     */
+    public static boolean isInPackagePart(@NotNull PsiElement element) {
+        return PsiTreeUtil.getParentOfType(element, JetClassOrObject.class, JetFunctionLiteral.class, JetScript.class) == null;
+    }
+}
@@ -27,10 +27,17 @@ import org.jetbrains.jet.lang.psi.JetPsiUtil;
 import org.jetbrains.jet.lang.psi.JetScript;
 import org.jetbrains.jet.lang.resolve.ScriptNameUtil;
 import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.utils.ExceptionUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.jetbrains.jet.codegen.binding.CodegenBinding.registerClassNameForScript;
 
@@ -56,11 +63,73 @@ public class KotlinCodegenFacade {
             namespaceGrouping.putValue(JetPsiUtil.getFQName(file), file);
         }
 
+        if (state.getCodegenThreads() > 1 && namespaceGrouping.size() > 1) {
+            generateNamespacesInParallel(state, namespaceGrouping, errorHandler);
+            return;
+        }
+
+        ClassFileFactory factory = state.getFactory();
         for (Map.Entry<FqName, Collection<JetFile>> entry : namespaceGrouping.entrySet()) {
-            generateNamespace(state, entry.getKey(), entry.getValue(), errorHandler);
+            Runnable task = generateNamespaceTask(state, entry.getKey(), entry.getValue(), errorHandler);
+            factory.generateInUnit(factory.newOutputUnit(), task);
+        }
+    }
+
+    // Namespaces are independent after the analysis: codegen only reads the binding context, and the classes of each namespace are
+    // registered in their own output unit of the class file factory, so the outputs are the same as in sequential generation
+    private static void generateNamespacesInParallel(
+            @NotNull GenerationState state,
+            @NotNull MultiMap<FqName, JetFile> namespaceGrouping,
+            @NotNull CompilationErrorHandler errorHandler
+    ) {
+        final ClassFileFactory factory = state.getFactory();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(state.getCodegenThreads(), namespaceGrouping.size()));
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (Map.Entry<FqName, Collection<JetFile>> entry : namespaceGrouping.entrySet()) {
+                final ClassFileFactory.OutputUnit unit = factory.newOutputUnit();
+                final Runnable task = generateNamespaceTask(state, entry.getKey(), entry.getValue(), errorHandler);
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        factory.generateInUnit(unit, task);
+                    }
+                }));
+            }
+
+            // Failures are reported in the same order as they would be in sequential generation
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException e) {
+                    throw ExceptionUtils.rethrow(e.getCause());
+                }
+                catch (InterruptedException e) {
+                    throw ExceptionUtils.rethrow(e);
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
         }
     }
 
+    @NotNull
+    private static Runnable generateNamespaceTask(
+            @NotNull final GenerationState state,
+            @NotNull final FqName fqName,
+            @NotNull final Collection<JetFile> jetFiles,
+            @NotNull final CompilationErrorHandler errorHandler
+    ) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                generateNamespace(state, fqName, jetFiles, errorHandler);
+            }
+        };
+    }
+
     public static void generateNamespace(
             @NotNull GenerationState state,
             @NotNull FqName fqName,
@@ -85,6 +85,8 @@ public class NamespacePartCodegen extends MemberCodegen {
             }
         }
 
+        PropertyCodegen.generatePropertyMetadataArrayIfNeeded(v, context, state);
+
         generateStaticInitializers();
 
         v.done();
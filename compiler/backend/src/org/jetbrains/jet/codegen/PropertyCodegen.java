@@ -21,6 +21,7 @@ import com.intellij.openapi.util.text.StringUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.asm4.FieldVisitor;
+import org.jetbrains.asm4.Label;
 import org.jetbrains.asm4.MethodVisitor;
 import org.jetbrains.asm4.Opcodes;
 import org.jetbrains.asm4.Type;
@@ -45,15 +46,19 @@ import org.jetbrains.jet.lang.types.ErrorUtils;
 import org.jetbrains.jet.lang.types.JetType;
 import org.jetbrains.jet.lang.types.lang.KotlinBuiltIns;
 
+import java.util.List;
+
 import static org.jetbrains.asm4.Opcodes.*;
 import static org.jetbrains.jet.codegen.AsmUtil.*;
 import static org.jetbrains.jet.codegen.CodegenUtil.getParentBodyCodegen;
 import static org.jetbrains.jet.codegen.CodegenUtil.isInterface;
 import static org.jetbrains.jet.codegen.JvmSerializationBindings.*;
 import static org.jetbrains.jet.lang.resolve.DescriptorUtils.isTrait;
-import static org.jetbrains.jet.lang.resolve.java.AsmTypeConstants.OBJECT_TYPE;
+import static org.jetbrains.jet.lang.resolve.java.AsmTypeConstants.*;
 
 public class PropertyCodegen extends GenerationStateAware {
+    public static final Type PROPERTY_METADATA_ARRAY_TYPE = Type.getType("[" + JET_PROPERTY_METADATA_TYPE.getDescriptor());
+
     @NotNull
     private final FunctionCodegen functionCodegen;
 
@@ -261,7 +266,7 @@ public class PropertyCodegen extends GenerationStateAware {
             FunctionGenerationStrategy strategy;
             if (defaultGetter) {
                 if (p instanceof JetProperty && ((JetProperty) p).getDelegateExpression() != null) {
-                    strategy = new DefaultPropertyWithDelegateAccessorStrategy(state, getterDescriptor);
+                    strategy = new DefaultPropertyWithDelegateAccessorStrategy(state, getterDescriptor, context, v.getThisName());
                 }
                 else {
                     strategy = new DefaultPropertyAccessorStrategy(state, getterDescriptor);
@@ -291,7 +296,7 @@ public class PropertyCodegen extends GenerationStateAware {
                 FunctionGenerationStrategy strategy;
                 if (defaultSetter) {
                     if (p instanceof JetProperty && ((JetProperty) p).getDelegateExpression() != null) {
-                        strategy = new DefaultPropertyWithDelegateAccessorStrategy(state, setterDescriptor);
+                        strategy = new DefaultPropertyWithDelegateAccessorStrategy(state, setterDescriptor, context, v.getThisName());
                     }
                     else {
                         strategy = new DefaultPropertyAccessorStrategy(state, setterDescriptor);
@@ -359,8 +364,18 @@ public class PropertyCodegen extends GenerationStateAware {
     }
 
     private static class DefaultPropertyWithDelegateAccessorStrategy extends FunctionGenerationStrategy.CodegenBased<PropertyAccessorDescriptor> {
-        public DefaultPropertyWithDelegateAccessorStrategy(@NotNull GenerationState state, @NotNull PropertyAccessorDescriptor descriptor) {
+        private final FieldOwnerContext fieldOwnerContext;
+        private final String ownerInternalName;
+
+        public DefaultPropertyWithDelegateAccessorStrategy(
+                @NotNull GenerationState state,
+                @NotNull PropertyAccessorDescriptor descriptor,
+                @NotNull FieldOwnerContext fieldOwnerContext,
+                @NotNull String ownerInternalName
+        ) {
             super(state, descriptor);
+            this.fieldOwnerContext = fieldOwnerContext;
+            this.ownerInternalName = ownerInternalName;
         }
 
         @Override
@@ -383,8 +398,16 @@ public class PropertyCodegen extends GenerationStateAware {
                 iv.load(0, OBJECT_TYPE);
             }
 
+            // The second argument of the delegate call is a fake expression standing for the metadata of this property,
+            // which is taken from the array shared by all delegated properties of the class
+            JetExpression metadataExpression = call.getValueArguments().get(1).getArgumentExpression();
+            int metadataIndex = fieldOwnerContext.getPropertyMetadataIndex(property);
+            codegen.tempVariables.put(metadataExpression,
+                                      StackValue.propertyMetadata(Type.getObjectType(ownerInternalName), metadataIndex));
+
             StackValue delegatedProperty = codegen.intermediateValueForProperty(property, true, null);
             StackValue lastValue = codegen.invokeFunction(call, delegatedProperty, resolvedCall);
+            codegen.tempVariables.remove(metadataExpression);
 
             if (lastValue.type != Type.VOID_TYPE) {
                 lastValue.put(asmType, iv);
@@ -396,6 +419,54 @@ public class PropertyCodegen extends GenerationStateAware {
         }
     }
 
+    /**
+     * Generates a static array with metadata of all delegated properties whose accessors were generated in the given context,
+     * and a method which creates the array on the first call and returns it
+     */
+    public static void generatePropertyMetadataArrayIfNeeded(
+            @NotNull ClassBuilder v,
+            @NotNull FieldOwnerContext context,
+            @NotNull GenerationState state
+    ) {
+        List<PropertyDescriptor> properties = context.getDelegatedProperties();
+        if (properties.isEmpty()) return;
+
+        String owner = v.getThisName();
+        String arrayDescriptor = PROPERTY_METADATA_ARRAY_TYPE.getDescriptor();
+        v.newField(null, ACC_PRIVATE | ACC_STATIC | ACC_SYNTHETIC, JvmAbi.PROPERTY_METADATA_ARRAY_NAME, arrayDescriptor, null, null);
+
+        MethodVisitor mv = v.newMethod(null, ACC_PRIVATE | ACC_STATIC | ACC_SYNTHETIC, JvmAbi.PROPERTY_METADATA_ARRAY_NAME,
+                                       Type.getMethodDescriptor(PROPERTY_METADATA_ARRAY_TYPE), null, null);
+        if (state.getClassBuilderMode() != ClassBuilderMode.FULL) return;
+
+        mv.visitCode();
+        InstructionAdapter iv = new InstructionAdapter(mv);
+        Label initialized = new Label();
+        iv.getstatic(owner, JvmAbi.PROPERTY_METADATA_ARRAY_NAME, arrayDescriptor);
+        iv.dup();
+        iv.ifnonnull(initialized);
+        iv.pop();
+
+        iv.iconst(properties.size());
+        iv.newarray(JET_PROPERTY_METADATA_TYPE);
+        for (int i = 0; i < properties.size(); i++) {
+            iv.dup();
+            iv.iconst(i);
+            iv.anew(JET_PROPERTY_METADATA_IMPL_TYPE);
+            iv.dup();
+            iv.aconst(properties.get(i).getName().asString());
+            iv.invokespecial(JET_PROPERTY_METADATA_IMPL_TYPE.getInternalName(), "<init>",
+                             Type.getMethodDescriptor(Type.VOID_TYPE, JAVA_STRING_TYPE));
+            iv.astore(JET_PROPERTY_METADATA_TYPE);
+        }
+        iv.dup();
+        iv.putstatic(owner, JvmAbi.PROPERTY_METADATA_ARRAY_NAME, arrayDescriptor);
+
+        iv.mark(initialized);
+        iv.areturn(PROPERTY_METADATA_ARRAY_TYPE);
+        FunctionCodegen.endVisit(mv, "property metadata", null);
+    }
+
     public static String getterName(Name propertyName) {
         return JvmAbi.GETTER_PREFIX + StringUtil.capitalizeWithJavaBeanConvention(propertyName.asString());
     }
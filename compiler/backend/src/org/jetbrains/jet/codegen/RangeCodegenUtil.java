@@ -19,8 +19,7 @@ package org.jetbrains.jet.codegen;
 import com.google.common.collect.ImmutableMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.jet.lang.descriptors.CallableDescriptor;
-import org.jetbrains.jet.lang.descriptors.ClassifierDescriptor;
+import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.psi.*;
 import org.jetbrains.jet.lang.resolve.DescriptorUtils;
 import org.jetbrains.jet.lang.resolve.name.FqName;
@@ -37,6 +36,9 @@ public class RangeCodegenUtil {
     private static final ImmutableMap<FqName, PrimitiveType> RANGE_TO_ELEMENT_TYPE;
     private static final ImmutableMap<FqName, PrimitiveType> PROGRESSION_TO_ELEMENT_TYPE;
 
+    private static final FqName KOTLIN_PACKAGE_FQ_NAME = new FqName("kotlin");
+    private static final FqName PAIR_FQ_NAME = KOTLIN_PACKAGE_FQ_NAME.child(Name.identifier("Pair"));
+
     static {
         ImmutableMap.Builder<FqName, PrimitiveType> rangeBuilder = ImmutableMap.builder();
         ImmutableMap.Builder<FqName, PrimitiveType> progressionBuilder = ImmutableMap.builder();
@@ -64,6 +66,11 @@ public class RangeCodegenUtil {
         // Other binary operations will succeed too, but will be filtered out later (by examining a resolvedCall)
         JetExpression rangeExpression = forExpression.getLoopRange();
         assert rangeExpression != null;
+        return getRangeAsBinaryCall(rangeExpression);
+    }
+
+    @Nullable
+    public static BinaryCall getRangeAsBinaryCall(@NotNull JetExpression rangeExpression) {
         JetExpression loopRange = JetPsiUtil.deparenthesize(rangeExpression);
         if (loopRange instanceof JetQualifiedExpression) {
             // a.rangeTo(b)
@@ -89,7 +96,7 @@ public class RangeCodegenUtil {
     }
 
     @Nullable
-    private static PrimitiveType getPrimitiveRangeElementType(JetType rangeType) {
+    public static PrimitiveType getPrimitiveRangeElementType(JetType rangeType) {
         return getPrimitiveRangeOrProgressionElementType(rangeType, RANGE_TO_ELEMENT_TYPE);
     }
 
@@ -121,6 +128,57 @@ public class RangeCodegenUtil {
         return false;
     }
 
+    public static boolean isOptimizableDownTo(@NotNull CallableDescriptor downTo) {
+        return isStandardLibraryFunction(downTo, "downTo") && isIntegerProgression(downTo.getReturnType());
+    }
+
+    public static boolean isOptimizableStep(@NotNull CallableDescriptor step) {
+        return isStandardLibraryFunction(step, "step") && isIntegerProgression(step.getReturnType());
+    }
+
+    // Collection<*>.indices and Int.indices from the standard library, Array.indices is an intrinsic
+    public static boolean isOptimizableIndices(@NotNull CallableDescriptor indices) {
+        if (!isStandardLibraryFunction(indices, "indices")) return false;
+
+        ReceiverParameterDescriptor receiverParameter = indices.getReceiverParameter();
+        assert receiverParameter != null : "indices should be an extension: " + indices;
+        ClassifierDescriptor receiverClass = receiverParameter.getType().getConstructor().getDeclarationDescriptor();
+        KotlinBuiltIns builtIns = KotlinBuiltIns.getInstance();
+        return receiverClass == builtIns.getCollection() || receiverClass == builtIns.getInt();
+    }
+
+    public static boolean isOptimizableWithIndices(@NotNull CallableDescriptor withIndices) {
+        if (!isStandardLibraryFunction(withIndices, "withIndices")) return false;
+
+        ReceiverParameterDescriptor receiverParameter = withIndices.getReceiverParameter();
+        assert receiverParameter != null : "withIndices should be an extension: " + withIndices;
+        JetType receiverType = receiverParameter.getType();
+        KotlinBuiltIns builtIns = KotlinBuiltIns.getInstance();
+        return receiverType.getConstructor().getDeclarationDescriptor() == builtIns.getIterable() ||
+               builtIns.isArray(receiverType) || builtIns.isPrimitiveArray(receiverType);
+    }
+
+    public static boolean isPairComponent(@NotNull CallableDescriptor component) {
+        DeclarationDescriptor containingDeclaration = component.getContainingDeclaration();
+        return containingDeclaration instanceof ClassDescriptor &&
+               DescriptorUtils.getFqName(containingDeclaration).equals(PAIR_FQ_NAME.toUnsafe());
+    }
+
+    private static boolean isStandardLibraryFunction(@NotNull CallableDescriptor descriptor, @NotNull String name) {
+        DeclarationDescriptor containingDeclaration = descriptor.getContainingDeclaration();
+        return name.equals(descriptor.getName().asString()) &&
+               descriptor.getReceiverParameter() != null &&
+               containingDeclaration instanceof PackageFragmentDescriptor &&
+               ((PackageFragmentDescriptor) containingDeclaration).getFqName().equals(KOTLIN_PACKAGE_FQ_NAME);
+    }
+
+    private static boolean isIntegerProgression(@Nullable JetType type) {
+        if (type == null || !isProgression(type)) return false;
+
+        PrimitiveType elementType = getPrimitiveProgressionElementType(type);
+        return elementType != PrimitiveType.FLOAT && elementType != PrimitiveType.DOUBLE;
+    }
+
     @NotNull
     public static FqName getRangeClassFqName(@NotNull PrimitiveType type) {
         return KotlinBuiltIns.BUILT_INS_PACKAGE_FQ_NAME.child(Name.identifier(type.getTypeName() + "Range"));
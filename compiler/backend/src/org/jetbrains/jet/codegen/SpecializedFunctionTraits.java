@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.Type;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Function traits are specialized for functions of at most {@link #MAX_PARAMETER_COUNT} parameters, which all have the same
+ * primitive type from {@link #PARAMETER_TYPES}, and a primitive return type from {@link #RETURN_TYPES}. A specialization has
+ * an {@code invoke} method taking and returning primitive values, e.g. {@code int invoke(int)} in {@code jet.Function1$II},
+ * which is implemented by closures alongside the generic one
+ */
+public class SpecializedFunctionTraits {
+    public static final int MAX_PARAMETER_COUNT = 2;
+    public static final List<Type> PARAMETER_TYPES = Arrays.asList(Type.INT_TYPE, Type.LONG_TYPE, Type.DOUBLE_TYPE);
+    public static final List<Type> RETURN_TYPES = Arrays.asList(Type.INT_TYPE, Type.LONG_TYPE, Type.DOUBLE_TYPE, Type.BOOLEAN_TYPE);
+
+    private SpecializedFunctionTraits() {
+    }
+
+    @NotNull
+    public static String getName(@NotNull Type[] parameterTypes, @NotNull Type returnType) {
+        StringBuilder name = new StringBuilder("Function").append(parameterTypes.length).append('$');
+        for (Type parameterType : parameterTypes) {
+            name.append(parameterType.getDescriptor());
+        }
+        return name.append(returnType.getDescriptor()).toString();
+    }
+
+    /**
+     * @return the specialized function trait for a function with the given parameter and return types (which should not include
+     * a receiver), or null if there's no such specialization
+     */
+    @Nullable
+    public static Type getType(@NotNull Type[] parameterTypes, @NotNull Type returnType) {
+        if (parameterTypes.length > MAX_PARAMETER_COUNT || !RETURN_TYPES.contains(returnType)) return null;
+
+        for (Type parameterType : parameterTypes) {
+            if (!parameterType.equals(parameterTypes[0]) || !PARAMETER_TYPES.contains(parameterType)) return null;
+        }
+
+        return Type.getObjectType("jet/" + getName(parameterTypes, returnType));
+    }
+}
@@ -30,6 +30,7 @@ import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.psi.JetExpression;
 import org.jetbrains.jet.lang.resolve.calls.model.ResolvedCall;
 import org.jetbrains.jet.lang.resolve.java.AsmTypeConstants;
+import org.jetbrains.jet.lang.resolve.java.JvmAbi;
 import org.jetbrains.jet.lang.resolve.scopes.receivers.ReceiverValue;
 import org.jetbrains.jet.lexer.JetTokens;
 
@@ -123,6 +124,11 @@ public abstract class StackValue {
         return new ArrayElement(type, unbox);
     }
 
+    @NotNull
+    public static StackValue propertyMetadata(@NotNull Type owner, int index) {
+        return new PropertyMetadataElement(owner, index);
+    }
+
     @NotNull
     public static StackValue collectionElement(
             Type type,
@@ -593,6 +599,26 @@ public abstract class StackValue {
         }
     }
 
+    private static class PropertyMetadataElement extends StackValue {
+        private final Type owner;
+        private final int index;
+
+        public PropertyMetadataElement(@NotNull Type owner, int index) {
+            super(JET_PROPERTY_METADATA_TYPE);
+            this.owner = owner;
+            this.index = index;
+        }
+
+        @Override
+        public void put(Type type, InstructionAdapter v) {
+            v.invokestatic(owner.getInternalName(), JvmAbi.PROPERTY_METADATA_ARRAY_NAME,
+                           Type.getMethodDescriptor(PropertyCodegen.PROPERTY_METADATA_ARRAY_TYPE));
+            v.iconst(index);
+            v.aload(this.type);
+            coerceTo(type, v);
+        }
+    }
+
     private static class CollectionElement extends StackValue {
         private final Callable getter;
         private final Callable setter;
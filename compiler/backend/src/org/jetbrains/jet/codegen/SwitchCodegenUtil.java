@@ -0,0 +1,217 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen;
+
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
+import org.jetbrains.jet.lang.descriptors.ClassifierDescriptor;
+import org.jetbrains.jet.lang.descriptors.DeclarationDescriptor;
+import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.constants.CompileTimeConstant;
+import org.jetbrains.jet.lang.resolve.constants.StringValue;
+import org.jetbrains.jet.lang.resolve.name.Name;
+import org.jetbrains.jet.lang.types.JetType;
+
+import java.util.*;
+
+import static org.jetbrains.jet.lang.resolve.BindingContextUtils.descriptorToDeclaration;
+import static org.jetbrains.jet.lang.resolve.DescriptorUtils.isEnumClass;
+import static org.jetbrains.jet.lang.resolve.DescriptorUtils.isEnumEntry;
+import static org.jetbrains.jet.lang.resolve.java.AsmTypeConstants.JAVA_STRING_TYPE;
+
+/**
+ * Recognizes when expressions whose conditions are all distinct constants of the subject type,
+ * so that they can be dispatched with a single TABLESWITCH or LOOKUPSWITCH instead of a chain of comparisons
+ */
+public class SwitchCodegenUtil {
+    private static final int MIN_CASES_FOR_SWITCH = 2;
+
+    public enum SwitchKind {
+        // the subject is an Int, Char, Short or Byte and the keys are its values
+        INTEGRAL,
+        // the subject is an enum compiled from sources and the keys are ordinals of its entries
+        ENUM_ORDINAL,
+        // the subject is a String and the keys are the constant strings, dispatched by their hash codes
+        STRING
+    }
+
+    public static class WhenSwitch {
+        public final SwitchKind kind;
+        // every key is mapped to the first entry which matches it, in the order of entries
+        public final Map<Object, JetWhenEntry> cases;
+        @Nullable
+        public final JetWhenEntry elseEntry;
+
+        private WhenSwitch(@NotNull SwitchKind kind, @NotNull Map<Object, JetWhenEntry> cases, @Nullable JetWhenEntry elseEntry) {
+            this.kind = kind;
+            this.cases = cases;
+            this.elseEntry = elseEntry;
+        }
+    }
+
+    private SwitchCodegenUtil() {
+    }
+
+    @Nullable
+    public static WhenSwitch getWhenSwitch(
+            @NotNull JetWhenExpression expression,
+            @NotNull Type subjectType,
+            @NotNull BindingContext bindingContext
+    ) {
+        JetExpression subjectExpression = expression.getSubjectExpression();
+        if (subjectExpression == null) return null;
+
+        SwitchKind kind = getSwitchKind(subjectExpression, subjectType, bindingContext);
+        if (kind == null) return null;
+
+        Map<Name, Integer> ordinals = kind == SwitchKind.ENUM_ORDINAL ? getEnumOrdinals(subjectExpression, bindingContext) : null;
+        if (kind == SwitchKind.ENUM_ORDINAL && ordinals == null) return null;
+
+        Map<Object, JetWhenEntry> cases = new LinkedHashMap<Object, JetWhenEntry>();
+        JetWhenEntry elseEntry = null;
+        List<JetWhenEntry> entries = expression.getEntries();
+        for (int i = 0; i < entries.size(); i++) {
+            JetWhenEntry entry = entries.get(i);
+            if (entry.isElse()) {
+                if (i != entries.size() - 1) return null;
+                elseEntry = entry;
+                continue;
+            }
+
+            for (JetWhenCondition condition : entry.getConditions()) {
+                if (!(condition instanceof JetWhenConditionWithExpression)) return null;
+                JetExpression conditionExpression = JetPsiUtil.deparenthesize(((JetWhenConditionWithExpression) condition).getExpression());
+                if (conditionExpression == null) return null;
+
+                Object key = getKey(kind, conditionExpression, ordinals, bindingContext);
+                if (key == null) return null;
+
+                if (!cases.containsKey(key)) {
+                    cases.put(key, entry);
+                }
+            }
+        }
+
+        return cases.size() >= MIN_CASES_FOR_SWITCH ? new WhenSwitch(kind, cases, elseEntry) : null;
+    }
+
+    /**
+     * Returns true if a TABLESWITCH over the given keys is not much bigger than a LOOKUPSWITCH, the same estimate as javac's
+     */
+    public static boolean preferTableSwitch(@NotNull int[] sortedKeys) {
+        int count = sortedKeys.length;
+        if (count == 0) return false;
+        long tableSpaceCost = 4 + ((long) sortedKeys[count - 1] - sortedKeys[0] + 1);
+        long tableTimeCost = 3;
+        long lookupSpaceCost = 3 + 2 * (long) count;
+        long lookupTimeCost = count;
+        return tableSpaceCost + 3 * tableTimeCost <= lookupSpaceCost + 3 * lookupTimeCost;
+    }
+
+    @Nullable
+    private static SwitchKind getSwitchKind(
+            @NotNull JetExpression subjectExpression,
+            @NotNull Type subjectType,
+            @NotNull BindingContext bindingContext
+    ) {
+        if (isIntegralType(subjectType)) {
+            return SwitchKind.INTEGRAL;
+        }
+        if (subjectType.equals(JAVA_STRING_TYPE)) {
+            return SwitchKind.STRING;
+        }
+        if (getSourceEnumClass(subjectExpression, bindingContext) != null) {
+            return SwitchKind.ENUM_ORDINAL;
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object getKey(
+            @NotNull SwitchKind kind,
+            @NotNull JetExpression conditionExpression,
+            @Nullable Map<Name, Integer> ordinals,
+            @NotNull BindingContext bindingContext
+    ) {
+        switch (kind) {
+            case INTEGRAL:
+                JetType conditionType = bindingContext.get(BindingContext.EXPRESSION_TYPE, conditionExpression);
+                if (conditionType == null || conditionType.isNullable()) return null;
+                CompileTimeConstant<?> constant = ExpressionCodegen.getCompileTimeConstant(conditionExpression, bindingContext);
+                if (constant == null) return null;
+                Object value = constant.getValue();
+                if (value instanceof Character) return (int) (Character) value;
+                if (value instanceof Integer || value instanceof Short || value instanceof Byte) return ((Number) value).intValue();
+                return null;
+            case STRING:
+                CompileTimeConstant<?> stringConstant = ExpressionCodegen.getCompileTimeConstant(conditionExpression, bindingContext);
+                return stringConstant instanceof StringValue ? ((StringValue) stringConstant).getValue() : null;
+            case ENUM_ORDINAL:
+                assert ordinals != null;
+                JetExpression reference = conditionExpression instanceof JetDotQualifiedExpression
+                                          ? ((JetDotQualifiedExpression) conditionExpression).getSelectorExpression()
+                                          : conditionExpression;
+                if (!(reference instanceof JetSimpleNameExpression)) return null;
+                DeclarationDescriptor target = bindingContext.get(BindingContext.REFERENCE_TARGET, (JetSimpleNameExpression) reference);
+                if (target == null || !isEnumEntry(target)) return null;
+                return ordinals.get(target.getName());
+            default:
+                throw new IllegalStateException("Unknown switch kind: " + kind);
+        }
+    }
+
+    @Nullable
+    private static ClassDescriptor getSourceEnumClass(@NotNull JetExpression subjectExpression, @NotNull BindingContext bindingContext) {
+        JetType subjectType = bindingContext.get(BindingContext.EXPRESSION_TYPE, subjectExpression);
+        if (subjectType == null) return null;
+        ClassifierDescriptor descriptor = subjectType.getConstructor().getDeclarationDescriptor();
+        if (!(descriptor instanceof ClassDescriptor) || !isEnumClass(descriptor)) return null;
+        // ordinals of enums from libraries may change independently of this code, so only enums compiled together with it are used
+        return descriptorToDeclaration(bindingContext, descriptor) instanceof JetClass ? (ClassDescriptor) descriptor : null;
+    }
+
+    /**
+     * Ordinals are assigned to enum entries in the order they're declared in, see ImplementationBodyCodegen
+     */
+    @Nullable
+    private static Map<Name, Integer> getEnumOrdinals(@NotNull JetExpression subjectExpression, @NotNull BindingContext bindingContext) {
+        ClassDescriptor enumClass = getSourceEnumClass(subjectExpression, bindingContext);
+        if (enumClass == null) return null;
+        PsiElement declaration = descriptorToDeclaration(bindingContext, enumClass);
+        if (!(declaration instanceof JetClass)) return null;
+
+        Map<Name, Integer> ordinals = new HashMap<Name, Integer>();
+        for (JetDeclaration member : ((JetClass) declaration).getDeclarations()) {
+            if (member instanceof JetEnumEntry) {
+                Name name = ((JetEnumEntry) member).getNameAsName();
+                if (name == null) return null;
+                ordinals.put(name, ordinals.size());
+            }
+        }
+        return ordinals;
+    }
+
+    private static boolean isIntegralType(@NotNull Type type) {
+        int sort = type.getSort();
+        return sort == Type.INT || sort == Type.CHAR || sort == Type.SHORT || sort == Type.BYTE;
+    }
+}
@@ -151,6 +151,15 @@ class CodegenAnnotatingVisitor extends JetVisitorVoid {
         }
     }
 
+    public void visitTopLevelClassOrObject(@NotNull JetClassOrObject classOrObject) {
+        PsiElement parent = classOrObject.getParent();
+        assert parent instanceof JetFile && !((JetFile) parent).isScript() : "Not a top level class: " + classOrObject.getText();
+
+        nameStack.push(JvmClassName.byFqNameWithoutInnerClasses(JetPsiUtil.getFQName((JetFile) parent)).getInternalName());
+        classOrObject.accept(this);
+        nameStack.pop();
+    }
+
     @Override
     public void visitEnumEntry(@NotNull JetEnumEntry enumEntry) {
         ClassDescriptor descriptor = bindingContext.get(CLASS, enumEntry);
@@ -429,6 +438,10 @@ class CodegenAnnotatingVisitor extends JetVisitorVoid {
     public void visitBinaryExpression(@NotNull JetBinaryExpression expression) {
         super.visitBinaryExpression(expression);
 
+        if (ALL_ASSIGNMENTS.contains(expression.getOperationToken())) {
+            recordAssignedLocalVariable(expression.getLeft());
+        }
+
         FunctionDescriptor operationDescriptor =
                 (FunctionDescriptor) bindingContext.get(BindingContext.REFERENCE_TARGET, expression.getOperationReference());
         if (operationDescriptor == null) return;
@@ -448,6 +461,26 @@ class CodegenAnnotatingVisitor extends JetVisitorVoid {
         }
     }
 
+    @Override
+    public void visitUnaryExpression(@NotNull JetUnaryExpression expression) {
+        super.visitUnaryExpression(expression);
+
+        IElementType token = expression.getOperationReference().getReferencedNameElementType();
+        if (token == PLUSPLUS || token == MINUSMINUS) {
+            recordAssignedLocalVariable(expression.getBaseExpression());
+        }
+    }
+
+    private void recordAssignedLocalVariable(@Nullable JetExpression expression) {
+        JetExpression target = JetPsiUtil.deparenthesize(expression);
+        if (!(target instanceof JetSimpleNameExpression)) return;
+
+        DeclarationDescriptor descriptor = bindingContext.get(REFERENCE_TARGET, (JetSimpleNameExpression) target);
+        if (descriptor instanceof VariableDescriptor && !(descriptor instanceof PropertyDescriptor)) {
+            bindingTrace.record(ASSIGNED_LOCAL_VARIABLE, (VariableDescriptor) descriptor);
+        }
+    }
+
     @Override
     public void visitArrayAccessExpression(@NotNull JetArrayAccessExpression expression) {
         super.visitArrayAccessExpression(expression);
@@ -56,6 +56,12 @@ public class CodegenBinding {
 
     public static final WritableSlice<JetExpression, JavaClassDescriptor> SAM_VALUE = Slices.createSimpleSlice();
 
+    // local variables which are assigned somewhere besides their declaration
+    public static final WritableSlice<VariableDescriptor, Boolean> ASSIGNED_LOCAL_VARIABLE = Slices.createSimpleSetSlice();
+
+    // captured local variables which are only accessed by function literals generated in place of their invocations
+    public static final WritableSlice<VariableDescriptor, Boolean> CAPTURED_ONLY_IN_INLINED_FUNCTION_LITERALS = Slices.createSimpleSetSlice();
+
     private CodegenBinding() {
     }
 
@@ -66,6 +72,14 @@ public class CodegenBinding {
         }
     }
 
+    /**
+     * Unlike {@link #initTrace(BindingTrace, Collection)}, visits only the given top level class and declarations inside it. Names of other
+     * classes are computed on demand, so this is enough to generate this class alone, e.g. as a light class
+     */
+    public static void initTrace(@NotNull BindingTrace bindingTrace, @NotNull JetClassOrObject topLevelClassOrObject) {
+        new CodegenAnnotatingVisitor(bindingTrace).visitTopLevelClassOrObject(topLevelClassOrObject);
+    }
+
     public static boolean enumEntryNeedSubclass(BindingContext bindingContext, JetEnumEntry enumEntry) {
         return enumEntryNeedSubclass(bindingContext, bindingContext.get(CLASS, enumEntry));
     }
@@ -312,10 +326,17 @@ public class CodegenBinding {
         return containerInternalName + "$" + klass.getName().getIdentifier();
     }
 
+    /**
+     * Captured vars are wrapped into shared references so that closures and their enclosing function see each other's writes.
+     * Vars which are never assigned after their declaration are captured by value, exactly like vals. Vars which are only captured
+     * by inlined function literals stay in the frame of their function, see {@link #CAPTURED_ONLY_IN_INLINED_FUNCTION_LITERALS}
+     */
     public static boolean isVarCapturedInClosure(BindingContext bindingContext, DeclarationDescriptor descriptor) {
         if (!(descriptor instanceof VariableDescriptor) || descriptor instanceof PropertyDescriptor) return false;
         VariableDescriptor variableDescriptor = (VariableDescriptor) descriptor;
-        return bindingContext.get(CAPTURED_IN_CLOSURE, variableDescriptor) != null && variableDescriptor.isVar();
+        return bindingContext.get(CAPTURED_IN_CLOSURE, variableDescriptor) != null && variableDescriptor.isVar() &&
+               Boolean.TRUE.equals(bindingContext.get(ASSIGNED_LOCAL_VARIABLE, variableDescriptor)) &&
+               !Boolean.TRUE.equals(bindingContext.get(CAPTURED_ONLY_IN_INLINED_FUNCTION_LITERALS, variableDescriptor));
     }
 
     public static boolean hasThis0(BindingContext bindingContext, ClassDescriptor classDescriptor) {
@@ -23,7 +23,9 @@ import org.jetbrains.jet.codegen.binding.MutableClosure;
 import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.resolve.java.JvmAbi;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public abstract class FieldOwnerContext<T extends DeclarationDescriptor> extends CodegenContext<T> {
@@ -31,6 +33,9 @@ public abstract class FieldOwnerContext<T extends DeclarationDescriptor> extends
     //default property name -> map<property descriptor -> bytecode name>
     private Map<String, Map<PropertyDescriptor, String>> fieldNames = new HashMap<String, Map<PropertyDescriptor, String>>();
 
+    //delegated properties in the order of their indices in the property metadata array
+    private final List<PropertyDescriptor> delegatedProperties = new ArrayList<PropertyDescriptor>();
+
     public FieldOwnerContext(
             @NotNull T contextDescriptor,
             @NotNull OwnerKind contextKind,
@@ -70,4 +75,19 @@ public abstract class FieldOwnerContext<T extends DeclarationDescriptor> extends
         }
         return actualName;
     }
+
+    public int getPropertyMetadataIndex(@NotNull PropertyDescriptor descriptor) {
+        descriptor = descriptor.getOriginal();
+        int index = delegatedProperties.indexOf(descriptor);
+        if (index < 0) {
+            index = delegatedProperties.size();
+            delegatedProperties.add(descriptor);
+        }
+        return index;
+    }
+
+    @NotNull
+    public List<PropertyDescriptor> getDelegatedProperties() {
+        return delegatedProperties;
+    }
 }
@@ -25,6 +25,7 @@ import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.types.JetType;
 
 import static org.jetbrains.jet.codegen.AsmUtil.CAPTURED_RECEIVER_FIELD;
+import static org.jetbrains.jet.codegen.binding.CodegenBinding.CAPTURED_ONLY_IN_INLINED_FUNCTION_LITERALS;
 import static org.jetbrains.jet.codegen.binding.CodegenBinding.asmTypeForAnonymousClass;
 import static org.jetbrains.jet.codegen.binding.CodegenBinding.isLocalNamedFun;
 
@@ -51,6 +52,9 @@ public interface LocalLookup {
                 boolean idx = localLookup != null && localLookup.lookupLocal(vd);
                 if (!idx) return null;
 
+                assert !Boolean.TRUE.equals(state.getBindingContext().get(CAPTURED_ONLY_IN_INLINED_FUNCTION_LITERALS, vd)) :
+                        "Variable is expected to be captured only by inlined function literals: " + vd;
+
                 Type sharedVarType = state.getTypeMapper().getSharedVarType(vd);
                 Type localType = state.getTypeMapper().mapType(vd);
                 Type type = sharedVarType != null ? sharedVarType : localType;
@@ -86,6 +90,9 @@ public interface LocalLookup {
                 boolean idx = localLookup != null && localLookup.lookupLocal(vd);
                 if (!idx) return null;
 
+                assert !Boolean.TRUE.equals(state.getBindingContext().get(CAPTURED_ONLY_IN_INLINED_FUNCTION_LITERALS, vd)) :
+                        "Variable is expected to be captured only by inlined function literals: " + vd;
+
                 Type localType = asmTypeForAnonymousClass(state.getBindingContext(), vd);
 
                 String fieldName = "$" + vd.getName();
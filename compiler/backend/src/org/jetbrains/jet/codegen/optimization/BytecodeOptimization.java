@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum BytecodeOptimization {
+    REDUNDANT_BOXING("redundantBoxing", new RedundantBoxingMethodTransformer()),
+    REDUNDANT_CHECKCAST("redundantCheckcast", new RedundantCheckcastMethodTransformer()),
+    DEAD_STORE("deadStore", new DeadStoreMethodTransformer()),
+    GOTO_CHAIN("gotoChain", new GotoChainMethodTransformer());
+
+    private final String optionName;
+    private final MethodTransformer transformer;
+
+    private BytecodeOptimization(@NotNull String optionName, @NotNull MethodTransformer transformer) {
+        this.optionName = optionName;
+        this.transformer = transformer;
+    }
+
+    @NotNull
+    public String getOptionName() {
+        return optionName;
+    }
+
+    @NotNull
+    public MethodTransformer getTransformer() {
+        return transformer;
+    }
+
+    /**
+     * @param options "all" or a comma-separated list of option names, e.g. "redundantBoxing,gotoChain"
+     * @return null if one of the options is unknown
+     */
+    @Nullable
+    public static Set<BytecodeOptimization> parse(@NotNull String options) {
+        if (options.trim().equalsIgnoreCase("all")) {
+            return EnumSet.allOf(BytecodeOptimization.class);
+        }
+
+        Set<BytecodeOptimization> result = EnumSet.noneOf(BytecodeOptimization.class);
+        for (String option : options.split(",")) {
+            BytecodeOptimization optimization = byOptionName(option.trim());
+            if (optimization == null) return null;
+            result.add(optimization);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static BytecodeOptimization byOptionName(@NotNull String optionName) {
+        for (BytecodeOptimization optimization : values()) {
+            if (optimization.optionName.equalsIgnoreCase(optionName)) {
+                return optimization;
+            }
+        }
+        return null;
+    }
+}
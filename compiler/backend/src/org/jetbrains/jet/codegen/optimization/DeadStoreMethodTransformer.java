@@ -0,0 +1,67 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.asm4.tree.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Replaces stores to local variable slots which are never loaded with POPs. Only slots which are not in the local variable table
+ * are affected, so those are temporary variables of the code generator, and variables visible in the debugger are left alone
+ */
+public class DeadStoreMethodTransformer extends MethodTransformer {
+    @Override
+    public int transform(@NotNull MethodNode methodNode) {
+        Set<Integer> usedSlots = new HashSet<Integer>();
+        for (AbstractInsnNode insn = methodNode.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn instanceof VarInsnNode && !isStore(insn.getOpcode())) {
+                usedSlots.add(((VarInsnNode) insn).var);
+            }
+            else if (insn instanceof IincInsnNode) {
+                usedSlots.add(((IincInsnNode) insn).var);
+            }
+        }
+        if (methodNode.localVariables != null) {
+            for (LocalVariableNode variable : methodNode.localVariables) {
+                usedSlots.add(variable.index);
+            }
+        }
+
+        int removed = 0;
+        AbstractInsnNode insn = methodNode.instructions.getFirst();
+        while (insn != null) {
+            AbstractInsnNode next = insn.getNext();
+            int opcode = insn.getOpcode();
+            if (isStore(opcode) && !usedSlots.contains(((VarInsnNode) insn).var)) {
+                boolean isWide = opcode == Opcodes.LSTORE || opcode == Opcodes.DSTORE;
+                methodNode.instructions.set(insn, new InsnNode(isWide ? Opcodes.POP2 : Opcodes.POP));
+                removed++;
+            }
+            insn = next;
+        }
+        return removed;
+    }
+
+    private static boolean isStore(int opcode) {
+        return opcode >= Opcodes.ISTORE && opcode <= Opcodes.ASTORE;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.asm4.tree.AbstractInsnNode;
+import org.jetbrains.asm4.tree.JumpInsnNode;
+import org.jetbrains.asm4.tree.LabelNode;
+import org.jetbrains.asm4.tree.MethodNode;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Makes jumps to a GOTO jump directly to the final target of the chain of GOTOs
+ */
+public class GotoChainMethodTransformer extends MethodTransformer {
+    @Override
+    public int transform(@NotNull MethodNode methodNode) {
+        int retargeted = 0;
+        for (AbstractInsnNode insn = methodNode.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (!(insn instanceof JumpInsnNode)) continue;
+
+            JumpInsnNode jump = (JumpInsnNode) insn;
+            LabelNode target = getFinalTarget(jump.label);
+            if (target != jump.label) {
+                jump.label = target;
+                retargeted++;
+            }
+        }
+        return retargeted;
+    }
+
+    @NotNull
+    private static LabelNode getFinalTarget(@NotNull LabelNode label) {
+        Set<LabelNode> visited = new HashSet<LabelNode>();
+        LabelNode target = label;
+        while (visited.add(target)) {
+            AbstractInsnNode first = getFirstInstructionAfter(target);
+            if (first == null || first.getOpcode() != Opcodes.GOTO) break;
+            LabelNode next = ((JumpInsnNode) first).label;
+            // an infinite loop of GOTOs is left as it is
+            if (visited.contains(next)) return label;
+            target = next;
+        }
+        return target;
+    }
+}
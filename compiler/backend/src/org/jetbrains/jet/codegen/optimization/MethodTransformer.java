@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.tree.AbstractInsnNode;
+import org.jetbrains.asm4.tree.MethodNode;
+
+public abstract class MethodTransformer {
+    /**
+     * Rewrites the instructions of the method in place
+     *
+     * @return the number of removed or rewritten instruction patterns
+     */
+    public abstract int transform(@NotNull MethodNode methodNode);
+
+    /**
+     * @return the closest instruction after the given one which is executed right after it, skipping line numbers and frames,
+     * or null if there's a label in between, because it may be a jump target
+     */
+    @Nullable
+    protected static AbstractInsnNode getNextInstructionInBlock(@NotNull AbstractInsnNode insn) {
+        AbstractInsnNode next = insn.getNext();
+        while (next != null && (next.getType() == AbstractInsnNode.LINE || next.getType() == AbstractInsnNode.FRAME)) {
+            next = next.getNext();
+        }
+        return next != null && next.getType() != AbstractInsnNode.LABEL ? next : null;
+    }
+
+    /**
+     * @return the closest instruction before the given one which is executed right before it, see {@link #getNextInstructionInBlock}
+     */
+    @Nullable
+    protected static AbstractInsnNode getPreviousInstructionInBlock(@NotNull AbstractInsnNode insn) {
+        AbstractInsnNode previous = insn.getPrevious();
+        while (previous != null && (previous.getType() == AbstractInsnNode.LINE || previous.getType() == AbstractInsnNode.FRAME)) {
+            previous = previous.getPrevious();
+        }
+        return previous != null && previous.getType() != AbstractInsnNode.LABEL ? previous : null;
+    }
+
+    /**
+     * @return the first instruction executed after the given label, or null if the label is at the end of the method
+     */
+    @Nullable
+    protected static AbstractInsnNode getFirstInstructionAfter(@NotNull AbstractInsnNode label) {
+        AbstractInsnNode next = label;
+        while (next != null && next.getOpcode() < 0) {
+            next = next.getNext();
+        }
+        return next;
+    }
+}
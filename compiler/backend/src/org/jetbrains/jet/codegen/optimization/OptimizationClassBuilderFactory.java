@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.codegen.ClassBuilder;
+import org.jetbrains.jet.codegen.ClassBuilderFactory;
+import org.jetbrains.jet.codegen.ClassBuilderMode;
+import org.jetbrains.jet.codegen.CommonSuperClassResolver;
+
+import java.util.Set;
+
+/**
+ * Runs the given optimizations on the code of every method before it reaches the class builders of the delegate factory
+ */
+public class OptimizationClassBuilderFactory implements ClassBuilderFactory {
+    private final ClassBuilderFactory delegate;
+    private final Set<BytecodeOptimization> optimizations;
+    private final OptimizationStatistics statistics = new OptimizationStatistics();
+
+    public OptimizationClassBuilderFactory(@NotNull ClassBuilderFactory delegate, @NotNull Set<BytecodeOptimization> optimizations) {
+        this.delegate = delegate;
+        this.optimizations = optimizations;
+    }
+
+    @NotNull
+    public OptimizationStatistics getStatistics() {
+        return statistics;
+    }
+
+    @NotNull
+    @Override
+    public ClassBuilderMode getClassBuilderMode() {
+        return delegate.getClassBuilderMode();
+    }
+
+    @Override
+    public ClassBuilder newClassBuilder(@NotNull CommonSuperClassResolver superClassResolver) {
+        return new OptimizationClassBuilder(delegate.newClassBuilder(superClassResolver), optimizations, statistics);
+    }
+
+    @Override
+    public String asText(ClassBuilder builder) {
+        return delegate.asText(((OptimizationClassBuilder) builder).getDelegate());
+    }
+
+    @Override
+    public byte[] asBytes(ClassBuilder builder) {
+        return delegate.asBytes(((OptimizationClassBuilder) builder).getDelegate());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.asm4.MethodVisitor;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.asm4.tree.MethodNode;
+
+import java.util.Set;
+
+/**
+ * Collects the whole method, optimizes it and passes it on to the delegate visitor
+ */
+public class OptimizationMethodVisitor extends MethodNode {
+    private final MethodVisitor delegate;
+    private final Set<BytecodeOptimization> optimizations;
+    private final OptimizationStatistics statistics;
+
+    public OptimizationMethodVisitor(
+            @NotNull MethodVisitor delegate,
+            @NotNull Set<BytecodeOptimization> optimizations,
+            @NotNull OptimizationStatistics statistics,
+            int access,
+            @NotNull String name,
+            @NotNull String desc,
+            String signature,
+            String[] exceptions
+    ) {
+        super(Opcodes.ASM4, access, name, desc, signature, exceptions);
+        this.delegate = delegate;
+        this.optimizations = optimizations;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void visitEnd() {
+        super.visitEnd();
+
+        if (instructions.size() > 0) {
+            for (BytecodeOptimization optimization : optimizations) {
+                statistics.record(optimization, optimization.getTransformer().transform(this));
+            }
+        }
+
+        accept(delegate);
+    }
+}
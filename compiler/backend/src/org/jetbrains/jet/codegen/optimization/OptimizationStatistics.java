@@ -0,0 +1,60 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts what each optimization has removed. Packages may be generated in parallel, so the counters are atomic
+ */
+public class OptimizationStatistics {
+    private final Map<BytecodeOptimization, AtomicInteger> counters =
+            new EnumMap<BytecodeOptimization, AtomicInteger>(BytecodeOptimization.class);
+
+    public OptimizationStatistics() {
+        for (BytecodeOptimization optimization : BytecodeOptimization.values()) {
+            counters.put(optimization, new AtomicInteger());
+        }
+    }
+
+    public void record(@NotNull BytecodeOptimization optimization, int count) {
+        if (count > 0) {
+            counters.get(optimization).addAndGet(count);
+        }
+    }
+
+    public int getCount(@NotNull BytecodeOptimization optimization) {
+        return counters.get(optimization).get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (BytecodeOptimization optimization : BytecodeOptimization.values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(optimization.getOptionName()).append(": ").append(getCount(optimization));
+        }
+        return sb.toString();
+    }
+}
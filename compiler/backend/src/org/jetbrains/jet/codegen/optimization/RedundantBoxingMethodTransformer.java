@@ -0,0 +1,105 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import com.google.common.collect.ImmutableMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.asm4.tree.AbstractInsnNode;
+import org.jetbrains.asm4.tree.MethodInsnNode;
+import org.jetbrains.asm4.tree.MethodNode;
+import org.jetbrains.asm4.tree.TypeInsnNode;
+
+import java.util.Map;
+
+/**
+ * Removes a primitive value boxed only to be unboxed right away: "Integer.valueOf(I)" followed by "intValue()",
+ * possibly with a CHECKCAST in between
+ */
+public class RedundantBoxingMethodTransformer extends MethodTransformer {
+    private static final Map<String, Type> PRIMITIVE_BY_WRAPPER = ImmutableMap.<String, Type>builder()
+            .put("java/lang/Boolean", Type.BOOLEAN_TYPE)
+            .put("java/lang/Character", Type.CHAR_TYPE)
+            .put("java/lang/Byte", Type.BYTE_TYPE)
+            .put("java/lang/Short", Type.SHORT_TYPE)
+            .put("java/lang/Integer", Type.INT_TYPE)
+            .put("java/lang/Long", Type.LONG_TYPE)
+            .put("java/lang/Float", Type.FLOAT_TYPE)
+            .put("java/lang/Double", Type.DOUBLE_TYPE)
+            .build();
+
+    private static final String NUMBER = "java/lang/Number";
+
+    @Override
+    public int transform(@NotNull MethodNode methodNode) {
+        int removed = 0;
+        AbstractInsnNode insn = methodNode.instructions.getFirst();
+        while (insn != null) {
+            AbstractInsnNode next = insn.getNext();
+
+            Type primitive = getBoxedPrimitive(insn);
+            if (primitive != null) {
+                String wrapper = ((MethodInsnNode) insn).owner;
+                AbstractInsnNode cast = getNextInstructionInBlock(insn);
+                AbstractInsnNode unbox = cast != null && isCheckcastTo(cast, wrapper, primitive) ? getNextInstructionInBlock(cast) : cast;
+                if (unbox != null && isUnboxingTo(unbox, wrapper, primitive)) {
+                    next = unbox.getNext();
+                    methodNode.instructions.remove(insn);
+                    if (cast != unbox) {
+                        methodNode.instructions.remove(cast);
+                    }
+                    methodNode.instructions.remove(unbox);
+                    removed++;
+                }
+            }
+
+            insn = next;
+        }
+        return removed;
+    }
+
+    @Nullable
+    private static Type getBoxedPrimitive(@NotNull AbstractInsnNode insn) {
+        if (insn.getOpcode() != Opcodes.INVOKESTATIC) return null;
+        MethodInsnNode call = (MethodInsnNode) insn;
+        Type primitive = PRIMITIVE_BY_WRAPPER.get(call.owner);
+        if (primitive == null || !"valueOf".equals(call.name)) return null;
+        return call.desc.equals("(" + primitive.getDescriptor() + ")L" + call.owner + ";") ? primitive : null;
+    }
+
+    private static boolean isCheckcastTo(@NotNull AbstractInsnNode insn, @NotNull String wrapper, @NotNull Type primitive) {
+        if (insn.getOpcode() != Opcodes.CHECKCAST) return false;
+        String type = ((TypeInsnNode) insn).desc;
+        return type.equals(wrapper) || type.equals("java/lang/Object") || (type.equals(NUMBER) && isNumber(primitive));
+    }
+
+    private static boolean isUnboxingTo(@NotNull AbstractInsnNode insn, @NotNull String wrapper, @NotNull Type primitive) {
+        if (insn.getOpcode() != Opcodes.INVOKEVIRTUAL) return false;
+        MethodInsnNode call = (MethodInsnNode) insn;
+        boolean ownerMatches = call.owner.equals(wrapper) || (call.owner.equals(NUMBER) && isNumber(primitive));
+        return ownerMatches &&
+               call.name.equals(primitive.getClassName() + "Value") &&
+               call.desc.equals("()" + primitive.getDescriptor());
+    }
+
+    private static boolean isNumber(@NotNull Type primitive) {
+        return primitive != Type.BOOLEAN_TYPE && primitive != Type.CHAR_TYPE;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.asm4.tree.*;
+
+/**
+ * Removes CHECKCASTs of values which are statically known to be of the checked type: values just checked to be of the same
+ * type, boxed primitives, string constants, and any value cast to java/lang/Object
+ */
+public class RedundantCheckcastMethodTransformer extends MethodTransformer {
+    private static final String OBJECT = "java/lang/Object";
+
+    @Override
+    public int transform(@NotNull MethodNode methodNode) {
+        int removed = 0;
+        AbstractInsnNode insn = methodNode.instructions.getFirst();
+        while (insn != null) {
+            AbstractInsnNode next = insn.getNext();
+            if (insn.getOpcode() == Opcodes.CHECKCAST && isRedundant((TypeInsnNode) insn)) {
+                methodNode.instructions.remove(insn);
+                removed++;
+            }
+            insn = next;
+        }
+        return removed;
+    }
+
+    private static boolean isRedundant(@NotNull TypeInsnNode checkcast) {
+        String type = checkcast.desc;
+        if (type.equals(OBJECT)) return true;
+
+        AbstractInsnNode previous = getPreviousInstructionInBlock(checkcast);
+        if (previous == null) return false;
+
+        switch (previous.getOpcode()) {
+            case Opcodes.CHECKCAST:
+                return type.equals(((TypeInsnNode) previous).desc);
+            case Opcodes.LDC:
+                return ((LdcInsnNode) previous).cst instanceof String && type.equals("java/lang/String");
+            case Opcodes.INVOKESTATIC:
+            case Opcodes.INVOKEVIRTUAL:
+            case Opcodes.INVOKESPECIAL:
+            case Opcodes.INVOKEINTERFACE:
+                Type returnType = Type.getReturnType(((MethodInsnNode) previous).desc);
+                return returnType.getSort() == Type.OBJECT && type.equals(returnType.getInternalName());
+            default:
+                return false;
+        }
+    }
+}
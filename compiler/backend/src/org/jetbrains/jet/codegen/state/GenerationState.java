@@ -24,12 +24,15 @@ import org.jetbrains.jet.codegen.binding.CodegenBinding;
 import org.jetbrains.jet.codegen.intrinsics.IntrinsicMethods;
 import org.jetbrains.jet.di.InjectorForJvmCodegen;
 import org.jetbrains.jet.lang.descriptors.ScriptDescriptor;
+import org.jetbrains.jet.lang.psi.JetClassOrObject;
 import org.jetbrains.jet.lang.psi.JetFile;
 import org.jetbrains.jet.lang.resolve.BindingContext;
 import org.jetbrains.jet.lang.resolve.BindingTrace;
 import org.jetbrains.jet.lang.resolve.DelegatingBindingTrace;
+import org.jetbrains.jet.lang.resolve.lazy.storage.LockBasedLazyResolveStorageManager;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GenerationState {
     private boolean used = false;
@@ -64,14 +67,26 @@ public class GenerationState {
     @NotNull
     private final JetTypeMapper typeMapper;
 
+    @NotNull
+    private final CommonSuperClassResolver commonSuperClassResolver;
+
+    @NotNull
+    private final CompiledInlineFunctions compiledInlineFunctions;
+
     private final boolean generateNotNullAssertions;
 
     private final boolean generateNotNullParamAssertions;
 
+    private final boolean notNullParamAssertionsForApiOnly;
+
     private final boolean generateDeclaredClasses;
 
     private final boolean inlineEnabled;
 
+    private final int codegenThreads;
+
+    private final AtomicInteger elidedNotNullParamAssertions = new AtomicInteger();
+
     @Nullable
     private List<ScriptDescriptor> earlierScriptsForReplInterpreter;
 
@@ -95,17 +110,39 @@ public class GenerationState {
             boolean generateNotNullParamAssertions,
             boolean generateDeclaredClasses,
             boolean inlineEnabled
+    ) {
+        this(project, builderFactory, progress, bindingContext, files, generateNotNullAssertions, generateNotNullParamAssertions, false,
+             generateDeclaredClasses, inlineEnabled, 1);
+    }
+
+    public GenerationState(
+            @NotNull Project project,
+            @NotNull ClassBuilderFactory builderFactory,
+            @NotNull Progress progress,
+            @NotNull BindingContext bindingContext,
+            @NotNull List<JetFile> files,
+            boolean generateNotNullAssertions,
+            boolean generateNotNullParamAssertions,
+            boolean notNullParamAssertionsForApiOnly,
+            boolean generateDeclaredClasses,
+            boolean inlineEnabled,
+            int codegenThreads
     ) {
         this.project = project;
         this.progress = progress;
         this.files = files;
         this.classBuilderMode = builderFactory.getClassBuilderMode();
         this.inlineEnabled = inlineEnabled;
+        this.codegenThreads = codegenThreads;
 
-        bindingTrace = new DelegatingBindingTrace(bindingContext, "trace in GenerationState");
+        DelegatingBindingTrace trace = new DelegatingBindingTrace(bindingContext, "trace in GenerationState");
+        // Codegen records computed ASM types into the trace, so it is shared between threads generating different packages
+        bindingTrace = codegenThreads > 1 ? new LockBasedLazyResolveStorageManager().createSafeTrace(trace) : trace;
         this.bindingContext = bindingTrace.getBindingContext();
 
         this.typeMapper = new JetTypeMapper(bindingTrace, classBuilderMode);
+        this.commonSuperClassResolver = new CommonSuperClassResolver(project, this.bindingContext, typeMapper);
+        this.compiledInlineFunctions = new CompiledInlineFunctions(project);
 
         InjectorForJvmCodegen injector = new InjectorForJvmCodegen(typeMapper, this, builderFactory, project);
 
@@ -114,6 +151,7 @@ public class GenerationState {
 
         this.generateNotNullAssertions = generateNotNullAssertions;
         this.generateNotNullParamAssertions = generateNotNullParamAssertions;
+        this.notNullParamAssertionsForApiOnly = notNullParamAssertionsForApiOnly;
         this.generateDeclaredClasses = generateDeclaredClasses;
     }
 
@@ -152,6 +190,16 @@ public class GenerationState {
         return typeMapper;
     }
 
+    @NotNull
+    public CommonSuperClassResolver getCommonSuperClassResolver() {
+        return commonSuperClassResolver;
+    }
+
+    @NotNull
+    public CompiledInlineFunctions getCompiledInlineFunctions() {
+        return compiledInlineFunctions;
+    }
+
     @NotNull
     public Project getProject() {
         return project;
@@ -175,6 +223,22 @@ public class GenerationState {
         return generateNotNullParamAssertions;
     }
 
+    /**
+     * If set, parameter assertions are generated only for members which can be called from Java code,
+     * see {@link org.jetbrains.jet.codegen.AsmUtil#genNotNullAssertionsForParameters}
+     */
+    public boolean isNotNullParamAssertionsForApiOnly() {
+        return notNullParamAssertionsForApiOnly;
+    }
+
+    public int getElidedNotNullParamAssertions() {
+        return elidedNotNullParamAssertions.get();
+    }
+
+    public void notNullParamAssertionElided() {
+        elidedNotNullParamAssertions.incrementAndGet();
+    }
+
     public boolean isGenerateDeclaredClasses() {
         return generateDeclaredClasses;
     }
@@ -183,6 +247,13 @@ public class GenerationState {
         return inlineEnabled;
     }
 
+    /**
+     * Number of threads generating classes of different packages, see {@link org.jetbrains.jet.codegen.KotlinCodegenFacade}
+     */
+    public int getCodegenThreads() {
+        return codegenThreads;
+    }
+
     public void beforeCompile() {
         markUsed();
 
@@ -190,6 +261,15 @@ public class GenerationState {
         CodegenBinding.initTrace(getBindingTrace(), getFiles());
     }
 
+    /**
+     * Prepares generation of the given top level class only, without visiting other declarations of its package
+     */
+    public void beforeCompile(@NotNull JetClassOrObject topLevelClassOrObject) {
+        markUsed();
+
+        CodegenBinding.initTrace(getBindingTrace(), topLevelClassOrObject);
+    }
+
     private void markUsed() {
         if (used) {
             throw new IllegalStateException(GenerationState.class + " cannot be used more than once");
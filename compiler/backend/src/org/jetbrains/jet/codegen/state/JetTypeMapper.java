@@ -16,6 +16,8 @@
 
 package org.jetbrains.jet.codegen.state;
 
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.util.Trinity;
 import com.intellij.psi.PsiElement;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -48,6 +50,9 @@ import org.jetbrains.jet.lang.types.lang.KotlinBuiltIns;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.jetbrains.asm4.Opcodes.*;
 import static org.jetbrains.jet.codegen.AsmUtil.boxType;
@@ -64,6 +69,15 @@ public class JetTypeMapper extends BindingTraceAware {
 
     private final ClassBuilderMode classBuilderMode;
 
+    // Signatures and owners of non-local declarations don't depend on the code being generated,
+    // so they are computed once per generation state. Maps are concurrent because packages may be generated in parallel
+    private final Map<Pair<FunctionDescriptor, OwnerKind>, JvmMethodSignature> signatures =
+            new ConcurrentHashMap<Pair<FunctionDescriptor, OwnerKind>, JvmMethodSignature>();
+    private final Map<Trinity<DeclarationDescriptor, OwnerKind, Boolean>, Type> owners =
+            new ConcurrentHashMap<Trinity<DeclarationDescriptor, OwnerKind, Boolean>, Type>();
+    private final Map<ClassifierDescriptor, Type> classes = new ConcurrentHashMap<ClassifierDescriptor, Type>();
+    private final AtomicInteger savedMappings = new AtomicInteger();
+
     public JetTypeMapper(BindingTrace bindingTrace, ClassBuilderMode mode) {
         super(bindingTrace);
         classBuilderMode = mode;
@@ -89,8 +103,41 @@ public class JetTypeMapper extends BindingTraceAware {
         SUPER_TYPE
     }
 
+    /**
+     * @return the number of signature, owner and class mappings which were taken from the cache instead of being computed
+     */
+    public int getSavedMappings() {
+        return savedMappings.get();
+    }
+
+    private static boolean isMappingCacheable(@NotNull DeclarationDescriptor descriptor) {
+        // Local declarations may capture variables, which are only known after the code using them is generated
+        DeclarationDescriptor container = descriptor.getContainingDeclaration();
+        while (container instanceof ClassDescriptor && !isAnonymousObject(container)) {
+            container = container.getContainingDeclaration();
+        }
+        return container instanceof PackageFragmentDescriptor;
+    }
+
     @NotNull
     public Type getOwner(@NotNull DeclarationDescriptor descriptor, @NotNull OwnerKind kind, boolean isInsideModule) {
+        if (!isMappingCacheable(descriptor)) {
+            return computeOwner(descriptor, kind, isInsideModule);
+        }
+
+        Trinity<DeclarationDescriptor, OwnerKind, Boolean> key = Trinity.create(descriptor, kind, isInsideModule);
+        Type owner = owners.get(key);
+        if (owner != null) {
+            savedMappings.incrementAndGet();
+            return owner;
+        }
+        owner = computeOwner(descriptor, kind, isInsideModule);
+        owners.put(key, owner);
+        return owner;
+    }
+
+    @NotNull
+    private Type computeOwner(@NotNull DeclarationDescriptor descriptor, @NotNull OwnerKind kind, boolean isInsideModule) {
         DeclarationDescriptor containingDeclaration = descriptor.getContainingDeclaration();
         if (containingDeclaration instanceof PackageFragmentDescriptor) {
             return asmTypeForPackage((PackageFragmentDescriptor) containingDeclaration, descriptor, isInsideModule);
@@ -174,7 +221,18 @@ public class JetTypeMapper extends BindingTraceAware {
 
     @NotNull
     public Type mapClass(@NotNull ClassifierDescriptor classifier) {
-        return mapType(classifier.getDefaultType(), null, JetTypeMapperMode.IMPL);
+        if (!(classifier instanceof ClassDescriptor) || !isMappingCacheable(classifier)) {
+            return mapType(classifier.getDefaultType(), null, JetTypeMapperMode.IMPL);
+        }
+
+        Type type = classes.get(classifier);
+        if (type != null) {
+            savedMappings.incrementAndGet();
+            return type;
+        }
+        type = mapType(classifier.getDefaultType(), null, JetTypeMapperMode.IMPL);
+        classes.put(classifier, type);
+        return type;
     }
 
     @NotNull
@@ -275,6 +333,12 @@ public class JetTypeMapper extends BindingTraceAware {
         }
 
         if (descriptor instanceof ClassDescriptor) {
+            if (classBuilderMode == ClassBuilderMode.LIGHT_CLASSES && isUnnamedLocalClass((ClassDescriptor) descriptor)) {
+                // Light classes annotate only the class being built: local classes declared elsewhere have no names
+                // and may only leak into its signatures through inferred types, so their supertype is good enough here
+                JetType supertype = descriptor.getTypeConstructor().getSupertypes().iterator().next();
+                return mapType(supertype, signatureVisitor, kind, howThisTypeIsUsed, arrayParameter);
+            }
             Type asmType = getAsmType(bindingTrace, (ClassDescriptor) descriptor);
             writeGenericType(signatureVisitor, asmType, jetType, howThisTypeIsUsed, projectionsAllowed);
             return asmType;
@@ -292,6 +356,13 @@ public class JetTypeMapper extends BindingTraceAware {
         throw new UnsupportedOperationException("Unknown type " + jetType);
     }
 
+    private boolean isUnnamedLocalClass(@NotNull ClassDescriptor descriptor) {
+        DeclarationDescriptor container = descriptor.getContainingDeclaration();
+        return !(container instanceof ClassDescriptor) && !(container instanceof PackageFragmentDescriptor) &&
+               bindingContext.get(ASM_TYPE, descriptor) == null &&
+               !descriptor.getTypeConstructor().getSupertypes().isEmpty();
+    }
+
     @NotNull
     public Type mapTraitImpl(@NotNull ClassDescriptor descriptor) {
         return Type.getObjectType(getAsmType(bindingTrace, descriptor).getInternalName() + JvmAbi.TRAIT_IMPL_SUFFIX);
@@ -575,6 +646,32 @@ public class JetTypeMapper extends BindingTraceAware {
 
     @NotNull
     public JvmMethodSignature mapSignature(@NotNull FunctionDescriptor f, @NotNull OwnerKind kind) {
+        if (!isSignatureCacheable(f)) {
+            return computeSignature(f, kind);
+        }
+
+        Pair<FunctionDescriptor, OwnerKind> key = Pair.create(f, kind);
+        JvmMethodSignature signature = signatures.get(key);
+        if (signature != null) {
+            savedMappings.incrementAndGet();
+            return signature;
+        }
+        signature = computeSignature(f, kind);
+        signatures.put(key, signature);
+        return signature;
+    }
+
+    private boolean isSignatureCacheable(@NotNull FunctionDescriptor f) {
+        if (!isMappingCacheable(f)) return false;
+        // Constructors of classes with closures take captured values as parameters
+        if (f instanceof ConstructorDescriptor) {
+            return bindingContext.get(CLOSURE, ((ConstructorDescriptor) f).getContainingDeclaration()) == null;
+        }
+        return true;
+    }
+
+    @NotNull
+    private JvmMethodSignature computeSignature(@NotNull FunctionDescriptor f, @NotNull OwnerKind kind) {
         BothSignatureWriter sw = new BothSignatureWriter(BothSignatureWriter.Mode.METHOD);
 
         if (f instanceof ConstructorDescriptor) {
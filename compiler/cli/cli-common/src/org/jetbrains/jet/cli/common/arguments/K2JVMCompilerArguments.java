@@ -54,6 +54,9 @@ public class K2JVMCompilerArguments extends CommonCompilerArguments {
     @Argument(value = "notNullParamAssertions", description = "generate not-null assertions on parameters of methods accessible from Java")
     public boolean notNullParamAssertions;
 
+    @Argument(value = "notNullParamAssertionsApiOnly", description = "skip not-null assertions on parameters of members of private nested and local classes")
+    public boolean notNullParamAssertionsApiOnly;
+
     @Argument(value = "output", description = "output directory")
     public String outputDir;
 
@@ -68,4 +71,19 @@ public class K2JVMCompilerArguments extends CommonCompilerArguments {
 
     @Argument(value = "inline", description = "Inlining mode: on/off (default is off)")
     public String enableInline;
+
+    @Argument(value = "binaryJavaClasses", description = "read Java classes from the classpath directly from class files, without PSI")
+    public boolean binaryJavaClasses;
+
+    @Argument(value = "codegenThreads", description = "number of threads generating bytecode of different packages (default is 1)")
+    public String codegenThreads;
+
+    @Argument(value = "optimizeBytecode", description = "optimizations of generated bytecode: all, or a comma-separated list of redundantBoxing, redundantCheckcast, deadStore, gotoChain")
+    public String optimizeBytecode;
+
+    @Argument(value = "streamOutput", description = "write class files to the output while the rest of the code is being generated")
+    public boolean streamOutput;
+
+    @Argument(value = "noJarCompression", description = "store entries of the resulting jar uncompressed, which makes writing it faster")
+    public boolean noJarCompression;
 }
@@ -16,11 +16,13 @@
 
 package org.jetbrains.jet.cli.jvm;
 
+import org.jetbrains.jet.codegen.optimization.BytecodeOptimization;
 import org.jetbrains.jet.config.CompilerConfigurationKey;
 import org.jetbrains.jet.lang.resolve.AnalyzerScriptParameter;
 
 import java.io.File;
 import java.util.List;
+import java.util.Set;
 
 public class JVMConfigurationKeys {
     private JVMConfigurationKeys() {
@@ -35,7 +37,24 @@ public class JVMConfigurationKeys {
             CompilerConfigurationKey.create("generate not-null assertions");
     public static final CompilerConfigurationKey<Boolean> GENERATE_NOT_NULL_PARAMETER_ASSERTIONS =
             CompilerConfigurationKey.create("generate not-null parameter assertions");
+    public static final CompilerConfigurationKey<Boolean> NOT_NULL_PARAMETER_ASSERTIONS_FOR_API_ONLY =
+            CompilerConfigurationKey.create("not-null parameter assertions for API only");
 
     public static final CompilerConfigurationKey<Boolean> ENABLE_INLINE =
             CompilerConfigurationKey.create("enable inline");
+
+    public static final CompilerConfigurationKey<Boolean> READ_BINARY_JAVA_CLASSES =
+            CompilerConfigurationKey.create("read binary java classes");
+
+    public static final CompilerConfigurationKey<Integer> CODEGEN_THREADS =
+            CompilerConfigurationKey.create("codegen threads");
+
+    public static final CompilerConfigurationKey<Set<BytecodeOptimization>> BYTECODE_OPTIMIZATIONS =
+            CompilerConfigurationKey.create("bytecode optimizations");
+
+    public static final CompilerConfigurationKey<Boolean> STREAM_OUTPUT =
+            CompilerConfigurationKey.create("stream output");
+
+    public static final CompilerConfigurationKey<Boolean> COMPRESS_JAR =
+            CompilerConfigurationKey.create("compress jar");
 }
@@ -21,6 +21,7 @@ import com.google.common.collect.Lists;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.util.text.StringUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.cli.common.CLICompiler;
 import org.jetbrains.jet.cli.common.CLIConfigurationKeys;
 import org.jetbrains.jet.cli.common.ExitCode;
@@ -29,6 +30,7 @@ import org.jetbrains.jet.cli.common.messages.*;
 import org.jetbrains.jet.cli.jvm.compiler.*;
 import org.jetbrains.jet.cli.jvm.repl.ReplFromTerminal;
 import org.jetbrains.jet.codegen.CompilationException;
+import org.jetbrains.jet.codegen.optimization.BytecodeOptimization;
 import org.jetbrains.jet.config.CommonConfigurationKeys;
 import org.jetbrains.jet.config.CompilerConfiguration;
 import org.jetbrains.jet.lang.resolve.AnalyzerScriptParameter;
@@ -40,6 +42,7 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.base.Predicates.in;
 import static org.jetbrains.jet.cli.common.ExitCode.INTERNAL_ERROR;
@@ -107,7 +110,28 @@ public class K2JVMCompiler extends CLICompiler<K2JVMCompilerArguments> {
 
         configuration.put(JVMConfigurationKeys.GENERATE_NOT_NULL_ASSERTIONS, arguments.notNullAssertions);
         configuration.put(JVMConfigurationKeys.GENERATE_NOT_NULL_PARAMETER_ASSERTIONS, arguments.notNullParamAssertions);
+        configuration.put(JVMConfigurationKeys.NOT_NULL_PARAMETER_ASSERTIONS_FOR_API_ONLY, arguments.notNullParamAssertionsApiOnly);
         configuration.put(JVMConfigurationKeys.ENABLE_INLINE, "on".equalsIgnoreCase(arguments.enableInline));
+        configuration.put(JVMConfigurationKeys.READ_BINARY_JAVA_CLASSES, arguments.binaryJavaClasses);
+        Integer codegenThreads = parseCodegenThreads(arguments.codegenThreads);
+        if (codegenThreads == null) {
+            messageCollector.report(CompilerMessageSeverity.ERROR, "Wrong value for codegenThreads option: '" + arguments.codegenThreads +
+                                                                   "'. Should be a positive number",
+                                    CompilerMessageLocation.NO_LOCATION);
+            return INTERNAL_ERROR;
+        }
+        configuration.put(JVMConfigurationKeys.CODEGEN_THREADS, codegenThreads);
+        if (arguments.optimizeBytecode != null) {
+            Set<BytecodeOptimization> optimizations = BytecodeOptimization.parse(arguments.optimizeBytecode);
+            if (optimizations == null) {
+                messageCollector.report(CompilerMessageSeverity.ERROR, "Unknown bytecode optimization: " + arguments.optimizeBytecode,
+                                        CompilerMessageLocation.NO_LOCATION);
+                return INTERNAL_ERROR;
+            }
+            configuration.put(JVMConfigurationKeys.BYTECODE_OPTIMIZATIONS, optimizations);
+        }
+        configuration.put(JVMConfigurationKeys.STREAM_OUTPUT, arguments.streamOutput);
+        configuration.put(JVMConfigurationKeys.COMPRESS_JAR, !arguments.noJarCompression);
 
         configuration.put(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, messageCollector);
 
@@ -192,6 +216,18 @@ public class K2JVMCompiler extends CLICompiler<K2JVMCompilerArguments> {
         return annotationsPath;
     }
 
+    @Nullable
+    private static Integer parseCodegenThreads(@Nullable String value) {
+        if (value == null) return 1;
+        try {
+            int threads = Integer.parseInt(value);
+            return threads > 0 ? threads : null;
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     @Override
     protected void checkArguments(@NotNull K2JVMCompilerArguments argument) {
         super.checkArguments(argument);
@@ -36,4 +36,8 @@ public final class ClassPath implements Iterable<VirtualFile> {
     public void add(@NotNull VirtualFile root) {
         roots.add(root);
     }
+
+    public int size() {
+        return roots.size();
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.resolve.java.JavaPackageIndex;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Package existence index over the compiler class path. Roots are only added to the class path, and only while the environment
+ * is created, so the index is built on first use by walking all roots and is only rebuilt if more roots were added since.
+ *
+ * Names of classes are known from .class files only: a .java file may declare other top level classes besides the one named
+ * after the file, so classes of packages with Java sources are always looked up by PSI
+ */
+public class CliJavaPackageIndex implements JavaPackageIndex {
+    @NotNull
+    private final ClassPath classPath;
+
+    // package FQ name -> names of top-level classes (.class files) in this package in any of the roots
+    private Map<String, Set<String>> packages;
+    // packages which have .java files in any of the roots
+    private Set<String> packagesWithSources;
+    private int indexedRoots;
+
+    public CliJavaPackageIndex(@NotNull ClassPath classPath) {
+        this.classPath = classPath;
+    }
+
+    @Override
+    public boolean mayContainPackage(@NotNull FqName packageFqName) {
+        return getPackages().containsKey(packageFqName.asString());
+    }
+
+    @Override
+    public boolean mayContainClass(@NotNull FqName classFqName) {
+        Map<String, Set<String>> packages = getPackages();
+        Set<String> packagesWithSources = getPackagesWithSources();
+
+        // Nested classes are looked up by their FQ name, so we don't know where the package name ends: try every split
+        List<Name> segments = classFqName.pathSegments();
+        StringBuilder packageName = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            Set<String> classes = packages.get(packageName.toString());
+            if (classes == null) return false;
+            if (classes.contains(segments.get(i).asString()) || packagesWithSources.contains(packageName.toString())) return true;
+
+            if (i > 0) packageName.append('.');
+            packageName.append(segments.get(i).asString());
+        }
+        return false;
+    }
+
+    @NotNull
+    private synchronized Map<String, Set<String>> getPackages() {
+        ensureIndexed();
+        return packages;
+    }
+
+    @NotNull
+    private synchronized Set<String> getPackagesWithSources() {
+        ensureIndexed();
+        return packagesWithSources;
+    }
+
+    private void ensureIndexed() {
+        int roots = classPath.size();
+        if (packages == null || indexedRoots != roots) {
+            Map<String, Set<String>> result = new HashMap<String, Set<String>>();
+            Set<String> withSources = new HashSet<String>();
+            for (VirtualFile root : classPath) {
+                collectPackages(root, "", result, withSources);
+            }
+            packages = result;
+            packagesWithSources = withSources;
+            indexedRoots = roots;
+        }
+    }
+
+    private static void collectPackages(
+            @NotNull VirtualFile dir,
+            @NotNull String packageName,
+            @NotNull Map<String, Set<String>> result,
+            @NotNull Set<String> packagesWithSources
+    ) {
+        Set<String> classes = result.get(packageName);
+        if (classes == null) {
+            classes = new HashSet<String>();
+            result.put(packageName, classes);
+        }
+
+        for (VirtualFile child : dir.getChildren()) {
+            String name = child.getName();
+            if (child.isDirectory()) {
+                collectPackages(child, packageName.isEmpty() ? name : packageName + "." + name, result, packagesWithSources);
+            }
+            else {
+                String extension = child.getExtension();
+                if ("class".equals(extension)) {
+                    String className = child.getNameWithoutExtension();
+                    int dollar = className.indexOf('$');
+                    classes.add(dollar < 0 ? className : className.substring(0, dollar));
+                }
+                else if ("java".equals(extension)) {
+                    packagesWithSources.add(packageName);
+                }
+            }
+        }
+    }
+}
@@ -19,11 +19,12 @@ package org.jetbrains.jet.cli.jvm.compiler;
 import com.intellij.openapi.vfs.VirtualFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.ClassFileFinder;
 import org.jetbrains.jet.lang.resolve.kotlin.VirtualFileFinder;
 import org.jetbrains.jet.lang.resolve.kotlin.VirtualFileKotlinClassFinder;
 import org.jetbrains.jet.lang.resolve.name.FqName;
 
-public class CliVirtualFileFinder extends VirtualFileKotlinClassFinder implements VirtualFileFinder {
+public class CliVirtualFileFinder extends VirtualFileKotlinClassFinder implements VirtualFileFinder, ClassFileFinder {
 
     @NotNull
     private final ClassPath classPath;
@@ -35,8 +36,19 @@ public class CliVirtualFileFinder extends VirtualFileKotlinClassFinder implement
     @Nullable
     @Override
     public VirtualFile findVirtualFile(@NotNull FqName className) {
+        return findClassFile(className, true);
+    }
+
+    @Nullable
+    @Override
+    public VirtualFile findClassFile(@NotNull FqName className) {
+        return findClassFile(className, false);
+    }
+
+    @Nullable
+    private VirtualFile findClassFile(@NotNull FqName className, boolean kotlinOnly) {
         for (VirtualFile root : classPath) {
-            VirtualFile fileInRoot = findFileInRoot(className.asString(), root);
+            VirtualFile fileInRoot = findFileInRoot(className.asString(), root, kotlinOnly);
             if (fileInRoot != null) {
                 return fileInRoot;
             }
@@ -44,9 +56,22 @@ public class CliVirtualFileFinder extends VirtualFileKotlinClassFinder implement
         return null;
     }
 
+    @Nullable
+    @Override
+    public VirtualFile findClassFileByInternalName(@NotNull String internalName) {
+        String relativePath = internalName + ".class";
+        for (VirtualFile root : classPath) {
+            VirtualFile vFile = root.findFileByRelativePath(relativePath);
+            if (vFile != null && vFile.isValid()) {
+                return vFile;
+            }
+        }
+        return null;
+    }
+
     //NOTE: copied with some changes from CoreJavaFileManager
     @Nullable
-    private VirtualFile findFileInRoot(@NotNull String qName, @NotNull VirtualFile root) {
+    private VirtualFile findFileInRoot(@NotNull String qName, @NotNull VirtualFile root, boolean kotlinOnly) {
         String pathRest = qName;
         VirtualFile cur = root;
 
@@ -70,7 +95,7 @@ public class CliVirtualFileFinder extends VirtualFileKotlinClassFinder implement
                 return null;
             }
             //NOTE: currently we use VirtualFileFinder to find Kotlin binaries only
-            if (createKotlinClass(vFile).getClassHeader() != null) {
+            if (!kotlinOnly || createKotlinClass(vFile).getClassHeader() != null) {
                 return vFile;
             }
         }
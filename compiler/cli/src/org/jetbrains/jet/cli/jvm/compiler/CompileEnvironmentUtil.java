@@ -30,10 +30,10 @@ import org.jetbrains.jet.OutputFile;
 import org.jetbrains.jet.cli.common.CLIConfigurationKeys;
 import org.jetbrains.jet.cli.common.messages.MessageCollector;
 import org.jetbrains.jet.cli.common.messages.MessageRenderer;
+import org.jetbrains.jet.cli.common.messages.OutputMessageUtil;
 import org.jetbrains.jet.cli.common.modules.ModuleDescription;
 import org.jetbrains.jet.cli.common.modules.ModuleXmlParser;
 import org.jetbrains.jet.cli.common.output.OutputDirector;
-import org.jetbrains.jet.cli.common.output.outputUtils.OutputUtilsPackage;
 import org.jetbrains.jet.cli.jvm.JVMConfigurationKeys;
 import org.jetbrains.jet.codegen.ClassFileFactory;
 import org.jetbrains.jet.codegen.GeneratedClassLoader;
@@ -53,10 +53,14 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.jar.*;
+import java.util.concurrent.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 import static org.jetbrains.jet.cli.common.messages.CompilerMessageLocation.NO_LOCATION;
 import static org.jetbrains.jet.cli.common.messages.CompilerMessageSeverity.ERROR;
+import static org.jetbrains.jet.cli.common.messages.CompilerMessageSeverity.OUTPUT;
 
 public class CompileEnvironmentUtil {
 
@@ -171,20 +175,42 @@ public class CompileEnvironmentUtil {
     }
 
     // TODO: includeRuntime should be not a flag but a path to runtime
-    private static void doWriteToJar(ClassFileFactory outputFiles, OutputStream fos, @Nullable FqName mainClass, boolean includeRuntime) {
+    private static void doWriteToJar(
+            ClassFileFactory outputFiles,
+            OutputStream fos,
+            @Nullable FqName mainClass,
+            boolean includeRuntime,
+            final boolean compress
+    ) {
+        final int dosTime = RawZipEntry.toDosTime(System.currentTimeMillis());
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
         try {
-            Manifest manifest = new Manifest();
-            Attributes mainAttributes = manifest.getMainAttributes();
-            mainAttributes.putValue("Manifest-Version", "1.0");
-            mainAttributes.putValue("Created-By", "JetBrains Kotlin");
-            if (mainClass != null) {
-                mainAttributes.putValue("Main-Class", mainClass.asString());
-            }
-            JarOutputStream stream = new JarOutputStream(fos, manifest);
+            RawZipOutputStream stream = openJar(fos, mainClass, dosTime, compress);
+
+            // Class files are compressed in parallel, but written in the order of outputs, so that the jar doesn't depend on scheduling
+            List<Future<RawZipEntry>> entries = new ArrayList<Future<RawZipEntry>>();
             for (OutputFile outputFile : outputFiles.asList()) {
-                stream.putNextEntry(new JarEntry(outputFile.getRelativePath()));
-                stream.write(outputFile.asByteArray());
+                final String name = outputFile.getRelativePath();
+                final byte[] bytes = outputFile.asByteArray();
+                entries.add(executor.submit(new Callable<RawZipEntry>() {
+                    @Override
+                    public RawZipEntry call() {
+                        return RawZipEntry.create(name, bytes, dosTime, compress);
+                    }
+                }));
+            }
+            for (Future<RawZipEntry> entry : entries) {
+                try {
+                    stream.putEntry(entry.get());
+                }
+                catch (ExecutionException e) {
+                    throw ExceptionUtils.rethrow(e.getCause());
+                }
+                catch (InterruptedException e) {
+                    throw ExceptionUtils.rethrow(e);
+                }
             }
+
             if (includeRuntime) {
                 writeRuntimeToJar(stream);
             }
@@ -193,13 +219,34 @@ public class CompileEnvironmentUtil {
         catch (IOException e) {
             throw new CompileEnvironmentException("Failed to generate jar file", e);
         }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @NotNull
+    static RawZipOutputStream openJar(@NotNull OutputStream fos, @Nullable FqName mainClass, int dosTime, boolean compress)
+            throws IOException {
+        Manifest manifest = new Manifest();
+        Attributes mainAttributes = manifest.getMainAttributes();
+        mainAttributes.putValue("Manifest-Version", "1.0");
+        mainAttributes.putValue("Created-By", "JetBrains Kotlin");
+        if (mainClass != null) {
+            mainAttributes.putValue("Main-Class", mainClass.asString());
+        }
+        ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+        manifest.write(manifestBytes);
+
+        RawZipOutputStream stream = new RawZipOutputStream(fos);
+        stream.putEntry(RawZipEntry.create(JarFile.MANIFEST_NAME, manifestBytes.toByteArray(), dosTime, compress));
+        return stream;
     }
 
-    public static void writeToJar(File jarPath, boolean jarRuntime, FqName mainClass, ClassFileFactory outputFiles) {
+    public static void writeToJar(File jarPath, boolean jarRuntime, FqName mainClass, ClassFileFactory outputFiles, boolean compress) {
         FileOutputStream outputStream = null;
         try {
             outputStream = new FileOutputStream(jarPath);
-            doWriteToJar(outputFiles, outputStream, mainClass, jarRuntime);
+            doWriteToJar(outputFiles, new BufferedOutputStream(outputStream), mainClass, jarRuntime, compress);
             outputStream.close();
         }
         catch (FileNotFoundException e) {
@@ -213,25 +260,15 @@ public class CompileEnvironmentUtil {
         }
     }
 
-    private static void writeRuntimeToJar(JarOutputStream stream) throws IOException {
+    // Entries of the runtime are copied as they are stored in its jar, without decompression and compression again
+    static void writeRuntimeToJar(RawZipOutputStream stream) throws IOException {
         File runtimeJarPath = getRuntimeJarPath();
         if (runtimeJarPath != null) {
-            JarInputStream jis = new JarInputStream(new FileInputStream(runtimeJarPath));
-            try {
-                while (true) {
-                    JarEntry e = jis.getNextJarEntry();
-                    if (e == null) {
-                        break;
-                    }
-                    if (FileUtilRt.extensionEquals(e.getName(), "class")) {
-                        stream.putNextEntry(e);
-                        FileUtil.copy(jis, stream);
-                    }
+            for (RawZipEntry entry : RawZipEntry.readAll(runtimeJarPath)) {
+                if (FileUtilRt.extensionEquals(entry.getName(), "class")) {
+                    stream.putEntry(entry);
                 }
             }
-            finally {
-                jis.close();
-            }
         }
         else {
             throw new CompileEnvironmentException("Couldn't find runtime library");
@@ -254,21 +291,44 @@ public class CompileEnvironmentUtil {
             @Nullable File jar,
             @Nullable OutputDirector outputDir,
             boolean includeRuntime,
+            boolean compressJar,
             @Nullable FqName mainClass,
             @NotNull ClassFileFactory outputFiles,
             @NotNull MessageCollector messageCollector
     ) {
         if (jar != null) {
-            writeToJar(jar, includeRuntime, mainClass, outputFiles);
+            writeToJar(jar, includeRuntime, mainClass, outputFiles, compressJar);
         }
         else if (outputDir != null) {
-            OutputUtilsPackage.writeAll(outputFiles, outputDir, messageCollector);
+            writeToDirectories(outputFiles, outputDir, messageCollector);
         }
         else {
             throw new CompileEnvironmentException("Output directory or jar file is not specified - no files will be saved to the disk");
         }
     }
 
+    private static void writeToDirectories(
+            @NotNull ClassFileFactory outputFiles,
+            @NotNull OutputDirector outputDir,
+            @NotNull MessageCollector messageCollector
+    ) {
+        OutputDirectoryUpdater updater = new OutputDirectoryUpdater();
+        try {
+            for (OutputFile file : outputFiles.asList()) {
+                List<File> sources = file.getSourceFiles();
+                File outputDirectory = outputDir.getOutputDirectory(sources);
+                File output = new File(outputDirectory, file.getRelativePath());
+                messageCollector.report(OUTPUT, OutputMessageUtil.formatOutputMessage(sources, output), NO_LOCATION);
+                updater.write(outputDirectory, file.getRelativePath(), sources, file.asByteArray());
+            }
+            updater.deleteStaleFilesAndSaveManifests();
+        }
+        catch (IOException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+        updater.reportSummary(messageCollector);
+    }
+
     private static class DescriptionToModuleAdapter implements Module {
         private final ModuleDescription description;
 
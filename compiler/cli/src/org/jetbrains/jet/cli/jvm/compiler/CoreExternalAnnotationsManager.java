@@ -17,22 +17,44 @@
 package org.jetbrains.jet.cli.jvm.compiler;
 
 import com.intellij.codeInsight.BaseExternalAnnotationsManager;
+import com.intellij.openapi.util.JDOMUtil;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
+import org.jdom.Document;
+import org.jdom.Element;
+import org.jdom.JDOMException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaLiteralAnnotationArgumentImpl;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryExternalAnnotationsProvider;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.PlainJavaAnnotation;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.lang.resolve.name.Name;
+import org.jetbrains.jet.utils.ExceptionUtils;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
 
-public class CoreExternalAnnotationsManager extends BaseExternalAnnotationsManager {
+public class CoreExternalAnnotationsManager extends BaseExternalAnnotationsManager implements BinaryExternalAnnotationsProvider {
     static {
         // This is an ugly workaround for JDOM 1.1 used from application started from Ant 1.8 without forking
         System.setProperty("javax.xml.parsers.SAXParserFactory", "com.sun.org.apache.xerces.internal.jaxp.SAXParserFactoryImpl");
     }
 
+    private static final String ANNOTATIONS_XML = "annotations.xml";
+
     private final List<VirtualFile> externalAnnotationsRoots = new ArrayList<VirtualFile>();
 
+    // Package FQ name -> external name of an element -> annotations
+    private final Map<FqName, Map<String, List<JavaAnnotation>>> binaryAnnotationsCache =
+            new HashMap<FqName, Map<String, List<JavaAnnotation>>>();
+
+    // Annotations root -> its precompiled index, or null if the root has none
+    private final Map<VirtualFile, ExternalAnnotationsIndex> indices = new HashMap<VirtualFile, ExternalAnnotationsIndex>();
+
     public CoreExternalAnnotationsManager(@NotNull PsiManager psiManager) {
         super(psiManager);
     }
@@ -52,6 +74,111 @@ public class CoreExternalAnnotationsManager extends BaseExternalAnnotationsManag
         return externalAnnotationsRoots;
     }
 
+    @NotNull
+    @Override
+    public Collection<JavaAnnotation> findExternalAnnotations(@NotNull FqName packageFqName, @NotNull String externalName) {
+        Map<String, List<JavaAnnotation>> annotations = binaryAnnotationsCache.get(packageFqName);
+        if (annotations == null) {
+            annotations = loadBinaryAnnotations(packageFqName);
+            binaryAnnotationsCache.put(packageFqName, annotations);
+        }
+        List<JavaAnnotation> result = annotations.get(externalName);
+        return result == null ? Collections.<JavaAnnotation>emptyList() : result;
+    }
+
+    @NotNull
+    private Map<String, List<JavaAnnotation>> loadBinaryAnnotations(@NotNull FqName packageFqName) {
+        String relativePath = packageFqName.isRoot() ? ANNOTATIONS_XML : packageFqName.asString().replace('.', '/') + "/" + ANNOTATIONS_XML;
+
+        Map<String, List<JavaAnnotation>> result = new HashMap<String, List<JavaAnnotation>>();
+        for (VirtualFile root : externalAnnotationsRoots) {
+            ExternalAnnotationsIndex index = getIndex(root);
+            if (index != null) {
+                index.loadPackage(packageFqName, result);
+                continue;
+            }
+
+            VirtualFile file = root.findFileByRelativePath(relativePath);
+            if (file == null) continue;
+
+            try {
+                InputStream stream = file.getInputStream();
+                try {
+                    loadAnnotationsXml(stream, result);
+                }
+                finally {
+                    stream.close();
+                }
+            }
+            catch (IOException e) {
+                throw ExceptionUtils.rethrow(e);
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private ExternalAnnotationsIndex getIndex(@NotNull VirtualFile root) {
+        if (!indices.containsKey(root)) {
+            VirtualFile indexFile = root.findChild(ExternalAnnotationsIndex.FILE_NAME);
+            indices.put(root, indexFile == null ? null : ExternalAnnotationsIndex.read(indexFile));
+        }
+        return indices.get(root);
+    }
+
+    static void loadAnnotationsXml(@NotNull InputStream stream, @NotNull Map<String, List<JavaAnnotation>> result) throws IOException {
+        Document document;
+        try {
+            document = JDOMUtil.loadDocument(stream);
+        }
+        catch (JDOMException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+
+        for (Object item : document.getRootElement().getChildren("item")) {
+            String name = ((Element) item).getAttributeValue("name");
+            if (name == null) continue;
+
+            List<JavaAnnotation> annotations = result.get(name);
+            if (annotations == null) {
+                annotations = new ArrayList<JavaAnnotation>(1);
+                result.put(name, annotations);
+            }
+            for (Object annotationElement : ((Element) item).getChildren("annotation")) {
+                annotations.add(createAnnotation((Element) annotationElement));
+            }
+        }
+    }
+
+    @NotNull
+    private static JavaAnnotation createAnnotation(@NotNull Element element) {
+        PlainJavaAnnotation annotation = new PlainJavaAnnotation(new FqName(element.getAttributeValue("name")));
+        for (Object child : element.getChildren("val")) {
+            Element val = (Element) child;
+            String name = val.getAttributeValue("name");
+            annotation.addArgument(new JavaLiteralAnnotationArgumentImpl(
+                    name == null ? null : Name.identifier(name), parseLiteralValue(val.getAttributeValue("val"))));
+        }
+        return annotation;
+    }
+
+    @Nullable
+    private static Object parseLiteralValue(@Nullable String text) {
+        if (text == null) return null;
+        if (StringUtil.isQuotedString(text)) {
+            return StringUtil.unescapeStringCharacters(StringUtil.unquoteString(text));
+        }
+        if ("true".equals(text) || "false".equals(text)) {
+            return Boolean.valueOf(text);
+        }
+        try {
+            return Integer.valueOf(text);
+        }
+        catch (NumberFormatException e) {
+            return text;
+        }
+    }
+
     @Override
     public void annotateExternally(@NotNull PsiModifierListOwner listOwner, @NotNull String annotationFQName, @NotNull PsiFile fromFile,
             PsiNameValuePair[] value) {
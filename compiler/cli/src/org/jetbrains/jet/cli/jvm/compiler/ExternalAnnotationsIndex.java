@@ -0,0 +1,197 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.KotlinSignatureTree;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.KotlinSignatureTreeSerializer;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.PreparsedKotlinSignatureAnnotation;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaLiteralAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaLiteralAnnotationArgumentImpl;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.PlainJavaAnnotation;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.lang.resolve.name.Name;
+import org.jetbrains.jet.utils.ExceptionUtils;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Binary form of an external annotations root: all annotations.xml files of the root are stored in one file,
+ * grouped by package and keyed by external names of the annotated elements. Values of KotlinSignature annotations
+ * are stored already parsed, see {@link KotlinSignatureTree}.
+ *
+ * The index is built by {@link ExternalAnnotationsIndexWriter} and placed into the root under {@link #FILE_NAME}.
+ * Packages are decoded lazily on the first request.
+ */
+public class ExternalAnnotationsIndex {
+    public static final String FILE_NAME = "annotations.index";
+
+    static final int VERSION = 1;
+
+    private static final int NULL_VALUE = 0;
+    private static final int STRING_VALUE = 1;
+    private static final int BOOLEAN_VALUE = 2;
+    private static final int INT_VALUE = 3;
+
+    private final byte[] data;
+    private final Map<FqName, Integer> packageOffsets;
+
+    private ExternalAnnotationsIndex(@NotNull byte[] data, @NotNull Map<FqName, Integer> packageOffsets) {
+        this.data = data;
+        this.packageOffsets = packageOffsets;
+    }
+
+    @NotNull
+    public static ExternalAnnotationsIndex read(@NotNull VirtualFile file) {
+        try {
+            byte[] bytes = file.contentsToByteArray();
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported version of external annotations index " + file + ": " + version);
+            }
+
+            int packageCount = in.readInt();
+            Map<FqName, Integer> packageOffsets = new HashMap<FqName, Integer>(packageCount);
+            for (int i = 0; i < packageCount; i++) {
+                packageOffsets.put(new FqName(in.readUTF()), in.readInt());
+            }
+
+            int headerSize = bytes.length - in.available();
+            for (Map.Entry<FqName, Integer> entry : packageOffsets.entrySet()) {
+                entry.setValue(entry.getValue() + headerSize);
+            }
+
+            return new ExternalAnnotationsIndex(bytes, packageOffsets);
+        }
+        catch (IOException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+    }
+
+    public void loadPackage(@NotNull FqName packageFqName, @NotNull Map<String, List<JavaAnnotation>> result) {
+        Integer offset = packageOffsets.get(packageFqName);
+        if (offset == null) return;
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, data.length - offset));
+            int itemCount = in.readInt();
+            for (int i = 0; i < itemCount; i++) {
+                String externalName = in.readUTF();
+                int annotationCount = in.readShort();
+
+                List<JavaAnnotation> annotations = result.get(externalName);
+                if (annotations == null) {
+                    annotations = new ArrayList<JavaAnnotation>(annotationCount);
+                    result.put(externalName, annotations);
+                }
+                for (int j = 0; j < annotationCount; j++) {
+                    annotations.add(readAnnotation(in));
+                }
+            }
+        }
+        catch (IOException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+    }
+
+    @NotNull
+    private static JavaAnnotation readAnnotation(@NotNull DataInput in) throws IOException {
+        FqName fqName = new FqName(in.readUTF());
+        PlainJavaAnnotation annotation = in.readBoolean()
+                                         ? new PreparsedKotlinSignatureAnnotation(KotlinSignatureTreeSerializer.readDeclaration(in))
+                                         : new PlainJavaAnnotation(fqName);
+
+        int argumentCount = in.readShort();
+        for (int i = 0; i < argumentCount; i++) {
+            Name name = in.readBoolean() ? Name.identifier(in.readUTF()) : null;
+            annotation.addArgument(new JavaLiteralAnnotationArgumentImpl(name, readValue(in)));
+        }
+        return annotation;
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInput in) throws IOException {
+        int tag = in.readByte();
+        switch (tag) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return in.readUTF();
+            case BOOLEAN_VALUE:
+                return in.readBoolean();
+            case INT_VALUE:
+                return in.readInt();
+            default:
+                throw new IllegalStateException("Unknown value tag: " + tag);
+        }
+    }
+
+    static void writeAnnotation(
+            @NotNull DataOutput out,
+            @NotNull JavaAnnotation annotation,
+            @Nullable KotlinSignatureTree.Declaration signature
+    ) throws IOException {
+        FqName fqName = annotation.getFqName();
+        assert fqName != null : "Annotation without name: " + annotation;
+        out.writeUTF(fqName.asString());
+
+        out.writeBoolean(signature != null);
+        if (signature != null) {
+            KotlinSignatureTreeSerializer.writeDeclaration(out, signature);
+        }
+
+        Collection<JavaAnnotationArgument> arguments = annotation.getArguments();
+        out.writeShort(arguments.size());
+        for (JavaAnnotationArgument argument : arguments) {
+            Name name = argument.getName();
+            out.writeBoolean(name != null);
+            if (name != null) {
+                out.writeUTF(name.asString());
+            }
+            writeValue(out, ((JavaLiteralAnnotationArgument) argument).getValue());
+        }
+    }
+
+    private static void writeValue(@NotNull DataOutput out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        }
+        else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            out.writeUTF((String) value);
+        }
+        else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Integer) {
+            out.writeByte(INT_VALUE);
+            out.writeInt((Integer) value);
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported annotation argument value: " + value);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.config.CompilerConfiguration;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.KotlinSignatureTree;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.KotlinSignatureTreeBuilder;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.SignaturesUtil;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Compiles an external annotations root (a directory with annotations.xml files) into {@link ExternalAnnotationsIndex}.
+ * Used when packing kotlin-jdk-annotations.jar and kotlin-android-sdk-annotations.jar.
+ */
+public class ExternalAnnotationsIndexWriter {
+    private static final String ANNOTATIONS_XML = "annotations.xml";
+
+    private ExternalAnnotationsIndexWriter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ExternalAnnotationsIndexWriter <annotations root> <output file>");
+            System.exit(1);
+        }
+
+        System.setProperty("java.awt.headless", "true");
+        Disposable rootDisposable = Disposer.newDisposable();
+        try {
+            JetCoreEnvironment environment = JetCoreEnvironment.createForProduction(rootDisposable, new CompilerConfiguration());
+            writeIndex(environment.getProject(), new File(args[0]), new File(args[1]));
+        }
+        finally {
+            Disposer.dispose(rootDisposable);
+        }
+    }
+
+    public static void writeIndex(@NotNull Project project, @NotNull File annotationsRoot, @NotNull File outputFile) throws IOException {
+        SortedMap<String, File> packages = new TreeMap<String, File>();
+        collectPackages(annotationsRoot, "", packages);
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        DataOutputStream dataOut = new DataOutputStream(data);
+        Map<String, Integer> packageOffsets = new LinkedHashMap<String, Integer>();
+
+        for (Map.Entry<String, File> entry : packages.entrySet()) {
+            packageOffsets.put(entry.getKey(), dataOut.size());
+
+            SortedMap<String, List<JavaAnnotation>> items = new TreeMap<String, List<JavaAnnotation>>();
+            InputStream stream = new FileInputStream(entry.getValue());
+            try {
+                CoreExternalAnnotationsManager.loadAnnotationsXml(stream, items);
+            }
+            finally {
+                stream.close();
+            }
+
+            dataOut.writeInt(items.size());
+            for (Map.Entry<String, List<JavaAnnotation>> item : items.entrySet()) {
+                String externalName = item.getKey();
+                dataOut.writeUTF(externalName);
+                dataOut.writeShort(item.getValue().size());
+                for (JavaAnnotation annotation : item.getValue()) {
+                    ExternalAnnotationsIndex.writeAnnotation(dataOut, annotation, preparseSignature(project, externalName, annotation));
+                }
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)));
+        try {
+            out.writeInt(ExternalAnnotationsIndex.VERSION);
+            out.writeInt(packageOffsets.size());
+            for (Map.Entry<String, Integer> entry : packageOffsets.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            data.writeTo(out);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private static void collectPackages(@NotNull File dir, @NotNull String packageName, @NotNull Map<String, File> result) {
+        File[] children = dir.listFiles();
+        if (children == null) return;
+
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collectPackages(child, packageName.isEmpty() ? child.getName() : packageName + "." + child.getName(), result);
+            }
+            else if (ANNOTATIONS_XML.equals(child.getName())) {
+                result.put(packageName, child);
+            }
+        }
+    }
+
+    // Signatures which can't be parsed are stored as is: the error will be reported when the annotated element is loaded
+    @Nullable
+    private static KotlinSignatureTree.Declaration preparseSignature(
+            @NotNull Project project,
+            @NotNull String externalName,
+            @NotNull JavaAnnotation annotation
+    ) {
+        if (!SignaturesUtil.KOTLIN_SIGNATURE.equals(annotation.getFqName())) return null;
+
+        String signature = SignaturesUtil.getKotlinSignature(annotation);
+        if (signature == null) return null;
+
+        try {
+            // External names of methods contain parameter lists, external names of fields don't
+            return externalName.contains("(")
+                   ? KotlinSignatureTreeBuilder.parseFunction(project, signature)
+                   : KotlinSignatureTreeBuilder.parseProperty(project, signature);
+        }
+        catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -52,7 +52,10 @@ import org.jetbrains.jet.config.CompilerConfiguration;
 import org.jetbrains.jet.lang.parsing.JetParserDefinition;
 import org.jetbrains.jet.lang.parsing.JetScriptDefinitionProvider;
 import org.jetbrains.jet.lang.psi.JetFile;
+import org.jetbrains.jet.lang.resolve.java.JavaPackageIndex;
 import org.jetbrains.jet.lang.resolve.java.JetFilesProvider;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryExternalAnnotationsProvider;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.ClassFileFinder;
 import org.jetbrains.jet.lang.resolve.kotlin.VirtualFileFinder;
 import org.jetbrains.jet.plugin.JetFileType;
 import org.jetbrains.jet.utils.PathUtil;
@@ -183,6 +186,7 @@ public class JetCoreEnvironment {
 
         annotationsManager = new CoreExternalAnnotationsManager(project.getComponent(PsiManager.class));
         project.registerService(ExternalAnnotationsManager.class, annotationsManager);
+        project.registerService(BinaryExternalAnnotationsProvider.class, annotationsManager);
 
         for (File path : configuration.getList(JVMConfigurationKeys.CLASSPATH_KEY)) {
             addToClasspath(path);
@@ -197,7 +201,12 @@ public class JetCoreEnvironment {
         JetScriptDefinitionProvider.getInstance(project).addScriptDefinitions(
                 configuration.getList(CommonConfigurationKeys.SCRIPT_DEFINITIONS_KEY));
 
-        project.registerService(VirtualFileFinder.class, new CliVirtualFileFinder(classPath));
+        CliVirtualFileFinder virtualFileFinder = new CliVirtualFileFinder(classPath);
+        project.registerService(VirtualFileFinder.class, virtualFileFinder);
+        if (configuration.get(JVMConfigurationKeys.READ_BINARY_JAVA_CLASSES, false)) {
+            project.registerService(ClassFileFinder.class, virtualFileFinder);
+        }
+        project.registerService(JavaPackageIndex.class, new CliJavaPackageIndex(classPath));
     }
 
     public CompilerConfiguration getConfiguration() {
@@ -26,16 +26,21 @@ import jet.modules.AllModules;
 import jet.modules.Module;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.OutputFileSink;
 import org.jetbrains.jet.analyzer.AnalyzeExhaust;
 import org.jetbrains.jet.cli.common.CLIConfigurationKeys;
 import org.jetbrains.jet.cli.common.CompilerPlugin;
 import org.jetbrains.jet.cli.common.CompilerPluginContext;
 import org.jetbrains.jet.cli.common.messages.AnalyzerWithCompilerReport;
+import org.jetbrains.jet.cli.common.messages.CompilerMessageLocation;
+import org.jetbrains.jet.cli.common.messages.CompilerMessageSeverity;
 import org.jetbrains.jet.cli.common.messages.MessageCollector;
 import org.jetbrains.jet.cli.common.output.OutputDirector;
 import org.jetbrains.jet.cli.common.output.SingleDirectoryDirector;
 import org.jetbrains.jet.cli.jvm.JVMConfigurationKeys;
 import org.jetbrains.jet.codegen.*;
+import org.jetbrains.jet.codegen.optimization.BytecodeOptimization;
+import org.jetbrains.jet.codegen.optimization.OptimizationClassBuilderFactory;
 import org.jetbrains.jet.codegen.state.GenerationState;
 import org.jetbrains.jet.codegen.state.Progress;
 import org.jetbrains.jet.config.CommonConfigurationKeys;
@@ -58,6 +63,7 @@ import java.net.URLClassLoader;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class KotlinToJVMBytecodeCompiler {
 
@@ -68,6 +74,19 @@ public class KotlinToJVMBytecodeCompiler {
 
     @Nullable
     public static ClassFileFactory compileModule(CompilerConfiguration configuration, Module module, File directory) {
+        return compileModule(configuration, module, directory, null);
+    }
+
+    /**
+     * @param streamedOutput if not null and the output streaming is on, class files are written there during the code generation
+     */
+    @Nullable
+    private static ClassFileFactory compileModule(
+            CompilerConfiguration configuration,
+            Module module,
+            File directory,
+            @Nullable OutputTarget streamedOutput
+    ) {
         List<String> sourceFiles = module.getSourceFiles();
         if (sourceFiles.isEmpty()) {
             throw new CompileEnvironmentException("No source files where defined in module " + module.getModuleName());
@@ -101,7 +120,7 @@ public class KotlinToJVMBytecodeCompiler {
             moduleEnvironment = JetCoreEnvironment.createForProduction(parentDisposable, compilerConfiguration);
 
 
-            GenerationState generationState = analyzeAndGenerate(moduleEnvironment);
+            GenerationState generationState = analyzeAndGenerate(moduleEnvironment, streamedOutput);
             if (generationState == null) {
                 return null;
             }
@@ -113,18 +132,6 @@ public class KotlinToJVMBytecodeCompiler {
         }
     }
 
-    private static void writeOutput(
-            CompilerConfiguration configuration,
-            ClassFileFactory outputFiles,
-            OutputDirector outputDir,
-            File jarPath,
-            boolean jarRuntime,
-            FqName mainClass
-    ) {
-        MessageCollector messageCollector = configuration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, MessageCollector.NONE);
-        CompileEnvironmentUtil.writeOutputToDirOrJar(jarPath, outputDir, jarRuntime, mainClass, outputFiles, messageCollector);
-    }
-
     public static boolean compileModules(
             CompilerConfiguration configuration,
             @NotNull final ModuleChunk chunk,
@@ -136,27 +143,30 @@ public class KotlinToJVMBytecodeCompiler {
         if (COMPILE_CHUNK_AS_ONE_MODULE && modules.size() > 1) {
             modules = Collections.<Module>singletonList(new ChunkAsOneModule(chunk));
         }
+        OutputDirector outputDir = new OutputDirector() {
+            @NotNull
+            @Override
+            public File getOutputDirectory(@NotNull Collection<? extends File> sourceFiles) {
+                for (File sourceFile : sourceFiles) {
+                    // Note that here we track original modules:
+                    Module module = chunk.findModuleBySourceFile(sourceFile);
+                    if (module != null) {
+                        return new File(module.getOutputDirectory());
+                    }
+                }
+                throw new IllegalStateException("No module found for source files: " + sourceFiles);
+            }
+        };
+        OutputTarget output = new OutputTarget(jarPath, outputDir, jarRuntime, null);
+
         for (Module module : modules) {
-            ClassFileFactory outputFiles = compileModule(configuration, module, directory);
+            ClassFileFactory outputFiles = compileModule(configuration, module, directory, output);
             if (outputFiles == null) {
                 return false;
             }
-            OutputDirector outputDir = new OutputDirector() {
-                @NotNull
-                @Override
-                public File getOutputDirectory(@NotNull Collection<? extends File> sourceFiles) {
-                    for (File sourceFile : sourceFiles) {
-                        // Note that here we track original modules:
-                        Module module = chunk.findModuleBySourceFile(sourceFile);
-                        if (module != null) {
-                            return new File(module.getOutputDirectory());
-                        }
-                    }
-                    throw new IllegalStateException("No module found for source files: " + sourceFiles);
-                }
-            };
-
-            writeOutput(configuration, outputFiles, outputDir, jarPath, jarRuntime, null);
+            if (!isOutputStreamed(configuration)) {
+                output.write(configuration, outputFiles);
+            }
         }
         return true;
     }
@@ -185,15 +195,18 @@ public class KotlinToJVMBytecodeCompiler {
     ) {
 
         FqName mainClass = findMainClass(environment.getSourceFiles());
+        OutputDirector outputDirector = outputDir != null ? new SingleDirectoryDirector(outputDir) : null;
+        OutputTarget output = new OutputTarget(jar, outputDirector, includeRuntime, mainClass);
 
-        GenerationState generationState = analyzeAndGenerate(environment);
+        GenerationState generationState = analyzeAndGenerate(environment, output);
         if (generationState == null) {
             return false;
         }
 
         try {
-            OutputDirector outputDirector = outputDir != null ? new SingleDirectoryDirector(outputDir) : null;
-            writeOutput(environment.getConfiguration(), generationState.getFactory(), outputDirector, jar, includeRuntime, mainClass);
+            if (!isOutputStreamed(environment.getConfiguration())) {
+                output.write(environment.getConfiguration(), generationState.getFactory());
+            }
             return true;
         }
         finally {
@@ -251,6 +264,11 @@ public class KotlinToJVMBytecodeCompiler {
 
     @Nullable
     public static GenerationState analyzeAndGenerate(@NotNull JetCoreEnvironment environment) {
+        return analyzeAndGenerate(environment, null);
+    }
+
+    @Nullable
+    private static GenerationState analyzeAndGenerate(@NotNull JetCoreEnvironment environment, @Nullable OutputTarget streamedOutput) {
         AnalyzeExhaust exhaust = analyze(environment);
 
         if (exhaust == null) {
@@ -259,7 +277,30 @@ public class KotlinToJVMBytecodeCompiler {
 
         exhaust.throwIfError();
 
-        return generate(environment, exhaust);
+        CompilerConfiguration configuration = environment.getConfiguration();
+        if (streamedOutput == null || !isOutputStreamed(configuration)) {
+            return generate(environment, exhaust, null);
+        }
+
+        // The writer is only created after a successful analysis, so that erroneous code doesn't leave empty output behind
+        StreamingOutputWriter writer = streamedOutput.startStreaming(configuration);
+        boolean generated = false;
+        try {
+            GenerationState state = generate(environment, exhaust, writer);
+            generated = true;
+            return state;
+        }
+        finally {
+            writer.close(generated);
+        }
+    }
+
+    private static boolean isOutputStreamed(@NotNull CompilerConfiguration configuration) {
+        return configuration.get(JVMConfigurationKeys.STREAM_OUTPUT, false);
+    }
+
+    private static boolean isJarCompressed(@NotNull CompilerConfiguration configuration) {
+        return configuration.get(JVMConfigurationKeys.COMPRESS_JAR, true);
     }
 
     @Nullable
@@ -291,17 +332,49 @@ public class KotlinToJVMBytecodeCompiler {
     }
 
     @NotNull
-    private static GenerationState generate(@NotNull JetCoreEnvironment environment, @NotNull AnalyzeExhaust exhaust) {
+    private static GenerationState generate(
+            @NotNull JetCoreEnvironment environment,
+            @NotNull AnalyzeExhaust exhaust,
+            @Nullable OutputFileSink outputSink
+    ) {
         Project project = environment.getProject();
         CompilerConfiguration configuration = environment.getConfiguration();
+        Set<BytecodeOptimization> optimizations = configuration.get(JVMConfigurationKeys.BYTECODE_OPTIMIZATIONS);
+        OptimizationClassBuilderFactory optimizationFactory = optimizations != null && !optimizations.isEmpty()
+                                                              ? new OptimizationClassBuilderFactory(ClassBuilderFactories.BINARIES, optimizations)
+                                                              : null;
         GenerationState generationState = new GenerationState(
-                project, ClassBuilderFactories.BINARIES, Progress.DEAF, exhaust.getBindingContext(), environment.getSourceFiles(),
+                project, optimizationFactory != null ? optimizationFactory : ClassBuilderFactories.BINARIES, Progress.DEAF,
+                exhaust.getBindingContext(), environment.getSourceFiles(),
                 configuration.get(JVMConfigurationKeys.GENERATE_NOT_NULL_ASSERTIONS, false),
                 configuration.get(JVMConfigurationKeys.GENERATE_NOT_NULL_PARAMETER_ASSERTIONS, false),
+                configuration.get(JVMConfigurationKeys.NOT_NULL_PARAMETER_ASSERTIONS_FOR_API_ONLY, false),
                 /*generateDeclaredClasses = */true,
-                configuration.get(JVMConfigurationKeys.ENABLE_INLINE, InlineUtil.DEFAULT_INLINE_FLAG)
+                configuration.get(JVMConfigurationKeys.ENABLE_INLINE, InlineUtil.DEFAULT_INLINE_FLAG),
+                configuration.get(JVMConfigurationKeys.CODEGEN_THREADS, 1)
         );
+        if (outputSink != null) {
+            generationState.getFactory().streamTo(outputSink);
+        }
         KotlinCodegenFacade.compileCorrectFiles(generationState, CompilationErrorHandler.THROW_EXCEPTION);
+        if (outputSink != null) {
+            // Package facades are only completed here
+            generationState.getFactory().done();
+        }
+
+        MessageCollector messageCollector = configuration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, MessageCollector.NONE);
+        messageCollector.report(CompilerMessageSeverity.LOGGING,
+                                "Cached type mappings used: " + generationState.getTypeMapper().getSavedMappings(),
+                                CompilerMessageLocation.NO_LOCATION);
+        if (optimizationFactory != null) {
+            messageCollector.report(CompilerMessageSeverity.LOGGING,
+                                    "Bytecode optimizations: " + optimizationFactory.getStatistics(), CompilerMessageLocation.NO_LOCATION);
+        }
+        if (generationState.isNotNullParamAssertionsForApiOnly()) {
+            messageCollector.report(CompilerMessageSeverity.LOGGING,
+                                    "Not-null parameter assertions elided: " + generationState.getElidedNotNullParamAssertions(),
+                                    CompilerMessageLocation.NO_LOCATION);
+        }
 
         CompilerPluginContext context = new CompilerPluginContext(project, exhaust.getBindingContext(), environment.getSourceFiles());
         for (CompilerPlugin plugin : configuration.getList(CLIConfigurationKeys.COMPILER_PLUGINS)) {
@@ -309,4 +382,38 @@ public class KotlinToJVMBytecodeCompiler {
         }
         return generationState;
     }
+
+    private static class OutputTarget {
+        @Nullable private final File jar;
+        @Nullable private final OutputDirector outputDirector;
+        private final boolean includeRuntime;
+        @Nullable private final FqName mainClass;
+
+        private OutputTarget(@Nullable File jar, @Nullable OutputDirector outputDirector, boolean includeRuntime, @Nullable FqName mainClass) {
+            this.jar = jar;
+            this.outputDirector = outputDirector;
+            this.includeRuntime = includeRuntime;
+            this.mainClass = mainClass;
+        }
+
+        public void write(@NotNull CompilerConfiguration configuration, @NotNull ClassFileFactory outputFiles) {
+            MessageCollector messageCollector = configuration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, MessageCollector.NONE);
+            CompileEnvironmentUtil.writeOutputToDirOrJar(jar, outputDirector, includeRuntime, isJarCompressed(configuration), mainClass,
+                                                         outputFiles, messageCollector);
+        }
+
+        @NotNull
+        public StreamingOutputWriter startStreaming(@NotNull CompilerConfiguration configuration) {
+            if (jar != null) {
+                return StreamingOutputWriter.toJar(jar, mainClass, includeRuntime, isJarCompressed(configuration));
+            }
+            else if (outputDirector != null) {
+                return StreamingOutputWriter.toDirectory(
+                        outputDirector, configuration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, MessageCollector.NONE));
+            }
+            else {
+                throw new CompileEnvironmentException("Output directory or jar file is not specified - no files will be saved to the disk");
+            }
+        }
+    }
 }
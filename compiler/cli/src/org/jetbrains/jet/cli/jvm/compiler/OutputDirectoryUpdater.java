@@ -0,0 +1,181 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.CharsetToolkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.cli.common.messages.CompilerMessageLocation;
+import org.jetbrains.jet.cli.common.messages.CompilerMessageSeverity;
+import org.jetbrains.jet.cli.common.messages.MessageCollector;
+import org.jetbrains.jet.utils.ExceptionUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Writes class files to output directories, leaving the files which have the same content untouched, so that their timestamps
+ * don't trigger rebuilds of whatever depends on them.
+ *
+ * Every output directory gets a manifest listing the files written to it together with their source files. A file recorded
+ * in the previous manifest is deleted as stale if it isn't written this time, while all of its sources were compiled
+ * in this run or don't exist anymore. Files which aren't recorded in the manifest are never deleted, because output directories
+ * may be shared with other compilers. Manifests are kept outside of output directories, so that they aren't packed into jars
+ * along with the class files, and are named after hashes of the absolute paths of the directories
+ */
+class OutputDirectoryUpdater {
+    private static final char SEPARATOR = '\t';
+
+    private final File manifestDirectory;
+
+    // output directory -> relative path of a written file -> paths of its sources
+    private final Map<File, Map<String, List<String>>> writtenFiles = new LinkedHashMap<File, Map<String, List<String>>>();
+    private final Set<String> compiledSources = new HashSet<String>();
+
+    private int writtenCount = 0;
+    private int skippedCount = 0;
+    private int deletedCount = 0;
+
+    public OutputDirectoryUpdater() {
+        this(new File(System.getProperty("user.home"), ".kotlin_outputs"));
+    }
+
+    public OutputDirectoryUpdater(@NotNull File manifestDirectory) {
+        this.manifestDirectory = manifestDirectory;
+    }
+
+    public void write(
+            @NotNull File outputDirectory,
+            @NotNull String relativePath,
+            @NotNull List<File> sourceFiles,
+            @NotNull byte[] bytes
+    ) throws IOException {
+        Map<String, List<String>> files = writtenFiles.get(outputDirectory);
+        if (files == null) {
+            files = new LinkedHashMap<String, List<String>>();
+            writtenFiles.put(outputDirectory, files);
+        }
+        List<String> sourcePaths = new ArrayList<String>(sourceFiles.size());
+        for (File sourceFile : sourceFiles) {
+            String path = sourceFile.getAbsolutePath();
+            sourcePaths.add(path);
+            compiledSources.add(path);
+        }
+        files.put(relativePath, sourcePaths);
+
+        if (writeIfChanged(new File(outputDirectory, relativePath), bytes)) {
+            writtenCount++;
+        }
+        else {
+            skippedCount++;
+        }
+    }
+
+    public void deleteStaleFilesAndSaveManifests() throws IOException {
+        for (Map.Entry<File, Map<String, List<String>>> entry : writtenFiles.entrySet()) {
+            File outputDirectory = entry.getKey();
+            File manifest = getManifest(outputDirectory);
+
+            Map<String, List<String>> files = new LinkedHashMap<String, List<String>>(entry.getValue());
+            for (Map.Entry<String, List<String>> recorded : loadManifest(manifest).entrySet()) {
+                String relativePath = recorded.getKey();
+                if (files.containsKey(relativePath)) continue;
+
+                if (!isRecompiledOrDeleted(recorded.getValue())) {
+                    // the file is still up to date, since its sources weren't compiled this time
+                    files.put(relativePath, recorded.getValue());
+                    continue;
+                }
+
+                File file = new File(outputDirectory, relativePath);
+                if (file.isFile() && FileUtil.isAncestor(outputDirectory, file, true) && FileUtil.delete(file)) {
+                    deletedCount++;
+                }
+            }
+
+            writeIfChanged(manifest, saveManifest(files).getBytes(CharsetToolkit.UTF8_CHARSET));
+        }
+    }
+
+    @NotNull
+    File getManifest(@NotNull File outputDirectory) {
+        String path = FileUtil.toSystemIndependentName(outputDirectory.getAbsolutePath());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(path.getBytes(CharsetToolkit.UTF8_CHARSET));
+            return new File(manifestDirectory, outputDirectory.getName() + "-" + new BigInteger(1, digest).toString(16));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+    }
+
+    public void reportSummary(@NotNull MessageCollector messageCollector) {
+        messageCollector.report(CompilerMessageSeverity.LOGGING,
+                                "Output files written: " + writtenCount + ", unchanged: " + skippedCount + ", stale deleted: " + deletedCount,
+                                CompilerMessageLocation.NO_LOCATION);
+    }
+
+    private boolean isRecompiledOrDeleted(@NotNull List<String> sourcePaths) {
+        for (String path : sourcePaths) {
+            if (!compiledSources.contains(path) && new File(path).exists()) return false;
+        }
+        return true;
+    }
+
+    // Returns false if the file already has the same content
+    private static boolean writeIfChanged(@NotNull File file, @NotNull byte[] bytes) throws IOException {
+        // Length is compared first, so that most of changed files aren't read at all
+        if (file.isFile() && file.length() == bytes.length && Arrays.equals(FileUtil.loadFileBytes(file), bytes)) {
+            return false;
+        }
+        FileUtil.writeToFile(file, bytes);
+        return true;
+    }
+
+    // Each line holds a relative path of an output file, followed by paths of its sources, separated by tabs
+    @NotNull
+    private static Map<String, List<String>> loadManifest(@NotNull File manifest) throws IOException {
+        Map<String, List<String>> files = new LinkedHashMap<String, List<String>>();
+        if (!manifest.isFile()) return files;
+
+        for (String line : StringUtil.splitByLines(FileUtil.loadFile(manifest, CharsetToolkit.UTF8))) {
+            List<String> parts = StringUtil.split(line, String.valueOf(SEPARATOR));
+            if (parts.isEmpty()) continue;
+            files.put(parts.get(0), parts.subList(1, parts.size()));
+        }
+        return files;
+    }
+
+    @NotNull
+    private static String saveManifest(@NotNull Map<String, List<String>> files) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, List<String>> entry : files.entrySet()) {
+            builder.append(entry.getKey());
+            for (String sourcePath : entry.getValue()) {
+                builder.append(SEPARATOR).append(sourcePath);
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+}
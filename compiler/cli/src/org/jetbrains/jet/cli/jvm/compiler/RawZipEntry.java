@@ -0,0 +1,214 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Zip entry with its data already in the form it's stored in the archive, i.e. compressed unless the entry is {@link ZipEntry#STORED}.
+ * Such entries may be compressed on any thread, or copied from other archives without decompression, and written by {@link RawZipOutputStream}
+ */
+class RawZipEntry {
+    static final Charset NAME_CHARSET = Charset.forName("UTF-8");
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ENCRYPTED_FLAG = 1;
+
+    private final String name;
+    private final int method;
+    private final int dosTime;
+    private final long crc;
+    private final long size;
+    private final byte[] data;
+
+    private RawZipEntry(@NotNull String name, int method, int dosTime, long crc, long size, @NotNull byte[] data) {
+        this.name = name;
+        this.method = method;
+        this.dosTime = dosTime;
+        this.crc = crc;
+        this.size = size;
+        this.data = data;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    public int getMethod() {
+        return method;
+    }
+
+    public int getDosTime() {
+        return dosTime;
+    }
+
+    public long getCrc() {
+        return crc;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @NotNull
+    public byte[] getData() {
+        return data;
+    }
+
+    @NotNull
+    public static RawZipEntry create(@NotNull String name, @NotNull byte[] content, int dosTime, boolean compress) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+
+        if (!compress) {
+            return new RawZipEntry(name, ZipEntry.STORED, dosTime, crc.getValue(), content.length, content);
+        }
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, /* nowrap = */ true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                compressed.write(buffer, 0, length);
+            }
+            return new RawZipEntry(name, ZipEntry.DEFLATED, dosTime, crc.getValue(), content.length, compressed.toByteArray());
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Reads entries of the archive as they are stored there, without decompressing their data
+     */
+    @NotNull
+    public static List<RawZipEntry> readAll(@NotNull File zipFile) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(zipFile, "r");
+        try {
+            byte[] end = readEndOfCentralDirectory(file, zipFile);
+            int entryCount = getShort(end, 10);
+            long centralDirectorySize = getInt(end, 12);
+            long centralDirectoryOffset = getInt(end, 16);
+
+            byte[] centralDirectory = new byte[(int) centralDirectorySize];
+            file.seek(centralDirectoryOffset);
+            file.readFully(centralDirectory);
+
+            List<RawZipEntry> result = new ArrayList<RawZipEntry>(entryCount);
+            int position = 0;
+            for (int i = 0; i < entryCount; i++) {
+                if (getInt(centralDirectory, position) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+                    throw new ZipException("Invalid central directory header in " + zipFile);
+                }
+                int flags = getShort(centralDirectory, position + 8);
+                int method = getShort(centralDirectory, position + 10);
+                int dosTime = (int) getInt(centralDirectory, position + 12);
+                long crc = getInt(centralDirectory, position + 16);
+                long compressedSize = getInt(centralDirectory, position + 20);
+                long size = getInt(centralDirectory, position + 24);
+                int nameLength = getShort(centralDirectory, position + 28);
+                int extraLength = getShort(centralDirectory, position + 30);
+                int commentLength = getShort(centralDirectory, position + 32);
+                long localHeaderOffset = getInt(centralDirectory, position + 42);
+                String name = new String(centralDirectory, position + CENTRAL_DIRECTORY_HEADER_SIZE, nameLength, NAME_CHARSET);
+                position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+                if ((flags & ENCRYPTED_FLAG) != 0) {
+                    throw new ZipException("Encrypted entry " + name + " in " + zipFile);
+                }
+
+                // Name and extra field lengths may differ in the local header
+                byte[] localLengths = new byte[4];
+                file.seek(localHeaderOffset + 26);
+                file.readFully(localLengths);
+                file.seek(localHeaderOffset + LOCAL_HEADER_SIZE + getShort(localLengths, 0) + getShort(localLengths, 2));
+
+                byte[] data = new byte[(int) compressedSize];
+                file.readFully(data);
+                result.add(new RawZipEntry(name, method, dosTime, crc, size, data));
+            }
+            return result;
+        }
+        finally {
+            file.close();
+        }
+    }
+
+    @NotNull
+    private static byte[] readEndOfCentralDirectory(@NotNull RandomAccessFile file, @NotNull File zipFile) throws IOException {
+        long length = file.length();
+        int tailLength = (int) Math.min(length, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_LENGTH);
+        byte[] tail = new byte[tailLength];
+        file.seek(length - tailLength);
+        file.readFully(tail);
+
+        for (int i = tailLength - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (getInt(tail, i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                byte[] result = new byte[END_OF_CENTRAL_DIRECTORY_SIZE];
+                System.arraycopy(tail, i, result, 0, END_OF_CENTRAL_DIRECTORY_SIZE);
+                return result;
+            }
+        }
+        throw new ZipException("Not a zip file: " + zipFile);
+    }
+
+    public static int toDosTime(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year - 1980) << 25
+               | (calendar.get(Calendar.MONTH) + 1) << 21
+               | calendar.get(Calendar.DAY_OF_MONTH) << 16
+               | calendar.get(Calendar.HOUR_OF_DAY) << 11
+               | calendar.get(Calendar.MINUTE) << 5
+               | calendar.get(Calendar.SECOND) >> 1;
+    }
+
+    private static int getShort(@NotNull byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    private static long getInt(@NotNull byte[] bytes, int offset) {
+        return (getShort(bytes, offset) | (long) getShort(bytes, offset + 2) << 16) & 0xFFFFFFFFL;
+    }
+}
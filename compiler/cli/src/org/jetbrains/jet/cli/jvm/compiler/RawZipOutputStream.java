@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a zip archive of {@link RawZipEntry entries} which are compressed beforehand. Zip64 extensions are not supported
+ */
+class RawZipOutputStream {
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int MAX_ENTRY_COUNT = 0xFFFF;
+    // Tells that the name is encoded in UTF-8 rather than in the legacy DOS encoding
+    private static final int UTF8_NAME_FLAG = 0x800;
+
+    private final OutputStream out;
+    private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+    private final Set<String> names = new HashSet<String>();
+    private long written = 0;
+    private int entryCount = 0;
+
+    public RawZipOutputStream(@NotNull OutputStream out) {
+        this.out = out;
+    }
+
+    public void putEntry(@NotNull RawZipEntry entry) throws IOException {
+        if (!names.add(entry.getName())) {
+            throw new ZipException("duplicate entry: " + entry.getName());
+        }
+        if (++entryCount > MAX_ENTRY_COUNT || written + entry.getData().length > 0xFFFFFFFFL) {
+            throw new ZipException("Archive is too large: " + entry.getName());
+        }
+
+        byte[] name = entry.getName().getBytes(RawZipEntry.NAME_CHARSET);
+        int versionNeeded = entry.getMethod() == ZipEntry.STORED ? 10 : 20;
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(30 + name.length);
+        writeInt(header, LOCAL_HEADER_SIGNATURE);
+        writeShort(header, versionNeeded);
+        writeCommonFields(header, entry, name);
+        writeShort(header, 0);
+        header.write(name);
+
+        writeInt(centralDirectory, CENTRAL_DIRECTORY_HEADER_SIGNATURE);
+        writeShort(centralDirectory, 20);
+        writeShort(centralDirectory, versionNeeded);
+        writeCommonFields(centralDirectory, entry, name);
+        writeShort(centralDirectory, 0);
+        writeShort(centralDirectory, 0);
+        writeShort(centralDirectory, 0);
+        writeShort(centralDirectory, 0);
+        writeInt(centralDirectory, 0);
+        writeInt(centralDirectory, written);
+        centralDirectory.write(name);
+
+        write(header.toByteArray());
+        write(entry.getData());
+    }
+
+    /**
+     * Writes the central directory of the archive. Doesn't close the underlying stream
+     */
+    public void finish() throws IOException {
+        long centralDirectoryOffset = written;
+        write(centralDirectory.toByteArray());
+
+        ByteArrayOutputStream end = new ByteArrayOutputStream(22);
+        writeInt(end, END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        writeShort(end, 0);
+        writeShort(end, 0);
+        writeShort(end, entryCount);
+        writeShort(end, entryCount);
+        writeInt(end, centralDirectory.size());
+        writeInt(end, centralDirectoryOffset);
+        writeShort(end, 0);
+        write(end.toByteArray());
+        out.flush();
+    }
+
+    // General purpose flags, method, time, CRC, sizes and name length, which are the same in local and central headers
+    private static void writeCommonFields(@NotNull ByteArrayOutputStream out, @NotNull RawZipEntry entry, @NotNull byte[] name) {
+        writeShort(out, isAscii(name) ? 0 : UTF8_NAME_FLAG);
+        writeShort(out, entry.getMethod());
+        writeInt(out, entry.getDosTime());
+        writeInt(out, entry.getCrc());
+        writeInt(out, entry.getData().length);
+        writeInt(out, entry.getSize());
+        writeShort(out, name.length);
+    }
+
+    private static boolean isAscii(@NotNull byte[] name) {
+        for (byte b : name) {
+            if (b < 0) return false;
+        }
+        return true;
+    }
+
+    private void write(@NotNull byte[] bytes) throws IOException {
+        out.write(bytes);
+        written += bytes.length;
+    }
+
+    private static void writeShort(@NotNull ByteArrayOutputStream out, int value) {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(@NotNull ByteArrayOutputStream out, long value) {
+        writeShort(out, (int) (value & 0xFFFF));
+        writeShort(out, (int) ((value >>> 16) & 0xFFFF));
+    }
+}
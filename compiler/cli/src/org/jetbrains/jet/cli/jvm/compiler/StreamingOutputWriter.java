@@ -0,0 +1,251 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.OutputFile;
+import org.jetbrains.jet.OutputFileSink;
+import org.jetbrains.jet.cli.common.messages.CompilerMessageLocation;
+import org.jetbrains.jet.cli.common.messages.CompilerMessageSeverity;
+import org.jetbrains.jet.cli.common.messages.MessageCollector;
+import org.jetbrains.jet.cli.common.messages.OutputMessageUtil;
+import org.jetbrains.jet.cli.common.output.OutputDirector;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.utils.ExceptionUtils;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes class files to the disk on a separate thread, while the rest of the code is still being generated.
+ * Files are written in the order they're passed to {@link #write}
+ */
+abstract class StreamingOutputWriter implements OutputFileSink {
+    // Bounds the memory taken by class files which are generated, but not written yet
+    private static final int QUEUE_CAPACITY = 64;
+
+    private static final OutputFile END = new OutputFile() {
+        @Override
+        public String getRelativePath() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<File> getSourceFiles() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public byte[] asByteArray() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String asText() {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final BlockingQueue<OutputFile> queue = new ArrayBlockingQueue<OutputFile>(QUEUE_CAPACITY);
+    private final Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+            writeQueuedFiles();
+        }
+    }, "Kotlin output writer");
+    private volatile Throwable failure = null;
+
+    @NotNull
+    public static StreamingOutputWriter toDirectory(@NotNull OutputDirector outputDirector, @NotNull MessageCollector messageCollector) {
+        return new DirectoryWriter(outputDirector, messageCollector).start();
+    }
+
+    @NotNull
+    public static StreamingOutputWriter toJar(@NotNull File jarPath, @Nullable FqName mainClass, boolean includeRuntime, boolean compress) {
+        return new JarWriter(jarPath, mainClass, includeRuntime, compress).start();
+    }
+
+    @NotNull
+    private StreamingOutputWriter start() {
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    @Override
+    public void write(@NotNull OutputFile file) {
+        try {
+            queue.put(file);
+        }
+        catch (InterruptedException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+    }
+
+    /**
+     * Waits until all the files passed to {@link #write} are written. If the code generation succeeded, completes the output and
+     * rethrows the first exception thrown while writing. Otherwise, or if writing failed, the output is abandoned instead of being
+     * completed, so that a failed compilation neither leaves a truncated output nor deletes the results of the previous one
+     */
+    public void close(boolean generated) {
+        write(END);
+        try {
+            thread.join();
+        }
+        catch (InterruptedException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+
+        boolean completed = false;
+        try {
+            if (generated && failure == null) {
+                finish();
+                completed = true;
+            }
+        }
+        catch (Throwable e) {
+            failure = e;
+        }
+        finally {
+            closeOutput();
+            if (!completed) {
+                abandon();
+            }
+        }
+
+        // The exception thrown by the code generation is more relevant than the failures of writing
+        if (generated && failure != null) {
+            throw ExceptionUtils.rethrow(failure);
+        }
+    }
+
+    private void writeQueuedFiles() {
+        try {
+            while (true) {
+                OutputFile file = queue.take();
+                if (file == END) break;
+
+                // After a failure files are still taken from the queue, so that the code generation isn't blocked
+                if (failure != null) continue;
+                try {
+                    writeFile(file);
+                }
+                catch (Throwable e) {
+                    failure = e;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            failure = e;
+        }
+    }
+
+    protected abstract void writeFile(@NotNull OutputFile file) throws IOException;
+
+    protected void finish() throws IOException {
+    }
+
+    protected void closeOutput() {
+    }
+
+    protected void abandon() {
+    }
+
+    private static class DirectoryWriter extends StreamingOutputWriter {
+        private final OutputDirector outputDirector;
+        private final MessageCollector messageCollector;
+        private final OutputDirectoryUpdater updater = new OutputDirectoryUpdater();
+
+        private DirectoryWriter(@NotNull OutputDirector outputDirector, @NotNull MessageCollector messageCollector) {
+            this.outputDirector = outputDirector;
+            this.messageCollector = messageCollector;
+        }
+
+        @Override
+        protected void writeFile(@NotNull OutputFile file) throws IOException {
+            List<File> sources = file.getSourceFiles();
+            File outputDirectory = outputDirector.getOutputDirectory(sources);
+            File output = new File(outputDirectory, file.getRelativePath());
+            messageCollector.report(CompilerMessageSeverity.OUTPUT, OutputMessageUtil.formatOutputMessage(sources, output),
+                                    CompilerMessageLocation.NO_LOCATION);
+            updater.write(outputDirectory, file.getRelativePath(), sources, file.asByteArray());
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            updater.deleteStaleFilesAndSaveManifests();
+            updater.reportSummary(messageCollector);
+        }
+    }
+
+    private static class JarWriter extends StreamingOutputWriter {
+        private final File jarPath;
+        private final boolean includeRuntime;
+        private final boolean compress;
+        private final int dosTime = RawZipEntry.toDosTime(System.currentTimeMillis());
+        private final FileOutputStream outputStream;
+        private final RawZipOutputStream jarStream;
+
+        private JarWriter(@NotNull File jarPath, @Nullable FqName mainClass, boolean includeRuntime, boolean compress) {
+            this.jarPath = jarPath;
+            this.includeRuntime = includeRuntime;
+            this.compress = compress;
+            try {
+                outputStream = new FileOutputStream(jarPath);
+            }
+            catch (FileNotFoundException e) {
+                throw new CompileEnvironmentException("Invalid jar path " + jarPath, e);
+            }
+            try {
+                jarStream = CompileEnvironmentUtil.openJar(new BufferedOutputStream(outputStream), mainClass, dosTime, compress);
+            }
+            catch (IOException e) {
+                ExceptionUtils.closeQuietly(outputStream);
+                throw new CompileEnvironmentException("Failed to generate jar file", e);
+            }
+        }
+
+        @Override
+        protected void writeFile(@NotNull OutputFile file) throws IOException {
+            jarStream.putEntry(RawZipEntry.create(file.getRelativePath(), file.asByteArray(), dosTime, compress));
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            if (includeRuntime) {
+                CompileEnvironmentUtil.writeRuntimeToJar(jarStream);
+            }
+            jarStream.finish();
+        }
+
+        @Override
+        protected void closeOutput() {
+            ExceptionUtils.closeQuietly(outputStream);
+        }
+
+        @Override
+        protected void abandon() {
+            // A jar without its central directory can't be read
+            //noinspection ResultOfMethodCallIgnored
+            jarPath.delete();
+        }
+    }
+}
@@ -16,8 +16,12 @@
 
 package org.jetbrains.jet.lang.resolve.java;
 
-import org.jetbrains.jet.lang.descriptors.DeclarationDescriptor;
+import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaElement;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaField;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaMethod;
 import org.jetbrains.jet.util.slicedmap.Slices;
 import org.jetbrains.jet.util.slicedmap.WritableSlice;
 
@@ -30,6 +34,20 @@ public class JavaBindingContext {
 
     public static final WritableSlice<DeclarationDescriptor, List<String>> LOAD_FROM_JAVA_SIGNATURE_ERRORS = Slices.createCollectiveSlice();
 
+    // The following slices are used instead of BindingContext.CLASS, FUNCTION etc. for Java elements which are read from class files
+    // and thus have no PSI (see BinaryJavaClass)
+
+    public static final WritableSlice<DeclarationDescriptor, JavaElement> DESCRIPTOR_TO_BINARY_ELEMENT = Slices.createSimpleSlice();
+
+    public static final WritableSlice<JavaClass, ClassDescriptor> BINARY_CLASS =
+            Slices.<JavaClass, ClassDescriptor>sliceBuilder().setOpposite(DESCRIPTOR_TO_BINARY_ELEMENT).build();
+    public static final WritableSlice<JavaMethod, SimpleFunctionDescriptor> BINARY_FUNCTION =
+            Slices.<JavaMethod, SimpleFunctionDescriptor>sliceBuilder().setOpposite(DESCRIPTOR_TO_BINARY_ELEMENT).build();
+    public static final WritableSlice<JavaElement, ConstructorDescriptor> BINARY_CONSTRUCTOR =
+            Slices.<JavaElement, ConstructorDescriptor>sliceBuilder().setOpposite(DESCRIPTOR_TO_BINARY_ELEMENT).build();
+    public static final WritableSlice<JavaField, PropertyDescriptor> BINARY_VARIABLE =
+            Slices.<JavaField, PropertyDescriptor>sliceBuilder().setOpposite(DESCRIPTOR_TO_BINARY_ELEMENT).build();
+
     private JavaBindingContext() {
     }
 }
@@ -23,24 +23,41 @@ import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiPackage;
 import com.intellij.psi.search.DelegatingGlobalSearchScope;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaPackage;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaClassImpl;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaPackageImpl;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryJavaClassFinder;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.ClassFileFinder;
 import org.jetbrains.jet.lang.resolve.name.FqName;
 import org.jetbrains.jet.plugin.JetFileType;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class JavaClassFinderImpl implements JavaClassFinder {
+    private static final int MAX_CACHED_MISSES = 10000;
+
     @NotNull
     private Project project;
 
     private GlobalSearchScope javaSearchScope;
     private JavaPsiFacadeKotlinHacks javaFacade;
+    @Nullable
+    private BinaryJavaClassFinder binaryClassFinder;
+    @Nullable
+    private JavaPackageIndex packageIndex;
+    private CachedValue<MissedLookups> missedLookups;
 
     @Inject
     public void setProject(@NotNull Project project) {
@@ -73,13 +90,46 @@ public class JavaClassFinderImpl implements JavaClassFinder {
             }
         };
         javaFacade = new JavaPsiFacadeKotlinHacks(project);
+
+        ClassFileFinder classFileFinder = ClassFileFinder.SERVICE.getInstance(project);
+        if (classFileFinder != null) {
+            binaryClassFinder = new BinaryJavaClassFinder(project, classFileFinder);
+        }
+
+        packageIndex = JavaPackageIndex.SERVICE.getInstance(project);
+
+        // Any PSI change may add a class or a package, so the misses are forgotten on every modification.
+        // In the compiler nothing is modified and the cache is never dropped
+        missedLookups = CachedValuesManager.getManager(project).createCachedValue(
+                new CachedValueProvider<MissedLookups>() {
+                    @Nullable
+                    @Override
+                    public Result<MissedLookups> compute() {
+                        return new Result<MissedLookups>(new MissedLookups(), PsiModificationTracker.MODIFICATION_COUNT);
+                    }
+                },
+                false
+        );
     }
 
     @Nullable
     @Override
     public JavaClass findClass(@NotNull FqName fqName) {
+        if (packageIndex != null && !packageIndex.mayContainClass(fqName)) return null;
+
+        MissedLookups misses = missedLookups.getValue();
+        if (misses.contains(misses.classes, fqName)) return null;
+
+        if (binaryClassFinder != null) {
+            JavaClass binaryClass = binaryClassFinder.findClass(fqName);
+            if (binaryClass != null) return binaryClass;
+        }
+
         PsiClass psiClass = javaFacade.findClass(fqName.asString(), javaSearchScope);
-        if (psiClass == null) return null;
+        if (psiClass == null) {
+            misses.add(misses.classes, fqName);
+            return null;
+        }
 
         JavaClassImpl javaClass = new JavaClassImpl(psiClass);
 
@@ -97,7 +147,39 @@ public class JavaClassFinderImpl implements JavaClassFinder {
     @Nullable
     @Override
     public JavaPackage findPackage(@NotNull FqName fqName) {
+        if (packageIndex != null && !packageIndex.mayContainPackage(fqName)) return null;
+
+        MissedLookups misses = missedLookups.getValue();
+        if (misses.contains(misses.packages, fqName)) return null;
+
         PsiPackage psiPackage = javaFacade.findPackage(fqName.asString());
-        return psiPackage == null ? null : new JavaPackageImpl(psiPackage);
+        if (psiPackage == null) {
+            misses.add(misses.packages, fqName);
+            return null;
+        }
+        return new JavaPackageImpl(psiPackage);
+    }
+
+    private static class MissedLookups {
+        private final Set<FqName> classes = createBoundedSet();
+        private final Set<FqName> packages = createBoundedSet();
+
+        public synchronized boolean contains(@NotNull Set<FqName> set, @NotNull FqName fqName) {
+            return set.contains(fqName);
+        }
+
+        public synchronized void add(@NotNull Set<FqName> set, @NotNull FqName fqName) {
+            set.add(fqName);
+        }
+
+        @NotNull
+        private static Set<FqName> createBoundedSet() {
+            return Collections.newSetFromMap(new LinkedHashMap<FqName, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<FqName, Boolean> eldest) {
+                    return size() > MAX_CACHED_MISSES;
+                }
+            });
+        }
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+/**
+ * Knows which packages and top-level classes exist on the class path. Used by {@link JavaClassFinderImpl} to answer lookups
+ * of non-existent classes and packages without going through PSI. Answers may be false positives, but never false negatives
+ */
+public interface JavaPackageIndex {
+    class SERVICE {
+        @Nullable
+        public static JavaPackageIndex getInstance(@NotNull Project project) {
+            return ServiceManager.getService(project, JavaPackageIndex.class);
+        }
+    }
+
+    boolean mayContainPackage(@NotNull FqName packageFqName);
+
+    /**
+     * @param classFqName fully qualified name of a class, possibly nested
+     * @return false if there is definitely no such class on the class path
+     */
+    boolean mayContainClass(@NotNull FqName classFqName);
+}
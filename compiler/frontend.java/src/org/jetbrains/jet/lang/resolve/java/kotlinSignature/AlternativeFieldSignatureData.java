@@ -17,14 +17,12 @@
 package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
 
 import com.intellij.openapi.project.Project;
-import com.intellij.util.containers.ComparatorUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.lang.descriptors.TypeParameterDescriptor;
 import org.jetbrains.jet.lang.descriptors.impl.TypeParameterDescriptorImpl;
-import org.jetbrains.jet.lang.psi.JetProperty;
-import org.jetbrains.jet.lang.psi.JetPsiFactory;
 import org.jetbrains.jet.lang.resolve.java.resolver.JavaAnnotationResolver;
-import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaFieldImpl;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaField;
 import org.jetbrains.jet.lang.types.JetType;
 
 import java.util.HashMap;
@@ -34,11 +32,13 @@ public class AlternativeFieldSignatureData extends ElementAlternativeSignatureDa
 
     public AlternativeFieldSignatureData(
             @NotNull JavaAnnotationResolver annotationResolver,
-            @NotNull JavaFieldImpl field,
+            @NotNull Project project,
+            @NotNull JavaField field,
             @NotNull JetType originalReturnType,
             boolean isVar
     ) {
-        String signature = SignaturesUtil.getKotlinSignature(annotationResolver, field);
+        JavaAnnotation annotation = annotationResolver.findAnnotationWithExternal(field, SignaturesUtil.KOTLIN_SIGNATURE);
+        String signature = annotation == null ? null : SignaturesUtil.getKotlinSignature(annotation);
 
         if (signature == null) {
             setAnnotated(false);
@@ -46,13 +46,11 @@ public class AlternativeFieldSignatureData extends ElementAlternativeSignatureDa
         }
 
         setAnnotated(true);
-        Project project = field.getPsi().getProject();
-        JetProperty altPropertyDeclaration = JetPsiFactory.createProperty(project, signature);
 
         try {
-            checkForSyntaxErrors(altPropertyDeclaration);
-            checkFieldAnnotation(altPropertyDeclaration, field, isVar);
-            altReturnType = computeReturnType(originalReturnType, altPropertyDeclaration.getTypeRef(),
+            KotlinSignatureTree.Property altProperty = SignaturesUtil.parsePropertySignature(project, annotation, signature);
+            checkFieldAnnotation(altProperty, field, isVar);
+            altReturnType = computeReturnType(originalReturnType, altProperty.getType(),
                                               new HashMap<TypeParameterDescriptor, TypeParameterDescriptorImpl>());
         }
         catch (AlternativeSignatureMismatchException e) {
@@ -66,17 +64,17 @@ public class AlternativeFieldSignatureData extends ElementAlternativeSignatureDa
         return altReturnType;
     }
 
-    private static void checkFieldAnnotation(@NotNull JetProperty altProperty, @NotNull JavaFieldImpl field, boolean isVar) {
-        if (!ComparatorUtil.equalsNullable(field.getName().asString(), altProperty.getName())) {
+    private static void checkFieldAnnotation(@NotNull KotlinSignatureTree.Property altProperty, @NotNull JavaField field, boolean isVar) {
+        if (!field.getName().equals(altProperty.getName())) {
             throw new AlternativeSignatureMismatchException("Field name mismatch, original: %s, alternative: %s",
                                                             field.getName().asString(), altProperty.getName());
         }
 
-        if (altProperty.getTypeRef() == null) {
+        if (altProperty.getType() == null) {
             throw new AlternativeSignatureMismatchException("Field annotation for shouldn't have type reference");
         }
 
-        if (altProperty.getGetter() != null || altProperty.getSetter() != null) {
+        if (altProperty.hasAccessors()) {
             throw new AlternativeSignatureMismatchException("Field annotation for shouldn't have getters and setters");
         }
 
@@ -84,7 +82,7 @@ public class AlternativeFieldSignatureData extends ElementAlternativeSignatureDa
             throw new AlternativeSignatureMismatchException("Wrong mutability in annotation for field");
         }
 
-        if (altProperty.getInitializer() != null) {
+        if (altProperty.hasInitializer()) {
             throw new AlternativeSignatureMismatchException("Default value is not expected in annotation for field");
         }
     }
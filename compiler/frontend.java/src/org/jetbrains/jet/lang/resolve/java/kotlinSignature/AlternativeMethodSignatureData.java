@@ -17,19 +17,16 @@
 package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
 
 import com.intellij.openapi.project.Project;
-import com.intellij.psi.PsiNamedElement;
-import com.intellij.util.containers.ComparatorUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.lang.descriptors.TypeParameterDescriptor;
 import org.jetbrains.jet.lang.descriptors.ValueParameterDescriptor;
 import org.jetbrains.jet.lang.descriptors.impl.TypeParameterDescriptorImpl;
 import org.jetbrains.jet.lang.descriptors.impl.ValueParameterDescriptorImpl;
-import org.jetbrains.jet.lang.psi.*;
 import org.jetbrains.jet.lang.resolve.java.resolver.DescriptorResolverUtils;
 import org.jetbrains.jet.lang.resolve.java.resolver.JavaAnnotationResolver;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaMethod;
-import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaMethodImpl;
 import org.jetbrains.jet.lang.resolve.name.Name;
 import org.jetbrains.jet.lang.types.JetType;
 import org.jetbrains.jet.lang.types.TypeSubstitutor;
@@ -46,7 +43,7 @@ import static org.jetbrains.jet.lang.resolve.java.resolver.TypeUsage.MEMBER_SIGN
 import static org.jetbrains.jet.lang.resolve.java.resolver.TypeUsage.UPPER_BOUND;
 
 public class AlternativeMethodSignatureData extends ElementAlternativeSignatureData {
-    private final JetNamedFunction altFunDeclaration;
+    private KotlinSignatureTree.Function altFunDeclaration;
 
     private List<ValueParameterDescriptor> altValueParameters;
     private JetType altReturnType;
@@ -56,14 +53,16 @@ public class AlternativeMethodSignatureData extends ElementAlternativeSignatureD
 
     public AlternativeMethodSignatureData(
             @NotNull JavaAnnotationResolver annotationResolver,
-            @NotNull JavaMethodImpl method,
+            @NotNull Project project,
+            @NotNull JavaMethod method,
             @Nullable JetType receiverType,
             @NotNull List<ValueParameterDescriptor> valueParameters,
             @Nullable JetType originalReturnType,
             @NotNull List<TypeParameterDescriptor> methodTypeParameters,
             boolean hasSuperMethods
     ) {
-        String signature = SignaturesUtil.getKotlinSignature(annotationResolver, method);
+        JavaAnnotation annotation = annotationResolver.findAnnotationWithExternal(method, SignaturesUtil.KOTLIN_SIGNATURE);
+        String signature = annotation == null ? null : SignaturesUtil.getKotlinSignature(annotation);
 
         if (signature == null) {
             setAnnotated(false);
@@ -76,20 +75,18 @@ public class AlternativeMethodSignatureData extends ElementAlternativeSignatureD
         }
 
         setAnnotated(true);
-        Project project = method.getPsi().getProject();
-        altFunDeclaration = JetPsiFactory.createFunction(project, signature);
 
         originalToAltTypeParameters = DescriptorResolverUtils.recreateTypeParametersAndReturnMapping(methodTypeParameters, null);
 
         try {
-            checkForSyntaxErrors(altFunDeclaration);
+            altFunDeclaration = SignaturesUtil.parseFunctionSignature(project, annotation, signature);
             checkEqualFunctionNames(altFunDeclaration, method);
 
             computeTypeParameters(methodTypeParameters);
             computeValueParameters(valueParameters);
 
             if (originalReturnType != null) {
-                altReturnType = computeReturnType(originalReturnType, altFunDeclaration.getReturnTypeRef(), originalToAltTypeParameters);
+                altReturnType = computeReturnType(originalReturnType, altFunDeclaration.getReturnType(), originalToAltTypeParameters);
             }
 
             if (hasSuperMethods) {
@@ -175,18 +172,15 @@ public class AlternativeMethodSignatureData extends ElementAlternativeSignatureD
         List<ValueParameterDescriptor> altParamDescriptors = new ArrayList<ValueParameterDescriptor>();
         for (int i = 0, size = parameterDescriptors.size(); i < size; i++) {
             ValueParameterDescriptor originalParameterDescriptor = parameterDescriptors.get(i);
-            JetParameter annotationValueParameter = altFunDeclaration.getValueParameters().get(i);
-
-            //noinspection ConstantConditions
-            JetTypeElement alternativeTypeElement = annotationValueParameter.getTypeReference().getTypeElement();
-            assert alternativeTypeElement != null;
+            KotlinSignatureTree.ValueParameter annotationValueParameter = altFunDeclaration.getValueParameters().get(i);
+            KotlinSignatureTree.Type alternativeTypeElement = annotationValueParameter.getType();
 
             JetType alternativeType;
             JetType alternativeVarargElementType;
 
             JetType originalParamVarargElementType = originalParameterDescriptor.getVarargElementType();
             if (originalParamVarargElementType == null) {
-                if (annotationValueParameter.isVarArg()) {
+                if (annotationValueParameter.isVararg()) {
                     throw new AlternativeSignatureMismatchException("Parameter in method signature is not vararg, but in alternative signature it is vararg");
                 }
 
@@ -194,7 +188,7 @@ public class AlternativeMethodSignatureData extends ElementAlternativeSignatureD
                 alternativeVarargElementType = null;
             }
             else {
-                if (!annotationValueParameter.isVarArg()) {
+                if (!annotationValueParameter.isVararg()) {
                     throw new AlternativeSignatureMismatchException("Parameter in method signature is vararg, but in alternative signature it is not");
                 }
 
@@ -228,36 +222,33 @@ public class AlternativeMethodSignatureData extends ElementAlternativeSignatureD
             TypeParameterDescriptor originalTypeParamDescriptor = typeParameters.get(i);
 
             TypeParameterDescriptorImpl altParamDescriptor = originalToAltTypeParameters.get(originalTypeParamDescriptor);
-            JetTypeParameter altTypeParameter = altFunDeclaration.getTypeParameters().get(i);
+            KotlinSignatureTree.TypeParameter altTypeParameter = altFunDeclaration.getTypeParameters().get(i);
 
             int upperBoundIndex = 0;
             for (JetType upperBound : originalTypeParamDescriptor.getUpperBounds()) {
-                JetTypeElement altTypeElement;
+                KotlinSignatureTree.Type altTypeElement;
 
                 if (upperBoundIndex == 0) {
-                    JetTypeReference extendsBound = altTypeParameter.getExtendsBound();
+                    KotlinSignatureTree.Type extendsBound = altTypeParameter.getExtendsBound();
                     if (extendsBound == null) { // default upper bound
                         assert originalTypeParamDescriptor.getUpperBounds().size() == 1;
                         altParamDescriptor.addDefaultUpperBound();
                         break;
                     }
                     else {
-                        altTypeElement = extendsBound.getTypeElement();
+                        altTypeElement = extendsBound;
                     }
                 }
                 else {
-                    JetTypeConstraint constraint =
+                    KotlinSignatureTree.TypeConstraint constraint =
                             findTypeParameterConstraint(altFunDeclaration, originalTypeParamDescriptor.getName(), upperBoundIndex);
                     if (constraint == null) {
                         throw new AlternativeSignatureMismatchException("Upper bound #%d for type parameter %s is missing",
                                                                         upperBoundIndex, originalTypeParamDescriptor.getName());
                     }
-                    //noinspection ConstantConditions
-                    altTypeElement = constraint.getBoundTypeReference().getTypeElement();
+                    altTypeElement = constraint.getBound();
                 }
 
-                assert (altTypeElement != null);
-
                 altParamDescriptor.addUpperBound(TypeTransformingVisitor.computeType(altTypeElement, upperBound,
                                                                                      originalToAltTypeParameters, UPPER_BOUND));
                 upperBoundIndex++;
@@ -273,13 +264,15 @@ public class AlternativeMethodSignatureData extends ElementAlternativeSignatureD
     }
 
     @Nullable
-    private static JetTypeConstraint findTypeParameterConstraint(@NotNull JetFunction function, @NotNull Name typeParameterName, int index) {
+    private static KotlinSignatureTree.TypeConstraint findTypeParameterConstraint(
+            @NotNull KotlinSignatureTree.Function function,
+            @NotNull Name typeParameterName,
+            int index
+    ) {
         if (index != 0) {
             int currentIndex = 0;
-            for (JetTypeConstraint constraint : function.getTypeConstraints()) {
-                JetSimpleNameExpression parameterName = constraint.getSubjectTypeParameterName();
-                assert parameterName != null;
-                if (typeParameterName.equals(parameterName.getReferencedNameAsName())) {
+            for (KotlinSignatureTree.TypeConstraint constraint : function.getTypeConstraints()) {
+                if (typeParameterName.equals(constraint.getTypeParameterName())) {
                     currentIndex++;
                 }
                 if (currentIndex == index) {
@@ -290,10 +283,10 @@ public class AlternativeMethodSignatureData extends ElementAlternativeSignatureD
         return null;
     }
 
-    private static void checkEqualFunctionNames(@NotNull PsiNamedElement namedElement, @NotNull JavaMethod method) {
-        if (!ComparatorUtil.equalsNullable(method.getName().asString(), namedElement.getName())) {
+    private static void checkEqualFunctionNames(@NotNull KotlinSignatureTree.Function function, @NotNull JavaMethod method) {
+        if (!method.getName().equals(function.getName())) {
             throw new AlternativeSignatureMismatchException("Function names mismatch, original: %s, alternative: %s",
-                                                            method.getName().asString(), namedElement.getName());
+                                                            method.getName().asString(), function.getName().asString());
         }
     }
 }
@@ -22,8 +22,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.lang.descriptors.TypeParameterDescriptor;
 import org.jetbrains.jet.lang.descriptors.impl.TypeParameterDescriptorImpl;
-import org.jetbrains.jet.lang.psi.JetTypeElement;
-import org.jetbrains.jet.lang.psi.JetTypeReference;
 import org.jetbrains.jet.lang.resolve.AnalyzingUtils;
 import org.jetbrains.jet.lang.types.JetType;
 import org.jetbrains.jet.lang.types.lang.KotlinBuiltIns;
@@ -88,9 +86,9 @@ public abstract class ElementAlternativeSignatureData {
 
     protected static JetType computeReturnType(
             @NotNull JetType originalType,
-            @Nullable JetTypeReference altReturnTypeReference,
+            @Nullable KotlinSignatureTree.Type altReturnType,
             @NotNull Map<TypeParameterDescriptor, TypeParameterDescriptorImpl> originalToAltTypeParameters) {
-        if (altReturnTypeReference == null) {
+        if (altReturnType == null) {
             if (KotlinBuiltIns.getInstance().isUnit(originalType)) {
                 return originalType;
             }
@@ -101,9 +99,6 @@ public abstract class ElementAlternativeSignatureData {
             }
         }
 
-        JetTypeElement typeElement = altReturnTypeReference.getTypeElement();
-        assert (typeElement != null);
-
-        return TypeTransformingVisitor.computeType(typeElement, originalType, originalToAltTypeParameters, MEMBER_SIGNATURE_COVARIANT);
+        return TypeTransformingVisitor.computeType(altReturnType, originalType, originalToAltTypeParameters, MEMBER_SIGNATURE_COVARIANT);
     }
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.psi.JetProjectionKind;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed form of a Kotlin signature string (the value of {@link jet.runtime.typeinfo.KotlinSignature}),
+ * independent of PSI so that it can be precomputed and stored in external annotations index
+ */
+public class KotlinSignatureTree {
+    private KotlinSignatureTree() {
+    }
+
+    public enum TypeKind {
+        USER,
+        FUNCTION,
+        EXTENSION_FUNCTION,
+        NULLABLE,
+        SELF
+    }
+
+    public static class Type {
+        private final TypeKind kind;
+        private final String text;
+        private final String qualifiedName;
+        private final List<TypeArgument> arguments;
+        private final Type innerType;
+
+        private Type(
+                @NotNull TypeKind kind,
+                @NotNull String text,
+                @Nullable String qualifiedName,
+                @NotNull List<TypeArgument> arguments,
+                @Nullable Type innerType
+        ) {
+            this.kind = kind;
+            this.text = text;
+            this.qualifiedName = qualifiedName;
+            this.arguments = arguments;
+            this.innerType = innerType;
+        }
+
+        @NotNull
+        public static Type userType(@NotNull String text, @NotNull String qualifiedName, @NotNull List<TypeArgument> arguments) {
+            return new Type(TypeKind.USER, text, qualifiedName, arguments, null);
+        }
+
+        @NotNull
+        public static Type functionType(@NotNull String text, boolean isExtension, @NotNull List<TypeArgument> arguments) {
+            return new Type(isExtension ? TypeKind.EXTENSION_FUNCTION : TypeKind.FUNCTION, text, null, arguments, null);
+        }
+
+        @NotNull
+        public static Type nullableType(@NotNull String text, @NotNull Type innerType) {
+            return new Type(TypeKind.NULLABLE, text, null, Collections.<TypeArgument>emptyList(), innerType);
+        }
+
+        @NotNull
+        public static Type selfType(@NotNull String text) {
+            return new Type(TypeKind.SELF, text, null, Collections.<TypeArgument>emptyList(), null);
+        }
+
+        @NotNull
+        public TypeKind getKind() {
+            return kind;
+        }
+
+        @NotNull
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Name of the class as written in the signature (possibly qualified), only for {@link TypeKind#USER}
+         */
+        @Nullable
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        /**
+         * Type arguments of a user type, or receiver, parameter and return types of a function type
+         */
+        @NotNull
+        public List<TypeArgument> getArguments() {
+            return arguments;
+        }
+
+        @Nullable
+        public Type getInnerType() {
+            return innerType;
+        }
+
+        /**
+         * Number of value parameters of a function type, not counting the receiver
+         */
+        public int getFunctionParameterCount() {
+            return arguments.size() - (kind == TypeKind.EXTENSION_FUNCTION ? 2 : 1);
+        }
+    }
+
+    public static class TypeArgument {
+        private final JetProjectionKind projectionKind;
+        private final Type type;
+
+        public TypeArgument(@NotNull JetProjectionKind projectionKind, @Nullable Type type) {
+            this.projectionKind = projectionKind;
+            this.type = type;
+        }
+
+        @NotNull
+        public JetProjectionKind getProjectionKind() {
+            return projectionKind;
+        }
+
+        /**
+         * @return null for star projection
+         */
+        @Nullable
+        public Type getType() {
+            return type;
+        }
+    }
+
+    public static abstract class Declaration {
+        private final Name name;
+
+        protected Declaration(@NotNull Name name) {
+            this.name = name;
+        }
+
+        @NotNull
+        public Name getName() {
+            return name;
+        }
+    }
+
+    public static class TypeParameter {
+        private final Name name;
+        private final Type extendsBound;
+
+        public TypeParameter(@NotNull Name name, @Nullable Type extendsBound) {
+            this.name = name;
+            this.extendsBound = extendsBound;
+        }
+
+        @NotNull
+        public Name getName() {
+            return name;
+        }
+
+        @Nullable
+        public Type getExtendsBound() {
+            return extendsBound;
+        }
+    }
+
+    public static class TypeConstraint {
+        private final Name typeParameterName;
+        private final Type bound;
+
+        public TypeConstraint(@NotNull Name typeParameterName, @NotNull Type bound) {
+            this.typeParameterName = typeParameterName;
+            this.bound = bound;
+        }
+
+        @NotNull
+        public Name getTypeParameterName() {
+            return typeParameterName;
+        }
+
+        @NotNull
+        public Type getBound() {
+            return bound;
+        }
+    }
+
+    public static class ValueParameter {
+        private final boolean isVararg;
+        private final Type type;
+
+        public ValueParameter(boolean isVararg, @NotNull Type type) {
+            this.isVararg = isVararg;
+            this.type = type;
+        }
+
+        public boolean isVararg() {
+            return isVararg;
+        }
+
+        @NotNull
+        public Type getType() {
+            return type;
+        }
+    }
+
+    public static class Function extends Declaration {
+        private final List<TypeParameter> typeParameters;
+        private final List<TypeConstraint> typeConstraints;
+        private final List<ValueParameter> valueParameters;
+        private final Type returnType;
+
+        public Function(
+                @NotNull Name name,
+                @NotNull List<TypeParameter> typeParameters,
+                @NotNull List<TypeConstraint> typeConstraints,
+                @NotNull List<ValueParameter> valueParameters,
+                @Nullable Type returnType
+        ) {
+            super(name);
+            this.typeParameters = typeParameters;
+            this.typeConstraints = typeConstraints;
+            this.valueParameters = valueParameters;
+            this.returnType = returnType;
+        }
+
+        @NotNull
+        public List<TypeParameter> getTypeParameters() {
+            return typeParameters;
+        }
+
+        @NotNull
+        public List<TypeConstraint> getTypeConstraints() {
+            return typeConstraints;
+        }
+
+        @NotNull
+        public List<ValueParameter> getValueParameters() {
+            return valueParameters;
+        }
+
+        @Nullable
+        public Type getReturnType() {
+            return returnType;
+        }
+    }
+
+    public static class Property extends Declaration {
+        private final boolean isVar;
+        private final Type type;
+        private final boolean hasAccessors;
+        private final boolean hasInitializer;
+
+        public Property(@NotNull Name name, boolean isVar, @Nullable Type type, boolean hasAccessors, boolean hasInitializer) {
+            super(name);
+            this.isVar = isVar;
+            this.type = type;
+            this.hasAccessors = hasAccessors;
+            this.hasInitializer = hasInitializer;
+        }
+
+        public boolean isVar() {
+            return isVar;
+        }
+
+        @Nullable
+        public Type getType() {
+            return type;
+        }
+
+        public boolean hasAccessors() {
+            return hasAccessors;
+        }
+
+        public boolean hasInitializer() {
+            return hasInitializer;
+        }
+    }
+}
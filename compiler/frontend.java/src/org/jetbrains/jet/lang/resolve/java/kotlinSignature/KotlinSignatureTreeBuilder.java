@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
+
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jetbrains.jet.lang.resolve.java.kotlinSignature.KotlinSignatureTree.*;
+
+public class KotlinSignatureTreeBuilder {
+    private KotlinSignatureTreeBuilder() {
+    }
+
+    /**
+     * @throws AlternativeSignatureMismatchException if the signature has syntax errors
+     */
+    @NotNull
+    public static Function parseFunction(@NotNull Project project, @NotNull String signature) {
+        JetNamedFunction function = JetPsiFactory.createFunction(project, signature);
+        ElementAlternativeSignatureData.checkForSyntaxErrors(function);
+
+        List<TypeParameter> typeParameters = new ArrayList<TypeParameter>();
+        for (JetTypeParameter typeParameter : function.getTypeParameters()) {
+            typeParameters.add(new TypeParameter(typeParameter.getNameAsSafeName(), buildType(typeParameter.getExtendsBound())));
+        }
+
+        List<TypeConstraint> typeConstraints = new ArrayList<TypeConstraint>();
+        for (JetTypeConstraint constraint : function.getTypeConstraints()) {
+            JetSimpleNameExpression parameterName = constraint.getSubjectTypeParameterName();
+            assert parameterName != null;
+            Type bound = buildType(constraint.getBoundTypeReference());
+            assert bound != null;
+            typeConstraints.add(new TypeConstraint(parameterName.getReferencedNameAsName(), bound));
+        }
+
+        List<ValueParameter> valueParameters = new ArrayList<ValueParameter>();
+        for (JetParameter parameter : function.getValueParameters()) {
+            Type type = buildType(parameter.getTypeReference());
+            assert type != null;
+            valueParameters.add(new ValueParameter(parameter.isVarArg(), type));
+        }
+
+        return new Function(function.getNameAsSafeName(), typeParameters, typeConstraints, valueParameters,
+                            buildType(function.getReturnTypeRef()));
+    }
+
+    /**
+     * @throws AlternativeSignatureMismatchException if the signature has syntax errors
+     */
+    @NotNull
+    public static Property parseProperty(@NotNull Project project, @NotNull String signature) {
+        JetProperty property = JetPsiFactory.createProperty(project, signature);
+        ElementAlternativeSignatureData.checkForSyntaxErrors(property);
+
+        return new Property(property.getNameAsSafeName(), property.isVar(), buildType(property.getTypeRef()),
+                            property.getGetter() != null || property.getSetter() != null, property.getInitializer() != null);
+    }
+
+    @Nullable
+    private static Type buildType(@Nullable JetTypeReference typeReference) {
+        if (typeReference == null) return null;
+        JetTypeElement typeElement = typeReference.getTypeElement();
+        assert typeElement != null : "No type element: " + typeReference.getText();
+        return buildType(typeElement);
+    }
+
+    @NotNull
+    private static Type buildType(@NotNull JetTypeElement typeElement) {
+        String text = typeElement.getText();
+
+        if (typeElement instanceof JetNullableType) {
+            JetTypeElement innerType = ((JetNullableType) typeElement).getInnerType();
+            assert innerType != null : "No inner type: " + text;
+            return Type.nullableType(text, buildType(innerType));
+        }
+        else if (typeElement instanceof JetFunctionType) {
+            JetFunctionType functionType = (JetFunctionType) typeElement;
+            List<TypeArgument> arguments = new ArrayList<TypeArgument>();
+            for (JetTypeReference argument : functionType.getTypeArgumentsAsTypes()) {
+                arguments.add(new TypeArgument(JetProjectionKind.NONE, buildType(argument)));
+            }
+            return Type.functionType(text, functionType.getReceiverTypeRef() != null, arguments);
+        }
+        else if (typeElement instanceof JetUserType) {
+            JetUserType userType = (JetUserType) typeElement;
+            JetUserType qualifier = userType.getQualifier();
+            String shortName = userType.getReferencedName();
+            assert shortName != null : "No reference expression: " + text;
+            String qualifiedName = (qualifier == null ? "" : qualifier.getText() + ".") + shortName;
+
+            List<TypeArgument> arguments = new ArrayList<TypeArgument>();
+            for (JetTypeProjection projection : userType.getTypeArguments()) {
+                arguments.add(new TypeArgument(projection.getProjectionKind(), buildType(projection.getTypeReference())));
+            }
+            return Type.userType(text, qualifiedName, arguments);
+        }
+        else if (typeElement instanceof JetSelfType) {
+            return Type.selfType(text);
+        }
+        throw new AlternativeSignatureMismatchException("Unsupported type in alternative signature: %s", text);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.psi.JetProjectionKind;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jetbrains.jet.lang.resolve.java.kotlinSignature.KotlinSignatureTree.*;
+
+public class KotlinSignatureTreeSerializer {
+    private static final int FUNCTION = 0;
+    private static final int PROPERTY = 1;
+
+    private static final int NO_TYPE = 0;
+    private static final int HAS_TYPE = 1;
+
+    private KotlinSignatureTreeSerializer() {
+    }
+
+    public static void writeDeclaration(@NotNull DataOutput out, @NotNull Declaration declaration) throws IOException {
+        if (declaration instanceof Function) {
+            Function function = (Function) declaration;
+            out.writeByte(FUNCTION);
+            out.writeUTF(function.getName().asString());
+
+            out.writeShort(function.getTypeParameters().size());
+            for (TypeParameter typeParameter : function.getTypeParameters()) {
+                out.writeUTF(typeParameter.getName().asString());
+                writeNullableType(out, typeParameter.getExtendsBound());
+            }
+
+            out.writeShort(function.getTypeConstraints().size());
+            for (TypeConstraint constraint : function.getTypeConstraints()) {
+                out.writeUTF(constraint.getTypeParameterName().asString());
+                writeType(out, constraint.getBound());
+            }
+
+            out.writeShort(function.getValueParameters().size());
+            for (ValueParameter parameter : function.getValueParameters()) {
+                out.writeBoolean(parameter.isVararg());
+                writeType(out, parameter.getType());
+            }
+
+            writeNullableType(out, function.getReturnType());
+        }
+        else if (declaration instanceof Property) {
+            Property property = (Property) declaration;
+            out.writeByte(PROPERTY);
+            out.writeUTF(property.getName().asString());
+            out.writeBoolean(property.isVar());
+            writeNullableType(out, property.getType());
+            out.writeBoolean(property.hasAccessors());
+            out.writeBoolean(property.hasInitializer());
+        }
+        else {
+            throw new IllegalArgumentException("Unknown declaration: " + declaration);
+        }
+    }
+
+    @NotNull
+    public static Declaration readDeclaration(@NotNull DataInput in) throws IOException {
+        int kind = in.readByte();
+        Name name = Name.guess(in.readUTF());
+        switch (kind) {
+            case FUNCTION:
+                int typeParameterCount = in.readShort();
+                List<TypeParameter> typeParameters = new ArrayList<TypeParameter>(typeParameterCount);
+                for (int i = 0; i < typeParameterCount; i++) {
+                    typeParameters.add(new TypeParameter(Name.guess(in.readUTF()), readNullableType(in)));
+                }
+
+                int typeConstraintCount = in.readShort();
+                List<TypeConstraint> typeConstraints = new ArrayList<TypeConstraint>(typeConstraintCount);
+                for (int i = 0; i < typeConstraintCount; i++) {
+                    typeConstraints.add(new TypeConstraint(Name.guess(in.readUTF()), readType(in)));
+                }
+
+                int valueParameterCount = in.readShort();
+                List<ValueParameter> valueParameters = new ArrayList<ValueParameter>(valueParameterCount);
+                for (int i = 0; i < valueParameterCount; i++) {
+                    valueParameters.add(new ValueParameter(in.readBoolean(), readType(in)));
+                }
+
+                return new Function(name, typeParameters, typeConstraints, valueParameters, readNullableType(in));
+            case PROPERTY:
+                boolean isVar = in.readBoolean();
+                Type type = readNullableType(in);
+                boolean hasAccessors = in.readBoolean();
+                boolean hasInitializer = in.readBoolean();
+                return new Property(name, isVar, type, hasAccessors, hasInitializer);
+            default:
+                throw new IllegalStateException("Unknown declaration kind: " + kind);
+        }
+    }
+
+    private static void writeNullableType(@NotNull DataOutput out, @Nullable Type type) throws IOException {
+        if (type == null) {
+            out.writeByte(NO_TYPE);
+        }
+        else {
+            out.writeByte(HAS_TYPE);
+            writeType(out, type);
+        }
+    }
+
+    @Nullable
+    private static Type readNullableType(@NotNull DataInput in) throws IOException {
+        return in.readByte() == NO_TYPE ? null : readType(in);
+    }
+
+    private static void writeType(@NotNull DataOutput out, @NotNull Type type) throws IOException {
+        out.writeByte(type.getKind().ordinal());
+        out.writeUTF(type.getText());
+        switch (type.getKind()) {
+            case USER:
+                //noinspection ConstantConditions
+                out.writeUTF(type.getQualifiedName());
+                writeArguments(out, type.getArguments());
+                break;
+            case FUNCTION:
+            case EXTENSION_FUNCTION:
+                writeArguments(out, type.getArguments());
+                break;
+            case NULLABLE:
+                //noinspection ConstantConditions
+                writeType(out, type.getInnerType());
+                break;
+            case SELF:
+                break;
+        }
+    }
+
+    @NotNull
+    private static Type readType(@NotNull DataInput in) throws IOException {
+        TypeKind kind = TypeKind.values()[in.readByte()];
+        String text = in.readUTF();
+        switch (kind) {
+            case USER:
+                String qualifiedName = in.readUTF();
+                return Type.userType(text, qualifiedName, readArguments(in));
+            case FUNCTION:
+            case EXTENSION_FUNCTION:
+                return Type.functionType(text, kind == TypeKind.EXTENSION_FUNCTION, readArguments(in));
+            case NULLABLE:
+                return Type.nullableType(text, readType(in));
+            case SELF:
+                return Type.selfType(text);
+            default:
+                throw new IllegalStateException("Unknown type kind: " + kind);
+        }
+    }
+
+    private static void writeArguments(@NotNull DataOutput out, @NotNull List<TypeArgument> arguments) throws IOException {
+        out.writeShort(arguments.size());
+        for (TypeArgument argument : arguments) {
+            out.writeByte(argument.getProjectionKind().ordinal());
+            writeNullableType(out, argument.getType());
+        }
+    }
+
+    @NotNull
+    private static List<TypeArgument> readArguments(@NotNull DataInput in) throws IOException {
+        int count = in.readShort();
+        List<TypeArgument> arguments = new ArrayList<TypeArgument>(count);
+        for (int i = 0; i < count; i++) {
+            JetProjectionKind projectionKind = JetProjectionKind.values()[in.readByte()];
+            arguments.add(new TypeArgument(projectionKind, readNullableType(in)));
+        }
+        return arguments;
+    }
+}
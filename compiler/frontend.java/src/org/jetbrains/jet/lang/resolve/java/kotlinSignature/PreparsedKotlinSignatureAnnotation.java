@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.PlainJavaAnnotation;
+
+/**
+ * {@link jet.runtime.typeinfo.KotlinSignature} annotation loaded from the external annotations index,
+ * which carries the signature already parsed at the time the index was built
+ */
+public class PreparsedKotlinSignatureAnnotation extends PlainJavaAnnotation {
+    private final KotlinSignatureTree.Declaration signature;
+
+    public PreparsedKotlinSignatureAnnotation(@NotNull KotlinSignatureTree.Declaration signature) {
+        super(SignaturesUtil.KOTLIN_SIGNATURE);
+        this.signature = signature;
+    }
+
+    @NotNull
+    public KotlinSignatureTree.Declaration getSignature() {
+        return signature;
+    }
+}
@@ -29,8 +29,9 @@ import org.jetbrains.jet.lang.descriptors.TypeParameterDescriptor;
 import org.jetbrains.jet.lang.descriptors.Visibilities;
 import org.jetbrains.jet.lang.resolve.java.resolver.JavaSupertypeResolver;
 import org.jetbrains.jet.lang.resolve.java.structure.*;
-import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaMethodImpl;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaTypeSubstitutorImpl;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.PlainJavaClassifierType;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.PlainJavaTypeSubstitutor;
 import org.jetbrains.jet.lang.resolve.name.Name;
 import org.jetbrains.jet.lang.resolve.scopes.JetScope;
 import org.jetbrains.jet.lang.types.JetType;
@@ -124,10 +125,9 @@ class PropagationHeuristics {
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     @NotNull
-    static List<JavaMethodImpl> getSuperMethods(@NotNull JavaMethod method) {
-        return (List) new SuperMethodCollector(method).collect();
+    static List<JavaMethod> getSuperMethods(@NotNull JavaMethod method, @NotNull SignaturesPropagationCache cache) {
+        return new SuperMethodCollector(method, cache).collect();
     }
 
     private PropagationHeuristics() {
@@ -135,14 +135,16 @@ class PropagationHeuristics {
 
     private static class SuperMethodCollector {
         private final JavaMethod initialMethod;
+        private final SignaturesPropagationCache cache;
         private final Name initialMethodName;
         private final List<JavaType> initialParametersErasure;
 
         private final Set<JavaClass> visitedSuperclasses = Sets.newHashSet();
         private final List<JavaMethod> collectedMethods = Lists.newArrayList();
 
-        private SuperMethodCollector(@NotNull JavaMethod initialMethod) {
+        private SuperMethodCollector(@NotNull JavaMethod initialMethod, @NotNull SignaturesPropagationCache cache) {
             this.initialMethod = initialMethod;
+            this.cache = cache;
             initialMethodName = initialMethod.getName();
 
             Collection<JavaValueParameter> valueParameters = initialMethod.getValueParameters();
@@ -172,11 +174,14 @@ class PropagationHeuristics {
             JavaClass klass = (JavaClass) classifier;
             if (!visitedSuperclasses.add(klass)) return;
 
-            JavaTypeSubstitutor supertypeSubstitutor = getErasedSubstitutor(type);
-            for (JavaMethod methodFromSuper : klass.getMethods()) {
-                if (isSubMethodOf(methodFromSuper, supertypeSubstitutor)) {
-                    collectedMethods.add(methodFromSuper);
-                    return;
+            List<JavaMethod> methodsWithSameName = cache.getJavaMethods(klass, initialMethodName);
+            if (!methodsWithSameName.isEmpty()) {
+                JavaTypeSubstitutor supertypeSubstitutor = getErasedSubstitutor(type);
+                for (JavaMethod methodFromSuper : methodsWithSameName) {
+                    if (isSubMethodOf(methodFromSuper, supertypeSubstitutor)) {
+                        collectedMethods.add(methodFromSuper);
+                        return;
+                    }
                 }
             }
 
@@ -227,6 +232,9 @@ class PropagationHeuristics {
                 JavaType value = entry.getValue();
                 erasedMap.put(entry.getKey(), value == null ? null : erasure(value));
             }
+            if (type instanceof PlainJavaClassifierType) {
+                return erasedMap.isEmpty() ? JavaTypeSubstitutor.EMPTY : new PlainJavaTypeSubstitutor(erasedMap);
+            }
             return JavaTypeSubstitutorImpl.create(erasedMap);
         }
 
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.intellij.openapi.util.Pair;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethod;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.descriptors.*;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.BindingContextUtils;
+import org.jetbrains.jet.lang.resolve.java.JavaBindingContext;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaElement;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaMethod;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaMethodImpl;
+import org.jetbrains.jet.lang.resolve.name.Name;
+import org.jetbrains.jet.lang.types.JetType;
+import org.jetbrains.jet.lang.types.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of signature propagation which depend only on a superclass, not on the method being resolved.
+ * Members of a big hierarchy share the same superclasses, so they're computed once per superclass and reused
+ * for all methods of all its subclasses.
+ *
+ * Must not outlive the binding trace it was used with.
+ */
+public class SignaturesPropagationCache {
+    private final Map<JavaClass, ListMultimap<Name, JavaMethod>> javaMethodsByName = Maps.newHashMap();
+    private final Map<ClassDescriptor, Map<ClassDescriptor, JetType>> superclassToSupertype = Maps.newHashMap();
+    private final Map<ClassifierDescriptor, Map<Name, List<Pair<FunctionDescriptor, JavaMethod>>>> declaredJavaFunctions =
+            Maps.newHashMap();
+
+    @NotNull
+    List<JavaMethod> getJavaMethods(@NotNull JavaClass javaClass, @NotNull Name name) {
+        ListMultimap<Name, JavaMethod> methods = javaMethodsByName.get(javaClass);
+        if (methods == null) {
+            methods = ArrayListMultimap.create();
+            for (JavaMethod method : javaClass.getMethods()) {
+                methods.put(method.getName(), method);
+            }
+            javaMethodsByName.put(javaClass, methods);
+        }
+        return methods.get(name);
+    }
+
+    @NotNull
+    Map<ClassDescriptor, JetType> getSuperclassToSupertypeMap(@NotNull ClassDescriptor containingClass) {
+        Map<ClassDescriptor, JetType> result = superclassToSupertype.get(containingClass);
+        if (result == null) {
+            result = Maps.newHashMap();
+            for (JetType supertype : TypeUtils.getAllSupertypes(containingClass.getDefaultType())) {
+                ClassifierDescriptor superclass = supertype.getConstructor().getDeclarationDescriptor();
+                assert superclass instanceof ClassDescriptor;
+                result.put((ClassDescriptor) superclass, supertype);
+            }
+            superclassToSupertype.put(containingClass, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return functions declared in the given class which were loaded from Java, with their Java methods
+     */
+    @NotNull
+    List<Pair<FunctionDescriptor, JavaMethod>> getDeclaredJavaFunctions(
+            @NotNull ClassifierDescriptor klass,
+            @NotNull Name name,
+            @NotNull BindingContext bindingContext
+    ) {
+        Map<Name, List<Pair<FunctionDescriptor, JavaMethod>>> functionsByName = declaredJavaFunctions.get(klass);
+        if (functionsByName == null) {
+            functionsByName = Maps.newHashMap();
+            declaredJavaFunctions.put(klass, functionsByName);
+        }
+
+        List<Pair<FunctionDescriptor, JavaMethod>> result = functionsByName.get(name);
+        if (result == null) {
+            result = computeDeclaredJavaFunctions(klass, name, bindingContext);
+            functionsByName.put(name, result);
+        }
+        return result;
+    }
+
+    @NotNull
+    private static List<Pair<FunctionDescriptor, JavaMethod>> computeDeclaredJavaFunctions(
+            @NotNull ClassifierDescriptor klass,
+            @NotNull Name name,
+            @NotNull BindingContext bindingContext
+    ) {
+        List<Pair<FunctionDescriptor, JavaMethod>> result = null;
+        for (FunctionDescriptor fun : klass.getDefaultType().getMemberScope().getFunctions(name)) {
+            CallableMemberDescriptor.Kind kind = fun.getKind();
+            if (kind != CallableMemberDescriptor.Kind.DECLARATION && kind != CallableMemberDescriptor.Kind.DELEGATION) continue;
+
+            JavaMethod javaMethod = null;
+            PsiElement declaration = BindingContextUtils.descriptorToDeclaration(bindingContext, fun);
+            if (declaration instanceof PsiMethod) {
+                javaMethod = new JavaMethodImpl((PsiMethod) declaration);
+            }
+            else if (declaration == null) {
+                // Methods of classes loaded from class files without PSI are recorded in a separate slice
+                JavaElement binaryMethod = bindingContext.get(JavaBindingContext.DESCRIPTOR_TO_BINARY_ELEMENT, fun.getOriginal());
+                if (binaryMethod instanceof JavaMethod) {
+                    javaMethod = (JavaMethod) binaryMethod;
+                }
+            } // else declaration is JetNamedFunction or a function without declaration: both cases are processed later
+
+            if (javaMethod != null) {
+                if (result == null) {
+                    result = new ArrayList<Pair<FunctionDescriptor, JavaMethod>>(1);
+                }
+                result.add(Pair.create(fun, javaMethod));
+            }
+        }
+        return result == null ? Collections.<Pair<FunctionDescriptor, JavaMethod>>emptyList() : result;
+    }
+}
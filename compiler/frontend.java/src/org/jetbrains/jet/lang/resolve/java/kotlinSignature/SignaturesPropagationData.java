@@ -31,7 +31,6 @@ import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.descriptors.impl.TypeParameterDescriptorImpl;
 import org.jetbrains.jet.lang.descriptors.impl.ValueParameterDescriptorImpl;
 import org.jetbrains.jet.lang.resolve.BindingContext;
-import org.jetbrains.jet.lang.resolve.BindingContextUtils;
 import org.jetbrains.jet.lang.resolve.BindingTrace;
 import org.jetbrains.jet.lang.resolve.DescriptorUtils;
 import org.jetbrains.jet.lang.resolve.java.jetAsJava.KotlinLightMethod;
@@ -73,11 +72,12 @@ public class SignaturesPropagationData {
             @Nullable JetType receiverType,
             @NotNull List<ValueParameterDescriptor> autoValueParameters, // descriptors built by parameters resolver
             @NotNull List<TypeParameterDescriptor> autoTypeParameters, // descriptors built by signature resolver
-            @NotNull JavaMethodImpl method,
-            @NotNull BindingTrace trace
+            @NotNull JavaMethod method,
+            @NotNull BindingTrace trace,
+            @NotNull SignaturesPropagationCache cache
     ) {
         this.containingClass = containingClass;
-        superFunctions = getSuperFunctionsForMethod(method, trace, containingClass);
+        superFunctions = getSuperFunctionsForMethod(method, trace, containingClass, cache);
 
         autoTypeParameterToModified = DescriptorResolverUtils.recreateTypeParametersAndReturnMapping(autoTypeParameters, null);
 
@@ -216,18 +216,19 @@ public class SignaturesPropagationData {
     }
 
     private static List<FunctionDescriptor> getSuperFunctionsForMethod(
-            @NotNull JavaMethodImpl method,
+            @NotNull JavaMethod method,
             @NotNull BindingTrace trace,
-            @NotNull ClassDescriptor containingClass
+            @NotNull ClassDescriptor containingClass,
+            @NotNull SignaturesPropagationCache cache
     ) {
         List<FunctionDescriptor> superFunctions = Lists.newArrayList();
 
-        Map<ClassDescriptor, JetType> superclassToSupertype = getSuperclassToSupertypeMap(containingClass);
+        Map<ClassDescriptor, JetType> superclassToSupertype = cache.getSuperclassToSupertypeMap(containingClass);
 
-        Multimap<FqName, Pair<FunctionDescriptor, JavaMethodImpl>> superclassToFunctions =
-                getSuperclassToFunctionsMultimap(method, trace.getBindingContext(), containingClass);
+        Multimap<FqName, Pair<FunctionDescriptor, JavaMethod>> superclassToFunctions =
+                getSuperclassToFunctionsMultimap(method, trace.getBindingContext(), superclassToSupertype, cache);
 
-        for (JavaMethodImpl superMethod : PropagationHeuristics.getSuperMethods(method)) {
+        for (JavaMethod superMethod : PropagationHeuristics.getSuperMethods(method, cache)) {
             JavaClass javaClass = superMethod.getContainingClass();
             FqName classFqName = javaClass.getFqName();
             assert classFqName != null : "Class FQ name should not be null: " + javaClass;
@@ -239,8 +240,9 @@ public class SignaturesPropagationData {
                 continue;
             }
 
-            DeclarationDescriptor superFun = superMethod.getPsi() instanceof KotlinLightMethod
-                                             ? trace.get(BindingContext.DECLARATION_TO_DESCRIPTOR, ((KotlinLightMethod) superMethod.getPsi()).getOrigin())
+            PsiElement superMethodPsi = superMethod instanceof JavaMethodImpl ? ((JavaMethodImpl) superMethod).getPsi() : null;
+            DeclarationDescriptor superFun = superMethodPsi instanceof KotlinLightMethod
+                                             ? trace.get(BindingContext.DECLARATION_TO_DESCRIPTOR, ((KotlinLightMethod) superMethodPsi).getOrigin())
                                              : findSuperFunction(superclassToFunctions.get(classFqName), superMethod);
             if (superFun == null) {
                 // Super methods which are Object methods in interfaces are not loaded by JDR.
@@ -269,29 +271,24 @@ public class SignaturesPropagationData {
     }
 
     @NotNull
-    private static Multimap<FqName, Pair<FunctionDescriptor, JavaMethodImpl>> getSuperclassToFunctionsMultimap(
+    private static Multimap<FqName, Pair<FunctionDescriptor, JavaMethod>> getSuperclassToFunctionsMultimap(
             @NotNull JavaMethod method,
             @NotNull BindingContext bindingContext,
-            @NotNull ClassDescriptor containingClass
+            @NotNull Map<ClassDescriptor, JetType> superclassToSupertype,
+            @NotNull SignaturesPropagationCache cache
     ) {
-        Multimap<FqName, Pair<FunctionDescriptor, JavaMethodImpl>> result = HashMultimap.create();
+        Multimap<FqName, Pair<FunctionDescriptor, JavaMethod>> result = HashMultimap.create();
 
         Name functionName = method.getName();
         int parameterCount = method.getValueParameters().size();
 
-        for (JetType supertype : TypeUtils.getAllSupertypes(containingClass.getDefaultType())) {
-            ClassifierDescriptor klass = supertype.getConstructor().getDeclarationDescriptor();
-            assert klass != null;
+        for (ClassDescriptor klass : superclassToSupertype.keySet()) {
             FqName fqName = DescriptorUtils.getFqNameSafe(klass);
 
-            for (FunctionDescriptor fun : klass.getDefaultType().getMemberScope().getFunctions(functionName)) {
-                CallableMemberDescriptor.Kind kind = fun.getKind();
-                if ((kind == CallableMemberDescriptor.Kind.DECLARATION || kind == CallableMemberDescriptor.Kind.DELEGATION) &&
-                    fun.getValueParameters().size() + (fun.getReceiverParameter() != null ? 1 : 0) == parameterCount) {
-                    PsiElement declaration = BindingContextUtils.descriptorToDeclaration(bindingContext, fun);
-                    if (declaration instanceof PsiMethod) {
-                        result.put(fqName, Pair.create(fun, new JavaMethodImpl((PsiMethod) declaration)));
-                    } // else declaration is null or JetNamedFunction: both cases are processed later
+            for (Pair<FunctionDescriptor, JavaMethod> candidate : cache.getDeclaredJavaFunctions(klass, functionName, bindingContext)) {
+                FunctionDescriptor fun = candidate.first;
+                if (fun.getValueParameters().size() + (fun.getReceiverParameter() != null ? 1 : 0) == parameterCount) {
+                    result.put(fqName, candidate);
                 }
             }
         }
@@ -300,12 +297,23 @@ public class SignaturesPropagationData {
 
     @Nullable
     private static DeclarationDescriptor findSuperFunction(
-            @NotNull Collection<Pair<FunctionDescriptor, JavaMethodImpl>> superFunctionCandidates,
-            @NotNull JavaMethodImpl superMethod
+            @NotNull Collection<Pair<FunctionDescriptor, JavaMethod>> superFunctionCandidates,
+            @NotNull JavaMethod superMethod
     ) {
-        PsiManager psiManager = PsiManager.getInstance(superMethod.getPsi().getProject());
-        for (Pair<FunctionDescriptor, JavaMethodImpl> candidate : superFunctionCandidates) {
-            if (psiManager.areElementsEquivalent(candidate.second.getPsi(), superMethod.getPsi())) {
+        if (!(superMethod instanceof JavaMethodImpl)) {
+            for (Pair<FunctionDescriptor, JavaMethod> candidate : superFunctionCandidates) {
+                if (superMethod.equals(candidate.second)) {
+                    return candidate.first;
+                }
+            }
+            return null;
+        }
+
+        PsiMethod superMethodPsi = ((JavaMethodImpl) superMethod).getPsi();
+        PsiManager psiManager = PsiManager.getInstance(superMethodPsi.getProject());
+        for (Pair<FunctionDescriptor, JavaMethod> candidate : superFunctionCandidates) {
+            if (candidate.second instanceof JavaMethodImpl &&
+                psiManager.areElementsEquivalent(((JavaMethodImpl) candidate.second).getPsi(), superMethodPsi)) {
                 return candidate.first;
             }
         }
@@ -667,16 +675,6 @@ public class SignaturesPropagationData {
         return fixed != null ? fixed : classifier;
     }
 
-    private static Map<ClassDescriptor, JetType> getSuperclassToSupertypeMap(ClassDescriptor containingClass) {
-        Map<ClassDescriptor, JetType> superclassToSupertype = Maps.newHashMap();
-        for (JetType supertype : TypeUtils.getAllSupertypes(containingClass.getDefaultType())) {
-            ClassifierDescriptor superclass = supertype.getConstructor().getDeclarationDescriptor();
-            assert superclass instanceof ClassDescriptor;
-            superclassToSupertype.put((ClassDescriptor) superclass, supertype);
-        }
-        return superclassToSupertype;
-    }
-
     @NotNull
     private static FunctionDescriptor substituteSuperFunction(
             @NotNull Map<ClassDescriptor, JetType> superclassToSupertype,
@@ -16,6 +16,7 @@
 
 package org.jetbrains.jet.lang.resolve.java.kotlinSignature;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.text.StringUtil;
 import jet.runtime.typeinfo.KotlinSignature;
 import org.jetbrains.annotations.NotNull;
@@ -40,17 +41,49 @@ public class SignaturesUtil {
     @Nullable
     public static String getKotlinSignature(@NotNull JavaAnnotationResolver annotationResolver, @NotNull JavaMember member) {
         JavaAnnotation annotation = annotationResolver.findAnnotationWithExternal(member, KOTLIN_SIGNATURE);
+        return annotation == null ? null : getKotlinSignature(annotation);
+    }
 
-        if (annotation != null) {
-            JavaAnnotationArgument argument = annotation.findArgument(KOTLIN_SIGNATURE_VALUE_FIELD_NAME);
-            if (argument instanceof JavaLiteralAnnotationArgument) {
-                Object value = ((JavaLiteralAnnotationArgument) argument).getValue();
-                if (value instanceof String) {
-                    return StringUtil.unescapeStringCharacters((String) value);
-                }
+    @Nullable
+    public static String getKotlinSignature(@NotNull JavaAnnotation annotation) {
+        JavaAnnotationArgument argument = annotation.findArgument(KOTLIN_SIGNATURE_VALUE_FIELD_NAME);
+        if (argument instanceof JavaLiteralAnnotationArgument) {
+            Object value = ((JavaLiteralAnnotationArgument) argument).getValue();
+            if (value instanceof String) {
+                return StringUtil.unescapeStringCharacters((String) value);
             }
         }
 
         return null;
     }
+
+    @NotNull
+    static KotlinSignatureTree.Function parseFunctionSignature(
+            @NotNull Project project,
+            @NotNull JavaAnnotation annotation,
+            @NotNull String signature
+    ) {
+        if (annotation instanceof PreparsedKotlinSignatureAnnotation) {
+            KotlinSignatureTree.Declaration preparsed = ((PreparsedKotlinSignatureAnnotation) annotation).getSignature();
+            if (preparsed instanceof KotlinSignatureTree.Function) {
+                return (KotlinSignatureTree.Function) preparsed;
+            }
+        }
+        return KotlinSignatureTreeBuilder.parseFunction(project, signature);
+    }
+
+    @NotNull
+    static KotlinSignatureTree.Property parsePropertySignature(
+            @NotNull Project project,
+            @NotNull JavaAnnotation annotation,
+            @NotNull String signature
+    ) {
+        if (annotation instanceof PreparsedKotlinSignatureAnnotation) {
+            KotlinSignatureTree.Declaration preparsed = ((PreparsedKotlinSignatureAnnotation) annotation).getSignature();
+            if (preparsed instanceof KotlinSignatureTree.Property) {
+                return (KotlinSignatureTree.Property) preparsed;
+            }
+        }
+        return KotlinSignatureTreeBuilder.parseProperty(project, signature);
+    }
 }
@@ -23,7 +23,7 @@ import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
 import org.jetbrains.jet.lang.descriptors.ClassifierDescriptor;
 import org.jetbrains.jet.lang.descriptors.TypeParameterDescriptor;
 import org.jetbrains.jet.lang.descriptors.impl.TypeParameterDescriptorImpl;
-import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.psi.JetProjectionKind;
 import org.jetbrains.jet.lang.resolve.DescriptorUtils;
 import org.jetbrains.jet.lang.resolve.TypeResolver;
 import org.jetbrains.jet.lang.resolve.java.mapping.JavaToKotlinClassMap;
@@ -40,7 +40,7 @@ import java.util.*;
 import static org.jetbrains.jet.lang.resolve.java.resolver.TypeUsage.TYPE_ARGUMENT;
 import static org.jetbrains.jet.lang.types.Variance.INVARIANT;
 
-public class TypeTransformingVisitor extends JetVisitor<JetType, Void> {
+public class TypeTransformingVisitor {
     private static boolean strictMode = false;
 
     private final JetType originalType;
@@ -60,49 +60,51 @@ public class TypeTransformingVisitor extends JetVisitor<JetType, Void> {
 
     @NotNull
     public static JetType computeType(
-            @NotNull JetTypeElement alternativeTypeElement,
+            @NotNull KotlinSignatureTree.Type alternativeType,
             @NotNull JetType originalType,
             @NotNull Map<TypeParameterDescriptor, TypeParameterDescriptorImpl> originalToAltTypeParameters,
             @NotNull TypeUsage typeUsage
     ) {
-        JetType computedType = alternativeTypeElement.accept(new TypeTransformingVisitor(originalType, originalToAltTypeParameters, typeUsage), null);
-        assert (computedType != null);
-        return computedType;
+        return new TypeTransformingVisitor(originalType, originalToAltTypeParameters, typeUsage).visitType(alternativeType);
     }
 
-    @Override
-    public JetType visitNullableType(@NotNull JetNullableType nullableType, Void aVoid) {
+    @NotNull
+    private JetType visitType(@NotNull KotlinSignatureTree.Type type) {
+        switch (type.getKind()) {
+            case NULLABLE:
+                return visitNullableType(type);
+            case FUNCTION:
+                return visitCommonType(KotlinBuiltIns.getInstance().getFunction(type.getFunctionParameterCount()), type);
+            case EXTENSION_FUNCTION:
+                return visitCommonType(KotlinBuiltIns.getInstance().getExtensionFunction(type.getFunctionParameterCount()), type);
+            case USER:
+                //noinspection ConstantConditions
+                return visitCommonType(type.getQualifiedName(), type);
+            case SELF:
+                throw new UnsupportedOperationException("Self-types are not supported yet");
+            default:
+                throw new IllegalStateException("Unknown type kind: " + type.getKind());
+        }
+    }
+
+    @NotNull
+    private JetType visitNullableType(@NotNull KotlinSignatureTree.Type nullableType) {
         if (!originalType.isNullable() && typeUsage != TYPE_ARGUMENT) {
             throw new AlternativeSignatureMismatchException("Auto type '%s' is not-null, while type in alternative signature is nullable: '%s'",
                  DescriptorRenderer.TEXT.renderType(originalType), nullableType.getText());
         }
-        return TypeUtils.makeNullable(computeType(nullableType.getInnerType(), originalType, originalToAltTypeParameters, typeUsage));
-    }
-
-    @Override
-    public JetType visitFunctionType(@NotNull JetFunctionType type, Void data) {
-        return visitCommonType(type.getReceiverTypeRef() == null
-                ? KotlinBuiltIns.getInstance().getFunction(type.getParameters().size())
-                : KotlinBuiltIns.getInstance().getExtensionFunction(type.getParameters().size()), type);
+        KotlinSignatureTree.Type innerType = nullableType.getInnerType();
+        assert innerType != null;
+        return TypeUtils.makeNullable(computeType(innerType, originalType, originalToAltTypeParameters, typeUsage));
     }
 
-    @Override
-    public JetType visitUserType(@NotNull JetUserType type, Void data) {
-        JetUserType qualifier = type.getQualifier();
-
-        //noinspection ConstantConditions
-        String shortName = type.getReferenceExpression().getReferencedName();
-        String longName = (qualifier == null ? "" : qualifier.getText() + ".") + shortName;
-
-        return visitCommonType(longName, type);
-    }
-
-    private JetType visitCommonType(@NotNull ClassDescriptor classDescriptor, @NotNull JetTypeElement type) {
+    @NotNull
+    private JetType visitCommonType(@NotNull ClassDescriptor classDescriptor, @NotNull KotlinSignatureTree.Type type) {
         return visitCommonType(DescriptorUtils.getFqNameSafe(classDescriptor).asString(), type);
     }
 
     @NotNull
-    private JetType visitCommonType(@NotNull String qualifiedName, @NotNull JetTypeElement type) {
+    private JetType visitCommonType(@NotNull String qualifiedName, @NotNull KotlinSignatureTree.Type type) {
         if (originalType.isError()) {
             return originalType;
         }
@@ -130,10 +132,10 @@ public class TypeTransformingVisitor extends JetVisitor<JetType, Void> {
 
         List<TypeProjection> arguments = originalType.getArguments();
 
-        if (arguments.size() != type.getTypeArgumentsAsTypes().size()) {
+        if (arguments.size() != type.getArguments().size()) {
             throw new AlternativeSignatureMismatchException("'%s' type in method signature has %d type arguments, while '%s' in alternative signature has %d of them",
                  DescriptorRenderer.TEXT.renderType(originalType), arguments.size(), type.getText(),
-                 type.getTypeArgumentsAsTypes().size());
+                 type.getArguments().size());
         }
 
         List<TypeProjection> altArguments = new ArrayList<TypeProjection>();
@@ -158,31 +160,27 @@ public class TypeTransformingVisitor extends JetVisitor<JetType, Void> {
 
     @NotNull
     private TypeProjection getAltArgument(
-            @NotNull JetTypeElement type,
+            @NotNull KotlinSignatureTree.Type type,
             @NotNull TypeConstructor typeConstructor,
             int i,
             @NotNull TypeProjection originalArgument
     ) {
-        JetTypeReference typeReference = type.getTypeArgumentsAsTypes().get(i); // process both function type and user type
+        KotlinSignatureTree.TypeArgument typeArgument = type.getArguments().get(i); // process both function type and user type
+        KotlinSignatureTree.Type argumentAlternativeType = typeArgument.getType();
 
-        if (typeReference == null) {
+        if (argumentAlternativeType == null) {
             // star projection
-            assert type instanceof JetUserType
-                   && ((JetUserType) type).getTypeArguments().get(i).getProjectionKind() == JetProjectionKind.STAR;
+            assert type.getKind() == KotlinSignatureTree.TypeKind.USER && typeArgument.getProjectionKind() == JetProjectionKind.STAR;
 
             return originalArgument;
         }
 
-        JetTypeElement argumentAlternativeTypeElement = typeReference.getTypeElement();
-        assert argumentAlternativeTypeElement != null;
-
         TypeParameterDescriptor parameter = typeConstructor.getParameters().get(i);
-        JetType alternativeArgumentType = computeType(argumentAlternativeTypeElement, originalArgument.getType(), originalToAltTypeParameters, TYPE_ARGUMENT);
+        JetType alternativeArgumentType = computeType(argumentAlternativeType, originalArgument.getType(), originalToAltTypeParameters, TYPE_ARGUMENT);
         Variance projectionKind = originalArgument.getProjectionKind();
         Variance altProjectionKind;
-        if (type instanceof JetUserType) {
-            JetTypeProjection typeProjection = ((JetUserType) type).getTypeArguments().get(i);
-            altProjectionKind = TypeResolver.resolveProjectionKind(typeProjection.getProjectionKind());
+        if (type.getKind() == KotlinSignatureTree.TypeKind.USER) {
+            altProjectionKind = TypeResolver.resolveProjectionKind(typeArgument.getProjectionKind());
             if (altProjectionKind != projectionKind && projectionKind != Variance.INVARIANT) {
                 throw new AlternativeSignatureMismatchException("Projection kind mismatch, actual: %s, in alternative signature: %s",
                                                                 projectionKind, altProjectionKind);
@@ -224,11 +222,6 @@ public class TypeTransformingVisitor extends JetVisitor<JetType, Void> {
         return null;
     }
 
-    @Override
-    public JetType visitSelfType(@NotNull JetSelfType type, Void data) {
-        throw new UnsupportedOperationException("Self-types are not supported yet");
-    }
-
     private static boolean isSameName(String qualifiedName, String fullyQualifiedName) {
         return fullyQualifiedName.equals(qualifiedName) || fullyQualifiedName.endsWith("." + qualifiedName);
     }
@@ -18,7 +18,10 @@ package org.jetbrains.jet.lang.resolve.java.resolver;
 
 import com.intellij.codeInsight.ExternalAnnotationsManager;
 import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClassOwner;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.util.PsiFormatUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
@@ -26,6 +29,8 @@ import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotationOwner;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaAnnotationImpl;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaAnnotationOwnerImpl;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaElementCollectionFromPsiArrayUtil;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryExternalAnnotationResolver;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryExternalAnnotationsProvider;
 import org.jetbrains.jet.lang.resolve.name.FqName;
 
 import java.util.Collection;
@@ -35,20 +40,58 @@ public class PsiBasedExternalAnnotationResolver implements ExternalAnnotationRes
     @Nullable
     @Override
     public JavaAnnotation findExternalAnnotation(@NotNull JavaAnnotationOwner owner, @NotNull FqName fqName) {
-        PsiAnnotation psiAnnotation = findExternalAnnotation(((JavaAnnotationOwnerImpl) owner).getPsi(), fqName);
+        if (!(owner instanceof JavaAnnotationOwnerImpl)) {
+            return BinaryExternalAnnotationResolver.INSTANCE.findExternalAnnotation(owner, fqName);
+        }
+        PsiModifierListOwner psiOwner = ((JavaAnnotationOwnerImpl) owner).getPsi();
+        Collection<JavaAnnotation> providedAnnotations = findProvidedAnnotations(psiOwner);
+        if (providedAnnotations != null) {
+            for (JavaAnnotation annotation : providedAnnotations) {
+                if (fqName.equals(annotation.getFqName())) {
+                    return annotation;
+                }
+            }
+            return null;
+        }
+
+        PsiAnnotation psiAnnotation = findExternalAnnotation(psiOwner, fqName);
         return psiAnnotation == null ? null : new JavaAnnotationImpl(psiAnnotation);
     }
 
     @NotNull
     @Override
     public Collection<JavaAnnotation> findExternalAnnotations(@NotNull JavaAnnotationOwner owner) {
+        if (!(owner instanceof JavaAnnotationOwnerImpl)) {
+            return BinaryExternalAnnotationResolver.INSTANCE.findExternalAnnotations(owner);
+        }
         PsiModifierListOwner psiOwner = ((JavaAnnotationOwnerImpl) owner).getPsi();
+        Collection<JavaAnnotation> providedAnnotations = findProvidedAnnotations(psiOwner);
+        if (providedAnnotations != null) {
+            return providedAnnotations;
+        }
+
         PsiAnnotation[] annotations = ExternalAnnotationsManager.getInstance(psiOwner.getProject()).findExternalAnnotations(psiOwner);
         return annotations == null
                ? Collections.<JavaAnnotation>emptyList()
                : JavaElementCollectionFromPsiArrayUtil.annotations(annotations);
     }
 
+    // When external annotations are served by the compiler itself (possibly from a precompiled index),
+    // they're looked up there directly instead of letting ExternalAnnotationsManager parse annotations.xml
+    @Nullable
+    private static Collection<JavaAnnotation> findProvidedAnnotations(@NotNull PsiModifierListOwner owner) {
+        BinaryExternalAnnotationsProvider provider = BinaryExternalAnnotationsProvider.SERVICE.getInstance(owner.getProject());
+        if (provider == null) return null;
+
+        PsiFile file = owner.getContainingFile();
+        if (!(file instanceof PsiClassOwner)) return null;
+
+        String externalName = PsiFormatUtil.getExternalName(owner, false, Integer.MAX_VALUE);
+        if (externalName == null) return null;
+
+        return provider.findExternalAnnotations(new FqName(((PsiClassOwner) file).getPackageName()), externalName);
+    }
+
     @Nullable
     public static PsiAnnotation findExternalAnnotation(@NotNull PsiModifierListOwner owner, @NotNull FqName fqName) {
         return ExternalAnnotationsManager.getInstance(owner.getProject()).findExternalAnnotation(owner, fqName.asString());
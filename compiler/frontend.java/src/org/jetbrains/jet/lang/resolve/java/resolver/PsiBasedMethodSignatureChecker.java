@@ -174,10 +174,7 @@ public class PsiBasedMethodSignatureChecker implements MethodSignatureChecker {
         // This optimization speed things up because hasRawTypesInHierarchicalSignature() is very expensive
         if (superFunctions.isEmpty() && (signatureErrors.isEmpty() || !reportSignatureErrors)) return;
 
-        JavaMethodImpl methodWithPsi = (JavaMethodImpl) method;
-        if (!RawTypesCheck.hasRawTypesInHierarchicalSignature(methodWithPsi) &&
-            isMethodReturnTypeCompatible(methodWithPsi) &&
-            !containsErrorType(superFunctions, descriptor)) {
+        if (isSignatureCheckApplicable(method) && !containsErrorType(superFunctions, descriptor)) {
             if (signatureErrors.isEmpty()) {
                 for (FunctionDescriptor superFunction : superFunctions) {
                     checkFunctionOverridesCorrectly(method, descriptor, superFunction);
@@ -189,6 +186,16 @@ public class PsiBasedMethodSignatureChecker implements MethodSignatureChecker {
         }
     }
 
+    private static boolean isSignatureCheckApplicable(@NotNull JavaMethod method) {
+        if (!(method instanceof JavaMethodImpl)) {
+            // Methods read from class files have no PSI to build the hierarchical signature, so only their own signature is checked
+            return method.isStatic() || !RawTypesCheck.hasRawTypesInSignature(method);
+        }
+
+        JavaMethodImpl methodWithPsi = (JavaMethodImpl) method;
+        return !RawTypesCheck.hasRawTypesInHierarchicalSignature(methodWithPsi) && isMethodReturnTypeCompatible(methodWithPsi);
+    }
+
     private static class RawTypesCheck {
         private static boolean isPartiallyRawType(@NotNull JavaType type) {
             if (type instanceof JavaPrimitiveType) {
@@ -31,14 +31,12 @@ import org.jetbrains.jet.lang.resolve.AnnotationUtils;
 import org.jetbrains.jet.lang.resolve.BindingContextUtils;
 import org.jetbrains.jet.lang.resolve.BindingTrace;
 import org.jetbrains.jet.lang.resolve.constants.CompileTimeConstant;
-import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
-import org.jetbrains.jet.lang.resolve.java.structure.JavaElement;
-import org.jetbrains.jet.lang.resolve.java.structure.JavaField;
-import org.jetbrains.jet.lang.resolve.java.structure.JavaMethod;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaClassImpl;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaElementImpl;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaFieldImpl;
 import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaMethodImpl;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryJavaField;
 import org.jetbrains.jet.lang.resolve.name.FqName;
 import org.jetbrains.jet.lang.types.lang.KotlinBuiltIns;
 import org.jetbrains.jet.rt.annotation.AssertInvisibleInResolver;
@@ -46,6 +44,7 @@ import org.jetbrains.jet.rt.annotation.AssertInvisibleInResolver;
 import javax.inject.Inject;
 
 import static org.jetbrains.jet.lang.resolve.BindingContext.*;
+import static org.jetbrains.jet.lang.resolve.java.JavaBindingContext.*;
 import static org.jetbrains.jet.lang.resolve.java.resolver.DescriptorResolverUtils.fqNameByClass;
 
 public class TraceBasedJavaResolverCache implements JavaResolverCache {
@@ -68,12 +67,18 @@ public class TraceBasedJavaResolverCache implements JavaResolverCache {
     @Nullable
     @Override
     public SimpleFunctionDescriptor getMethod(@NotNull JavaMethod method) {
+        if (!(method instanceof JavaMethodImpl)) {
+            return trace.get(BINARY_FUNCTION, method);
+        }
         return trace.get(FUNCTION, ((JavaMethodImpl) method).getPsi());
     }
 
     @Nullable
     @Override
     public ConstructorDescriptor getConstructor(@NotNull JavaElement constructor) {
+        if (!(constructor instanceof JavaElementImpl)) {
+            return trace.get(BINARY_CONSTRUCTOR, constructor);
+        }
         return trace.get(CONSTRUCTOR, ((JavaElementImpl) constructor).getPsi());
     }
 
@@ -91,21 +96,37 @@ public class TraceBasedJavaResolverCache implements JavaResolverCache {
             }
         }
 
+        if (!(javaClass instanceof JavaClassImpl)) {
+            return trace.get(BINARY_CLASS, javaClass);
+        }
         return trace.get(CLASS, ((JavaClassImpl) javaClass).getPsi());
     }
 
     @Override
     public void recordMethod(@NotNull JavaMethod method, @NotNull SimpleFunctionDescriptor descriptor) {
+        if (!(method instanceof JavaMethodImpl)) {
+            trace.record(BINARY_FUNCTION, method, descriptor);
+            return;
+        }
         BindingContextUtils.recordFunctionDeclarationToDescriptor(trace, ((JavaMethodImpl) method).getPsi(), descriptor);
     }
 
     @Override
     public void recordConstructor(@NotNull JavaElement element, @NotNull ConstructorDescriptor descriptor) {
+        if (!(element instanceof JavaElementImpl)) {
+            trace.record(BINARY_CONSTRUCTOR, element, descriptor);
+            return;
+        }
         trace.record(CONSTRUCTOR, ((JavaElementImpl) element).getPsi(), descriptor);
     }
 
     @Override
     public void recordField(@NotNull JavaField field, @NotNull PropertyDescriptor descriptor) {
+        if (field instanceof BinaryJavaField) {
+            recordBinaryField((BinaryJavaField) field, descriptor);
+            return;
+        }
+
         PsiField psiField = ((JavaFieldImpl) field).getPsi();
         trace.record(VARIABLE, psiField, descriptor);
 
@@ -121,8 +142,32 @@ public class TraceBasedJavaResolverCache implements JavaResolverCache {
         }
     }
 
+    private void recordBinaryField(@NotNull BinaryJavaField field, @NotNull PropertyDescriptor descriptor) {
+        trace.record(BINARY_VARIABLE, field, descriptor);
+
+        if (AnnotationUtils.isPropertyCompileTimeConstant(descriptor)) {
+            Object value = field.getConstantValue();
+            // Class files store boolean constants as integers
+            JavaType type = field.getType();
+            if (value instanceof Integer && type instanceof JavaPrimitiveType &&
+                "boolean".equals(((JavaPrimitiveType) type).getCanonicalText())) {
+                value = ((Integer) value) != 0;
+            }
+            if (value != null) {
+                CompileTimeConstant<?> constant = JavaAnnotationArgumentResolver.resolveCompileTimeConstantValue(value, descriptor.getType());
+                if (constant != null) {
+                    trace.record(COMPILE_TIME_INITIALIZER, descriptor, constant);
+                }
+            }
+        }
+    }
+
     @Override
     public void recordClass(@NotNull JavaClass javaClass, @NotNull ClassDescriptor descriptor) {
+        if (!(javaClass instanceof JavaClassImpl)) {
+            trace.record(BINARY_CLASS, javaClass, descriptor);
+            return;
+        }
         trace.record(CLASS, ((JavaClassImpl) javaClass).getPsi(), descriptor);
     }
 }
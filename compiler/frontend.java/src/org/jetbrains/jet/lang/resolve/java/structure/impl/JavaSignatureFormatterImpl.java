@@ -21,6 +21,7 @@ import com.intellij.psi.util.PsiFormatUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaMethod;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaSignatureFormatter;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles.BinaryJavaSignatures;
 
 import static com.intellij.psi.util.PsiFormatUtilBase.*;
 
@@ -28,6 +29,9 @@ public class JavaSignatureFormatterImpl extends JavaSignatureFormatter {
     @NotNull
     @Override
     public String formatMethod(@NotNull JavaMethod method) {
+        if (!(method instanceof JavaMethodImpl)) {
+            return BinaryJavaSignatures.formatMethod(method);
+        }
         return PsiFormatUtil.formatMethod(((JavaMethodImpl) method).getPsi(), PsiSubstitutor.EMPTY, SHOW_NAME | SHOW_PARAMETERS,
                                           SHOW_TYPE | SHOW_FQ_CLASS_NAMES);
     }
@@ -35,6 +39,9 @@ public class JavaSignatureFormatterImpl extends JavaSignatureFormatter {
     @NotNull
     @Override
     public String getExternalName(@NotNull JavaMethod method) {
+        if (!(method instanceof JavaMethodImpl)) {
+            return BinaryJavaSignatures.getExternalName(method);
+        }
         String result = PsiFormatUtil.getExternalName(((JavaMethodImpl) method).getPsi());
         return result == null ? "null" : result;
     }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.AnnotationVisitor;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaLiteralAnnotationArgumentImpl;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.jetbrains.asm4.Opcodes.ASM4;
+
+/* package */ abstract class AnnotationArgumentsVisitor extends AnnotationVisitor {
+    private final ClassifierResolutionContext context;
+
+    private AnnotationArgumentsVisitor(@NotNull ClassifierResolutionContext context) {
+        super(ASM4);
+        this.context = context;
+    }
+
+    /**
+     * Creates an annotation by the type descriptor, adds it to the given collection and returns a visitor which fills its arguments
+     */
+    @NotNull
+    /* package */ static AnnotationVisitor visitAnnotation(
+            @NotNull String desc,
+            @NotNull ClassifierResolutionContext context,
+            @NotNull Collection<JavaAnnotation> annotations
+    ) {
+        PlainJavaAnnotation annotation = createAnnotation(desc);
+        annotations.add(annotation);
+        return fillAnnotation(annotation, context);
+    }
+
+    @NotNull
+    private static PlainJavaAnnotation createAnnotation(@NotNull String desc) {
+        return new PlainJavaAnnotation(BinaryJavaSignatures.internalNameToFqName(Type.getType(desc).getInternalName()));
+    }
+
+    @NotNull
+    private static AnnotationVisitor fillAnnotation(@NotNull final PlainJavaAnnotation annotation, @NotNull ClassifierResolutionContext context) {
+        return new AnnotationArgumentsVisitor(context) {
+            @Override
+            protected void addArgument(@NotNull JavaAnnotationArgument argument) {
+                annotation.addArgument(argument);
+            }
+        };
+    }
+
+    protected abstract void addArgument(@NotNull JavaAnnotationArgument argument);
+
+    @Override
+    public void visit(String name, Object value) {
+        addArgument(createLiteralArgument(name(name), value));
+    }
+
+    @NotNull
+    private JavaAnnotationArgument createLiteralArgument(@Nullable Name name, @Nullable Object value) {
+        if (value instanceof Type) {
+            SignatureParser parser = new SignatureParser(context, ((Type) value).getDescriptor());
+            return new PlainJavaClassObjectAnnotationArgument(name, parser.parseFieldType());
+        }
+
+        if (value != null && value.getClass().isArray()) {
+            // Arrays of primitives are reported as a single value
+            int length = Array.getLength(value);
+            List<JavaAnnotationArgument> elements = new ArrayList<JavaAnnotationArgument>(length);
+            for (int i = 0; i < length; i++) {
+                elements.add(new JavaLiteralAnnotationArgumentImpl(null, Array.get(value, i)));
+            }
+            return new PlainJavaArrayAnnotationArgument(name, elements);
+        }
+
+        return new JavaLiteralAnnotationArgumentImpl(name, value);
+    }
+
+    @Override
+    public void visitEnum(String name, String desc, String value) {
+        addArgument(new PlainJavaEnumValueAnnotationArgument(name(name), Type.getType(desc).getInternalName(), value, context));
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String name, String desc) {
+        PlainJavaAnnotation annotation = createAnnotation(desc);
+        addArgument(new PlainJavaAnnotationAsAnnotationArgument(name(name), annotation));
+        return fillAnnotation(annotation, context);
+    }
+
+    @Override
+    public AnnotationVisitor visitArray(String name) {
+        final Name arrayName = name(name);
+        final List<JavaAnnotationArgument> elements = new ArrayList<JavaAnnotationArgument>();
+        return new AnnotationArgumentsVisitor(context) {
+            @Override
+            protected void addArgument(@NotNull JavaAnnotationArgument argument) {
+                elements.add(argument);
+            }
+
+            @Override
+            public void visitEnd() {
+                AnnotationArgumentsVisitor.this.addArgument(new PlainJavaArrayAnnotationArgument(arrayName, elements));
+            }
+        };
+    }
+
+    @Nullable
+    private static Name name(@Nullable String name) {
+        return name == null ? null : Name.identifier(name);
+    }
+}
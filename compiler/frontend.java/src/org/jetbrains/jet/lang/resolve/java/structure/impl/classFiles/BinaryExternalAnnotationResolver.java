@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.resolver.ExternalAnnotationResolver;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+import java.util.Collection;
+import java.util.Collections;
+
+public class BinaryExternalAnnotationResolver implements ExternalAnnotationResolver {
+    public static final BinaryExternalAnnotationResolver INSTANCE = new BinaryExternalAnnotationResolver();
+
+    private BinaryExternalAnnotationResolver() {
+    }
+
+    @Nullable
+    @Override
+    public JavaAnnotation findExternalAnnotation(@NotNull JavaAnnotationOwner owner, @NotNull FqName fqName) {
+        return BinaryJavaElementUtil.findAnnotation(findExternalAnnotations(owner), fqName);
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaAnnotation> findExternalAnnotations(@NotNull JavaAnnotationOwner owner) {
+        BinaryJavaClass javaClass = getContainingClass(owner);
+        if (javaClass == null) return Collections.emptyList();
+
+        BinaryExternalAnnotationsProvider provider = javaClass.getContext().getFinder().getExternalAnnotationsProvider();
+        if (provider == null) return Collections.emptyList();
+
+        String externalName = getExternalName(owner);
+        if (externalName == null) return Collections.emptyList();
+
+        return provider.findExternalAnnotations(javaClass.getPackageFqName(), externalName);
+    }
+
+    @Nullable
+    private static BinaryJavaClass getContainingClass(@NotNull JavaAnnotationOwner owner) {
+        if (owner instanceof BinaryJavaClass) {
+            return (BinaryJavaClass) owner;
+        }
+        else if (owner instanceof BinaryJavaMember) {
+            return (BinaryJavaClass) ((BinaryJavaMember) owner).getContainingClass();
+        }
+        else if (owner instanceof BinaryJavaValueParameter) {
+            return (BinaryJavaClass) ((BinaryJavaValueParameter) owner).getMethod().getContainingClass();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String getExternalName(@NotNull JavaAnnotationOwner owner) {
+        if (owner instanceof JavaClass) {
+            FqName fqName = ((JavaClass) owner).getFqName();
+            return fqName == null ? null : fqName.asString();
+        }
+        else if (owner instanceof JavaMethod) {
+            return BinaryJavaSignatures.getExternalName((JavaMethod) owner);
+        }
+        else if (owner instanceof JavaField) {
+            JavaField field = (JavaField) owner;
+            FqName classFqName = field.getContainingClass().getFqName();
+            return classFqName == null ? null : classFqName.asString() + " " + field.getName().asString();
+        }
+        else if (owner instanceof BinaryJavaValueParameter) {
+            BinaryJavaValueParameter parameter = (BinaryJavaValueParameter) owner;
+            return BinaryJavaSignatures.getExternalName(parameter.getMethod()) + " " + parameter.getIndex();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+import java.util.Collection;
+
+/**
+ * Provides external annotations (annotations.xml) for Java elements which have no PSI, see {@link BinaryExternalAnnotationResolver}
+ */
+public interface BinaryExternalAnnotationsProvider {
+    class SERVICE {
+        @Nullable
+        public static BinaryExternalAnnotationsProvider getInstance(@NotNull Project project) {
+            return ServiceManager.getService(project, BinaryExternalAnnotationsProvider.class);
+        }
+    }
+
+    /**
+     * @param externalName the name of the annotated element as written in annotations.xml,
+     *                     see {@link com.intellij.psi.util.PsiFormatUtil#getExternalName}
+     */
+    @NotNull
+    Collection<JavaAnnotation> findExternalAnnotations(@NotNull FqName packageFqName, @NotNull String externalName);
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.*;
+import org.jetbrains.jet.lang.descriptors.Visibility;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.lang.resolve.name.Name;
+import org.jetbrains.jet.utils.ExceptionUtils;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.jetbrains.asm4.ClassReader.*;
+import static org.jetbrains.asm4.Opcodes.*;
+
+/**
+ * A {@link JavaClass} read directly from a class file with ASM. Only the class structure is read: code, debug information and frames
+ * are skipped, and members are never resolved until requested
+ */
+public class BinaryJavaClass implements JavaClass {
+    private static final String JAVA_LANG_OBJECT = "java/lang/Object";
+    private static final String JAVA_LANG_ANNOTATION_ANNOTATION = "java/lang/annotation/Annotation";
+    private static final String CONSTRUCTOR_NAME = "<init>";
+    private static final String CLASS_INITIALIZER_NAME = "<clinit>";
+
+    private final VirtualFile file;
+    private final ClassifierResolutionContext context;
+
+    private String internalName;
+    private int access;
+    private Name name;
+    private FqName fqName;
+    private String outerInternalName;
+    private final List<String> innerClassInternalNames = new ArrayList<String>(0);
+    private final Map<String, String[]> innerClassEntries = new HashMap<String, String[]>();
+
+    private List<JavaTypeParameter> typeParameters;
+    private List<JavaClassifierType> supertypes;
+    private final List<JavaMethod> methods = new ArrayList<JavaMethod>();
+    private final List<JavaMethod> constructors = new ArrayList<JavaMethod>(1);
+    private final List<JavaField> fields = new ArrayList<JavaField>();
+    private final List<JavaAnnotation> annotations = new ArrayList<JavaAnnotation>(0);
+
+    /* package */ BinaryJavaClass(@NotNull VirtualFile file, @NotNull BinaryJavaClassFinder finder) {
+        this.file = file;
+        this.context = new ClassifierResolutionContext(finder);
+        this.context.setOwnerClass(this);
+
+        try {
+            new ClassReader(file.contentsToByteArray()).accept(new Visitor(), SKIP_CODE | SKIP_DEBUG | SKIP_FRAMES);
+        }
+        catch (IOException e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+    }
+
+    private class Visitor extends ClassVisitor {
+        public Visitor() {
+            super(ASM4);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            BinaryJavaClass.this.internalName = name;
+            BinaryJavaClass.this.access = access;
+
+            if (signature != null) {
+                SignatureParser parser = new SignatureParser(context, signature);
+                typeParameters = parser.parseTypeParameters(BinaryJavaClass.this);
+                supertypes = parser.parseSupertypes();
+            }
+            else {
+                typeParameters = Collections.emptyList();
+                supertypes = createRawSupertypes(superName, interfaces);
+            }
+
+            // Like PSI, don't mention java.lang.Object and java.lang.annotation.Annotation in the supertypes list
+            for (Iterator<JavaClassifierType> iterator = supertypes.iterator(); iterator.hasNext(); ) {
+                String supertypeName = ((PlainJavaClassifierType) iterator.next()).getInternalName();
+                if (JAVA_LANG_OBJECT.equals(supertypeName) ||
+                    ((access & ACC_ANNOTATION) != 0 && JAVA_LANG_ANNOTATION_ANNOTATION.equals(supertypeName))) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access) {
+            if ((access & ACC_SYNTHETIC) != 0) return;
+
+            innerClassEntries.put(name, new String[] {outerName, innerName});
+
+            if (name.equals(internalName)) {
+                // Modifiers of a nested class are only written in the InnerClasses attribute
+                BinaryJavaClass.this.access = access | (BinaryJavaClass.this.access & ACC_DEPRECATED);
+                outerInternalName = outerName;
+            }
+            else if (internalName.equals(outerName) && innerName != null) {
+                innerClassInternalNames.add(name);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            return AnnotationArgumentsVisitor.visitAnnotation(desc, context, annotations);
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            if ((access & ACC_SYNTHETIC) != 0) return null;
+
+            JavaType type = new SignatureParser(context, signature != null ? signature : desc).parseFieldType();
+            final BinaryJavaField field = new BinaryJavaField(BinaryJavaClass.this, access, Name.identifier(name), type, value);
+            fields.add(field);
+
+            return new FieldVisitor(ASM4) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                    return AnnotationArgumentsVisitor.visitAnnotation(desc, context, field.getMutableAnnotations());
+                }
+            };
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            if ((access & ACC_SYNTHETIC) != 0 || CLASS_INITIALIZER_NAME.equals(name)) return null;
+
+            boolean isConstructor = CONSTRUCTOR_NAME.equals(name);
+            BinaryJavaMethod method = new BinaryJavaMethod(
+                    BinaryJavaClass.this, access, isConstructor ? computeName() : Name.identifier(name), desc, signature, isConstructor
+            );
+            (isConstructor ? constructors : methods).add(method);
+
+            return method.createVisitor();
+        }
+
+        @Override
+        public void visitEnd() {
+            name = computeName();
+            fqName = computeFqName(internalName);
+        }
+    }
+
+    @NotNull
+    private List<JavaClassifierType> createRawSupertypes(@Nullable String superName, @Nullable String[] interfaces) {
+        List<JavaClassifierType> result = new ArrayList<JavaClassifierType>();
+        if (superName != null) {
+            result.add(new PlainJavaClassifierType(context, superName, Collections.<JavaType>emptyList()));
+        }
+        if (interfaces != null) {
+            for (String anInterface : interfaces) {
+                result.add(new PlainJavaClassifierType(context, anInterface, Collections.<JavaType>emptyList()));
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private Name computeName() {
+        String[] entry = innerClassEntries.get(internalName);
+        if (entry != null && entry[1] != null) {
+            return Name.identifier(entry[1]);
+        }
+        return Name.identifier(internalName.substring(internalName.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Nested classes are named after their outer classes; the InnerClasses attribute of a nested class lists all of its outer classes,
+     * so the name is computed without loading them. Local and anonymous classes have no qualified name
+     */
+    @Nullable
+    private FqName computeFqName(@NotNull String className) {
+        String[] entry = innerClassEntries.get(className);
+        if (entry == null) {
+            return BinaryJavaSignatures.internalNameToFqName(className);
+        }
+
+        String outerName = entry[0];
+        String innerName = entry[1];
+        if (outerName == null || innerName == null) return null;
+
+        FqName outerFqName = computeFqName(outerName);
+        return outerFqName == null ? null : outerFqName.child(Name.identifier(innerName));
+    }
+
+    @NotNull
+    /* package */ ClassifierResolutionContext getContext() {
+        return context;
+    }
+
+    @NotNull
+    public VirtualFile getFile() {
+        return file;
+    }
+
+    @NotNull
+    public String getInternalName() {
+        return internalName;
+    }
+
+    @NotNull
+    public FqName getPackageFqName() {
+        int lastSlash = internalName.lastIndexOf('/');
+        return lastSlash < 0 ? FqName.ROOT : new FqName(internalName.substring(0, lastSlash).replace('/', '.'));
+    }
+
+    /* package */ boolean hasOuterInstance() {
+        return outerInternalName != null && !isStatic();
+    }
+
+    @NotNull
+    @Override
+    public Name getName() {
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public FqName getFqName() {
+        return fqName;
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaClass> getInnerClasses() {
+        List<JavaClass> result = new ArrayList<JavaClass>(innerClassInternalNames.size());
+        for (String innerClassName : innerClassInternalNames) {
+            JavaClass innerClass = context.resolveClass(innerClassName);
+            if (innerClass != null) {
+                result.add(innerClass);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isInterface() {
+        return (access & ACC_INTERFACE) != 0;
+    }
+
+    @Override
+    public boolean isAnnotationType() {
+        return (access & ACC_ANNOTATION) != 0;
+    }
+
+    @Override
+    public boolean isEnum() {
+        return (access & ACC_ENUM) != 0;
+    }
+
+    @Nullable
+    @Override
+    public JavaClass getOuterClass() {
+        return outerInternalName == null ? null : context.resolveClass(outerInternalName);
+    }
+
+    @NotNull
+    @Override
+    public List<JavaTypeParameter> getTypeParameters() {
+        return typeParameters;
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaClassifierType> getSupertypes() {
+        return Collections.unmodifiableList(supertypes);
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaMethod> getMethods() {
+        return Collections.unmodifiableList(methods);
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaMethod> getAllMethods() {
+        List<JavaMethod> result = new ArrayList<JavaMethod>();
+        for (JavaClass javaClass : collectAllSuperClasses()) {
+            result.addAll(javaClass.getMethods());
+        }
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaField> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaField> getAllFields() {
+        List<JavaField> result = new ArrayList<JavaField>();
+        for (JavaClass javaClass : collectAllSuperClasses()) {
+            result.addAll(javaClass.getFields());
+        }
+        return result;
+    }
+
+    /**
+     * @return this class and all of its resolvable superclasses and superinterfaces, each mentioned once. java.lang.Object is omitted
+     * from the supertypes lists, so it's added explicitly, which also makes it a supertype of interfaces as in PSI
+     */
+    @NotNull
+    private Collection<JavaClass> collectAllSuperClasses() {
+        Set<JavaClass> result = new LinkedHashSet<JavaClass>();
+        Deque<JavaClass> queue = new ArrayDeque<JavaClass>();
+        queue.add(this);
+        while (!queue.isEmpty()) {
+            JavaClass javaClass = queue.poll();
+            if (!result.add(javaClass)) continue;
+
+            for (JavaClassifierType supertype : javaClass.getSupertypes()) {
+                JavaClassifier classifier = supertype.getClassifier();
+                if (classifier instanceof JavaClass) {
+                    queue.add((JavaClass) classifier);
+                }
+            }
+        }
+
+        JavaClass javaLangObject = context.resolveClass(JAVA_LANG_OBJECT);
+        if (javaLangObject != null) {
+            result.add(javaLangObject);
+        }
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaMethod> getConstructors() {
+        return Collections.unmodifiableList(constructors);
+    }
+
+    @NotNull
+    @Override
+    public JavaClassifierType getDefaultType() {
+        return new PlainJavaClassifierType(context, internalName, Collections.<JavaType>emptyList());
+    }
+
+    @NotNull
+    @Override
+    public OriginKind getOriginKind() {
+        return OriginKind.COMPILED;
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return BinaryJavaElementUtil.isAbstract(access);
+    }
+
+    @Override
+    public boolean isStatic() {
+        return BinaryJavaElementUtil.isStatic(access);
+    }
+
+    @Override
+    public boolean isFinal() {
+        return BinaryJavaElementUtil.isFinal(access);
+    }
+
+    @NotNull
+    @Override
+    public Visibility getVisibility() {
+        return BinaryJavaElementUtil.getVisibility(access);
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaAnnotation> getAnnotations() {
+        return Collections.unmodifiableList(annotations);
+    }
+
+    @Nullable
+    @Override
+    public JavaAnnotation findAnnotation(@NotNull FqName fqName) {
+        return BinaryJavaElementUtil.findAnnotation(annotations, fqName);
+    }
+
+    @Override
+    public int hashCode() {
+        return file.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof BinaryJavaClass && file.equals(((BinaryJavaClass) obj).file);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + internalName;
+    }
+}
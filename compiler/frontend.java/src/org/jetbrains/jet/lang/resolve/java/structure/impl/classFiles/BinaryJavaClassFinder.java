@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
+import org.jetbrains.jet.lang.resolve.java.structure.impl.JavaClassImpl;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads Java classes from class files found by {@link ClassFileFinder}. Every class file is read at most once.
+ * Classes referenced from class files but absent in binary roots (e.g. Java sources or Kotlin light classes) are looked up through PSI
+ */
+public class BinaryJavaClassFinder {
+    private final Project project;
+    private final ClassFileFinder classFileFinder;
+    private final BinaryExternalAnnotationsProvider externalAnnotationsProvider;
+
+    private final Map<VirtualFile, BinaryJavaClass> classesByFile = new HashMap<VirtualFile, BinaryJavaClass>();
+    private final Map<String, JavaClass> classesByInternalName = new HashMap<String, JavaClass>();
+
+    public BinaryJavaClassFinder(@NotNull Project project, @NotNull ClassFileFinder classFileFinder) {
+        this.project = project;
+        this.classFileFinder = classFileFinder;
+        this.externalAnnotationsProvider = BinaryExternalAnnotationsProvider.SERVICE.getInstance(project);
+    }
+
+    @Nullable
+    /* package */ BinaryExternalAnnotationsProvider getExternalAnnotationsProvider() {
+        return externalAnnotationsProvider;
+    }
+
+    @Nullable
+    public JavaClass findClass(@NotNull FqName fqName) {
+        VirtualFile file = classFileFinder.findClassFile(fqName);
+        if (file == null) return null;
+
+        BinaryJavaClass javaClass = getOrCreateClass(file);
+        // A class file may be found by a name which doesn't correspond to its actual name, e.g. "a.b" for "a$b.class"
+        return fqName.equals(javaClass.getFqName()) ? javaClass : null;
+    }
+
+    @Nullable
+    public JavaClass resolveClass(@NotNull String internalName) {
+        if (classesByInternalName.containsKey(internalName)) {
+            return classesByInternalName.get(internalName);
+        }
+
+        JavaClass result;
+        VirtualFile file = classFileFinder.findClassFileByInternalName(internalName);
+        if (file != null) {
+            result = getOrCreateClass(file);
+        }
+        else {
+            String qualifiedName = BinaryJavaSignatures.internalNameToFqName(internalName).asString();
+            PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(qualifiedName, GlobalSearchScope.allScope(project));
+            result = psiClass == null ? null : new JavaClassImpl(psiClass);
+        }
+
+        classesByInternalName.put(internalName, result);
+        return result;
+    }
+
+    @NotNull
+    private BinaryJavaClass getOrCreateClass(@NotNull VirtualFile file) {
+        BinaryJavaClass javaClass = classesByFile.get(file);
+        if (javaClass == null) {
+            javaClass = new BinaryJavaClass(file, this);
+            classesByFile.put(file, javaClass);
+        }
+        return javaClass;
+    }
+}
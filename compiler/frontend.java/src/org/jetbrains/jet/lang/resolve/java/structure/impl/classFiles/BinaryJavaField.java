@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaField;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaType;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import static org.jetbrains.asm4.Opcodes.ACC_ENUM;
+
+public class BinaryJavaField extends BinaryJavaMember implements JavaField {
+    private final JavaType type;
+    private final Object constantValue;
+
+    /* package */ BinaryJavaField(
+            @NotNull BinaryJavaClass containingClass,
+            int access,
+            @NotNull Name name,
+            @NotNull JavaType type,
+            @Nullable Object constantValue
+    ) {
+        super(containingClass, access, name);
+        this.type = type;
+        this.constantValue = constantValue;
+    }
+
+    @Override
+    public boolean isEnumEntry() {
+        return (getAccess() & ACC_ENUM) != 0;
+    }
+
+    @NotNull
+    @Override
+    public JavaType getType() {
+        return type;
+    }
+
+    /**
+     * @return the value of the ConstantValue attribute of this field, if any
+     */
+    @Nullable
+    public Object getConstantValue() {
+        return constantValue;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getContainingClass().hashCode() + getName().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof BinaryJavaField)) return false;
+        BinaryJavaField other = (BinaryJavaField) obj;
+        return getName().equals(other.getName()) && getContainingClass().equals(other.getContainingClass());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + getContainingClass().getFqName() + "." + getName();
+    }
+}
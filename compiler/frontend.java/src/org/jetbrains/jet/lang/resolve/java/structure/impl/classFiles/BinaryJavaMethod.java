@@ -0,0 +1,179 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.AnnotationVisitor;
+import org.jetbrains.asm4.MethodVisitor;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.jetbrains.asm4.Opcodes.ACC_VARARGS;
+import static org.jetbrains.asm4.Opcodes.ASM4;
+
+public class BinaryJavaMethod extends BinaryJavaMember implements JavaMethod {
+    private static final String SYNTHETIC_PARAMETER_ANNOTATION = "Ljava/lang/Synthetic;";
+
+    private final String desc;
+    private final boolean isConstructor;
+    private final List<JavaTypeParameter> typeParameters;
+    private final List<JavaValueParameter> valueParameters;
+    private final JavaType returnType;
+    private boolean hasAnnotationParameterDefaultValue;
+
+    // Number of parameters in the descriptor which are absent in the source, e.g. an outer instance in inner class constructors
+    private final int syntheticParameterCount;
+
+    /* package */ BinaryJavaMethod(
+            @NotNull BinaryJavaClass containingClass,
+            int access,
+            @NotNull Name name,
+            @NotNull String desc,
+            @Nullable String signature,
+            boolean isConstructor
+    ) {
+        super(containingClass, access, name);
+        this.desc = desc;
+        this.isConstructor = isConstructor;
+
+        ClassifierResolutionContext context = containingClass.getContext().createChildContext();
+        SignatureParser parser = new SignatureParser(context, signature != null ? signature : desc);
+        this.typeParameters = parser.parseTypeParameters(this);
+
+        List<JavaType> parameterTypes = parser.parseParameterTypes();
+        int descriptorParameterCount = Type.getArgumentTypes(desc).length;
+        if (signature == null && isConstructor) {
+            int syntheticCount = getSyntheticConstructorParameterCount(containingClass);
+            parameterTypes = parameterTypes.subList(Math.min(syntheticCount, parameterTypes.size()), parameterTypes.size());
+        }
+        this.syntheticParameterCount = Math.max(descriptorParameterCount - parameterTypes.size(), 0);
+
+        this.returnType = isConstructor ? null : parser.parseReturnType();
+
+        boolean isVararg = (access & ACC_VARARGS) != 0;
+        List<JavaValueParameter> valueParameters = new ArrayList<JavaValueParameter>(parameterTypes.size());
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            valueParameters.add(new BinaryJavaValueParameter(this, i, parameterTypes.get(i), isVararg && i == parameterTypes.size() - 1));
+        }
+        this.valueParameters = valueParameters;
+    }
+
+    private static int getSyntheticConstructorParameterCount(@NotNull BinaryJavaClass javaClass) {
+        if (javaClass.isEnum()) {
+            // name and ordinal
+            return 2;
+        }
+        if (javaClass.hasOuterInstance()) {
+            // outer instance
+            return 1;
+        }
+        return 0;
+    }
+
+    @NotNull
+    /* package */ MethodVisitor createVisitor() {
+        final ClassifierResolutionContext context = ((BinaryJavaClass) getContainingClass()).getContext();
+        return new MethodVisitor(ASM4) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                return AnnotationArgumentsVisitor.visitAnnotation(desc, context, getMutableAnnotations());
+            }
+
+            @Override
+            public AnnotationVisitor visitParameterAnnotation(int parameter, String desc, boolean visible) {
+                int index = parameter - syntheticParameterCount;
+                if (index < 0 || index >= valueParameters.size() || SYNTHETIC_PARAMETER_ANNOTATION.equals(desc)) return null;
+
+                BinaryJavaValueParameter valueParameter = (BinaryJavaValueParameter) valueParameters.get(index);
+                return AnnotationArgumentsVisitor.visitAnnotation(desc, context, valueParameter.getMutableAnnotations());
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotationDefault() {
+                hasAnnotationParameterDefaultValue = true;
+                return null;
+            }
+        };
+    }
+
+    /**
+     * @return the JVM descriptor of this method, e.g. {@code "(ILjava/lang/String;)V"}
+     */
+    @NotNull
+    public String getDesc() {
+        return desc;
+    }
+
+    @NotNull
+    @Override
+    public List<JavaTypeParameter> getTypeParameters() {
+        return typeParameters;
+    }
+
+    @NotNull
+    @Override
+    public List<JavaValueParameter> getValueParameters() {
+        return Collections.unmodifiableList(valueParameters);
+    }
+
+    @Override
+    public boolean hasAnnotationParameterDefaultValue() {
+        return hasAnnotationParameterDefaultValue;
+    }
+
+    @Nullable
+    @Override
+    public JavaType getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public boolean isVararg() {
+        return (getAccess() & ACC_VARARGS) != 0;
+    }
+
+    @Override
+    public boolean isConstructor() {
+        return isConstructor;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * getContainingClass().hashCode() + getName().hashCode()) + desc.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof BinaryJavaMethod)) return false;
+        BinaryJavaMethod other = (BinaryJavaMethod) obj;
+        return isConstructor == other.isConstructor &&
+               getName().equals(other.getName()) &&
+               desc.equals(other.desc) &&
+               getContainingClass().equals(other.getContainingClass());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + getContainingClass().getFqName() + "." + getName() + desc;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Formats binary Java elements the same way as {@link com.intellij.psi.util.PsiFormatUtil} formats the corresponding PSI elements,
+ * so that signatures of binary and source methods can be used interchangeably, e.g. as keys in external annotations
+ */
+public class BinaryJavaSignatures {
+    private BinaryJavaSignatures() {
+    }
+
+    @NotNull
+    public static FqName internalNameToFqName(@NotNull String internalName) {
+        return new FqName(internalName.replace('/', '.').replace('$', '.'));
+    }
+
+    /**
+     * @see com.intellij.psi.util.PsiFormatUtil#formatMethod
+     */
+    @NotNull
+    public static String formatMethod(@NotNull JavaMethod method) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(method.getName().asString());
+        appendParameters(sb, method);
+        return sb.toString();
+    }
+
+    /**
+     * @see com.intellij.psi.util.PsiFormatUtil#getExternalName
+     */
+    @NotNull
+    public static String getExternalName(@NotNull JavaMethod method) {
+        StringBuilder sb = new StringBuilder();
+        FqName classFqName = method.getContainingClass().getFqName();
+        sb.append(classFqName == null ? "null" : classFqName.asString()).append(' ');
+
+        JavaType returnType = method.getReturnType();
+        if (returnType != null) {
+            sb.append(renderType(returnType, true)).append(' ');
+        }
+
+        sb.append(method.getName().asString());
+        appendParameters(sb, method);
+        return sb.toString();
+    }
+
+    private static void appendParameters(@NotNull StringBuilder sb, @NotNull JavaMethod method) {
+        sb.append('(');
+        List<JavaValueParameter> parameters = method.getValueParameters();
+        for (Iterator<JavaValueParameter> iterator = parameters.iterator(); iterator.hasNext(); ) {
+            JavaValueParameter parameter = iterator.next();
+            JavaType type = parameter.getType();
+            if (parameter.isVararg() && type instanceof JavaArrayType) {
+                sb.append(renderType(((JavaArrayType) type).getComponentType(), true)).append("...");
+            }
+            else {
+                sb.append(renderType(type, true));
+            }
+            if (iterator.hasNext()) sb.append(", ");
+        }
+        sb.append(')');
+    }
+
+    /**
+     * @param canonical true for the canonical text of the type (fully qualified names, no spaces between type arguments), false for
+     *                  the presentable text (short names)
+     */
+    @NotNull
+    public static String renderType(@NotNull JavaType type, boolean canonical) {
+        StringBuilder sb = new StringBuilder();
+        appendType(sb, type, canonical);
+        return sb.toString();
+    }
+
+    private static void appendType(@NotNull StringBuilder sb, @NotNull JavaType type, boolean canonical) {
+        if (type instanceof JavaPrimitiveType) {
+            sb.append(((JavaPrimitiveType) type).getCanonicalText());
+        }
+        else if (type instanceof JavaArrayType) {
+            appendType(sb, ((JavaArrayType) type).getComponentType(), canonical);
+            sb.append("[]");
+        }
+        else if (type instanceof JavaWildcardType) {
+            JavaWildcardType wildcardType = (JavaWildcardType) type;
+            JavaType bound = wildcardType.getBound();
+            sb.append('?');
+            if (bound != null) {
+                sb.append(wildcardType.isExtends() ? " extends " : " super ");
+                appendType(sb, bound, canonical);
+            }
+        }
+        else if (type instanceof PlainJavaClassifierType) {
+            appendClassifierType(sb, (PlainJavaClassifierType) type, canonical);
+        }
+        else if (type instanceof JavaClassifierType) {
+            sb.append(((JavaClassifierType) type).getPresentableText());
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    private static void appendClassifierType(@NotNull StringBuilder sb, @NotNull PlainJavaClassifierType type, boolean canonical) {
+        String internalName = type.getInternalName();
+        PlainJavaClassifierType outerType = type.getOuterType();
+        if (internalName == null) {
+            // Type variable
+            sb.append(type.getPresentableText());
+            return;
+        }
+
+        if (!canonical) {
+            sb.append(internalName.substring(Math.max(internalName.lastIndexOf('/'), internalName.lastIndexOf('$')) + 1));
+        }
+        else if (outerType != null && !outerType.getTypeArguments().isEmpty()) {
+            appendClassifierType(sb, outerType, true);
+            sb.append('.').append(internalName.substring(internalName.lastIndexOf('$') + 1));
+        }
+        else {
+            JavaClassifier classifier = type.getClassifier();
+            FqName fqName = classifier instanceof JavaClass ? ((JavaClass) classifier).getFqName() : null;
+            sb.append(fqName != null ? fqName.asString() : internalNameToFqName(internalName).asString());
+        }
+
+        List<JavaType> typeArguments = type.getTypeArguments();
+        if (!typeArguments.isEmpty()) {
+            sb.append('<');
+            for (Iterator<JavaType> iterator = typeArguments.iterator(); iterator.hasNext(); ) {
+                appendType(sb, iterator.next(), canonical);
+                if (iterator.hasNext()) sb.append(canonical ? "," : ", ");
+            }
+            sb.append('>');
+        }
+    }
+}
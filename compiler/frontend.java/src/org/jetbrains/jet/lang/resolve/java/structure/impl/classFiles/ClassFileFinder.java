@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+/**
+ * Finds class files of Java classes on the class path. If this service is registered in the project, Java classes from binary roots
+ * are read directly from class files (see {@link BinaryJavaClass}) instead of being loaded through PSI
+ */
+public interface ClassFileFinder {
+    class SERVICE {
+        @Nullable
+        public static ClassFileFinder getInstance(@NotNull Project project) {
+            return ServiceManager.getService(project, ClassFileFinder.class);
+        }
+    }
+
+    @Nullable
+    VirtualFile findClassFile(@NotNull FqName className);
+
+    /**
+     * @param internalName JVM internal name of a class, e.g. {@code "java/util/Map$Entry"}
+     */
+    @Nullable
+    VirtualFile findClassFileByInternalName(@NotNull String internalName);
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resolves class references and type variables met in a class file: class names are looked up through {@link BinaryJavaClassFinder},
+ * type variables are searched in the type parameters of the enclosing method, then of the class and its outer classes
+ */
+public final class ClassifierResolutionContext implements JavaTypeProvider {
+    private static final String JAVA_LANG_OBJECT = "java/lang/Object";
+
+    private final BinaryJavaClassFinder finder;
+    private final ClassifierResolutionContext parent;
+    private BinaryJavaClass ownerClass;
+    private List<JavaTypeParameter> typeParameters = Collections.emptyList();
+
+    /* package */ ClassifierResolutionContext(@NotNull BinaryJavaClassFinder finder) {
+        this(finder, null);
+    }
+
+    private ClassifierResolutionContext(@NotNull BinaryJavaClassFinder finder, @Nullable ClassifierResolutionContext parent) {
+        this.finder = finder;
+        this.parent = parent;
+    }
+
+    @NotNull
+    /* package */ ClassifierResolutionContext createChildContext() {
+        return new ClassifierResolutionContext(finder, this);
+    }
+
+    /* package */ void setOwnerClass(@NotNull BinaryJavaClass ownerClass) {
+        this.ownerClass = ownerClass;
+    }
+
+    /* package */ void setTypeParameters(@NotNull List<JavaTypeParameter> typeParameters) {
+        this.typeParameters = typeParameters;
+    }
+
+    @NotNull
+    /* package */ BinaryJavaClassFinder getFinder() {
+        return finder;
+    }
+
+    @Nullable
+    public JavaClass resolveClass(@NotNull String internalName) {
+        return finder.resolveClass(internalName);
+    }
+
+    @Nullable
+    public JavaTypeParameter resolveTypeParameter(@NotNull String name) {
+        for (JavaTypeParameter typeParameter : typeParameters) {
+            if (typeParameter.getName().asString().equals(name)) {
+                return typeParameter;
+            }
+        }
+
+        if (parent != null) {
+            return parent.resolveTypeParameter(name);
+        }
+
+        if (ownerClass != null && ownerClass.getOuterClass() != null && !ownerClass.isStatic()) {
+            return findTypeParameterInClass(ownerClass.getOuterClass(), name);
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private static JavaTypeParameter findTypeParameterInClass(@NotNull JavaClass javaClass, @NotNull String name) {
+        if (javaClass instanceof BinaryJavaClass) {
+            return ((BinaryJavaClass) javaClass).getContext().resolveTypeParameter(name);
+        }
+
+        for (JavaClass current = javaClass; current != null; current = current.isStatic() ? null : current.getOuterClass()) {
+            for (JavaTypeParameter typeParameter : current.getTypeParameters()) {
+                if (typeParameter.getName().asString().equals(name)) {
+                    return typeParameter;
+                }
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public JavaType createJavaLangObjectType() {
+        return new PlainJavaClassifierType(this, JAVA_LANG_OBJECT, Collections.<JavaType>emptyList());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class PlainJavaAnnotation implements JavaAnnotation {
+    private final FqName fqName;
+    private final List<JavaAnnotationArgument> arguments = new ArrayList<JavaAnnotationArgument>(1);
+
+    public PlainJavaAnnotation(@NotNull FqName fqName) {
+        this.fqName = fqName;
+    }
+
+    public void addArgument(@NotNull JavaAnnotationArgument argument) {
+        arguments.add(argument);
+    }
+
+    @Nullable
+    @Override
+    public JavaAnnotationArgument findArgument(@NotNull Name name) {
+        for (JavaAnnotationArgument argument : arguments) {
+            if (name.equals(argument.getName())) {
+                return argument;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaAnnotationArgument> getArguments() {
+        return Collections.unmodifiableList(arguments);
+    }
+
+    @Nullable
+    @Override
+    public FqName getFqName() {
+        return fqName;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + fqName + arguments;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaArrayAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.util.List;
+
+public class PlainJavaArrayAnnotationArgument implements JavaArrayAnnotationArgument {
+    private final Name name;
+    private final List<JavaAnnotationArgument> elements;
+
+    public PlainJavaArrayAnnotationArgument(@Nullable Name name, @NotNull List<JavaAnnotationArgument> elements) {
+        this.name = name;
+        this.elements = elements;
+    }
+
+    @Nullable
+    @Override
+    public Name getName() {
+        return name;
+    }
+
+    @NotNull
+    @Override
+    public List<JavaAnnotationArgument> getElements() {
+        return elements;
+    }
+}
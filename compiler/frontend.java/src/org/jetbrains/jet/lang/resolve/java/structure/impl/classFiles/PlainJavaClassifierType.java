@@ -0,0 +1,206 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
+
+import java.util.*;
+
+/**
+ * A reference to a class or to a type variable read from a class file. The classifier is resolved lazily on the first request,
+ * so that reading a signature never triggers loading of the referenced classes
+ */
+public class PlainJavaClassifierType implements JavaClassifierType {
+    private final ClassifierResolutionContext context;
+    private final String internalName;
+    private final String typeVariableName;
+    private final List<JavaType> typeArguments;
+    private final PlainJavaClassifierType outerType;
+
+    private boolean resolved;
+    private JavaClassifier classifier;
+    private JavaTypeSubstitutor substitutor;
+
+    public PlainJavaClassifierType(
+            @NotNull ClassifierResolutionContext context,
+            @NotNull String internalName,
+            @NotNull List<JavaType> typeArguments
+    ) {
+        this(context, internalName, null, typeArguments, null);
+    }
+
+    private PlainJavaClassifierType(
+            @NotNull ClassifierResolutionContext context,
+            @Nullable String internalName,
+            @Nullable String typeVariableName,
+            @NotNull List<JavaType> typeArguments,
+            @Nullable PlainJavaClassifierType outerType
+    ) {
+        this.context = context;
+        this.internalName = internalName;
+        this.typeVariableName = typeVariableName;
+        this.typeArguments = typeArguments;
+        this.outerType = outerType;
+    }
+
+    @NotNull
+    public static PlainJavaClassifierType typeVariable(@NotNull ClassifierResolutionContext context, @NotNull String name) {
+        return new PlainJavaClassifierType(context, null, name, Collections.<JavaType>emptyList(), null);
+    }
+
+    @NotNull
+    public static PlainJavaClassifierType innerClass(
+            @NotNull PlainJavaClassifierType outerType,
+            @NotNull String internalName,
+            @NotNull List<JavaType> typeArguments
+    ) {
+        return new PlainJavaClassifierType(outerType.context, internalName, null, typeArguments, outerType);
+    }
+
+    @NotNull
+    /* package */ PlainJavaClassifierType replaceTypeArguments(@NotNull List<JavaType> newTypeArguments) {
+        return new PlainJavaClassifierType(context, internalName, typeVariableName, newTypeArguments, outerType);
+    }
+
+    @Nullable
+    public String getInternalName() {
+        return internalName;
+    }
+
+    @Nullable
+    /* package */ PlainJavaClassifierType getOuterType() {
+        return outerType;
+    }
+
+    @Nullable
+    @Override
+    public JavaClassifier getClassifier() {
+        resolve();
+        return classifier;
+    }
+
+    @NotNull
+    @Override
+    public JavaTypeSubstitutor getSubstitutor() {
+        resolve();
+        return substitutor;
+    }
+
+    private void resolve() {
+        if (resolved) return;
+        resolved = true;
+
+        if (typeVariableName != null) {
+            classifier = context.resolveTypeParameter(typeVariableName);
+            substitutor = JavaTypeSubstitutor.EMPTY;
+            return;
+        }
+
+        assert internalName != null : "Either class or type variable should be referenced: " + this;
+        classifier = context.resolveClass(internalName);
+        substitutor = classifier instanceof JavaClass ? createSubstitutor((JavaClass) classifier) : JavaTypeSubstitutor.EMPTY;
+    }
+
+    @NotNull
+    private JavaTypeSubstitutor createSubstitutor(@NotNull JavaClass javaClass) {
+        List<JavaTypeParameter> typeParameters = javaClass.getTypeParameters();
+        Map<JavaTypeParameter, JavaType> substitutionMap = new HashMap<JavaTypeParameter, JavaType>();
+
+        if (outerType != null) {
+            substitutionMap.putAll(outerType.getSubstitutor().getSubstitutionMap());
+        }
+
+        boolean isRaw = typeArguments.isEmpty();
+        for (int i = 0; i < typeParameters.size(); i++) {
+            // Null means a raw type, the same as in PsiSubstitutor
+            JavaType argument = isRaw || i >= typeArguments.size() ? null : typeArguments.get(i);
+            substitutionMap.put(typeParameters.get(i), argument);
+        }
+
+        return substitutionMap.isEmpty() ? JavaTypeSubstitutor.EMPTY : new PlainJavaTypeSubstitutor(substitutionMap);
+    }
+
+    @NotNull
+    @Override
+    public Collection<JavaClassifierType> getSupertypes() {
+        JavaClassifier classifier = getClassifier();
+        if (classifier instanceof JavaTypeParameter) {
+            Collection<JavaClassifierType> bounds = ((JavaTypeParameter) classifier).getUpperBounds();
+            return bounds.isEmpty()
+                   ? Collections.singletonList((JavaClassifierType) context.createJavaLangObjectType())
+                   : bounds;
+        }
+        if (!(classifier instanceof JavaClass)) return Collections.emptyList();
+
+        Collection<JavaClassifierType> supertypes = ((JavaClass) classifier).getSupertypes();
+        JavaTypeSubstitutor substitutor = getSubstitutor();
+        if (substitutor == JavaTypeSubstitutor.EMPTY) return supertypes;
+
+        List<JavaClassifierType> result = new ArrayList<JavaClassifierType>(supertypes.size());
+        for (JavaClassifierType supertype : supertypes) {
+            result.add((JavaClassifierType) substitutor.substitute(supertype));
+        }
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public String getPresentableText() {
+        if (typeVariableName != null) return typeVariableName;
+        return BinaryJavaSignatures.renderType(this, false);
+    }
+
+    @Override
+    public boolean isRaw() {
+        if (!typeArguments.isEmpty()) return false;
+        JavaClassifier classifier = getClassifier();
+        return classifier instanceof JavaClass && !((JavaClass) classifier).getTypeParameters().isEmpty();
+    }
+
+    @NotNull
+    @Override
+    public List<JavaType> getTypeArguments() {
+        return typeArguments;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = internalName != null ? internalName.hashCode() : typeVariableName.hashCode();
+        return 31 * result + typeArguments.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof PlainJavaClassifierType)) return false;
+        PlainJavaClassifierType other = (PlainJavaClassifierType) obj;
+        return equal(internalName, other.internalName) &&
+               equal(typeVariableName, other.typeVariableName) &&
+               typeArguments.equals(other.typeArguments) &&
+               equal(outerType, other.outerType);
+    }
+
+    private static boolean equal(@Nullable Object o1, @Nullable Object o2) {
+        return o1 == null ? o2 == null : o1.equals(o2);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + getPresentableText();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaElement;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaField;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaReferenceAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+/**
+ * A reference to an enum entry, the only kind of reference allowed in annotation arguments in class files
+ */
+public class PlainJavaEnumValueAnnotationArgument implements JavaReferenceAnnotationArgument {
+    private final Name name;
+    private final String enumInternalName;
+    private final String entryName;
+    private final ClassifierResolutionContext context;
+
+    public PlainJavaEnumValueAnnotationArgument(
+            @Nullable Name name,
+            @NotNull String enumInternalName,
+            @NotNull String entryName,
+            @NotNull ClassifierResolutionContext context
+    ) {
+        this.name = name;
+        this.enumInternalName = enumInternalName;
+        this.entryName = entryName;
+        this.context = context;
+    }
+
+    @Nullable
+    @Override
+    public Name getName() {
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public JavaElement resolve() {
+        JavaClass enumClass = context.resolveClass(enumInternalName);
+        if (enumClass == null) return null;
+
+        for (JavaField field : enumClass.getFields()) {
+            if (field.isEnumEntry() && field.getName().asString().equals(entryName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaPrimitiveType;
+
+public class PlainJavaPrimitiveType implements JavaPrimitiveType {
+    private final String canonicalText;
+
+    public PlainJavaPrimitiveType(@NotNull String canonicalText) {
+        this.canonicalText = canonicalText;
+    }
+
+    @NotNull
+    @Override
+    public String getCanonicalText() {
+        return canonicalText;
+    }
+
+    @Override
+    public int hashCode() {
+        return canonicalText.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PlainJavaPrimitiveType && canonicalText.equals(((PlainJavaPrimitiveType) obj).canonicalText);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + canonicalText;
+    }
+}
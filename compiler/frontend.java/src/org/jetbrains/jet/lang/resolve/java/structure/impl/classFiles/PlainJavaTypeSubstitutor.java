@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.resolve.java.resolver.DescriptorResolverUtils;
+import org.jetbrains.jet.lang.resolve.java.structure.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class PlainJavaTypeSubstitutor implements JavaTypeSubstitutor {
+    private final Map<JavaTypeParameter, JavaType> substitutionMap;
+
+    public PlainJavaTypeSubstitutor(@NotNull Map<JavaTypeParameter, JavaType> substitutionMap) {
+        this.substitutionMap = substitutionMap;
+    }
+
+    @NotNull
+    @Override
+    public JavaType substitute(@NotNull JavaType type) {
+        if (type instanceof PlainJavaClassifierType) {
+            PlainJavaClassifierType classifierType = (PlainJavaClassifierType) type;
+            JavaClassifier classifier = classifierType.getClassifier();
+            if (classifier instanceof JavaTypeParameter) {
+                JavaTypeParameter typeParameter = (JavaTypeParameter) classifier;
+                if (!substitutionMap.containsKey(typeParameter)) return type;
+
+                JavaType substituted = substitutionMap.get(typeParameter);
+                if (substituted != null) return substituted;
+
+                // The type parameter is substituted by a raw type, so the result is its erasure
+                JavaType erasure = DescriptorResolverUtils.erasure(type);
+                return erasure != null ? erasure : type;
+            }
+
+            List<JavaType> arguments = classifierType.getTypeArguments();
+            if (arguments.isEmpty()) return type;
+
+            List<JavaType> substitutedArguments = new ArrayList<JavaType>(arguments.size());
+            for (JavaType argument : arguments) {
+                substitutedArguments.add(substitute(argument));
+            }
+            return classifierType.replaceTypeArguments(substitutedArguments);
+        }
+        else if (type instanceof JavaArrayType) {
+            JavaType componentType = ((JavaArrayType) type).getComponentType();
+            JavaType substituted = substitute(componentType);
+            return substituted == componentType ? type : new PlainJavaArrayType(substituted);
+        }
+        else if (type instanceof PlainJavaWildcardType) {
+            PlainJavaWildcardType wildcardType = (PlainJavaWildcardType) type;
+            JavaType bound = wildcardType.getBound();
+            if (bound == null) return type;
+            return new PlainJavaWildcardType(substitute(bound), wildcardType.isExtends(),
+                                             (ClassifierResolutionContext) wildcardType.getTypeProvider());
+        }
+        return type;
+    }
+
+    @Nullable
+    @Override
+    public JavaType substitute(@NotNull JavaTypeParameter typeParameter) {
+        if (substitutionMap.containsKey(typeParameter)) {
+            return substitutionMap.get(typeParameter);
+        }
+        return typeParameter.getType();
+    }
+
+    @NotNull
+    @Override
+    public Map<JavaTypeParameter, JavaType> getSubstitutionMap() {
+        return substitutionMap;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + substitutionMap;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java.structure.impl.classFiles;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaClassifierType;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaType;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaTypeParameter;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaTypeParameterListOwner;
+import org.jetbrains.jet.lang.resolve.name.Name;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses generic signatures (JVMS 4.3.4) and plain descriptors (JVMS 4.3.2, 4.3.3) found in class files
+ */
+/* package */ class SignatureParser {
+    private final ClassifierResolutionContext context;
+    private final String signature;
+    private int position;
+
+    /* package */ SignatureParser(@NotNull ClassifierResolutionContext context, @NotNull String signature) {
+        this.context = context;
+        this.signature = signature;
+    }
+
+    /* package */ boolean hasTypeParameters() {
+        return current() == '<';
+    }
+
+    /**
+     * Parses a list of formal type parameters and registers them in the context, so that they can be referenced from the rest of
+     * the signature
+     */
+    @NotNull
+    /* package */ List<JavaTypeParameter> parseTypeParameters(@NotNull JavaTypeParameterListOwner owner) {
+        if (!hasTypeParameters()) return Collections.emptyList();
+        position++;
+
+        List<JavaTypeParameter> result = new ArrayList<JavaTypeParameter>();
+        while (current() != '>') {
+            int colon = signature.indexOf(':', position);
+            String name = signature.substring(position, colon);
+            position = colon;
+
+            List<JavaClassifierType> bounds = new ArrayList<JavaClassifierType>(1);
+            while (current() == ':') {
+                position++;
+                // Class bound may be absent if the type parameter is bounded only by interfaces
+                if (current() != ':') {
+                    bounds.add((JavaClassifierType) parseFieldType());
+                }
+            }
+
+            result.add(new BinaryJavaTypeParameter(Name.identifier(name), result.size(), owner, dropJavaLangObject(bounds), context));
+        }
+        position++;
+
+        context.setTypeParameters(result);
+        return result;
+    }
+
+    @NotNull
+    private static List<JavaClassifierType> dropJavaLangObject(@NotNull List<JavaClassifierType> bounds) {
+        if (bounds.size() == 1) {
+            JavaClassifierType bound = bounds.get(0);
+            if (bound instanceof PlainJavaClassifierType &&
+                "java/lang/Object".equals(((PlainJavaClassifierType) bound).getInternalName())) {
+                // This is how PSI represents type parameters without explicit bounds
+                return Collections.emptyList();
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Parses the rest of a class signature after the type parameters: the superclass and the implemented interfaces
+     */
+    @NotNull
+    /* package */ List<JavaClassifierType> parseSupertypes() {
+        List<JavaClassifierType> result = new ArrayList<JavaClassifierType>();
+        while (position < signature.length()) {
+            result.add((JavaClassifierType) parseFieldType());
+        }
+        return result;
+    }
+
+    /**
+     * Parses the parameter types of a method signature or descriptor, leaving the position at the return type
+     */
+    @NotNull
+    /* package */ List<JavaType> parseParameterTypes() {
+        expect('(');
+        List<JavaType> result = new ArrayList<JavaType>();
+        while (current() != ')') {
+            result.add(parseFieldType());
+        }
+        position++;
+        return result;
+    }
+
+    @NotNull
+    /* package */ JavaType parseReturnType() {
+        if (current() == 'V') {
+            position++;
+            return new PlainJavaPrimitiveType("void");
+        }
+        return parseFieldType();
+    }
+
+    @NotNull
+    /* package */ JavaType parseFieldType() {
+        char c = signature.charAt(position++);
+        switch (c) {
+            case 'B': return new PlainJavaPrimitiveType("byte");
+            case 'C': return new PlainJavaPrimitiveType("char");
+            case 'D': return new PlainJavaPrimitiveType("double");
+            case 'F': return new PlainJavaPrimitiveType("float");
+            case 'I': return new PlainJavaPrimitiveType("int");
+            case 'J': return new PlainJavaPrimitiveType("long");
+            case 'S': return new PlainJavaPrimitiveType("short");
+            case 'Z': return new PlainJavaPrimitiveType("boolean");
+            case '[': return new PlainJavaArrayType(parseFieldType());
+            case 'T': {
+                int end = signature.indexOf(';', position);
+                String name = signature.substring(position, end);
+                position = end + 1;
+                return PlainJavaClassifierType.typeVariable(context, name);
+            }
+            case 'L': return parseClassType();
+            default:
+                throw new IllegalStateException("Unexpected character '" + c + "' at " + (position - 1) + " in signature: " + signature);
+        }
+    }
+
+    @NotNull
+    private PlainJavaClassifierType parseClassType() {
+        PlainJavaClassifierType result = null;
+        StringBuilder internalName = new StringBuilder();
+        while (true) {
+            int start = position;
+            while (current() != '<' && current() != '.' && current() != ';') {
+                position++;
+            }
+            internalName.append(signature, start, position);
+
+            List<JavaType> typeArguments = parseTypeArguments();
+            result = result == null
+                     ? new PlainJavaClassifierType(context, internalName.toString(), typeArguments)
+                     : PlainJavaClassifierType.innerClass(result, internalName.toString(), typeArguments);
+
+            char c = signature.charAt(position++);
+            if (c == ';') return result;
+            assert c == '.' : "Unexpected character '" + c + "' at " + (position - 1) + " in signature: " + signature;
+            internalName.append('$');
+        }
+    }
+
+    @NotNull
+    private List<JavaType> parseTypeArguments() {
+        if (current() != '<') return Collections.emptyList();
+        position++;
+
+        List<JavaType> result = new ArrayList<JavaType>(1);
+        while (current() != '>') {
+            char c = current();
+            if (c == '*') {
+                position++;
+                result.add(new PlainJavaWildcardType(null, false, context));
+            }
+            else if (c == '+' || c == '-') {
+                position++;
+                result.add(new PlainJavaWildcardType(parseFieldType(), c == '+', context));
+            }
+            else {
+                result.add(parseFieldType());
+            }
+        }
+        position++;
+        return result;
+    }
+
+    private char current() {
+        return signature.charAt(position);
+    }
+
+    private void expect(char c) {
+        if (current() != c) {
+            throw new IllegalStateException("'" + c + "' expected at " + position + " in signature: " + signature);
+        }
+        position++;
+    }
+}
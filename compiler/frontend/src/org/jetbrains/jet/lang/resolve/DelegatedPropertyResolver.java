@@ -171,7 +171,8 @@ public class DelegatedPropertyResolver {
         List<JetExpression> arguments = Lists.newArrayList();
         arguments.add(createExpression(project, hasThis ? "this" : "null"));
 
-        arguments.add(createExpression(project, KotlinBuiltIns.getInstance().getPropertyMetadataImpl().getName().asString() + "(\"" + propertyDescriptor.getName().asString() + "\")"));
+        arguments.add(createFakeExpressionOfType(project, trace, "propertyMetadata",
+                                                 KotlinBuiltIns.getInstance().getPropertyMetadata().getDefaultType()));
 
         if (!isGet) {
             JetReferenceExpression fakeArgument = (JetReferenceExpression) createFakeExpressionOfType(context.expressionTypingServices.getProject(), trace,
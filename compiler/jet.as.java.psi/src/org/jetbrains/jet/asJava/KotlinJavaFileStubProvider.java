@@ -167,6 +167,17 @@ public class KotlinJavaFileStubProvider implements CachedValueProvider<LightClas
                         return JetPsiUtil.getFQName(getFile());
                     }
 
+                    @Override
+                    public void beforeCompile(@NotNull GenerationState state) {
+                        if (classOrObject.getParent() instanceof JetFile) {
+                            // Anonymous classes elsewhere in the package don't affect a top level class, so only its own body is visited
+                            state.beforeCompile(classOrObject);
+                        }
+                        else {
+                            state.beforeCompile();
+                        }
+                    }
+
                     @Override
                     public void generate(@NotNull GenerationState state, @NotNull Collection<JetFile> files) {
                         NamespaceCodegen namespaceCodegen = state.getFactory().forNamespace(getPackageFqName(), files);
@@ -222,7 +233,7 @@ public class KotlinJavaFileStubProvider implements CachedValueProvider<LightClas
                     /*not-null assertions*/false, false,
                     /*generateDeclaredClasses=*/stubGenerationStrategy.generateDeclaredClasses(),
                     InlineUtil.DEFAULT_INLINE_FLAG_FOR_STUB);
-            state.beforeCompile();
+            stubGenerationStrategy.beforeCompile(state);
 
             bindingContext = state.getBindingContext();
 
@@ -309,6 +320,7 @@ public class KotlinJavaFileStubProvider implements CachedValueProvider<LightClas
         @NotNull Collection<JetFile> getFiles();
         @NotNull FqName getPackageFqName();
         boolean generateDeclaredClasses();
+        void beforeCompile(@NotNull GenerationState state);
         void generate(@NotNull GenerationState state, @NotNull Collection<JetFile> files);
 
         abstract class NoDeclaredClasses implements StubGenerationStrategy {
@@ -317,6 +329,11 @@ public class KotlinJavaFileStubProvider implements CachedValueProvider<LightClas
                 return false;
             }
 
+            @Override
+            public void beforeCompile(@NotNull GenerationState state) {
+                state.beforeCompile();
+            }
+
             @Override
             public String toString() {
                 // For subclasses to be identifiable in the debugger
@@ -0,0 +1,24 @@
+package test
+
+class WithLocalClasses {
+    val anonymous = object : Runnable {
+        override fun run() {
+        }
+    }
+
+    fun local(): Any {
+        class Local
+        return Local()
+    }
+
+    fun lambda() = { 42 }
+}
+
+val packageAnonymous = object : Runnable {
+    override fun run() {
+    }
+}
+
+class UsesPackageAnonymous {
+    fun get() = packageAnonymous
+}
@@ -0,0 +1,34 @@
+fun pick(i: Int): Base {
+    var result: Base = First()
+    for (j in 0..i) {
+        result = if (j % 2 == 0) Second() else Third()
+        result.count++
+    }
+    return result
+}
+
+fun box(): String {
+    if (pick(0).name() != "second") return "fail 1"
+    if (pick(1).name() != "third") return "fail 2"
+    val local = if (pick(2) is Second) object : Base() {} else First()
+    return if (local.name() == "base") "OK" else "fail 3"
+}
+
+open class Base {
+    var count = 0
+    open fun name() = "base"
+}
+
+class First : Base() {
+    override fun name() = "first"
+}
+
+open class Middle : Base()
+
+class Second : Middle() {
+    override fun name() = "second"
+}
+
+class Third : Middle() {
+    override fun name() = "third"
+}
@@ -0,0 +1,26 @@
+fun readOnly(): Int {
+    var x = 40
+    val f = { x + 2 }
+    return f()
+}
+
+fun assignedInClosure(): Int {
+    var y = 1
+    val g = { y++ }
+    g()
+    g()
+    return y
+}
+
+fun assignedOutside(): String {
+    var z = "Fail"
+    val h = { z }
+    z = "OK"
+    return h()
+}
+
+fun box(): String {
+    if (readOnly() != 42) return "Fail read only: ${readOnly()}"
+    if (assignedInClosure() != 3) return "Fail assigned in closure: ${assignedInClosure()}"
+    return assignedOutside()
+}
@@ -0,0 +1,36 @@
+fun apply(f: (Int) -> Int, x: Int) = f(x)
+
+fun compare(f: (Long, Long) -> Boolean, a: Long, b: Long) = f(a, b)
+
+fun constant(f: () -> Double) = f()
+
+fun sum(f: (Int) -> Int): Int {
+    var result = 0
+    for (i in 1..4) {
+        result += f(i)
+    }
+    return result
+}
+
+class Custom : jet.Function1<Int, Int> {
+    override fun invoke(p1: Int) = p1 * 10
+}
+
+fun box(): String {
+    if (apply({ it + 1 }, 1) != 2) return "fail closure"
+    if (apply(Custom(), 2) != 20) return "fail custom implementation"
+
+    if (!compare({ a, b -> a < b }, 1, 2)) return "fail two parameters"
+    if (constant({ 1.5 }) != 1.5) return "fail no parameters"
+
+    var calls = 0
+    if (sum { calls++; it * it } != 30 || calls != 4) return "fail loop: $calls"
+
+    val f: (Int) -> Int = { x -> x * 2 }
+    if (f.invoke(21) != 42) return "fail explicit invoke"
+
+    val g: (Int?) -> Int = { it ?: -1 }
+    if (g(null) != -1 || g(3) != 3) return "fail nullable"
+
+    return "OK"
+}
@@ -0,0 +1,49 @@
+val INT = 42
+val LONG: Long = 1
+val NEGATIVE = -7
+val BYTE: Byte = 3
+val CHAR = 'c'
+val BOOLEAN = true
+val DOUBLE = 0.5
+val STRING = "string"
+
+var counter = 0
+val WITH_GETTER: Int = 10
+    get() {
+        counter++
+        return $WITH_GETTER
+    }
+
+class A {
+    class object {
+        val NAME = "A"
+        val SIZE = 2
+    }
+
+    fun size() = SIZE
+}
+
+trait T {
+    class object {
+        val CONST = 5
+    }
+}
+
+fun box(): String {
+    if (INT + 1 != 43) return "Fail INT: $INT"
+    if (LONG * 2L != 2L) return "Fail LONG: $LONG"
+    if (NEGATIVE != -7) return "Fail NEGATIVE: $NEGATIVE"
+    if (BYTE + BYTE != 6) return "Fail BYTE: $BYTE"
+    if (CHAR != 'c') return "Fail CHAR: $CHAR"
+    if (!BOOLEAN) return "Fail BOOLEAN"
+    if (DOUBLE * 2 != 1.0) return "Fail DOUBLE: $DOUBLE"
+    if (STRING.length != 6) return "Fail STRING: $STRING"
+
+    if (WITH_GETTER != 10 || counter != 1) return "Fail WITH_GETTER: $counter"
+
+    if (A.NAME + A.SIZE != "A2") return "Fail A: ${A.NAME} ${A.SIZE}"
+    if (A().size() != 2) return "Fail A.size()"
+    if (T.CONST != 5) return "Fail T: ${T.CONST}"
+
+    return "OK"
+}
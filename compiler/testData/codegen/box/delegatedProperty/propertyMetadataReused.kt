@@ -0,0 +1,53 @@
+class Delegate {
+    val metadata = java.util.ArrayList<PropertyMetadata>()
+
+    fun get(t: Any?, p: PropertyMetadata): Int {
+        metadata.add(p)
+        return 1
+    }
+
+    fun set(t: Any?, p: PropertyMetadata, value: Int) {
+        metadata.add(p)
+    }
+}
+
+val topLevelDelegate = Delegate()
+var topLevel: Int by topLevelDelegate
+
+class A {
+    val delegate = Delegate()
+    val first: Int by Delegate()
+    var second: Int by delegate
+
+    class object {
+        val classObjectDelegate = Delegate()
+        val inClassObject: Int by classObjectDelegate
+    }
+}
+
+fun check(delegate: Delegate, name: String): String {
+    val metadata = delegate.metadata
+    if (metadata.size() != 3) return "fail $name: ${metadata.size()} calls"
+    for (p in metadata) {
+        if (p.name != name) return "fail $name: ${p.name}"
+        if (p !== metadata[0]) return "fail $name: metadata is not reused"
+    }
+    return "OK"
+}
+
+fun box(): String {
+    topLevel = topLevel + 1
+    topLevel
+    val topLevelResult = check(topLevelDelegate, "topLevel")
+    if (topLevelResult != "OK") return topLevelResult
+
+    val a = A()
+    a.second = a.first + a.second
+    a.second
+    val memberResult = check(a.delegate, "second")
+    if (memberResult != "OK") return memberResult
+    if (A().second != 1) return "fail second in other instance"
+
+    A.inClassObject + A.inClassObject + A.inClassObject
+    return check(A.classObjectDelegate, "inClassObject")
+}
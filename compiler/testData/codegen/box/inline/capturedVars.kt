@@ -0,0 +1,35 @@
+inline fun Int.times(body: (Int) -> Unit) {
+    var i = 0
+    while (i < this) {
+        body(i)
+        i++
+    }
+}
+
+inline fun <T> myRun(f: () -> T): T = f()
+
+fun sum(n: Int): Int {
+    var sum = 0
+    n.times { sum += it }
+    return sum
+}
+
+fun nested(n: Int): Int {
+    var count = 0
+    n.times { n.times { count++ } }
+    return count
+}
+
+fun escaping(n: Int): Int {
+    var count = 0
+    val f = { count += 10 }
+    n.times { f(); count++ }
+    return myRun { count }
+}
+
+fun box(): String {
+    if (sum(4) != 6) return "Fail sum: ${sum(4)}"
+    if (nested(3) != 9) return "Fail nested: ${nested(3)}"
+    if (escaping(2) != 22) return "Fail escaping: ${escaping(2)}"
+    return "OK"
+}
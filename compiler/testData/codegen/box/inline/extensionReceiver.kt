@@ -0,0 +1,13 @@
+inline fun Int.repeat(body: (Int) -> Unit) {
+    var i = 0
+    while (i < this) {
+        body(i)
+        i++
+    }
+}
+
+fun box(): String {
+    var sum = 0
+    5.repeat { sum += it }
+    return if (sum == 10) "OK" else "Fail: $sum"
+}
@@ -0,0 +1,29 @@
+inline fun firstMatching(a: IntArray, predicate: (Int) -> Boolean): Int {
+    for (x in a) {
+        if (predicate(x)) return x
+    }
+    return -1
+}
+
+fun box(): String {
+    val a = IntArray(4)
+    a[0] = -1
+    a[1] = 2
+    a[2] = 3
+    a[3] = 4
+
+    val odd = firstMatching(a) { it > 0 && it % 2 == 1 }
+    if (odd != 3) return "Fail 1: $odd"
+
+    val big = 1 + firstMatching(a) {(x: Int): Boolean ->
+        if (x > 3)
+            return@firstMatching true
+        false
+    }
+    if (big != 5) return "Fail 2: $big"
+
+    val none = firstMatching(a) { false }
+    if (none != -1) return "Fail 3: $none"
+
+    return "OK"
+}
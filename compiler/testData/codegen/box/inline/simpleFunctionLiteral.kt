@@ -0,0 +1,7 @@
+inline fun <T> myRun(f: () -> T): T = f()
+
+fun box(): String {
+    var x = 0
+    val result = myRun { x = 42; "OK" }
+    return if (x == 42) result else "Fail: $x"
+}
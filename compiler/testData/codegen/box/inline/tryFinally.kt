@@ -0,0 +1,18 @@
+var log = ""
+
+inline fun <T> logged(name: String, body: () -> T): T {
+    log += "<$name>"
+    try {
+        return body()
+    }
+    finally {
+        log += "</$name>"
+    }
+}
+
+fun box(): String {
+    val result = logged("a") { logged("b") { 40 } + 2 }
+    if (result != 42) return "Fail 1: $result"
+    if (log != "<a><b></b></a>") return "Fail 2: $log"
+    return "OK"
+}
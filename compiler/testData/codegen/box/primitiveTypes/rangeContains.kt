@@ -0,0 +1,57 @@
+var evaluated = ""
+
+fun <T> log(s: String, value: T): T {
+    evaluated += s
+    return value
+}
+
+fun box(): String {
+    val x = 5
+    if (x !in 1..10) return "Fail int"
+    if (x in 6..10) return "Fail int lower bound"
+    if (x in 1..4) return "Fail int upper bound"
+
+    val c = 'k'
+    if (c !in 'a'..'z') return "Fail char"
+    if (c in 'A'..'Z') return "Fail char upper case"
+
+    val b: Byte = 3
+    if (b !in 1.toByte()..3.toByte()) return "Fail byte"
+
+    val s: Short = -3
+    if (s in 1.toShort()..3.toShort()) return "Fail short"
+
+    val l = 10000000000L
+    if (l !in 0L..10000000000L) return "Fail long"
+    if (l in 0L..9999999999L) return "Fail long upper bound"
+
+    val d = 0.5
+    if (d !in 0.0..1.0) return "Fail double"
+    if (d in 0.6..1.0) return "Fail double lower bound"
+    val nan = 0.0 / 0.0
+    if (nan in 0.0..1.0) return "Fail double NaN"
+    if (0.5 in nan..1.0) return "Fail double NaN bound"
+
+    val f = 1.5.toFloat()
+    if (f !in 1.0.toFloat()..2.0.toFloat()) return "Fail float"
+    if (f in 2.0.toFloat()..3.0.toFloat()) return "Fail float lower bound"
+
+    val range = 1..10
+    if (11 in range) return "Fail local val"
+    if (10 !in range) return "Fail local val upper bound"
+
+    val longRange = -5L..5L
+    if (-6L in longRange) return "Fail local long val"
+
+    if (log("x", x) in log("l", 7)..log("h", 10)) return "Fail side effects"
+    if (evaluated != "xlh") return "Fail evaluation order: $evaluated"
+
+    val result = when (l) {
+        in 0L..100L -> "small"
+        !in 0L..10000000000L -> "huge"
+        else -> "big"
+    }
+    if (result != "big") return "Fail when: $result"
+
+    return "OK"
+}
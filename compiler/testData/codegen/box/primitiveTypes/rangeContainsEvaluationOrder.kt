@@ -0,0 +1,32 @@
+var evaluated = ""
+
+fun <T> log(s: String, value: T): T {
+    evaluated += s
+    return value
+}
+
+fun check(expected: String, result: Boolean, type: String): String {
+    val order = evaluated
+    evaluated = ""
+    if (!result) return "Fail $type; "
+    if (order != expected) return "Fail evaluation order of $type: $order; "
+    return ""
+}
+
+fun box(): String {
+    var failures = ""
+
+    // integral range literals were always compiled to comparisons of the left operand, which is evaluated first
+    failures += check("xlh", log("x", 5) in log("l", 1)..log("h", 10), "int")
+    failures += check("xlh", log("x", 5L) in log("l", 1L)..log("h", 10L), "long")
+    failures += check("xlh", log("x", 'k') in log("l", 'a')..log("h", 'z'), "char")
+    failures += check("xlh", log("x", 11) !in log("l", 1)..log("h", 10), "int !in")
+
+    // other ranges were created and their contains() was called, so the bounds are evaluated first
+    failures += check("lhx", log("x", 0.5) in log("l", 0.0)..log("h", 1.0), "double")
+    failures += check("lhx", log("x", 1.5.toFloat()) in log("l", 1.0.toFloat())..log("h", 2.0.toFloat()), "float")
+    failures += check("lhx", log("x", 2.0) !in log("l", 0.0)..log("h", 1.0), "double !in")
+    failures += check("lhx", log("x", 5) in (log("l", 1)..log("h", 10)), "parenthesized int")
+
+    return if (failures == "") "OK" else failures
+}
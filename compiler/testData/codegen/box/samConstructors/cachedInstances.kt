@@ -0,0 +1,27 @@
+import java.util.*
+
+fun compareDescending(a: Int, b: Int) = b - a
+
+fun runnable() = Runnable { }
+
+fun comparator() = Comparator(::compareDescending)
+
+fun box(): String {
+    if (runnable() !== runnable()) return "fail: non-capturing function literal is not reused"
+    if (comparator() !== comparator()) return "fail: callable reference is not reused"
+
+    val list = ArrayList(Arrays.asList(3, 2, 4, 8, 1, 5))
+    val expected = ArrayList(Arrays.asList(8, 5, 4, 3, 2, 1))
+    Collections.sort(list, Comparator(::compareDescending))
+    if (list != expected) return list.toString()
+
+    var counter = 0
+    val first = Runnable(({ counter += 1 }))
+    val second = Runnable(({ counter += 10 }))
+    first.run()
+    second.run()
+    first.run()
+    if (counter != 12) return "fail: capturing function literal: $counter"
+
+    return "OK"
+}
@@ -0,0 +1,23 @@
+fun log(level: Int, name: String?, value: Any?) = "[" + level + "] " + "${name}: $value" + (" (" + 1 + ")")
+
+fun nested(a: String, b: Int) = "a=${"<$a>"} b=${b + 1}"
+
+fun nullable(s: String?, x: Any?) = s + x
+
+fun single(x: Int) = "" + x
+
+fun box(): String {
+    if (log(1, "x", 2.5) != "[1] x: 2.5 (1)") return "fail log: ${log(1, "x", 2.5)}"
+    if (log(2, null, null) != "[2] null: null (1)") return "fail log null: ${log(2, null, null)}"
+    if (nested("s", 41) != "a=<s> b=42") return "fail nested: ${nested("s", 41)}"
+    if (nullable(null, null) != "nullnull") return "fail nullable: ${nullable(null, null)}"
+    if (nullable("a", 'b') != "ab") return "fail nullable 2: ${nullable("a", 'b')}"
+    if (single(7) != "7") return "fail single: ${single(7)}"
+    if ("a" + 1 + 'c' + "${true}" != "a1ctrue") return "fail constant"
+    if ("${1.0f}|${1.5}|${10L}|${'x'}|${null}" != "1.0|1.5|10|x|null") return "fail constants: ${"${1.0f}|${1.5}|${10L}|${'x'}|${null}"}"
+    val o = 'o'
+    val k = "k"
+    val s = "" + 2 + o + k.length + (k + o)
+    if (s != "2o1ko") return "fail chars: $s"
+    return "OK"
+}
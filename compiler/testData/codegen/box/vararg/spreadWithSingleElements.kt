@@ -0,0 +1,51 @@
+fun ints(vararg a: Int) = a
+fun longs(vararg a: Long) = a
+fun chars(vararg a: Char) = a
+fun strings(vararg a: String) = a
+
+var log = ""
+
+fun logged(name: String, a: IntArray): IntArray {
+    log += name
+    return a
+}
+
+fun logged(name: String, x: Int): Int {
+    log += name
+    return x
+}
+
+fun IntArray.asString(): String {
+    var result = ""
+    for (x in this) result += x
+    return result
+}
+
+fun box(): String {
+    val a = ints(1, 2)
+    val b = ints(3)
+    val empty = ints()
+
+    if (ints(*a, 0, *b).asString() != "1203") return "Fail 1: ${ints(*a, 0, *b).asString()}"
+    if (ints(*a, *a).asString() != "1212") return "Fail 2"
+    if (ints(*empty, 5, *empty).size != 1) return "Fail 3"
+    if (ints(*empty, *empty).size != 0) return "Fail 4"
+
+    val copy = ints(*a, *empty)
+    copy[0] = 7
+    if (a[0] != 1) return "Fail 5: spread array was not copied"
+
+    val r = ints(logged("a", 4), *logged("b", a), logged("c", 5))
+    if (log != "abc") return "Fail 6: $log"
+    if (r.asString() != "4125") return "Fail 7"
+
+    val l = longs(*longs(1L, 2L), 3L)
+    if (l.size != 3 || l[0] != 1L || l[2] != 3L) return "Fail 8"
+
+    val c = chars('O', *chars(), *chars('K'))
+    if ("${c[0]}${c[1]}" != "OK") return "Fail 9"
+
+    val s = strings(*strings("O"), "K", *strings())
+    if (s.size != 2) return "Fail 10"
+    return s[0] + s[1]
+}
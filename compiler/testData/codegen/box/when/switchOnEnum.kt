@@ -0,0 +1,32 @@
+enum class Season {
+    WINTER
+    SPRING
+    SUMMER
+    AUTUMN
+}
+
+fun exhaustive(s: Season): String = when (s) {
+    Season.WINTER -> "cold"
+    Season.SPRING, Season.AUTUMN -> "mild"
+    Season.SUMMER -> "hot"
+}
+
+fun withElse(s: Season?): String = when (s) {
+    Season.SUMMER -> "summer"
+    Season.WINTER -> "winter"
+    else -> "other"
+}
+
+fun box(): String {
+    if (exhaustive(Season.WINTER) != "cold") return "Fail 1"
+    if (exhaustive(Season.SPRING) != "mild") return "Fail 2"
+    if (exhaustive(Season.SUMMER) != "hot") return "Fail 3"
+    if (exhaustive(Season.AUTUMN) != "mild") return "Fail 4"
+
+    if (withElse(Season.SUMMER) != "summer") return "Fail 5"
+    if (withElse(Season.WINTER) != "winter") return "Fail 6"
+    if (withElse(Season.SPRING) != "other") return "Fail 7"
+    if (withElse(null) != "other") return "Fail 8"
+
+    return "OK"
+}
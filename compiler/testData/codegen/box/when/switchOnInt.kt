@@ -0,0 +1,54 @@
+fun dense(x: Int): String = when (x) {
+    1 -> "one"
+    2, 3 -> "two or three"
+    4 -> "four"
+    2 -> "unreachable"
+    else -> "other"
+}
+
+fun sparse(x: Int): String = when (x) {
+    -1000000 -> "min"
+    0 -> "zero"
+    1000000 -> "max"
+    else -> "other"
+}
+
+fun letter(c: Char): Int = when (c) {
+    'a' -> 1
+    'b' -> 2
+    'z' -> 26
+    else -> 0
+}
+
+fun statement(x: Int): Int {
+    var result = 0
+    when (x) {
+        1 -> result = 10
+        5 -> result = 50
+    }
+    return result
+}
+
+fun box(): String {
+    if (dense(1) != "one") return "Fail 1"
+    if (dense(2) != "two or three") return "Fail 2"
+    if (dense(3) != "two or three") return "Fail 3"
+    if (dense(4) != "four") return "Fail 4"
+    if (dense(5) != "other") return "Fail 5"
+    if (dense(-1) != "other") return "Fail 6"
+
+    if (sparse(-1000000) != "min") return "Fail 7"
+    if (sparse(0) != "zero") return "Fail 8"
+    if (sparse(1000000) != "max") return "Fail 9"
+    if (sparse(1) != "other") return "Fail 10"
+
+    if (letter('a') != 1) return "Fail 11"
+    if (letter('z') != 26) return "Fail 12"
+    if (letter('c') != 0) return "Fail 13"
+
+    if (statement(1) != 10) return "Fail 14"
+    if (statement(5) != 50) return "Fail 15"
+    if (statement(2) != 0) return "Fail 16"
+
+    return "OK"
+}
@@ -0,0 +1,21 @@
+fun foo(s: String?): Int = when (s) {
+    "Aa" -> 1
+    "BB" -> 2
+    "hello", "world" -> 3
+    "" -> 4
+    else -> 0
+}
+
+fun box(): String {
+    // "Aa" and "BB" have the same hash code
+    if (foo("Aa") != 1) return "Fail 1"
+    if (foo("BB") != 2) return "Fail 2"
+    if (foo("hello") != 3) return "Fail 3"
+    if (foo("world") != 3) return "Fail 4"
+    if (foo("") != 4) return "Fail 5"
+    if (foo("C#") != 0) return "Fail 6"
+    if (foo(null) != 0) return "Fail 7"
+    if (foo("hel" + "lo") != 3) return "Fail 8"
+
+    return "OK"
+}
@@ -0,0 +1,21 @@
+fun box(): String {
+    val list = arrayListOf(1, 2, 3)
+
+    var sum = 0
+    list.forEach { sum += it }
+    if (sum != 6) return "Fail forEach: $sum"
+
+    var count = 0
+    val found = list.find { count++; it > 1 }
+    if (found != 2 || count != 2) return "Fail find: $found $count"
+
+    if (!list.all { it > 0 } || list.all { it > 1 }) return "Fail all"
+
+    val strings = list.map { "#$it" }
+    if (strings != arrayListOf("#1", "#2", "#3")) return "Fail map: $strings"
+
+    val even = list.filter { it % 2 == 0 }
+    if (even != arrayListOf(2)) return "Fail filter: $even"
+
+    return "OK"
+}
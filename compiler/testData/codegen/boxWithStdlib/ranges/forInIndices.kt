@@ -0,0 +1,46 @@
+import java.util.ArrayList
+
+fun box(): String {
+    val intArray = intArray(1, 2, 3)
+    var sum = 0
+    for (i in intArray.indices) {
+        sum += i * intArray[i]
+    }
+    if (sum != 8) return "Fail IntArray: $sum"
+
+    val strings = array("a", "b", "c")
+    val s = StringBuilder()
+    for (i in strings.indices) {
+        s.append(i).append(strings[i])
+    }
+    if (s.toString() != "0a1b2c") return "Fail Array: $s"
+
+    for (i in Array<String>(0, { "" }).indices) {
+        return "Fail empty Array: $i"
+    }
+
+    val list = arrayListOf("x", "y", "z")
+    val indices = ArrayList<Int>()
+    for (i in list.indices) {
+        indices.add(i)
+        if (i == 0) list.add("w")
+    }
+    if (indices != arrayListOf(0, 1, 2)) return "Fail Collection: $indices"
+
+    for (i in ArrayList<Int>().indices) {
+        return "Fail empty Collection: $i"
+    }
+
+    var count = 0
+    for (i in 4.indices) {
+        if (i == 2) continue
+        count++
+    }
+    if (count != 3) return "Fail Int: $count"
+
+    for (i in (-1).indices) {
+        return "Fail negative Int: $i"
+    }
+
+    return "OK"
+}
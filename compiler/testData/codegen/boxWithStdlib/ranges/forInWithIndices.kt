@@ -0,0 +1,42 @@
+import java.util.ArrayList
+
+fun box(): String {
+    val list = arrayListOf("a", "b", "c")
+    val s = StringBuilder()
+    for ((i, x) in list.withIndices()) {
+        s.append(i).append(x)
+    }
+    if (s.toString() != "0a1b2c") return "Fail Iterable: $s"
+
+    val squares = array(0, 1, 4, 9)
+    for ((i, square) in squares.withIndices()) {
+        if (i * i != square) return "Fail Array: $i $square"
+    }
+
+    var sum = 0L
+    for ((i, x) in longArray(10L, 20L, 30L).withIndices()) {
+        if (i == 1) continue
+        sum += x
+    }
+    if (sum != 40L) return "Fail LongArray: $sum"
+
+    var lastIndex = -1
+    for ((i) in listOf(1, 2, 3, 4).withIndices()) {
+        if (i == 2) break
+        lastIndex = i
+    }
+    if (lastIndex != 1) return "Fail break: $lastIndex"
+
+    val anys = ArrayList<Any>()
+    for ((i: Any, c: Any) in charArray('x', 'y').withIndices()) {
+        anys.add(i)
+        anys.add(c)
+    }
+    if (anys != arrayListOf<Any>(0, 'x', 1, 'y')) return "Fail boxing: $anys"
+
+    for ((i, x) in ArrayList<String>().withIndices()) {
+        return "Fail empty: $i $x"
+    }
+
+    return "OK"
+}
@@ -0,0 +1,20 @@
+fun box(): String {
+    try {
+        for (i in 10 downTo 1 step 0) {
+            return "Fail: $i"
+        }
+        return "Fail: no exception"
+    }
+    catch (e: IllegalArgumentException) {
+    }
+
+    try {
+        for (i in 1..10 step -2) {
+            return "Fail: $i"
+        }
+        return "Fail: no exception"
+    }
+    catch (e: IllegalArgumentException) {
+        return "OK"
+    }
+}
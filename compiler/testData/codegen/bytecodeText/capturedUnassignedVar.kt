@@ -0,0 +1,21 @@
+fun readOnly(): Int {
+    var x = 1
+    val f = { x + 1 }
+    return f()
+}
+
+fun assignedInClosure(): Int {
+    var y = 1
+    val g = { y++ }
+    g()
+    return y
+}
+
+fun assignedOutside(): Int {
+    var z = 1
+    val h = { z }
+    z = 2
+    return h()
+}
+
+// 2 NEW jet/runtime/SharedVar\$Int
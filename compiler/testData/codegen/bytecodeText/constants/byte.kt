@@ -1,3 +1,5 @@
-val a: Byte = 1 + 1
+class A {
+    val a: Byte = 1 + 1
+}
 
 // 1 I2B
\ No newline at end of file
@@ -0,0 +1,15 @@
+val TOP = 1
+
+class A {
+    class object {
+        val INT = 42
+        val STRING = "string"
+    }
+
+    fun sum() = INT + STRING.length
+}
+
+fun sum() = TOP + A.INT + A.STRING.length
+
+// 0 INVOKEVIRTUAL .*get(INT|STRING)
+// 0 PUTSTATIC .*\.(TOP|INT|STRING) :
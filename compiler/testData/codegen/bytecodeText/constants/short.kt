@@ -1,3 +1,5 @@
-val a: Short = 1 + 1
+class A {
+    val a: Short = 1 + 1
+}
 
 // 1 I2S
\ No newline at end of file
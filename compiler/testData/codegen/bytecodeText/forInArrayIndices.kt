@@ -0,0 +1,18 @@
+fun sum(a: IntArray): Int {
+    var result = 0
+    for (i in a.indices) {
+        result += a[i]
+    }
+    return result
+}
+
+fun firstNull(a: Array<String?>): Int {
+    for (i in (a).indices) {
+        if (a[i] == null) return i
+    }
+    return -1
+}
+
+// 0 arrayIndices
+// 0 IntRange
+// 2 ARRAYLENGTH
@@ -0,0 +1,19 @@
+fun int(x: Int) = x in 1..10
+
+fun char(c: Char) = c !in 'a'..'z'
+
+fun long(l: Long) = l in 0L..l
+
+fun double(d: Double) = d in 0.0..1.0
+
+fun localVal(x: Int): Boolean {
+    val range = 1..10
+    return x in range
+}
+
+fun inWhen(b: Byte) = when (b) {
+    in 1.toByte()..10.toByte() -> true
+    else -> false
+}
+
+// 0 contains
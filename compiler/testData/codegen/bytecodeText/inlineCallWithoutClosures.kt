@@ -0,0 +1,18 @@
+inline fun <T> myRun(f: () -> T): T = f()
+
+inline fun Int.repeat(body: (Int) -> Unit) {
+    var i = 0
+    while (i < this) {
+        body(i)
+        i++
+    }
+}
+
+fun test(): Int {
+    var sum = 0
+    5.repeat { sum += it }
+    return myRun { sum * 2 } + myRun { 1 }
+}
+
+// 0 NEW
+// 0 GETSTATIC .*\$instance
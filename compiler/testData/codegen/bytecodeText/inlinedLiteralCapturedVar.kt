@@ -0,0 +1,32 @@
+inline fun <T> Iterable<T>.each(operation: (T) -> Unit) {
+    for (element in this) operation(element)
+}
+
+inline fun Int.times(body: (Int) -> Unit) {
+    var i = 0
+    while (i < this) {
+        body(i)
+        i++
+    }
+}
+
+fun sum(list: List<Int>): Int {
+    var sum = 0
+    list.each { sum += it }
+    return sum
+}
+
+fun sumOfMultiples(list: List<Int>, n: Int): Int {
+    var sum = 0
+    list.each { x -> n.times { y -> sum += x * y } }
+    return sum
+}
+
+fun escaping(list: List<Int>): Int {
+    var count = 0
+    val f = { count++ }
+    list.each { f() }
+    return count
+}
+
+// 1 NEW jet/runtime/SharedVar\$Int
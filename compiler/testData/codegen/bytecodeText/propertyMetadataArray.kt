@@ -0,0 +1,12 @@
+class Delegate {
+    fun get(t: Any?, p: PropertyMetadata): Int = 1
+    fun set(t: Any?, p: PropertyMetadata, i: Int) {}
+}
+
+class A {
+    val x by Delegate()
+    var y by Delegate()
+}
+
+// 2 NEW jet/PropertyMetadataImpl
+// 3 INVOKESTATIC A\.\$propertyMetadata \(\)\[Ljet/PropertyMetadata;
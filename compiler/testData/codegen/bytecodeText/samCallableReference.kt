@@ -0,0 +1,7 @@
+fun foo() {}
+
+fun test() = Runnable(::foo)
+
+// 1 NEW
+// 1 GETSTATIC .*\.instance\$
+// 0 \$sam\$
@@ -0,0 +1,11 @@
+fun ints(vararg a: Int) = a
+
+fun strings(vararg a: String) = a
+
+fun test(a: IntArray, b: Array<String>) {
+    ints(*a, 0, *a)
+    strings("", *b)
+}
+
+// 0 SpreadBuilder
+// 3 System.arraycopy
@@ -0,0 +1,15 @@
+fun log(level: Int, name: String?, value: Any?) = "[" + level + "] " + "${name}: $value" + (" (" + 1 + ")")
+
+fun nested(a: String, b: Int) = "a=${"<$a>"} b=${b + 1}"
+
+fun nullable(s: String?, x: Any?) = s + x
+
+fun single(x: Int) = "" + x
+
+fun constant() = "a" + 1 + 'c' + "${true}"
+
+// 3 NEW java/lang/StringBuilder
+// 3 java/lang/StringBuilder.<init> \(I\)V
+// 0 stringPlus
+// 1 java/lang/String.valueOf
+// 1 LDC "a1ctrue"
@@ -0,0 +1,22 @@
+fun dense(x: Int) = when (x) {
+    1 -> "a"
+    2 -> "b"
+    3, 4 -> "c"
+    else -> "d"
+}
+
+fun denseChar(c: Char) = when (c) {
+    'a', 'b' -> 1
+    'c' -> 2
+    else -> 3
+}
+
+fun sparse(x: Int) = when (x) {
+    1 -> "a"
+    1000 -> "b"
+    1000000 -> "c"
+    else -> "d"
+}
+
+// 2 TABLESWITCH
+// 1 LOOKUPSWITCH
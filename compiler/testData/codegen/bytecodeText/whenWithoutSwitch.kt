@@ -0,0 +1,31 @@
+fun nonConstant(x: Int, y: Int) = when (x) {
+    y -> 1
+    2 -> 2
+    else -> 3
+}
+
+fun inRange(x: Int) = when (x) {
+    in 1..2 -> 1
+    3 -> 2
+    else -> 3
+}
+
+fun nullableSubject(x: Int?) = when (x) {
+    1 -> 1
+    2 -> 2
+    else -> 3
+}
+
+fun singleCase(x: Int) = when (x) {
+    1 -> 1
+    else -> 2
+}
+
+fun noSubject(x: Int) = when {
+    x == 1 -> 1
+    x == 2 -> 2
+    else -> 3
+}
+
+// 0 TABLESWITCH
+// 0 LOOKUPSWITCH
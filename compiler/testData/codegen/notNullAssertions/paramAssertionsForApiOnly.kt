@@ -0,0 +1,22 @@
+public class A {
+    public fun api(s: String): String = s
+
+    protected fun protectedApi(s: String): String = s
+
+    internal fun internalHelper(s: String): String = s
+
+    private class Nested {
+        public fun foo(s: String): String = s
+    }
+}
+
+internal class B : Comparable<B> {
+    public fun foo(s: String): String = s
+
+    override fun compareTo(other: B): Int = 0
+}
+
+fun bar() {
+    val f = { (s: String) -> s }
+    f("")
+}
@@ -0,0 +1,5 @@
+data class Public(val s: String)
+
+class Outer {
+    private data class Hidden(val s: String)
+}
@@ -0,0 +1,9 @@
+package a
+
+class A(val x: Int) {
+    fun plus(other: A) = A(x + other.x)
+}
+
+fun twice(f: (Int) -> Int): (Int) -> Int = { f(f(it)) }
+
+val answer = twice { it + 1 }(40)
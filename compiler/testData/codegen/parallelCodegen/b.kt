@@ -0,0 +1,15 @@
+package b
+
+import a.A
+
+object B {
+    fun sum(vararg items: A): A {
+        var result = A(0)
+        for (item in items) {
+            result = result + item
+        }
+        return result
+    }
+}
+
+fun runnable(f: () -> Unit): Runnable = Runnable(f)
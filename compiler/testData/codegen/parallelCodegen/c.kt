@@ -0,0 +1,17 @@
+package c
+
+import a.*
+import b.*
+
+trait Named {
+    val name: String
+        get() = "OK"
+}
+
+class C : Named
+
+fun box(): String {
+    var result = "Fail"
+    runnable { result = C().name }.run()
+    return if (B.sum(A(1), A(answer)).x == 43) result else "Fail"
+}
@@ -0,0 +1,18 @@
+package b
+
+import a.each
+import a.repeatTimes
+import a.passed
+
+fun test(list: List<String>) {
+    list.each { System.out.println(it) }
+    repeatTimes(3) { System.out.println(it) }
+    passed("") { System.out.println(it) }
+}
+
+// 0 INVOKESTATIC a/APackage\.each
+// 0 INVOKESTATIC a/APackage\.repeatTimes
+// 1 INVOKESTATIC a/APackage\.passed
+// 1 GETSTATIC .*\$instance
+// 0 INVOKEINTERFACE jet/Function1
+// 3 INVOKEVIRTUAL java/io/PrintStream\.println
@@ -0,0 +1,18 @@
+package a
+
+public inline fun <T> Iterable<T>.each(operation: (T) -> Unit) {
+    for (element in this) operation(element)
+}
+
+public inline fun repeatTimes(times: Int, body: (Int) -> Unit) {
+    var i = 0
+    while (i < times) {
+        body(i)
+        i++
+    }
+}
+
+public inline fun <T> passed(value: T, body: (T) -> Unit): (T) -> Unit {
+    body(value)
+    return body
+}
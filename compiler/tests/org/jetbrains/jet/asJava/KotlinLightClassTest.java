@@ -137,6 +137,44 @@ public abstract class KotlinLightClassTest extends KotlinAsJavaTestBase {
         }
     }
 
+    public static class LocalClasses extends KotlinLightClassTest {
+
+        @Override
+        protected List<File> getKotlinSourceRoots() {
+            return Collections.singletonList(
+                    new File("compiler/testData/asJava/lightClasses/LocalClasses.kt")
+            );
+        }
+
+        public void testClassWithLocalClasses() {
+            PsiClass psiClass = findClass("test.WithLocalClasses");
+            checkModifiers(psiClass, PUBLIC, FINAL);
+
+            assertTrue(getReturnType(psiClass, "getAnonymous").contains("WithLocalClasses"));
+            assertEquals("java.lang.Object", getReturnType(psiClass, "local"));
+            assertTrue(getReturnType(psiClass, "lambda").startsWith("jet.Function0"));
+        }
+
+        public void testAnonymousClassFromOtherDeclaration() {
+            // The anonymous class is declared outside of the class, so its supertype is used in the light class
+            assertEquals("java.lang.Runnable", getReturnType(findClass("test.UsesPackageAnonymous"), "get"));
+        }
+
+        public void testPackage() {
+            PsiClass psiClass = findClass("test.TestPackage");
+            checkModifiers(psiClass, PUBLIC, FINAL);
+            assertEquals(1, psiClass.findMethodsByName("getPackageAnonymous", false).length);
+        }
+
+        private static String getReturnType(PsiClass psiClass, String methodName) {
+            PsiMethod[] methods = psiClass.findMethodsByName(methodName, false);
+            assertEquals("Wrong number of methods " + methodName + " in " + psiClass, 1, methods.length);
+            PsiType returnType = methods[0].getReturnType();
+            assertNotNull(returnType);
+            return returnType.getCanonicalText();
+        }
+    }
+
     public static class CodeWithErrors extends KotlinLightClassTest {
         @Override
         protected List<File> getKotlinSourceRoots() {
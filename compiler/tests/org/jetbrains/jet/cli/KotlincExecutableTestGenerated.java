@@ -104,11 +104,21 @@ public class KotlincExecutableTestGenerated extends AbstractKotlincExecutableTes
             doJvmTest("compiler/testData/cli/jvm/wrongArgument.args");
         }
         
+        @TestMetadata("wrongCodegenThreads.args")
+        public void testWrongCodegenThreads() throws Exception {
+            doJvmTest("compiler/testData/cli/jvm/wrongCodegenThreads.args");
+        }
+        
         @TestMetadata("wrongKotlinSignature.args")
         public void testWrongKotlinSignature() throws Exception {
             doJvmTest("compiler/testData/cli/jvm/wrongKotlinSignature.args");
         }
         
+        @TestMetadata("zeroCodegenThreads.args")
+        public void testZeroCodegenThreads() throws Exception {
+            doJvmTest("compiler/testData/cli/jvm/zeroCodegenThreads.args");
+        }
+        
         @TestMetadata("compiler/testData/cli/jvm/inline")
         public static class Inline extends AbstractKotlincExecutableTest {
             public void testAllFilesPresentInInline() throws Exception {
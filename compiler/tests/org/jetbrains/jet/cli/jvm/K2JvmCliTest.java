@@ -51,4 +51,14 @@ public class K2JvmCliTest extends CliBaseTest {
     public void script() throws Exception {
         executeCompilerCompareOutputJVM();
     }
+
+    @Test
+    public void wrongCodegenThreads() throws Exception {
+        executeCompilerCompareOutputJVM();
+    }
+
+    @Test
+    public void zeroCodegenThreads() throws Exception {
+        executeCompilerCompareOutputJVM();
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+public class OutputDirectoryUpdaterTest extends TestCase {
+    private static final long OLD_TIMESTAMP = 1000000000000L;
+
+    private File outputDirectory;
+    private File manifestDirectory;
+    private File sourceA;
+    private File sourceB;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        File tempDir = FileUtil.createTempDirectory("outputDirectoryUpdater", null);
+        outputDirectory = new File(tempDir, "out");
+        manifestDirectory = new File(tempDir, "manifests");
+        sourceA = new File(tempDir, "a.kt");
+        sourceB = new File(tempDir, "b.kt");
+        FileUtil.writeToFile(sourceA, "class A");
+        FileUtil.writeToFile(sourceB, "class B");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        FileUtil.delete(outputDirectory.getParentFile());
+        super.tearDown();
+    }
+
+    public void testUnchangedFileKeepsTimestamp() throws Exception {
+        File output = compile(new Output("A.class", sourceA, "A"));
+        assertTrue(output.setLastModified(OLD_TIMESTAMP));
+
+        compile(new Output("A.class", sourceA, "A"));
+        assertEquals(OLD_TIMESTAMP, output.lastModified());
+    }
+
+    public void testChangedFileIsRewritten() throws Exception {
+        File output = compile(new Output("A.class", sourceA, "A"));
+        assertTrue(output.setLastModified(OLD_TIMESTAMP));
+
+        compile(new Output("A.class", sourceA, "B"));
+        assertEquals("B", FileUtil.loadFile(output));
+        assertFalse(OLD_TIMESTAMP == output.lastModified());
+
+        compile(new Output("A.class", sourceA, "BB"));
+        assertEquals("BB", FileUtil.loadFile(output));
+    }
+
+    public void testStaleFileOfRecompiledSourceIsDeleted() throws Exception {
+        compile(new Output("A.class", sourceA, "A"), new Output("A$1.class", sourceA, "A$1"));
+
+        compile(new Output("A.class", sourceA, "A"));
+        assertTrue(new File(outputDirectory, "A.class").isFile());
+        assertFalse(new File(outputDirectory, "A$1.class").exists());
+    }
+
+    public void testFileOfDeletedSourceIsDeleted() throws Exception {
+        compile(new Output("A.class", sourceA, "A"), new Output("B.class", sourceB, "B"));
+        assertTrue(sourceB.delete());
+
+        compile(new Output("A.class", sourceA, "A"));
+        assertFalse(new File(outputDirectory, "B.class").exists());
+    }
+
+    public void testFileOfSourceNotCompiledIsKept() throws Exception {
+        compile(new Output("A.class", sourceA, "A"), new Output("B.class", sourceB, "B"));
+
+        compile(new Output("A.class", sourceA, "A"));
+        assertTrue(new File(outputDirectory, "B.class").isFile());
+
+        // the file is still recorded in the manifest, so it's deleted when its source is compiled without it
+        compile(new Output("B$1.class", sourceB, "B$1"));
+        assertFalse(new File(outputDirectory, "B.class").exists());
+        assertTrue(new File(outputDirectory, "A.class").isFile());
+    }
+
+    public void testFileNotRecordedInManifestIsKept() throws Exception {
+        File foreign = new File(outputDirectory, "A$Foreign.class");
+        FileUtil.writeToFile(foreign, "javac");
+
+        compile(new Output("A.class", sourceA, "A"), new Output("A$1.class", sourceA, "A$1"));
+        compile(new Output("A.class", sourceA, "A"));
+        assertTrue(foreign.isFile());
+    }
+
+    public void testManifestIsNotWrittenToOutputDirectory() throws Exception {
+        compile(new Output("A.class", sourceA, "A"));
+        assertEquals(1, outputDirectory.list().length);
+    }
+
+    public void testManifestsOfDirectoriesWithSameNameDiffer() throws Exception {
+        OutputDirectoryUpdater updater = new OutputDirectoryUpdater(manifestDirectory);
+        File otherOutputDirectory = new File(new File(outputDirectory.getParentFile(), "other"), outputDirectory.getName());
+        assertFalse(updater.getManifest(outputDirectory).equals(updater.getManifest(otherOutputDirectory)));
+    }
+
+    private File compile(Output... outputs) throws IOException {
+        OutputDirectoryUpdater updater = new OutputDirectoryUpdater(manifestDirectory);
+        for (Output output : outputs) {
+            updater.write(outputDirectory, output.relativePath, Collections.singletonList(output.source), output.content.getBytes());
+        }
+        updater.deleteStaleFilesAndSaveManifests();
+        assertTrue(updater.getManifest(outputDirectory).isFile());
+        return new File(outputDirectory, outputs[0].relativePath);
+    }
+
+    private static class Output {
+        private final String relativePath;
+        private final File source;
+        private final String content;
+
+        private Output(String relativePath, File source, String content) {
+            this.relativePath = relativePath;
+            this.source = source;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public class RawZipOutputStreamTest extends TestCase {
+    private static final String ASCII_NAME = "foo/A.class";
+    private static final String NON_ASCII_NAME = "foo/\u00c4\u00d6\u00dc.txt";
+    private static final int DOS_TIME = RawZipEntry.toDosTime(System.currentTimeMillis());
+
+    private File zip;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        zip = FileUtil.createTempFile("rawZipOutputStream", ".zip");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        FileUtil.delete(zip);
+        super.tearDown();
+    }
+
+    public void testEntriesAreReadByZipFile() throws Exception {
+        RawZipEntry ascii = RawZipEntry.create(ASCII_NAME, "compressed".getBytes(), DOS_TIME, true);
+        RawZipEntry nonAscii = RawZipEntry.create(NON_ASCII_NAME, "stored".getBytes(), DOS_TIME, false);
+        write(ascii, nonAscii);
+
+        ZipFile zipFile = new ZipFile(zip);
+        try {
+            assertEquals(2, zipFile.size());
+            assertEquals("compressed", readEntry(zipFile, ASCII_NAME));
+            assertEquals("stored", readEntry(zipFile, NON_ASCII_NAME));
+            assertEquals(ZipEntry.DEFLATED, zipFile.getEntry(ASCII_NAME).getMethod());
+            assertEquals(ZipEntry.STORED, zipFile.getEntry(NON_ASCII_NAME).getMethod());
+        }
+        finally {
+            zipFile.close();
+        }
+    }
+
+    public void testUtf8FlagIsSetForNonAsciiNamesOnly() throws Exception {
+        RawZipEntry ascii = RawZipEntry.create(ASCII_NAME, "A".getBytes(), DOS_TIME, false);
+        RawZipEntry nonAscii = RawZipEntry.create(NON_ASCII_NAME, "B".getBytes(), DOS_TIME, false);
+        write(ascii, nonAscii);
+
+        byte[] bytes = FileUtil.loadFileBytes(zip);
+        int secondHeaderOffset = 30 + ASCII_NAME.length() + ascii.getData().length;
+        assertEquals(0, getFlags(bytes, 0));
+        assertEquals(0x800, getFlags(bytes, secondHeaderOffset));
+    }
+
+    public void testEntriesAreCopiedAsStored() throws Exception {
+        write(RawZipEntry.create(ASCII_NAME, "compressed".getBytes(), DOS_TIME, true),
+              RawZipEntry.create(NON_ASCII_NAME, "stored".getBytes(), DOS_TIME, false));
+
+        List<RawZipEntry> entries = RawZipEntry.readAll(zip);
+        assertEquals(2, entries.size());
+        assertEquals(ASCII_NAME, entries.get(0).getName());
+        assertEquals(NON_ASCII_NAME, entries.get(1).getName());
+
+        File copy = FileUtil.createTempFile("rawZipOutputStreamCopy", ".zip");
+        try {
+            write(copy, entries.toArray(new RawZipEntry[entries.size()]));
+            assertTrue(Arrays.equals(FileUtil.loadFileBytes(zip), FileUtil.loadFileBytes(copy)));
+        }
+        finally {
+            FileUtil.delete(copy);
+        }
+    }
+
+    private void write(RawZipEntry... entries) throws IOException {
+        write(zip, entries);
+    }
+
+    private static void write(File file, RawZipEntry... entries) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            RawZipOutputStream stream = new RawZipOutputStream(out);
+            for (RawZipEntry entry : entries) {
+                stream.putEntry(entry);
+            }
+            stream.finish();
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private static String readEntry(ZipFile zipFile, String name) throws IOException {
+        ZipEntry entry = zipFile.getEntry(name);
+        assertNotNull(name, entry);
+        InputStream stream = zipFile.getInputStream(entry);
+        try {
+            return new String(FileUtil.loadBytes(stream));
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    private static int getFlags(byte[] bytes, int localHeaderOffset) {
+        return (bytes[localHeaderOffset + 6] & 0xFF) | (bytes[localHeaderOffset + 7] & 0xFF) << 8;
+    }
+}
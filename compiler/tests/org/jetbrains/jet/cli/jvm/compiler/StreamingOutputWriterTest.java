@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.cli.jvm.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import junit.framework.TestCase;
+import org.jetbrains.jet.OutputFile;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+public class StreamingOutputWriterTest extends TestCase {
+    private static final String CLASS_FILE = "foo/A.class";
+
+    private File jar;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        jar = FileUtil.createTempFile("streamingOutputWriter", ".jar");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        FileUtil.delete(jar);
+        super.tearDown();
+    }
+
+    public void testJarIsCompletedAfterGeneration() throws Exception {
+        StreamingOutputWriter writer = StreamingOutputWriter.toJar(jar, null, false, true);
+        writer.write(new TestOutputFile());
+        writer.close(true);
+
+        ZipFile zipFile = new ZipFile(jar);
+        try {
+            assertNotNull(zipFile.getEntry(CLASS_FILE));
+        }
+        finally {
+            zipFile.close();
+        }
+    }
+
+    public void testJarIsDeletedAfterFailedGeneration() throws Exception {
+        StreamingOutputWriter writer = StreamingOutputWriter.toJar(jar, null, false, true);
+        writer.write(new TestOutputFile());
+        writer.close(false);
+
+        assertFalse(jar.exists());
+    }
+
+    private static class TestOutputFile implements OutputFile {
+        @Override
+        public String getRelativePath() {
+            return CLASS_FILE;
+        }
+
+        @Override
+        public List<File> getSourceFiles() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public byte[] asByteArray() {
+            return "A".getBytes();
+        }
+
+        @Override
+        public String asText() {
+            return "A";
+        }
+    }
+}
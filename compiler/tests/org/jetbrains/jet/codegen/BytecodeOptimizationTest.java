@@ -0,0 +1,185 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen;
+
+import org.jetbrains.asm4.Label;
+import org.jetbrains.asm4.Opcodes;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.asm4.commons.InstructionAdapter;
+import org.jetbrains.asm4.tree.AbstractInsnNode;
+import org.jetbrains.asm4.tree.JumpInsnNode;
+import org.jetbrains.asm4.tree.MethodNode;
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.TestJdkKind;
+import org.jetbrains.jet.cli.jvm.JVMConfigurationKeys;
+import org.jetbrains.jet.cli.jvm.compiler.JetCoreEnvironment;
+import org.jetbrains.jet.codegen.optimization.BytecodeOptimization;
+import org.jetbrains.jet.config.CompilerConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+public class BytecodeOptimizationTest extends CodegenTestCase {
+    private static MethodNode newMethod() {
+        return new MethodNode(Opcodes.ASM4, Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "foo", "()V", null, null);
+    }
+
+    private static List<Integer> opcodes(MethodNode node) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn.getOpcode() >= 0) {
+                result.add(insn.getOpcode());
+            }
+        }
+        return result;
+    }
+
+    private static int transform(BytecodeOptimization optimization, MethodNode node) {
+        return optimization.getTransformer().transform(node);
+    }
+
+    public void testRedundantBoxing() {
+        MethodNode node = newMethod();
+        InstructionAdapter v = new InstructionAdapter(node);
+        v.iconst(42);
+        v.invokestatic("java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;");
+        v.checkcast(Type.getObjectType("java/lang/Number"));
+        v.invokevirtual("java/lang/Number", "intValue", "()I");
+        v.pop();
+        v.iconst(1);
+        v.invokestatic("java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;");
+        v.invokevirtual("java/lang/Boolean", "booleanValue", "()Z");
+        v.pop();
+        v.areturn(Type.VOID_TYPE);
+
+        assertEquals(2, transform(BytecodeOptimization.REDUNDANT_BOXING, node));
+        assertEquals(Arrays.asList(Opcodes.BIPUSH, Opcodes.POP, Opcodes.ICONST_1, Opcodes.POP, Opcodes.RETURN), opcodes(node));
+    }
+
+    public void testBoxingAcrossLabelIsKept() {
+        MethodNode node = newMethod();
+        InstructionAdapter v = new InstructionAdapter(node);
+        v.lconst(0);
+        v.invokestatic("java/lang/Long", "valueOf", "(J)Ljava/lang/Long;");
+        v.mark(new Label());
+        v.invokevirtual("java/lang/Long", "longValue", "()J");
+        v.pop2();
+        v.areturn(Type.VOID_TYPE);
+
+        assertEquals(0, transform(BytecodeOptimization.REDUNDANT_BOXING, node));
+    }
+
+    public void testRedundantCheckcast() {
+        MethodNode node = newMethod();
+        InstructionAdapter v = new InstructionAdapter(node);
+        v.aconst("string");
+        v.checkcast(Type.getObjectType("java/lang/String"));
+        v.checkcast(Type.getObjectType("java/lang/CharSequence"));
+        v.checkcast(Type.getObjectType("java/lang/CharSequence"));
+        v.checkcast(Type.getObjectType("java/lang/Object"));
+        v.pop();
+        v.areturn(Type.VOID_TYPE);
+
+        assertEquals(3, transform(BytecodeOptimization.REDUNDANT_CHECKCAST, node));
+        assertEquals(Arrays.asList(Opcodes.LDC, Opcodes.CHECKCAST, Opcodes.POP, Opcodes.RETURN), opcodes(node));
+    }
+
+    public void testDeadStore() {
+        MethodNode node = newMethod();
+        InstructionAdapter v = new InstructionAdapter(node);
+        v.iconst(1);
+        v.store(0, Type.INT_TYPE);
+        v.lconst(1);
+        v.store(1, Type.LONG_TYPE);
+        v.iconst(2);
+        v.store(3, Type.INT_TYPE);
+        v.load(3, Type.INT_TYPE);
+        v.pop();
+        v.areturn(Type.VOID_TYPE);
+
+        assertEquals(2, transform(BytecodeOptimization.DEAD_STORE, node));
+        assertEquals(Arrays.asList(Opcodes.ICONST_1, Opcodes.POP, Opcodes.LCONST_1, Opcodes.POP2,
+                          Opcodes.ICONST_2, Opcodes.ISTORE, Opcodes.ILOAD, Opcodes.POP, Opcodes.RETURN), opcodes(node));
+    }
+
+    public void testGotoChain() {
+        MethodNode node = newMethod();
+        InstructionAdapter v = new InstructionAdapter(node);
+        Label first = new Label();
+        Label second = new Label();
+        Label end = new Label();
+        v.iconst(0);
+        v.ifeq(first);
+        v.goTo(first);
+        v.mark(first);
+        v.goTo(second);
+        v.mark(second);
+        v.goTo(end);
+        v.mark(end);
+        v.areturn(Type.VOID_TYPE);
+
+        assertEquals(3, transform(BytecodeOptimization.GOTO_CHAIN, node));
+        for (AbstractInsnNode insn = node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn instanceof JumpInsnNode) {
+                assertEquals(Opcodes.RETURN, ((JumpInsnNode) insn).label.getNext().getOpcode());
+            }
+        }
+    }
+
+    public void testGotoLoopIsKept() {
+        MethodNode node = newMethod();
+        InstructionAdapter v = new InstructionAdapter(node);
+        Label first = new Label();
+        Label second = new Label();
+        v.mark(first);
+        v.goTo(second);
+        v.mark(second);
+        v.goTo(first);
+
+        assertEquals(0, transform(BytecodeOptimization.GOTO_CHAIN, node));
+    }
+
+    private void doBoxTest(String fileName) throws Exception {
+        CompilerConfiguration configuration = JetTestUtils.compilerConfigurationForTests(
+                ConfigurationKind.JDK_ONLY, TestJdkKind.MOCK_JDK);
+        configuration.put(JVMConfigurationKeys.BYTECODE_OPTIMIZATIONS, EnumSet.allOf(BytecodeOptimization.class));
+        myEnvironment = JetCoreEnvironment.createForTests(getTestRootDisposable(), configuration);
+
+        loadFile(fileName);
+        assertEquals("OK", generateNamespaceClass().getMethod("box").invoke(null));
+    }
+
+    public void testBoxWhenOnString() throws Exception {
+        doBoxTest("box/when/switchOnString.kt");
+    }
+
+    public void testBoxRangeContains() throws Exception {
+        doBoxTest("box/primitiveTypes/rangeContains.kt");
+    }
+
+    public void testBoxClosures() throws Exception {
+        doBoxTest("box/closures/capturedUnassignedVar.kt");
+    }
+
+    public void testBoxInline() throws Exception {
+        doBoxTest("box/inline/tryFinally.kt");
+    }
+}
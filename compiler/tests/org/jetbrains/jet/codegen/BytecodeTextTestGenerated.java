@@ -52,11 +52,36 @@ public class BytecodeTextTestGenerated extends AbstractBytecodeTextTest {
         doTest("compiler/testData/codegen/bytecodeText/annotationRetentionPolicySource.kt");
     }
     
+    @TestMetadata("capturedUnassignedVar.kt")
+    public void testCapturedUnassignedVar() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/capturedUnassignedVar.kt");
+    }
+    
     @TestMetadata("componentEvaluatesOnlyOnce.kt")
     public void testComponentEvaluatesOnlyOnce() throws Exception {
         doTest("compiler/testData/codegen/bytecodeText/componentEvaluatesOnlyOnce.kt");
     }
     
+    @TestMetadata("forInArrayIndices.kt")
+    public void testForInArrayIndices() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/forInArrayIndices.kt");
+    }
+    
+    @TestMetadata("inPrimitiveRange.kt")
+    public void testInPrimitiveRange() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/inPrimitiveRange.kt");
+    }
+    
+    @TestMetadata("inlineCallWithoutClosures.kt")
+    public void testInlineCallWithoutClosures() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/inlineCallWithoutClosures.kt");
+    }
+    
+    @TestMetadata("inlinedLiteralCapturedVar.kt")
+    public void testInlinedLiteralCapturedVar() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/inlinedLiteralCapturedVar.kt");
+    }
+    
     @TestMetadata("intConstantNotNull.kt")
     public void testIntConstantNotNull() throws Exception {
         doTest("compiler/testData/codegen/bytecodeText/intConstantNotNull.kt");
@@ -102,11 +127,46 @@ public class BytecodeTextTestGenerated extends AbstractBytecodeTextTest {
         doTest("compiler/testData/codegen/bytecodeText/privateDefaultArgs.kt");
     }
     
+    @TestMetadata("propertyMetadataArray.kt")
+    public void testPropertyMetadataArray() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/propertyMetadataArray.kt");
+    }
+    
+    @TestMetadata("samCallableReference.kt")
+    public void testSamCallableReference() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/samCallableReference.kt");
+    }
+    
+    @TestMetadata("specializedFunctionInvoke.kt")
+    public void testSpecializedFunctionInvoke() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/specializedFunctionInvoke.kt");
+    }
+    
+    @TestMetadata("spreadWithSingleElements.kt")
+    public void testSpreadWithSingleElements() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/spreadWithSingleElements.kt");
+    }
+    
+    @TestMetadata("stringConcatenation.kt")
+    public void testStringConcatenation() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/stringConcatenation.kt");
+    }
+    
     @TestMetadata("topLevelFunWithDefaultArgs.kt")
     public void testTopLevelFunWithDefaultArgs() throws Exception {
         doTest("compiler/testData/codegen/bytecodeText/topLevelFunWithDefaultArgs.kt");
     }
     
+    @TestMetadata("whenSwitch.kt")
+    public void testWhenSwitch() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/whenSwitch.kt");
+    }
+    
+    @TestMetadata("whenWithoutSwitch.kt")
+    public void testWhenWithoutSwitch() throws Exception {
+        doTest("compiler/testData/codegen/bytecodeText/whenWithoutSwitch.kt");
+    }
+    
     @TestMetadata("compiler/testData/codegen/bytecodeText/constants")
     public static class Constants extends AbstractBytecodeTextTest {
         public void testAllFilesPresentInConstants() throws Exception {
@@ -118,6 +178,11 @@ public class BytecodeTextTestGenerated extends AbstractBytecodeTextTest {
             doTest("compiler/testData/codegen/bytecodeText/constants/byte.kt");
         }
         
+        @TestMetadata("inlinedVals.kt")
+        public void testInlinedVals() throws Exception {
+            doTest("compiler/testData/codegen/bytecodeText/constants/inlinedVals.kt");
+        }
+        
         @TestMetadata("nullableByteAndShort.kt")
         public void testNullableByteAndShort() throws Exception {
             doTest("compiler/testData/codegen/bytecodeText/constants/nullableByteAndShort.kt");
@@ -23,9 +23,12 @@ import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.OutputFileSink;
 import org.jetbrains.jet.analyzer.AnalyzeExhaust;
 import org.jetbrains.jet.cli.jvm.JVMConfigurationKeys;
 import org.jetbrains.jet.cli.jvm.compiler.JetCoreEnvironment;
+import org.jetbrains.jet.codegen.optimization.BytecodeOptimization;
+import org.jetbrains.jet.codegen.optimization.OptimizationClassBuilderFactory;
 import org.jetbrains.jet.codegen.state.GenerationState;
 import org.jetbrains.jet.codegen.state.Progress;
 import org.jetbrains.jet.config.CompilerConfiguration;
@@ -41,6 +44,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static junit.framework.Assert.assertTrue;
 
@@ -49,6 +53,15 @@ public class CodegenTestUtil {
 
     @NotNull
     public static ClassFileFactory generateFiles(@NotNull JetCoreEnvironment environment, @NotNull CodegenTestFiles files) {
+        return generateFiles(environment, files, null);
+    }
+
+    @NotNull
+    public static ClassFileFactory generateFiles(
+            @NotNull JetCoreEnvironment environment,
+            @NotNull CodegenTestFiles files,
+            @Nullable OutputFileSink outputSink
+    ) {
         AnalyzeExhaust analyzeExhaust = AnalyzerFacadeForJVM.analyzeFilesWithJavaIntegrationAndCheckForErrors(
                 environment.getProject(),
                 files.getPsiFiles(),
@@ -57,13 +70,22 @@ public class CodegenTestUtil {
         analyzeExhaust.throwIfError();
         AnalyzingUtils.throwExceptionOnErrors(analyzeExhaust.getBindingContext());
         CompilerConfiguration configuration = environment.getConfiguration();
+        Set<BytecodeOptimization> optimizations = configuration.get(JVMConfigurationKeys.BYTECODE_OPTIMIZATIONS);
+        ClassBuilderFactory builderFactory = optimizations != null
+                                             ? new OptimizationClassBuilderFactory(ClassBuilderFactories.TEST, optimizations)
+                                             : ClassBuilderFactories.TEST;
         GenerationState state = new GenerationState(
-                environment.getProject(), ClassBuilderFactories.TEST, Progress.DEAF, analyzeExhaust.getBindingContext(), files.getPsiFiles(),
+                environment.getProject(), builderFactory, Progress.DEAF, analyzeExhaust.getBindingContext(), files.getPsiFiles(),
                 configuration.get(JVMConfigurationKeys.GENERATE_NOT_NULL_ASSERTIONS, true),
                 configuration.get(JVMConfigurationKeys.GENERATE_NOT_NULL_PARAMETER_ASSERTIONS, true),
+                configuration.get(JVMConfigurationKeys.NOT_NULL_PARAMETER_ASSERTIONS_FOR_API_ONLY, false),
                 /*generateDeclaredClasses = */true,
-                configuration.get(JVMConfigurationKeys.ENABLE_INLINE, InlineUtil.DEFAULT_INLINE_FLAG_FOR_TEST)
+                configuration.get(JVMConfigurationKeys.ENABLE_INLINE, InlineUtil.DEFAULT_INLINE_FLAG_FOR_TEST),
+                configuration.get(JVMConfigurationKeys.CODEGEN_THREADS, 1)
         );
+        if (outputSink != null) {
+            state.getFactory().streamTo(outputSink);
+        }
         KotlinCodegenFacade.compileCorrectFiles(state, CompilationErrorHandler.THROW_EXCEPTION);
         return state.getFactory();
     }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.codegen.state.GenerationState;
+
+public class CommonSuperClassResolverTest extends CodegenTestCase {
+    private CommonSuperClassResolver resolver;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        createEnvironmentWithMockJdkAndIdeaAnnotations(ConfigurationKind.JDK_ONLY);
+        loadText("package test\n" +
+                 "open class A\n" +
+                 "class B : A()\n" +
+                 "open class C : A()\n" +
+                 "class D : C()\n" +
+                 "trait T\n" +
+                 "class E : A(), T\n" +
+                 "class L : java.util.LinkedList<String>()\n" +
+                 "enum class F { X }\n" +
+                 "enum class G { Y }\n" +
+                 "fun foo() = object : C() {}\n");
+        GenerationState state = GenerationUtils.compileFileGetGenerationStateForTest(myFiles.getPsiFile());
+        resolver = state.getCommonSuperClassResolver();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        resolver = null;
+        super.tearDown();
+    }
+
+    private void doTest(String expected, String type1, String type2) {
+        assertEquals(expected, resolver.getCommonSuperClass(type1, type2));
+        assertEquals(expected, resolver.getCommonSuperClass(type2, type1));
+    }
+
+    public void testCompiledClasses() {
+        doTest("test/A", "test/B", "test/D");
+        doTest("test/A", "test/A", "test/D");
+        doTest("test/C", "test/C", "test/D");
+        doTest("test/A", "test/B", "test/E");
+    }
+
+    public void testTrait() {
+        doTest("java/lang/Object", "test/T", "test/B");
+    }
+
+    public void testEnum() {
+        doTest("java/lang/Enum", "test/F", "test/G");
+    }
+
+    public void testClassPath() {
+        doTest("java/lang/Number", "java/lang/Integer", "java/lang/Long");
+        doTest("java/util/AbstractList", "java/util/ArrayList", "java/util/LinkedList");
+        doTest("java/lang/Object", "java/lang/String", "java/util/List");
+    }
+
+    public void testCompiledClassWithClassPathSuperClass() {
+        doTest("java/util/AbstractList", "test/L", "java/util/ArrayList");
+    }
+
+    public void testGeneratedAnonymousClass() {
+        doTest("test/C", "test/TestPackage$foo$1", "test/D");
+    }
+
+    public void testPlatformClassMissingFromClassPath() {
+        // BigInteger and BigDecimal are not in the mock JDK
+        doTest("java/lang/Number", "java/math/BigInteger", "java/math/BigDecimal");
+        doTest("java/lang/Number", "java/math/BigInteger", "java/lang/Integer");
+    }
+
+    public void testUnknownClass() {
+        doTest("java/lang/Object", "test/Unknown", "test/B");
+    }
+}
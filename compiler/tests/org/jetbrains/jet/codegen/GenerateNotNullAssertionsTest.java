@@ -43,11 +43,21 @@ public class GenerateNotNullAssertionsTest extends CodegenTestCase {
     }
 
     private void setUpEnvironment(boolean generateAssertions, boolean generateParamAssertions, File... extraClassPath) {
+        setUpEnvironment(generateAssertions, generateParamAssertions, false, extraClassPath);
+    }
+
+    private void setUpEnvironment(
+            boolean generateAssertions,
+            boolean generateParamAssertions,
+            boolean paramAssertionsForApiOnly,
+            File... extraClassPath
+    ) {
         CompilerConfiguration configuration = JetTestUtils.compilerConfigurationForTests(
                 ConfigurationKind.JDK_ONLY, TestJdkKind.MOCK_JDK, extraClassPath);
 
         configuration.put(JVMConfigurationKeys.GENERATE_NOT_NULL_ASSERTIONS, generateAssertions);
         configuration.put(JVMConfigurationKeys.GENERATE_NOT_NULL_PARAMETER_ASSERTIONS, generateParamAssertions);
+        configuration.put(JVMConfigurationKeys.NOT_NULL_PARAMETER_ASSERTIONS_FOR_API_ONLY, paramAssertionsForApiOnly);
 
         myEnvironment = JetCoreEnvironment.createForTests(getTestRootDisposable(), configuration);
     }
@@ -115,6 +125,40 @@ public class GenerateNotNullAssertionsTest extends CodegenTestCase {
         assertNoIntrinsicsMethodIsCalled("A");
     }
 
+    public void testParamAssertionsForAllMembers() {
+        setUpEnvironment(false, true, false);
+
+        loadFile("notNullAssertions/paramAssertionsForApiOnly.kt");
+
+        assertEquals(7, StringUtil.getOccurrenceCount(generateToText(), "checkParameterIsNotNull"));
+    }
+
+    public void testParamAssertionsForApiOnly() {
+        setUpEnvironment(false, true, true);
+
+        loadFile("notNullAssertions/paramAssertionsForApiOnly.kt");
+
+        // All members except for A.Nested.foo, which can only be called from Kotlin
+        assertEquals(6, StringUtil.getOccurrenceCount(generateToText(), "checkParameterIsNotNull"));
+    }
+
+    public void testSynthesizedParamAssertionsForAllMembers() {
+        setUpEnvironment(false, true, false);
+
+        loadFile("notNullAssertions/paramAssertionsForApiOnlySynthesized.kt");
+
+        assertEquals(4, StringUtil.getOccurrenceCount(generateToText(), "checkParameterIsNotNull"));
+    }
+
+    public void testSynthesizedParamAssertionsForApiOnly() {
+        setUpEnvironment(false, true, true);
+
+        loadFile("notNullAssertions/paramAssertionsForApiOnlySynthesized.kt");
+
+        // The constructor and copy() of Public, but not the ones of the private Hidden
+        assertEquals(2, StringUtil.getOccurrenceCount(generateToText(), "checkParameterIsNotNull"));
+    }
+
     public void testArrayListGet() {
         setUpEnvironment(true, true);
 
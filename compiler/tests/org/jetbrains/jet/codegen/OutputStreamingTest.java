@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.codegen;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.OutputFile;
+import org.jetbrains.jet.OutputFileSink;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OutputStreamingTest extends CodegenTestCase {
+    private static final String[] FILES = {"parallelCodegen/a.kt", "parallelCodegen/b.kt", "parallelCodegen/c.kt"};
+
+    private void setUpEnvironment() {
+        createEnvironmentWithMockJdkAndIdeaAnnotations(ConfigurationKind.JDK_ONLY);
+        loadFiles(FILES);
+    }
+
+    public void testSameOutputAsInMemory() {
+        setUpEnvironment();
+        List<OutputFile> inMemory = CodegenTestUtil.generateFiles(myEnvironment, myFiles).asList();
+
+        setUpEnvironment();
+        final Map<String, byte[]> streamed = new HashMap<String, byte[]>();
+        ClassFileFactory factory = CodegenTestUtil.generateFiles(myEnvironment, myFiles, new OutputFileSink() {
+            @Override
+            public void write(@NotNull OutputFile file) {
+                assertNull("Class file is streamed twice: " + file.getRelativePath(), streamed.put(file.getRelativePath(), file.asByteArray()));
+            }
+        });
+        factory.done();
+
+        assertEquals(inMemory.size(), streamed.size());
+        for (OutputFile file : inMemory) {
+            assertTrue("Different bytecode for " + file.getRelativePath(),
+                       Arrays.equals(file.asByteArray(), streamed.get(file.getRelativePath())));
+        }
+
+        try {
+            factory.asList().get(0).asByteArray();
+            fail("Class builders should be released after the class files are streamed");
+        }
+        catch (IllegalStateException expected) {
+        }
+    }
+}
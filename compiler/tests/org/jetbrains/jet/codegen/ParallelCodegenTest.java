@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.OutputFile;
+import org.jetbrains.jet.TestJdkKind;
+import org.jetbrains.jet.cli.jvm.JVMConfigurationKeys;
+import org.jetbrains.jet.cli.jvm.compiler.JetCoreEnvironment;
+import org.jetbrains.jet.config.CompilerConfiguration;
+import org.jetbrains.jet.lang.resolve.java.PackageClassUtils;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ParallelCodegenTest extends CodegenTestCase {
+    private static final String[] FILES = {"parallelCodegen/a.kt", "parallelCodegen/b.kt", "parallelCodegen/c.kt"};
+
+    private void setUpEnvironment(int codegenThreads) {
+        CompilerConfiguration configuration = JetTestUtils.compilerConfigurationForTests(
+                ConfigurationKind.JDK_ONLY, TestJdkKind.MOCK_JDK);
+        configuration.put(JVMConfigurationKeys.CODEGEN_THREADS, codegenThreads);
+
+        myEnvironment = JetCoreEnvironment.createForTests(getTestRootDisposable(), configuration);
+        loadFiles(FILES);
+    }
+
+    public void testBox() throws Exception {
+        setUpEnvironment(4);
+        assertEquals("OK", generateClass(PackageClassUtils.getPackageClassFqName(new FqName("c")).asString()).getMethod("box").invoke(null));
+    }
+
+    public void testSameOutputAsSequential() {
+        setUpEnvironment(1);
+        List<OutputFile> sequential = CodegenTestUtil.generateFiles(myEnvironment, myFiles).asList();
+
+        setUpEnvironment(4);
+        List<OutputFile> parallel = CodegenTestUtil.generateFiles(myEnvironment, myFiles).asList();
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).getRelativePath(), parallel.get(i).getRelativePath());
+            assertTrue("Different bytecode for " + sequential.get(i).getRelativePath(),
+                       Arrays.equals(sequential.get(i).asByteArray(), parallel.get(i).asByteArray()));
+        }
+    }
+}
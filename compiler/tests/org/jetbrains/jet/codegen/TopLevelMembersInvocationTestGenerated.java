@@ -56,6 +56,11 @@ public class TopLevelMembersInvocationTestGenerated extends AbstractTopLevelMemb
         doTest("compiler/testData/codegen/topLevelMemberInvocation/functionSamePackage");
     }
     
+    @TestMetadata("inlineFunctionFromLibrary")
+    public void testInlineFunctionFromLibrary() throws Exception {
+        doTest("compiler/testData/codegen/topLevelMemberInvocation/inlineFunctionFromLibrary");
+    }
+    
     @TestMetadata("property")
     public void testProperty() throws Exception {
         doTest("compiler/testData/codegen/topLevelMemberInvocation/property");
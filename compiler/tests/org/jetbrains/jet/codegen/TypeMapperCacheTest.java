@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.codegen.signature.JvmMethodSignature;
+import org.jetbrains.jet.codegen.state.GenerationState;
+import org.jetbrains.jet.codegen.state.JetTypeMapper;
+import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
+import org.jetbrains.jet.lang.descriptors.FunctionDescriptor;
+import org.jetbrains.jet.lang.psi.JetBlockExpression;
+import org.jetbrains.jet.lang.psi.JetClass;
+import org.jetbrains.jet.lang.psi.JetNamedFunction;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+
+public class TypeMapperCacheTest extends CodegenTestCase {
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        createEnvironmentWithMockJdkAndIdeaAnnotations(ConfigurationKind.JDK_ONLY);
+    }
+
+    public void testRepeatedCallsUseCachedSignature() {
+        loadText("fun <T> id(t: T): T = t\n" +
+                 "fun foo(): String = id(id(\"a\")) + id(\"b\") + id(\"c\")\n");
+        GenerationState state = GenerationUtils.compileFileGetGenerationStateForTest(myFiles.getPsiFile());
+        JetTypeMapper typeMapper = state.getTypeMapper();
+
+        FunctionDescriptor descriptor = getFunctionDescriptor(state, (JetNamedFunction) myFiles.getPsiFile().getDeclarations().get(0));
+
+        JvmMethodSignature signature = typeMapper.mapSignature(descriptor);
+        assertSame(signature, typeMapper.mapSignature(descriptor));
+        assertEquals("(Ljava/lang/Object;)Ljava/lang/Object;", signature.getAsmMethod().getDescriptor());
+
+        Type owner = typeMapper.getOwner(descriptor, OwnerKind.IMPLEMENTATION, true);
+        assertSame(owner, typeMapper.getOwner(descriptor, OwnerKind.IMPLEMENTATION, true));
+    }
+
+    public void testRepeatedCallsUseCachedClass() {
+        loadText("class A\n" +
+                 "fun foo(a: A): A = a\n");
+        GenerationState state = GenerationUtils.compileFileGetGenerationStateForTest(myFiles.getPsiFile());
+        JetTypeMapper typeMapper = state.getTypeMapper();
+
+        JetClass a = (JetClass) myFiles.getPsiFile().getDeclarations().get(0);
+        ClassDescriptor descriptor = state.getBindingContext().get(BindingContext.CLASS, a);
+        assertNotNull(descriptor);
+
+        Type type = typeMapper.mapClass(descriptor);
+        assertSame(type, typeMapper.mapClass(descriptor));
+        assertEquals("A", type.getInternalName());
+    }
+
+    public void testLocalFunctionSignatureIsNotCached() {
+        loadText("fun foo(): Int {\n" +
+                 "    fun bar() = 42\n" +
+                 "    return bar() + bar()\n" +
+                 "}\n");
+        GenerationState state = GenerationUtils.compileFileGetGenerationStateForTest(myFiles.getPsiFile());
+        JetTypeMapper typeMapper = state.getTypeMapper();
+
+        JetNamedFunction foo = (JetNamedFunction) myFiles.getPsiFile().getDeclarations().get(0);
+        JetNamedFunction bar = (JetNamedFunction) ((JetBlockExpression) foo.getBodyExpression()).getStatements().get(0);
+        FunctionDescriptor descriptor = getFunctionDescriptor(state, bar);
+
+        JvmMethodSignature signature = typeMapper.mapSignature(descriptor);
+        assertNotSame(signature, typeMapper.mapSignature(descriptor));
+        assertEquals(signature.getAsmMethod(), typeMapper.mapSignature(descriptor).getAsmMethod());
+    }
+
+    @NotNull
+    private static FunctionDescriptor getFunctionDescriptor(@NotNull GenerationState state, @NotNull JetNamedFunction function) {
+        FunctionDescriptor descriptor = (FunctionDescriptor) state.getBindingContext().get(BindingContext.DECLARATION_TO_DESCRIPTOR, function);
+        assertNotNull(descriptor);
+        return descriptor;
+    }
+}
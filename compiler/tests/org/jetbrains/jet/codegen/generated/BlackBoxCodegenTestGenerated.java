@@ -941,6 +941,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/classes/classObjectsWithParentClasses.kt");
         }
         
+        @TestMetadata("commonSuperClassInFrames.kt")
+        public void testCommonSuperClassInFrames() throws Exception {
+            doTest("compiler/testData/codegen/box/classes/commonSuperClassInFrames.kt");
+        }
+        
         @TestMetadata("delegation2.kt")
         public void testDelegation2() throws Exception {
             doTest("compiler/testData/codegen/box/classes/delegation2.kt");
@@ -1395,6 +1400,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/closures/capturedLocalGenericFun.kt");
         }
         
+        @TestMetadata("capturedUnassignedVar.kt")
+        public void testCapturedUnassignedVar() throws Exception {
+            doTest("compiler/testData/codegen/box/closures/capturedUnassignedVar.kt");
+        }
+        
         @TestMetadata("closureInsideConstrucor.kt")
         public void testClosureInsideConstrucor() throws Exception {
             doTest("compiler/testData/codegen/box/closures/closureInsideConstrucor.kt");
@@ -1495,6 +1505,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/closures/localReturnWithAutolabel.kt");
         }
         
+        @TestMetadata("primitiveSpecialization.kt")
+        public void testPrimitiveSpecialization() throws Exception {
+            doTest("compiler/testData/codegen/box/closures/primitiveSpecialization.kt");
+        }
+        
         @TestMetadata("recursiveClosure.kt")
         public void testRecursiveClosure() throws Exception {
             doTest("compiler/testData/codegen/box/closures/recursiveClosure.kt");
@@ -1572,6 +1587,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/constants/float.kt");
         }
         
+        @TestMetadata("inlinedVals.kt")
+        public void testInlinedVals() throws Exception {
+            doTest("compiler/testData/codegen/box/constants/inlinedVals.kt");
+        }
+        
         @TestMetadata("long.kt")
         public void testLong() throws Exception {
             doTest("compiler/testData/codegen/box/constants/long.kt");
@@ -2125,6 +2145,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/delegatedProperty/privateVar.kt");
         }
         
+        @TestMetadata("propertyMetadataReused.kt")
+        public void testPropertyMetadataReused() throws Exception {
+            doTest("compiler/testData/codegen/box/delegatedProperty/propertyMetadataReused.kt");
+        }
+        
         @TestMetadata("setAsExtensionFun.kt")
         public void testSetAsExtensionFun() throws Exception {
             doTest("compiler/testData/codegen/box/delegatedProperty/setAsExtensionFun.kt");
@@ -3032,6 +3057,39 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
         }
     }
     
+    @TestMetadata("compiler/testData/codegen/box/inline")
+    public static class Inline extends AbstractBlackBoxCodegenTest {
+        public void testAllFilesPresentInInline() throws Exception {
+            JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), "org.jetbrains.jet.generators.tests.TestsPackage", new File("compiler/testData/codegen/box/inline"), Pattern.compile("^(.+)\\.kt$"), true);
+        }
+        
+        @TestMetadata("capturedVars.kt")
+        public void testCapturedVars() throws Exception {
+            doTest("compiler/testData/codegen/box/inline/capturedVars.kt");
+        }
+        
+        @TestMetadata("extensionReceiver.kt")
+        public void testExtensionReceiver() throws Exception {
+            doTest("compiler/testData/codegen/box/inline/extensionReceiver.kt");
+        }
+        
+        @TestMetadata("returns.kt")
+        public void testReturns() throws Exception {
+            doTest("compiler/testData/codegen/box/inline/returns.kt");
+        }
+        
+        @TestMetadata("simpleFunctionLiteral.kt")
+        public void testSimpleFunctionLiteral() throws Exception {
+            doTest("compiler/testData/codegen/box/inline/simpleFunctionLiteral.kt");
+        }
+        
+        @TestMetadata("tryFinally.kt")
+        public void testTryFinally() throws Exception {
+            doTest("compiler/testData/codegen/box/inline/tryFinally.kt");
+        }
+        
+    }
+    
     @TestMetadata("compiler/testData/codegen/box/innerNested")
     public static class InnerNested extends AbstractBlackBoxCodegenTest {
         public void testAllFilesPresentInInnerNested() throws Exception {
@@ -4327,6 +4385,16 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/primitiveTypes/nullableCharBoolean.kt");
         }
         
+        @TestMetadata("rangeContains.kt")
+        public void testRangeContains() throws Exception {
+            doTest("compiler/testData/codegen/box/primitiveTypes/rangeContains.kt");
+        }
+        
+        @TestMetadata("rangeContainsEvaluationOrder.kt")
+        public void testRangeContainsEvaluationOrder() throws Exception {
+            doTest("compiler/testData/codegen/box/primitiveTypes/rangeContainsEvaluationOrder.kt");
+        }
+        
         @TestMetadata("unboxComparable.kt")
         public void testUnboxComparable() throws Exception {
             doTest("compiler/testData/codegen/box/primitiveTypes/unboxComparable.kt");
@@ -4549,6 +4617,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), "org.jetbrains.jet.generators.tests.TestsPackage", new File("compiler/testData/codegen/box/samConstructors"), Pattern.compile("^(.+)\\.kt$"), true);
         }
         
+        @TestMetadata("cachedInstances.kt")
+        public void testCachedInstances() throws Exception {
+            doTest("compiler/testData/codegen/box/samConstructors/cachedInstances.kt");
+        }
+        
         @TestMetadata("comparator.kt")
         public void testComparator() throws Exception {
             doTest("compiler/testData/codegen/box/samConstructors/comparator.kt");
@@ -4612,6 +4685,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), "org.jetbrains.jet.generators.tests.TestsPackage", new File("compiler/testData/codegen/box/strings"), Pattern.compile("^(.+)\\.kt$"), true);
         }
         
+        @TestMetadata("concatenation.kt")
+        public void testConcatenation() throws Exception {
+            doTest("compiler/testData/codegen/box/strings/concatenation.kt");
+        }
+        
         @TestMetadata("ea35743.kt")
         public void testEa35743() throws Exception {
             doTest("compiler/testData/codegen/box/strings/ea35743.kt");
@@ -5091,6 +5169,11 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/vararg/kt796_797.kt");
         }
         
+        @TestMetadata("spreadWithSingleElements.kt")
+        public void testSpreadWithSingleElements() throws Exception {
+            doTest("compiler/testData/codegen/box/vararg/spreadWithSingleElements.kt");
+        }
+        
         @TestMetadata("varargsAndFunctionLiterals.kt")
         public void testVarargsAndFunctionLiterals() throws Exception {
             doTest("compiler/testData/codegen/box/vararg/varargsAndFunctionLiterals.kt");
@@ -5189,6 +5272,21 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
             doTest("compiler/testData/codegen/box/when/range.kt");
         }
         
+        @TestMetadata("switchOnEnum.kt")
+        public void testSwitchOnEnum() throws Exception {
+            doTest("compiler/testData/codegen/box/when/switchOnEnum.kt");
+        }
+        
+        @TestMetadata("switchOnInt.kt")
+        public void testSwitchOnInt() throws Exception {
+            doTest("compiler/testData/codegen/box/when/switchOnInt.kt");
+        }
+        
+        @TestMetadata("switchOnString.kt")
+        public void testSwitchOnString() throws Exception {
+            doTest("compiler/testData/codegen/box/when/switchOnString.kt");
+        }
+        
         @TestMetadata("whenArgumentIsEvaluatedOnlyOnce.kt")
         public void testWhenArgumentIsEvaluatedOnlyOnce() throws Exception {
             doTest("compiler/testData/codegen/box/when/whenArgumentIsEvaluatedOnlyOnce.kt");
@@ -5220,6 +5318,7 @@ public class BlackBoxCodegenTestGenerated extends AbstractBlackBoxCodegenTest {
         suite.addTestSuite(FieldRename.class);
         suite.addTestSuite(Finally.class);
         suite.addTest(Functions.innerSuite());
+        suite.addTestSuite(Inline.class);
         suite.addTestSuite(InnerNested.class);
         suite.addTest(Instructions.innerSuite());
         suite.addTestSuite(Intrinsics.class);
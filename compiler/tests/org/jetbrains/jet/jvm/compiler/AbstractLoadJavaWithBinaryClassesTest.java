@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.jvm.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.lang.descriptors.PackageViewDescriptor;
+import org.jetbrains.jet.test.TestCaseWithTmpdir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.jetbrains.jet.jvm.compiler.LoadDescriptorUtil.compileJavaAndLoadTestPackageAndBindingContextFromBinary;
+import static org.jetbrains.jet.jvm.compiler.LoadDescriptorUtil.loadTestPackageAndBindingContextFromJavaRoot;
+import static org.jetbrains.jet.test.util.RecursiveDescriptorComparator.DONT_INCLUDE_METHODS_OF_OBJECT;
+import static org.jetbrains.jet.test.util.RecursiveDescriptorComparator.validateAndCompareDescriptors;
+
+/*
+    The generated test compares namespace descriptors loaded from compiled java through PSI and directly from class files
+    (see -binaryJavaClasses).
+*/
+public abstract class AbstractLoadJavaWithBinaryClassesTest extends TestCaseWithTmpdir {
+    protected void doTest(@NotNull String javaFileName) throws Exception {
+        final File srcDir = new File(tmpdir, "src");
+        File compiledDir = new File(tmpdir, "compiled");
+        assertTrue(srcDir.mkdir());
+        assertTrue(compiledDir.mkdir());
+
+        List<File> srcFiles = JetTestUtils.createTestFiles(
+                new File(javaFileName).getName(), FileUtil.loadFile(new File(javaFileName)),
+                new JetTestUtils.TestFileFactory<File>() {
+                    @Override
+                    public File create(String fileName, String text, Map<String, String> directives) {
+                        File targetFile = new File(srcDir, fileName);
+                        try {
+                            FileUtil.writeToFile(targetFile, text);
+                        }
+                        catch (IOException e) {
+                            throw new AssertionError(e);
+                        }
+                        return targetFile;
+                    }
+                });
+
+        PackageViewDescriptor packageFromPsi = compileJavaAndLoadTestPackageAndBindingContextFromBinary(
+                srcFiles, compiledDir, getTestRootDisposable(), ConfigurationKind.ALL).first;
+        PackageViewDescriptor packageFromClassFiles = loadTestPackageAndBindingContextFromJavaRoot(
+                compiledDir, getTestRootDisposable(), ConfigurationKind.ALL, true).first;
+
+        File txtFile = new File(javaFileName.replaceFirst("\\.java$", ".txt"));
+        validateAndCompareDescriptors(packageFromPsi, packageFromClassFiles, DONT_INCLUDE_METHODS_OF_OBJECT, txtFile);
+    }
+}
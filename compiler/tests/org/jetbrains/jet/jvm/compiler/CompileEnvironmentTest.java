@@ -30,27 +30,46 @@ import org.junit.Assert;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
 
 public class CompileEnvironmentTest extends TestCase {
 
     public void testSmokeWithCompilerJar() throws IOException {
+        doTestSmokeWithCompilerJar(false);
+    }
+
+    public void testSmokeWithUncompressedCompilerJar() throws IOException {
+        doTestSmokeWithCompilerJar(true);
+    }
+
+    private static void doTestSmokeWithCompilerJar(boolean noJarCompression) throws IOException {
         File tempDir = FileUtil.createTempDirectory("compilerTest", "compilerTest");
 
         try {
             File stdlib = ForTestCompileRuntime.runtimeJarForTests();
             File jdkAnnotations = ForTestPackJdkAnnotations.jdkAnnotationsForTests();
             File resultJar = new File(tempDir, "result.jar");
-            ExitCode rv = new K2JVMCompiler().exec(System.out,
-                                                   "-module", JetTestCaseBuilder.getTestDataPathBase() + "/compiler/smoke/Smoke.kts",
-                                                   "-jar", resultJar.getAbsolutePath(),
-                                                   "-noStdlib",
-                                                   "-classpath", stdlib.getAbsolutePath(),
-                                                   "-noJdkAnnotations",
-                                                   "-annotations", jdkAnnotations.getAbsolutePath());
+            List<String> arguments = new ArrayList<String>(Arrays.asList(
+                    "-module", JetTestCaseBuilder.getTestDataPathBase() + "/compiler/smoke/Smoke.kts",
+                    "-jar", resultJar.getAbsolutePath(),
+                    "-noStdlib",
+                    "-classpath", stdlib.getAbsolutePath(),
+                    "-noJdkAnnotations",
+                    "-annotations", jdkAnnotations.getAbsolutePath()));
+            if (noJarCompression) {
+                arguments.add("-noJarCompression");
+            }
+            ExitCode rv = new K2JVMCompiler().exec(System.out, arguments.toArray(new String[arguments.size()]));
             Assert.assertEquals("compilation completed with non-zero code", ExitCode.OK, rv);
             FileInputStream fileInputStream = new FileInputStream(resultJar);
             try {
@@ -73,6 +92,64 @@ public class CompileEnvironmentTest extends TestCase {
         }
     }
 
+    public void testSmokeWithCompilerJarIncludingRuntime() throws IOException {
+        File tempDir = FileUtil.createTempDirectory("compilerTest", "compilerTest");
+
+        try {
+            File stdlib = ForTestCompileRuntime.runtimeJarForTests();
+            File jdkAnnotations = ForTestPackJdkAnnotations.jdkAnnotationsForTests();
+            File resultJar = new File(tempDir, "result.jar");
+            ExitCode rv = new K2JVMCompiler().exec(System.out,
+                                                   "-module", JetTestCaseBuilder.getTestDataPathBase() + "/compiler/smoke/Smoke.kts",
+                                                   "-jar", resultJar.getAbsolutePath(),
+                                                   "-includeRuntime",
+                                                   "-noStdlib",
+                                                   "-classpath", stdlib.getAbsolutePath(),
+                                                   "-noJdkAnnotations",
+                                                   "-annotations", jdkAnnotations.getAbsolutePath());
+            Assert.assertEquals("compilation completed with non-zero code", ExitCode.OK, rv);
+
+            JarFile jarFile = new JarFile(resultJar);
+            try {
+                Manifest manifest = jarFile.getManifest();
+                assertNotNull(manifest);
+                assertEquals("1.0", manifest.getMainAttributes().getValue(Attributes.Name.MANIFEST_VERSION));
+                assertEquals("JetBrains Kotlin", manifest.getMainAttributes().getValue("Created-By"));
+
+                List<String> entries = new ArrayList<String>();
+                Enumeration<JarEntry> enumeration = jarFile.entries();
+                while (enumeration.hasMoreElements()) {
+                    JarEntry entry = enumeration.nextElement();
+                    entries.add(entry.getName());
+
+                    // Entries of the runtime are copied without decompression, so their contents should still match their CRCs
+                    InputStream stream = jarFile.getInputStream(entry);
+                    byte[] bytes;
+                    try {
+                        bytes = FileUtil.loadBytes(stream);
+                    }
+                    finally {
+                        stream.close();
+                    }
+                    assertEquals(entry.getName(), entry.getSize(), bytes.length);
+                    CRC32 crc = new CRC32();
+                    crc.update(bytes);
+                    assertEquals(entry.getName(), entry.getCrc(), crc.getValue());
+                }
+
+                assertTrue(entries.contains("Smoke/" + PackageClassUtils.getPackageClassName(new FqName("Smoke")) + ".class"));
+                assertTrue(entries.contains("jet/Unit.class"));
+                assertTrue(entries.contains("jet/runtime/Intrinsics.class"));
+            }
+            finally {
+                jarFile.close();
+            }
+        }
+        finally {
+            FileUtil.delete(tempDir);
+        }
+    }
+
     public void testSmokeWithCompilerOutput() throws IOException {
         File tempDir = FileUtil.createTempDirectory("compilerTest", "compilerTest");
         try {
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.jvm.compiler;
+
+import com.intellij.openapi.util.JDOMUtil;
+import com.intellij.psi.PsiManager;
+import org.jdom.Element;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.cli.jvm.compiler.CoreExternalAnnotationsManager;
+import org.jetbrains.jet.cli.jvm.compiler.ExternalAnnotationsIndex;
+import org.jetbrains.jet.cli.jvm.compiler.ExternalAnnotationsIndexWriter;
+import org.jetbrains.jet.cli.jvm.compiler.JetCoreEnvironment;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.PreparsedKotlinSignatureAnnotation;
+import org.jetbrains.jet.lang.resolve.java.kotlinSignature.SignaturesUtil;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotation;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaLiteralAnnotationArgument;
+import org.jetbrains.jet.lang.resolve.lazy.KotlinTestWithEnvironment;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.utils.PathUtil;
+
+import java.io.File;
+import java.util.Collection;
+
+public class ExternalAnnotationsIndexTest extends KotlinTestWithEnvironment {
+    private static final File JDK_ANNOTATIONS = new File("jdk-annotations");
+
+    @Override
+    protected JetCoreEnvironment createEnvironment() {
+        return JetTestUtils.createEnvironmentWithMockJdkAndIdeaAnnotations(getTestRootDisposable());
+    }
+
+    public void testJavaUtil() throws Exception {
+        doTest(new FqName("java.util"));
+    }
+
+    public void testJavaLang() throws Exception {
+        doTest(new FqName("java.lang"));
+    }
+
+    private void doTest(@NotNull FqName packageFqName) throws Exception {
+        File indexDir = JetTestUtils.tmpDirForTest(this);
+        ExternalAnnotationsIndexWriter.writeIndex(getProject(), JDK_ANNOTATIONS, new File(indexDir, ExternalAnnotationsIndex.FILE_NAME));
+
+        CoreExternalAnnotationsManager xmlManager = createAnnotationsManager(JDK_ANNOTATIONS);
+        CoreExternalAnnotationsManager indexManager = createAnnotationsManager(indexDir);
+
+        File xmlFile = new File(JDK_ANNOTATIONS, packageFqName.asString().replace('.', '/') + "/annotations.xml");
+        for (Object item : JDOMUtil.loadDocument(xmlFile).getRootElement().getChildren("item")) {
+            String externalName = ((Element) item).getAttributeValue("name");
+
+            Collection<JavaAnnotation> expected = xmlManager.findExternalAnnotations(packageFqName, externalName);
+            Collection<JavaAnnotation> actual = indexManager.findExternalAnnotations(packageFqName, externalName);
+            assertEquals(externalName, render(expected), render(actual));
+
+            for (JavaAnnotation annotation : actual) {
+                if (SignaturesUtil.KOTLIN_SIGNATURE.equals(annotation.getFqName())) {
+                    assertTrue("Signature should be parsed in index: " + externalName,
+                               annotation instanceof PreparsedKotlinSignatureAnnotation);
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private CoreExternalAnnotationsManager createAnnotationsManager(@NotNull File root) {
+        CoreExternalAnnotationsManager annotationsManager = new CoreExternalAnnotationsManager(PsiManager.getInstance(getProject()));
+        annotationsManager.addExternalAnnotationsRoot(PathUtil.jarFileOrDirectoryToVirtualFile(root));
+        return annotationsManager;
+    }
+
+    @NotNull
+    private static String render(@NotNull Collection<JavaAnnotation> annotations) {
+        StringBuilder builder = new StringBuilder();
+        for (JavaAnnotation annotation : annotations) {
+            builder.append(annotation.getFqName()).append("(");
+            for (JavaAnnotationArgument argument : annotation.getArguments()) {
+                builder.append(argument.getName()).append("=").append(((JavaLiteralAnnotationArgument) argument).getValue()).append(";");
+            }
+            builder.append(")\n");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.jvm.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.TestJdkKind;
+import org.jetbrains.jet.cli.jvm.compiler.ClassPath;
+import org.jetbrains.jet.cli.jvm.compiler.CliJavaPackageIndex;
+import org.jetbrains.jet.cli.jvm.compiler.JetCoreEnvironment;
+import org.jetbrains.jet.lang.resolve.java.JavaClassFinderImpl;
+import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.test.TestCaseWithTmpdir;
+import org.jetbrains.jet.utils.PathUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+public class JavaClassFinderTest extends TestCaseWithTmpdir {
+    public void testMissedClassDoesNotHideOtherClasses() throws Exception {
+        File root = new File(tmpdir, "root");
+        writeJavaClass(root, "test", "Foo");
+        JavaClassFinderImpl finder = createFinder(root);
+
+        assertNull(finder.findClass(new FqName("test.Missing")));
+        assertNull(finder.findClass(new FqName("test.Foo.Missing")));
+        assertNull(finder.findClass(new FqName("missing.Foo")));
+
+        assertFound(finder, "test.Foo");
+        assertFound(finder, "test.Foo.Nested");
+        assertFound(finder, "java.lang.String");
+
+        // Cached misses are still misses, and classes found before are still found
+        assertNull(finder.findClass(new FqName("test.Missing")));
+        assertNull(finder.findClass(new FqName("test.Foo.Missing")));
+        assertFound(finder, "test.Foo");
+    }
+
+    public void testPackages() throws Exception {
+        File root = new File(tmpdir, "root");
+        writeJavaClass(root, "test", "Foo");
+        writeJavaClass(root, "test.sub", "Bar");
+        JavaClassFinderImpl finder = createFinder(root);
+
+        assertNull(finder.findPackage(new FqName("test.missing")));
+        assertNull(finder.findPackage(new FqName("missing")));
+
+        assertNotNull(finder.findPackage(new FqName("test")));
+        assertNotNull(finder.findPackage(new FqName("test.sub")));
+        assertNotNull(finder.findPackage(new FqName("java.lang")));
+        assertNotNull(finder.findPackage(FqName.ROOT));
+
+        assertNull(finder.findPackage(new FqName("test.missing")));
+        assertFound(finder, "test.sub.Bar");
+    }
+
+    public void testPackageIndexIsRebuiltWhenRootsAreAdded() throws Exception {
+        File first = new File(tmpdir, "first");
+        File second = new File(tmpdir, "second");
+        writeJavaClass(first, "a", "A");
+        writeJavaClass(second, "b", "B");
+        // Environment is needed to access the local file system
+        createFinder(first);
+
+        ClassPath classPath = new ClassPath();
+        classPath.add(PathUtil.jarFileOrDirectoryToVirtualFile(first));
+        CliJavaPackageIndex index = new CliJavaPackageIndex(classPath);
+
+        assertTrue(index.mayContainPackage(new FqName("a")));
+        assertTrue(index.mayContainClass(new FqName("a.A")));
+        assertTrue(index.mayContainClass(new FqName("a.A.Nested")));
+        assertFalse(index.mayContainPackage(new FqName("b")));
+        assertFalse(index.mayContainClass(new FqName("b.B")));
+
+        classPath.add(PathUtil.jarFileOrDirectoryToVirtualFile(second));
+
+        assertTrue(index.mayContainPackage(new FqName("b")));
+        assertTrue(index.mayContainClass(new FqName("b.B")));
+        assertTrue(index.mayContainClass(new FqName("a.A")));
+        assertFalse(index.mayContainClass(new FqName("c.A")));
+    }
+
+    public void testSecondaryClassInJavaSource() throws Exception {
+        File root = new File(tmpdir, "root");
+        FileUtil.writeToFile(new File(root, "test/Util.java"), "package test;\n\n" +
+                                                                "public class Util {}\n\n" +
+                                                                "class Helper {}\n");
+        JavaClassFinderImpl finder = createFinder(root);
+
+        assertFound(finder, "test.Util");
+        assertFound(finder, "test.Helper");
+        assertNull(finder.findClass(new FqName("test.Missing")));
+    }
+
+    @NotNull
+    private JavaClassFinderImpl createFinder(@NotNull File root) {
+        JetCoreEnvironment environment = JetCoreEnvironment.createForTests(
+                getTestRootDisposable(), JetTestUtils.compilerConfigurationForTests(ConfigurationKind.JDK_ONLY, TestJdkKind.MOCK_JDK, root));
+        JavaClassFinderImpl finder = new JavaClassFinderImpl();
+        finder.setProject(environment.getProject());
+        finder.initialize();
+        return finder;
+    }
+
+    private static void assertFound(@NotNull JavaClassFinderImpl finder, @NotNull String fqName) {
+        JavaClass javaClass = finder.findClass(new FqName(fqName));
+        assertNotNull("Class not found: " + fqName, javaClass);
+        assertEquals(fqName, String.valueOf(javaClass.getFqName()));
+    }
+
+    private static void writeJavaClass(@NotNull File root, @NotNull String packageName, @NotNull String className) throws IOException {
+        File file = new File(root, packageName.replace('.', '/') + "/" + className + ".java");
+        FileUtil.writeToFile(file, "package " + packageName + ";\n\n" +
+                                   "public class " + className + " {\n" +
+                                   "    public static class Nested {}\n" +
+                                   "}\n");
+    }
+}
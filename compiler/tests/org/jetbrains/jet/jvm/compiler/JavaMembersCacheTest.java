@@ -0,0 +1,138 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.jvm.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.lang.descriptors.*;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+import org.jetbrains.jet.lang.resolve.name.Name;
+import org.jetbrains.jet.lang.resolve.scopes.JetScope;
+import org.jetbrains.jet.test.TestCaseWithTmpdir;
+
+import java.io.File;
+import java.util.*;
+
+import static org.jetbrains.jet.jvm.compiler.LoadDescriptorUtil.loadTestPackageAndBindingContextFromJavaRoot;
+
+public class JavaMembersCacheTest extends TestCaseWithTmpdir {
+    private static final Name FOO = Name.identifier("foo");
+    private static final Name BAR = Name.identifier("bar");
+    private static final Name CONST = Name.identifier("CONST");
+
+    private static final String SOURCE = "package test;\n" +
+                                         "\n" +
+                                         "public class A {\n" +
+                                         "    public static final String CONST = \"\";\n" +
+                                         "    public int bar;\n" +
+                                         "\n" +
+                                         "    public void foo() {}\n" +
+                                         "    public void foo(int x) {}\n" +
+                                         "    public static void foo(String s) {}\n" +
+                                         "    private void foo(long l) {}\n" +
+                                         "\n" +
+                                         "    public static int bar(int y) { return y; }\n" +
+                                         "}\n";
+
+    private JetScope staticScope;
+    private JetScope nonStaticScope;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtil.writeToFile(new File(tmpdir, "test/A.java"), SOURCE);
+
+        PackageViewDescriptor testPackage =
+                loadTestPackageAndBindingContextFromJavaRoot(tmpdir, getTestRootDisposable(), ConfigurationKind.JDK_ONLY).first;
+        ClassDescriptor classA = (ClassDescriptor) testPackage.getMemberScope().getClassifier(Name.identifier("A"));
+        assertNotNull(classA);
+        PackageViewDescriptor staticsOfA = testPackage.getModule().getPackage(new FqName("test.A"));
+        assertNotNull(staticsOfA);
+
+        staticScope = staticsOfA.getMemberScope();
+        nonStaticScope = classA.getDefaultType().getMemberScope();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        staticScope = null;
+        nonStaticScope = null;
+        super.tearDown();
+    }
+
+    public void testOverloadsAreSplitBetweenScopes() {
+        assertEquals(Arrays.asList("(s)"), parameterNames(staticScope.getFunctions(FOO)));
+        assertEquals(Arrays.asList("()", "(x)"), parameterNames(nonStaticScope.getFunctions(FOO)));
+    }
+
+    public void testOverloadsAreSplitBetweenScopesInOtherOrder() {
+        assertEquals(Arrays.asList("()", "(x)"), parameterNames(nonStaticScope.getFunctions(FOO)));
+        assertEquals(Arrays.asList("(s)"), parameterNames(staticScope.getFunctions(FOO)));
+    }
+
+    public void testFieldsAndMethodsWithSameName() {
+        assertEquals(1, nonStaticScope.getProperties(BAR).size());
+        assertEmpty(nonStaticScope.getFunctions(BAR));
+        assertEmpty(staticScope.getProperties(BAR));
+        assertEquals(Arrays.asList("(y)"), parameterNames(staticScope.getFunctions(BAR)));
+
+        assertEquals(1, staticScope.getProperties(CONST).size());
+        assertEmpty(nonStaticScope.getProperties(CONST));
+    }
+
+    public void testSameDescriptorsByNameAndInAllDescriptors() {
+        Collection<FunctionDescriptor> staticFoo = staticScope.getFunctions(FOO);
+        Collection<FunctionDescriptor> nonStaticFoo = nonStaticScope.getFunctions(FOO);
+
+        assertEquals(identitySet(staticFoo), identitySet(staticScope.getFunctions(FOO)));
+        assertEquals(identitySet(nonStaticFoo), identitySet(nonStaticScope.getFunctions(FOO)));
+
+        Set<DeclarationDescriptor> allStatic = identitySet(staticScope.getAllDescriptors());
+        Set<DeclarationDescriptor> allNonStatic = identitySet(nonStaticScope.getAllDescriptors());
+        for (FunctionDescriptor function : staticFoo) {
+            assertTrue(allStatic.contains(function));
+            assertFalse(allNonStatic.contains(function));
+        }
+        for (FunctionDescriptor function : nonStaticFoo) {
+            assertTrue(allNonStatic.contains(function));
+            assertFalse(allStatic.contains(function));
+        }
+    }
+
+    @NotNull
+    private static List<String> parameterNames(@NotNull Collection<FunctionDescriptor> functions) {
+        List<String> result = new ArrayList<String>();
+        for (FunctionDescriptor function : functions) {
+            StringBuilder builder = new StringBuilder("(");
+            for (ValueParameterDescriptor parameter : function.getValueParameters()) {
+                if (parameter.getIndex() > 0) builder.append(", ");
+                builder.append(parameter.getName().asString());
+            }
+            result.add(builder.append(")").toString());
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    @NotNull
+    private static <T> Set<T> identitySet(@NotNull Collection<? extends T> elements) {
+        Set<T> result = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+        result.addAll(elements);
+        return result;
+    }
+}
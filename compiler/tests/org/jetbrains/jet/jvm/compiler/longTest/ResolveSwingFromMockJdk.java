@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2013 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.jvm.compiler.longTest;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.util.Disposer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.ConfigurationKind;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.TestJdkKind;
+import org.jetbrains.jet.TimeUtils;
+import org.jetbrains.jet.cli.jvm.compiler.JetCoreEnvironment;
+import org.jetbrains.jet.di.InjectorForJavaDescriptorResolver;
+import org.jetbrains.jet.di.InjectorForJavaDescriptorResolverUtil;
+import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
+import org.jetbrains.jet.lang.resolve.BindingTraceContext;
+import org.jetbrains.jet.lang.resolve.java.JavaDescriptorResolver;
+import org.jetbrains.jet.lang.resolve.name.FqName;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.jetbrains.jet.lang.resolve.java.DescriptorSearchRule.IGNORE_KOTLIN_SOURCES;
+
+/**
+ * Resolves all members of javax.swing classes from the mock JDK: Swing has deep hierarchies of Java classes,
+ * which makes signature propagation from super methods the dominating part of resolve
+ */
+public class ResolveSwingFromMockJdk {
+    private static final String PACKAGE_PREFIX = "javax/swing/";
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        List<FqName> classNames = findClasses();
+        System.out.println("Found " + classNames.size() + " classes in javax.swing");
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.currentTimeMillis();
+            int descriptors = resolveAll(classNames);
+            System.out.println("Iteration " + (i + 1) + ": " + descriptors + " members resolved in " +
+                               TimeUtils.millisecondsToSecondsString(System.currentTimeMillis() - start) + "s");
+        }
+        System.out.println("$");
+    }
+
+    @NotNull
+    private static List<FqName> findClasses() throws IOException {
+        List<FqName> result = new ArrayList<FqName>();
+        ZipFile rtJar = new ZipFile(JetTestUtils.findMockJdkRtJar());
+        try {
+            Enumeration<? extends ZipEntry> entries = rtJar.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+                if (!entryName.startsWith(PACKAGE_PREFIX) || !entryName.endsWith(".class") || entryName.contains("$")) continue;
+
+                String className = entryName.substring(0, entryName.length() - ".class".length()).replace("/", ".");
+                result.add(new FqName(className));
+            }
+        }
+        finally {
+            rtJar.close();
+        }
+        return result;
+    }
+
+    private static int resolveAll(@NotNull List<FqName> classNames) {
+        Disposable disposable = Disposer.newDisposable();
+        try {
+            JetCoreEnvironment environment = JetCoreEnvironment.createForTests(
+                    disposable, JetTestUtils.compilerConfigurationForTests(ConfigurationKind.JDK_ONLY, TestJdkKind.MOCK_JDK));
+            InjectorForJavaDescriptorResolver injector = InjectorForJavaDescriptorResolverUtil.create(
+                    environment.getProject(), new BindingTraceContext());
+            JavaDescriptorResolver javaDescriptorResolver = injector.getJavaDescriptorResolver();
+
+            int count = 0;
+            for (FqName className : classNames) {
+                ClassDescriptor descriptor = javaDescriptorResolver.resolveClass(className, IGNORE_KOTLIN_SOURCES);
+                if (descriptor == null) {
+                    throw new IllegalStateException("Class not found: " + className);
+                }
+                count += descriptor.getDefaultType().getMemberScope().getAllDescriptors().size();
+            }
+            return count;
+        }
+        finally {
+            Disposer.dispose(disposable);
+        }
+    }
+}
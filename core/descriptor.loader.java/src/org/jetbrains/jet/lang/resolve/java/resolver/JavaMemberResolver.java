@@ -20,12 +20,15 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.resolve.java.DescriptorSearchRule;
+import org.jetbrains.jet.lang.resolve.java.scope.MembersCache;
 import org.jetbrains.jet.lang.resolve.java.scope.NamedMembers;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
 import org.jetbrains.jet.lang.resolve.name.FqName;
 
 import javax.inject.Inject;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class JavaMemberResolver {
@@ -34,6 +37,8 @@ public class JavaMemberResolver {
     private JavaPropertyResolver propertyResolver;
     private JavaConstructorResolver constructorResolver;
 
+    private final Map<JavaClass, MembersCache> membersCaches = new HashMap<JavaClass, MembersCache>();
+
     @Inject
     public void setClassResolver(JavaClassResolver classResolver) {
         this.classResolver = classResolver;
@@ -69,6 +74,19 @@ public class JavaMemberResolver {
         return propertyResolver.resolveFieldGroup(members, ownerDescriptor);
     }
 
+    /**
+     * Members of a Java class are shared by the scopes of its static and non-static members
+     */
+    @NotNull
+    public synchronized MembersCache getMembersCache(@NotNull JavaClass javaClass) {
+        MembersCache membersCache = membersCaches.get(javaClass);
+        if (membersCache == null) {
+            membersCache = MembersCache.forClass(javaClass);
+            membersCaches.put(javaClass, membersCache);
+        }
+        return membersCache;
+    }
+
     @NotNull
     public Collection<ConstructorDescriptor> resolveConstructors(@NotNull JavaClass javaClass, @NotNull ClassDescriptor classDescriptor) {
         return constructorResolver.resolveConstructors(javaClass, classDescriptor);
@@ -49,7 +49,7 @@ public final class JavaClassNonStaticMembersScope extends JavaClassMembersScope
             @NotNull JavaClass javaClass,
             @NotNull JavaMemberResolver memberResolver
     ) {
-        super(descriptor, MembersProvider.forClass(javaClass, false), memberResolver);
+        super(descriptor, MembersProvider.forClass(memberResolver.getMembersCache(javaClass), false), memberResolver);
         this.descriptor = descriptor;
         this.javaClass = javaClass;
     }
@@ -78,7 +78,7 @@ public final class JavaClassNonStaticMembersScope extends JavaClassMembersScope
     private Collection<ClassDescriptor> computeEnumEntries() {
         List<ClassDescriptor> result = new ArrayList<ClassDescriptor>();
 
-        final Collection<NamedMembers> enumNonStaticMembers = MembersProvider.forClass(javaClass, true).allMembers();
+        final Collection<NamedMembers> enumNonStaticMembers = memberResolver.getMembersCache(javaClass).allMembers(true);
 
         NotNullLazyValue<Collection<Name>> enumMemberNames =
                 LockBasedStorageManager.NO_LOCKS.createLazyValue(new Function0<Collection<Name>>() {
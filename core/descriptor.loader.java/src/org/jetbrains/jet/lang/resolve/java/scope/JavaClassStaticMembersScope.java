@@ -38,7 +38,7 @@ public final class JavaClassStaticMembersScope extends JavaClassMembersScope imp
             @NotNull JavaClass javaClass,
             @NotNull JavaMemberResolver memberResolver
     ) {
-        super(descriptor, MembersProvider.forClass(javaClass, true), memberResolver);
+        super(descriptor, MembersProvider.forClass(memberResolver.getMembersCache(javaClass), true), memberResolver);
         this.javaClass = javaClass;
     }
 
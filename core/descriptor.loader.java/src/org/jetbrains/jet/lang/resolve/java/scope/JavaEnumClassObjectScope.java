@@ -31,7 +31,7 @@ public class JavaEnumClassObjectScope extends JavaClassMembersScope {
             @NotNull JavaClass javaClass,
             @NotNull JavaMemberResolver memberResolver
     ) {
-        super(descriptor, MembersProvider.forClass(javaClass, true), memberResolver);
+        super(descriptor, MembersProvider.forClass(memberResolver.getMembersCache(javaClass), true), memberResolver);
     }
 
     @NotNull
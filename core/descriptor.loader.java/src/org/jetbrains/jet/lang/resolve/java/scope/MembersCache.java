@@ -25,234 +25,214 @@ import org.jetbrains.jet.lang.resolve.java.structure.*;
 import org.jetbrains.jet.lang.resolve.name.FqName;
 import org.jetbrains.jet.lang.resolve.name.Name;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-
-/* package */ final class MembersCache {
-    private final Map<Name, Collection<Runnable>> memberProcessingTasks = new HashMap<Name, Collection<Runnable>>();
-    private final Map<Name, NamedMembers> namedMembersMap = new HashMap<Name, NamedMembers>();
+import java.util.*;
 
+/**
+ * Members of a Java class or package grouped by name. Members are grouped in a single pass over the class, shared by the scopes
+ * of its static and non-static members; filtering of members and detection of SAM interfaces happen only for requested names
+ */
+public final class MembersCache {
     @Nullable
-    public NamedMembers get(@NotNull Name name) {
-        runTasksByName(name);
-        return namedMembersMap.get(name);
-    }
+    private final JavaClass javaClass;
+    @Nullable
+    private final JavaPackage javaPackage;
 
-    @NotNull
-    public Collection<NamedMembers> allMembers() {
-        runAllTasks();
-        memberProcessingTasks.clear();
-        return namedMembersMap.values();
+    private Map<Name, MemberGroup> groups;
+
+    private final Map<Name, NamedMembers> staticMembers = new HashMap<Name, NamedMembers>();
+    private final Map<Name, NamedMembers> nonStaticMembers = new HashMap<Name, NamedMembers>();
+
+    private MembersCache(@Nullable JavaClass javaClass, @Nullable JavaPackage javaPackage) {
+        this.javaClass = javaClass;
+        this.javaPackage = javaPackage;
     }
 
     @NotNull
-    private NamedMembers getOrCreateEmpty(@NotNull JavaNamedElement element) {
-        Name name = element.getName();
-        NamedMembers r = namedMembersMap.get(name);
-        if (r == null) {
-            r = new NamedMembers(name);
-            namedMembersMap.put(name, r);
-        }
-        return r;
+    public static MembersCache forClass(@NotNull JavaClass javaClass) {
+        return new MembersCache(javaClass, null);
     }
 
-    private void addTask(@NotNull JavaNamedElement member, @NotNull RunOnce task) {
-        Name name = member.getName();
-        Collection<Runnable> tasks = memberProcessingTasks.get(name);
-        if (tasks == null) {
-            tasks = new HashSet<Runnable>();
-            memberProcessingTasks.put(name, tasks);
-        }
-        tasks.add(task);
+    @NotNull
+    public static MembersCache forPackage(@NotNull JavaPackage javaPackage) {
+        return new MembersCache(null, javaPackage);
     }
 
-    private void runTasksByName(Name name) {
-        if (!memberProcessingTasks.containsKey(name)) return;
-        Collection<Runnable> tasks = memberProcessingTasks.get(name);
-        for (Runnable task : tasks) {
-            task.run();
-        }
-        // Delete tasks
-        tasks.clear();
+    @Nullable
+    /* package */ NamedMembers get(@NotNull Name name, boolean staticMembers) {
+        Map<Name, NamedMembers> cache = staticMembers ? this.staticMembers : nonStaticMembers;
+        if (cache.containsKey(name)) {
+            return cache.get(name);
+        }
+
+        MemberGroup group = getGroups().get(name);
+        NamedMembers result = group == null ? null : javaClass != null
+                                                     ? computeClassMembers(javaClass, group, staticMembers)
+                                                     : computePackageMembers(group);
+        cache.put(name, result);
+        return result;
     }
 
-    private void runAllTasks() {
-        for (Collection<Runnable> tasks : memberProcessingTasks.values()) {
-            for (Runnable task : tasks) {
-                task.run();
+    @NotNull
+    /* package */ Collection<NamedMembers> allMembers(boolean staticMembers) {
+        List<NamedMembers> result = new ArrayList<NamedMembers>();
+        for (Name name : getGroups().keySet()) {
+            NamedMembers members = get(name, staticMembers);
+            if (members != null) {
+                result.add(members);
             }
         }
+        return result;
     }
 
     @NotNull
-    public static MembersCache buildForClass(@NotNull JavaClass javaClass, boolean staticMembers) {
-        MembersCache membersCache = new MembersCache();
-
-        membersCache.new ClassMemberProcessor(javaClass, staticMembers).process();
-        membersCache.new ExtraPackageMembersProcessor(javaClass.getInnerClasses()).process();
-
-        return membersCache;
+    private Map<Name, MemberGroup> getGroups() {
+        if (groups == null) {
+            if (javaClass != null) {
+                groups = groupClassMembers(javaClass);
+            }
+            else if (javaPackage != null) {
+                groups = groupPackageMembers(javaPackage);
+            }
+            else {
+                throw new IllegalStateException("MembersCache should be created either for a class or for a package");
+            }
+        }
+        return groups;
     }
 
     @NotNull
-    public static MembersCache buildForPackage(@NotNull JavaPackage javaPackage) {
-        MembersCache membersCache = new MembersCache();
-
-        Collection<JavaClass> classes = DescriptorResolverUtils.getClassesInPackage(javaPackage);
-        membersCache.new ExtraPackageMembersProcessor(classes).process();
-
-        return membersCache;
-    }
-
-    private class ExtraPackageMembersProcessor { // 'extra' means that PSI elements for these members are not just top-level classes
-        @NotNull
-        private final Collection<JavaClass> javaClasses;
-
-        private ExtraPackageMembersProcessor(@NotNull Collection<JavaClass> javaClasses) {
-            this.javaClasses = javaClasses;
+    private static Map<Name, MemberGroup> groupClassMembers(@NotNull JavaClass javaClass) {
+        Map<Name, MemberGroup> groups = new LinkedHashMap<Name, MemberGroup>();
+        for (JavaField field : javaClass.getAllFields()) {
+            getOrCreateGroup(groups, field).fields.add(field);
         }
-
-        private void process() {
-            for (JavaClass javaClass : javaClasses) {
-                if (javaClass.getOriginKind() != JavaClass.OriginKind.KOTLIN_LIGHT_CLASS) {
-                    if (SingleAbstractMethodUtils.isSamInterface(javaClass)) {
-                        processSamInterface(javaClass);
-                    }
-                }
-            }
+        for (JavaMethod method : javaClass.getAllMethods()) {
+            getOrCreateGroup(groups, method).hasMethods = true;
         }
-
-        private void processSamInterface(@NotNull JavaClass javaClass) {
-            getOrCreateEmpty(javaClass).setSamInterface(javaClass);
+        for (JavaMethod method : javaClass.getMethods()) {
+            getOrCreateGroup(groups, method).ownMethods.add(method);
         }
+        for (JavaClass nested : javaClass.getInnerClasses()) {
+            getOrCreateGroup(groups, nested).classes.add(nested);
+        }
+        return groups;
     }
 
-    private class ClassMemberProcessor {
-        @NotNull
-        private final JavaClass javaClass;
-        private final boolean staticMembers;
-
-        private ClassMemberProcessor(@NotNull JavaClass javaClass, boolean staticMembers) {
-            this.javaClass = javaClass;
-            this.staticMembers = staticMembers;
+    @NotNull
+    private static Map<Name, MemberGroup> groupPackageMembers(@NotNull JavaPackage javaPackage) {
+        Map<Name, MemberGroup> groups = new LinkedHashMap<Name, MemberGroup>();
+        for (JavaClass javaClass : DescriptorResolverUtils.getClassesInPackage(javaPackage)) {
+            getOrCreateGroup(groups, javaClass).classes.add(javaClass);
         }
+        return groups;
+    }
 
-        private void process() {
-            processFields();
-            processMethods();
-            processNestedClasses();
+    @NotNull
+    private static MemberGroup getOrCreateGroup(@NotNull Map<Name, MemberGroup> groups, @NotNull JavaNamedElement element) {
+        Name name = element.getName();
+        MemberGroup group = groups.get(name);
+        if (group == null) {
+            group = new MemberGroup(name);
+            groups.put(name, group);
         }
+        return group;
+    }
 
-        private void processFields() {
-            for (final JavaField field : javaClass.getAllFields()) {
-                addTask(field, new RunOnce() {
-                    @Override
-                    public void doRun() {
-                        processField(field);
-                    }
-                });
-            }
+    @Nullable
+    private static NamedMembers computeClassMembers(@NotNull JavaClass javaClass, @NotNull MemberGroup group, boolean staticMembers) {
+        JavaClass samInterface = group.getSamInterface();
+        // SAM interfaces which are nested into a class are visible in its non-static scope only if they come from Java
+        if (!staticMembers && samInterface != null && samInterface.getOriginKind() == JavaClass.OriginKind.KOTLIN_LIGHT_CLASS) {
+            samInterface = null;
         }
 
-        private void processMethods() {
-            createEntriesForAllMethods();
-            processOwnMethods();
-        }
+        // group must be created even for excluded fields and for methods which are only inherited
+        if (!group.hasMethods && group.fields.isEmpty() && samInterface == null) return null;
 
-        private void createEntriesForAllMethods() {
-            for (JavaMethod method : javaClass.getAllMethods()) {
-                getOrCreateEmpty(method);
+        NamedMembers result = new NamedMembers(group.name);
+        for (JavaField field : group.fields) {
+            if (includeMember(javaClass, field, staticMembers)) {
+                result.addField(field);
             }
         }
-
-        private void processOwnMethods() {
-            for (final JavaMethod method : javaClass.getMethods()) {
-                addTask(method, new RunOnce() {
-                    @Override
-                    public void doRun() {
-                        processOwnMethod(method);
-                    }
-                });
+        for (JavaMethod method : group.ownMethods) {
+            if (includeMember(javaClass, method, staticMembers)) {
+                result.addMethod(method);
             }
         }
-
-        private void processNestedClasses() {
-            if (!staticMembers) {
-                return;
-            }
-            for (final JavaClass nested : javaClass.getInnerClasses()) {
-                addTask(nested, new RunOnce() {
-                    @Override
-                    public void doRun() {
-                        processNestedClass(nested);
-                    }
-                });
-            }
+        if (samInterface != null) {
+            result.setSamInterface(samInterface);
         }
+        return result;
+    }
 
-        private boolean includeMember(@NotNull JavaMember member) {
-            if (javaClass.isEnum() && staticMembers) {
-                return member.isStatic();
-            }
-
-            if (member.isStatic() != staticMembers) {
-                return false;
-            }
-
-            if (!isInCurrentClass(member)) {
-                return false;
-            }
-
-            if (member.getVisibility() == Visibilities.PRIVATE) {
-                return false;
-            }
-
-            if (DescriptorResolverUtils.isObjectMethodInInterface(member)) {
-                return false;
-            }
+    @Nullable
+    private static NamedMembers computePackageMembers(@NotNull MemberGroup group) {
+        // 'extra' members of a package: PSI elements for these members are not just top-level classes
+        JavaClass samInterface = group.getSamInterface();
+        if (samInterface == null || samInterface.getOriginKind() == JavaClass.OriginKind.KOTLIN_LIGHT_CLASS) return null;
+
+        NamedMembers result = new NamedMembers(group.name);
+        result.setSamInterface(samInterface);
+        return result;
+    }
 
-            return true;
+    private static boolean includeMember(@NotNull JavaClass javaClass, @NotNull JavaMember member, boolean staticMembers) {
+        if (javaClass.isEnum() && staticMembers) {
+            return member.isStatic();
         }
 
-        private boolean isInCurrentClass(@NotNull JavaMember member) {
-            FqName fqName = member.getContainingClass().getFqName();
-            return fqName != null && fqName.equals(javaClass.getFqName());
+        if (member.isStatic() != staticMembers) {
+            return false;
         }
 
-        private void processField(@NotNull JavaField field) {
-            // group must be created even for excluded field
-            NamedMembers namedMembers = getOrCreateEmpty(field);
-
-            if (includeMember(field)) {
-                namedMembers.addField(field);
-            }
+        if (!isInClass(javaClass, member)) {
+            return false;
         }
 
-        private void processOwnMethod(@NotNull JavaMethod ownMethod) {
-            if (includeMember(ownMethod)) {
-                getOrCreateEmpty(ownMethod).addMethod(ownMethod);
-            }
+        if (member.getVisibility() == Visibilities.PRIVATE) {
+            return false;
         }
 
-        private void processNestedClass(@NotNull JavaClass nested) {
-            if (SingleAbstractMethodUtils.isSamInterface(nested)) {
-                getOrCreateEmpty(nested).setSamInterface(nested);
-            }
+        if (DescriptorResolverUtils.isObjectMethodInInterface(member)) {
+            return false;
         }
+
+        return true;
     }
 
-    private static abstract class RunOnce implements Runnable {
-        private boolean hasRun = false;
+    private static boolean isInClass(@NotNull JavaClass javaClass, @NotNull JavaMember member) {
+        FqName fqName = member.getContainingClass().getFqName();
+        return fqName != null && fqName.equals(javaClass.getFqName());
+    }
+
+    private static class MemberGroup {
+        @NotNull
+        private final Name name;
+        private final List<JavaField> fields = new ArrayList<JavaField>(1);
+        private final List<JavaMethod> ownMethods = new ArrayList<JavaMethod>(1);
+        private final List<JavaClass> classes = new ArrayList<JavaClass>(1);
+        private boolean hasMethods;
 
-        @Override
-        public final void run() {
-            if (hasRun) return;
-            hasRun = true;
-            doRun();
+        private boolean samInterfaceComputed;
+        private JavaClass samInterface;
+
+        private MemberGroup(@NotNull Name name) {
+            this.name = name;
         }
 
-        protected abstract void doRun();
+        @Nullable
+        private JavaClass getSamInterface() {
+            if (!samInterfaceComputed) {
+                for (JavaClass javaClass : classes) {
+                    if (SingleAbstractMethodUtils.isSamInterface(javaClass)) {
+                        samInterface = javaClass;
+                        break;
+                    }
+                }
+                samInterfaceComputed = true;
+            }
+            return samInterface;
+        }
     }
 }
@@ -18,60 +18,38 @@ package org.jetbrains.jet.lang.resolve.java.scope;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.jet.lang.resolve.java.structure.JavaClass;
 import org.jetbrains.jet.lang.resolve.java.structure.JavaPackage;
 import org.jetbrains.jet.lang.resolve.name.Name;
 
 import java.util.Collection;
 
 /* package */ class MembersProvider {
-    @Nullable
-    private final JavaClass javaClass;
-    @Nullable
-    private final JavaPackage javaPackage;
+    @NotNull
+    private final MembersCache membersCache;
     private final boolean staticMembers;
 
-    private MembersCache membersCache;
-
-    private MembersProvider(@Nullable JavaClass javaClass, @Nullable JavaPackage javaPackage, boolean staticMembers) {
-        this.javaClass = javaClass;
-        this.javaPackage = javaPackage;
+    private MembersProvider(@NotNull MembersCache membersCache, boolean staticMembers) {
+        this.membersCache = membersCache;
         this.staticMembers = staticMembers;
     }
 
     @NotNull
     public static MembersProvider forPackage(@NotNull JavaPackage javaPackage) {
-        return new MembersProvider(null, javaPackage, true);
+        return new MembersProvider(MembersCache.forPackage(javaPackage), true);
     }
 
     @NotNull
-    public static MembersProvider forClass(@NotNull JavaClass javaClass, boolean staticMembers) {
-        return new MembersProvider(javaClass, null, staticMembers);
+    public static MembersProvider forClass(@NotNull MembersCache classMembersCache, boolean staticMembers) {
+        return new MembersProvider(classMembersCache, staticMembers);
     }
 
     @Nullable
     public NamedMembers get(@NotNull Name name) {
-        return getMembersCache().get(name);
+        return membersCache.get(name, staticMembers);
     }
 
     @NotNull
     public Collection<NamedMembers> allMembers() {
-        return getMembersCache().allMembers();
-    }
-
-    @NotNull
-    private MembersCache getMembersCache() {
-        if (membersCache == null) {
-            if (javaClass != null) {
-                membersCache = MembersCache.buildForClass(javaClass, staticMembers);
-            }
-            else if (javaPackage != null) {
-                membersCache = MembersCache.buildForPackage(javaPackage);
-            }
-            else {
-                throw new IllegalStateException("MembersProvider should be created either for a class or for a package");
-            }
-        }
-        return membersCache;
+        return membersCache.allMembers(staticMembers);
     }
 }
@@ -17,7 +17,10 @@
 package org.jetbrains.jet.generators.runtime;
 
 import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.asm4.Type;
+import org.jetbrains.jet.codegen.SpecializedFunctionTraits;
 import org.jetbrains.jet.utils.ExceptionUtils;
 
 import java.io.File;
@@ -200,6 +203,47 @@ public class GenerateFunctions {
         out.println("    }");
     }
 
+    private void generateSpecializedRuntimeFunction(@NotNull Type[] parameterTypes, @NotNull Type returnType) {
+        generateRuntimeClassHeader();
+
+        out.println("import org.jetbrains.jet.rt.annotation.AssertInvisibleInResolver;");
+        out.println();
+        out.println("/**");
+        out.println(" * {@link " + kind.getClassName(parameterTypes.length) + "} taking and returning primitive values without boxing,");
+        out.println(" * implemented by closures of the corresponding type");
+        out.println(" */");
+        out.println("@AssertInvisibleInResolver");
+        out.println("public interface " + SpecializedFunctionTraits.getName(parameterTypes, returnType) + " {");
+        out.print("    " + returnType.getClassName() + " invoke(");
+        for (int j = 0; j < parameterTypes.length; j++) {
+            out.print(parameterTypes[j].getClassName() + " p" + (j + 1));
+            if (j < parameterTypes.length - 1) {
+                out.print(", ");
+            }
+        }
+        out.println(");");
+        out.println("}");
+    }
+
+    private static void generateSpecializedRuntimeFunctions() throws FileNotFoundException {
+        for (int i = 0; i <= SpecializedFunctionTraits.MAX_PARAMETER_COUNT; i++) {
+            for (Type parameterType : i == 0 ? SpecializedFunctionTraits.PARAMETER_TYPES.subList(0, 1)
+                                                 : SpecializedFunctionTraits.PARAMETER_TYPES) {
+                Type[] parameterTypes = new Type[i];
+                for (int j = 0; j < i; j++) {
+                    parameterTypes[j] = parameterType;
+                }
+
+                for (Type returnType : SpecializedFunctionTraits.RETURN_TYPES) {
+                    String name = SpecializedFunctionTraits.getName(parameterTypes, returnType);
+                    PrintWriter function = new PrintWriter(new File(RUNTIME_SRC_DIR, name + ".java"));
+                    new GenerateFunctions(function, FunctionKind.FUNCTION).generateSpecializedRuntimeFunction(parameterTypes, returnType);
+                    function.close();
+                }
+            }
+        }
+    }
+
     private void generateRuntimeClassHeader() {
         try {
             out.println(FileUtil.loadFile(new File("injector-generator/copyright.txt")));
@@ -237,5 +281,7 @@ public class GenerateFunctions {
                 functionImpl.close();
             }
         }
+
+        generateSpecializedRuntimeFunctions();
     }
 }
@@ -31,6 +31,10 @@ public class DelegatePropertyTest extends SingleFileTranslationTest {
         checkFooBoxIsOk();
     }
 
+    public void testPropertyMetadataReused() throws Exception {
+        checkFooBoxIsOk();
+    }
+
     public void testWithGenerics() throws Exception {
         checkFooBoxIsOk();
     }
@@ -55,6 +55,7 @@ public final class Namer {
 
     private static final String DELEGATE_POSTFIX = "$delegate";
     private static final String PROPERTY_METADATA = "PropertyMetadata";
+    private static final String PROPERTY_METADATA_GETTER = "propertyMetadataGetter";
 
     @NotNull
     public static String getReceiverParameterName() {
@@ -231,6 +232,11 @@ public final class Namer {
         return new JsNameRef(PROPERTY_METADATA, kotlinObject());
     }
 
+    @NotNull
+    public JsNameRef propertyMetadataGetterRef() {
+        return new JsNameRef(PROPERTY_METADATA_GETTER, kotlinObject());
+    }
+
     @NotNull
     private JsNameRef kotlin(@NotNull JsName name) {
         return new JsNameRef(name, kotlinObject());
@@ -49,6 +49,8 @@ public final class PropertyTranslator extends AbstractTranslator {
     private final PropertyDescriptor descriptor;
     @Nullable
     private final JetProperty declaration;
+    @Nullable
+    private JsNameRef propertyMetadataGetter;
 
     public static void translateAccessors(@NotNull PropertyDescriptor descriptor, @NotNull List<JsPropertyInitializer> result, @NotNull TranslationContext context) {
         translateAccessors(descriptor, null, result, context);
@@ -135,6 +137,20 @@ public final class PropertyTranslator extends AbstractTranslator {
         return generateDefaultAccessor(getterDescriptor, generateDefaultGetterFunction(getterDescriptor));
     }
 
+    @NotNull
+    private JsExpression getPropertyMetadata() {
+        // The metadata getter is defined once next to the class or package, so the same instance is reused by every access
+        if (propertyMetadataGetter == null) {
+            JsExpression argument = context().program().getStringLiteral(getPropertyName());
+            JsExpression getter = new JsInvocation(context().namer().propertyMetadataGetterRef(), argument);
+            propertyMetadataGetter = context().literalFunctionTranslator().defineIfPossible(getter);
+        }
+        if (propertyMetadataGetter == null) {
+            return createPropertyMetadata();
+        }
+        return new JsInvocation(new JsNameRef(propertyMetadataGetter.getIdent(), propertyMetadataGetter.getQualifier()));
+    }
+
     private JsExpression createPropertyMetadata() {
         JsNameRef propertyMetadataRef = context().namer().propertyMetadataRef();
         JsExpression argument = context().program().getStringLiteral(getPropertyName());
@@ -170,7 +186,7 @@ public final class PropertyTranslator extends AbstractTranslator {
     private List<JsExpression> getDelegateCallArgs(@Nullable JsExpression valueExpression) {
         List<JsExpression> args = new ArrayList<JsExpression>();
         args.add(JsLiteral.THIS);
-        args.add(createPropertyMetadata());
+        args.add(getPropertyMetadata());
         if (valueExpression != null) {
             args.add(valueExpression);
         }
@@ -127,15 +127,25 @@ public class LiteralFunctionTranslator extends AbstractTranslator {
             return fun;
         }
 
-        JsExpression result = translator.translate(createReference(fun), outerContext);
+        JsExpression result = translator.translate(define(fun), outerContext);
         addRegularParameters(descriptor, fun, funContext, receiverName);
         return result;
     }
 
-    private JsNameRef createReference(JsFunction fun) {
+    /**
+     * Defines the value in the current definition place, so that it's evaluated once rather than on every use,
+     * or returns null if there is no definition place.
+     */
+    @Nullable
+    public JsNameRef defineIfPossible(@NotNull JsExpression value) {
+        return definitionPlace != null ? define(value) : null;
+    }
+
+    @NotNull
+    private JsNameRef define(@NotNull JsExpression value) {
         Trinity<List<JsPropertyInitializer>, LabelGenerator, JsExpression> place = definitionPlace.getValue();
         JsNameRef nameRef = new JsNameRef(place.second.generate(), place.third);
-        place.first.add(new JsPropertyInitializer(nameRef, fun));
+        place.first.add(new JsPropertyInitializer(nameRef, value));
         return nameRef;
     }
 
@@ -171,6 +181,6 @@ public class LiteralFunctionTranslator extends AbstractTranslator {
         fun.getBody().getStatements().add(new JsReturn(classTranslator.translate(funContext)));
         JetClassBody body = declaration.getBody();
         assert body != null;
-        return new InnerObjectTranslator(funContext, fun).translate(createReference(fun), usageTracker.isUsed() ? outerClassRef : null);
+        return new InnerObjectTranslator(funContext, fun).translate(define(fun), usageTracker.isUsed() ? outerClassRef : null);
     }
 }
@@ -0,0 +1,61 @@
+package foo
+
+class Delegate {
+    var first: PropertyMetadata? = null
+    var calls = 0
+    var reused = true
+
+    fun get(t: Any?, p: PropertyMetadata): Int {
+        remember(p)
+        return 1
+    }
+
+    fun set(t: Any?, p: PropertyMetadata, value: Int) {
+        remember(p)
+    }
+
+    fun remember(p: PropertyMetadata) {
+        calls++
+        val first = first
+        if (first == null) {
+            this.first = p
+        }
+        else if (!first.identityEquals(p)) {
+            reused = false
+        }
+    }
+}
+
+val topLevelDelegate = Delegate()
+var topLevel: Int by topLevelDelegate
+
+class A {
+    val delegate = Delegate()
+    var member: Int by delegate
+}
+
+fun check(delegate: Delegate, name: String): String {
+    if (delegate.calls != 3) return "fail $name: ${delegate.calls} calls"
+    if (delegate.first!!.name != name) return "fail $name: ${delegate.first!!.name}"
+    if (!delegate.reused) return "fail $name: metadata is not reused"
+    return "OK"
+}
+
+fun box(): String {
+    topLevel = topLevel + 1
+    topLevel
+    val topLevelResult = check(topLevelDelegate, "topLevel")
+    if (topLevelResult != "OK") return topLevelResult
+
+    val a = A()
+    a.member = a.member + 1
+    a.member
+    val memberResult = check(a.delegate, "member")
+    if (memberResult != "OK") return memberResult
+
+    val other = A()
+    other.member
+    if (!other.delegate.first!!.identityEquals(a.delegate.first)) return "fail: metadata differs between instances"
+
+    return "OK"
+}
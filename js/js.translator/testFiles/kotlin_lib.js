@@ -176,6 +176,13 @@ String.prototype.contains = function (s) {
         }
     );
 
+    Kotlin.propertyMetadataGetter = function (name) {
+        var metadata = new Kotlin.PropertyMetadata(name);
+        return function () {
+            return metadata;
+        };
+    };
+
     Kotlin.AbstractCollection = Kotlin.createClassNow(Kotlin.Collection, null, {
         size: function () {
             return this.$size;